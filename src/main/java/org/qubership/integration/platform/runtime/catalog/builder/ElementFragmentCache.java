@@ -0,0 +1,206 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.builder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
+import org.qubership.integration.platform.catalog.util.HashUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Cache of rendered element XML fragments.
+ * <p>
+ * Snapshot elements are copies with freshly generated ids, so a fragment is stored with
+ * the ids of the element and its graph neighbourhood (parent, children, dependency peers)
+ * replaced by positional tokens. The key is a hash over everything the templates can see
+ * except those ids: type, name, original id, properties and service environment of the
+ * element, its descendants and its neighbours.
+ */
+@Slf4j
+@Component
+public class ElementFragmentCache {
+
+    private static final String METRIC_NAME = "qip.snapshot.xml.fragment.cache";
+    // XML can't contain NUL characters, so tokens never clash with rendered content
+    private static final char TOKEN_DELIMITER = '\u0000';
+
+    private final ObjectWriter canonicalWriter;
+    private final boolean enabled;
+    private final Cache<String, String> fragments;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public ElementFragmentCache(@Qualifier("primaryObjectMapper") ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${qip.snapshots.xml-fragment-cache.enabled:true}") boolean enabled,
+                                @Value("${qip.snapshots.xml-fragment-cache.max-size:20000}") long maxSize) {
+        this.canonicalWriter = objectMapper.writer()
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.enabled = enabled;
+        this.fragments = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.hits = Counter.builder(METRIC_NAME)
+                .tag("result", "hit")
+                .description("Element XML fragments taken from cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME)
+                .tag("result", "miss")
+                .description("Element XML fragments rendered by templates")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", fragments, Cache::size)
+                .description("Number of cached element XML fragments")
+                .register(meterRegistry);
+    }
+
+    public String getOrRender(ChainElement element, Function<ChainElement, String> renderer) {
+        if (!enabled) {
+            return renderer.apply(element);
+        }
+
+        List<String> neighbourhoodIds = collectNeighbourhoodIds(element);
+        String key;
+        try {
+            key = HashUtils.sha1hex(canonicalWriter.writeValueAsString(describe(element)));
+        } catch (JsonProcessingException e) {
+            log.debug("Can't build fragment cache key for element {}: {}", element.getId(), e.getMessage());
+            misses.increment();
+            return renderer.apply(element);
+        }
+
+        String fragment = fragments.getIfPresent(key);
+        if (fragment != null) {
+            hits.increment();
+            return restoreIds(fragment, neighbourhoodIds);
+        }
+
+        misses.increment();
+        String rendered = renderer.apply(element);
+        fragments.put(key, replaceIds(rendered, neighbourhoodIds));
+        return rendered;
+    }
+
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    public long size() {
+        return fragments.size();
+    }
+
+    private Map<String, Object> describe(ChainElement element) {
+        Map<String, Object> description = describeSubtree(element);
+        description.put("parent", element.getParent() == null ? null : describeElement(element.getParent()));
+        return description;
+    }
+
+    private Map<String, Object> describeSubtree(ChainElement element) {
+        Map<String, Object> description = describeElement(element);
+        description.put("inputs", element.getInputDependencies().stream()
+                .map(dependency -> describeElement(dependency.getElementFrom()))
+                .toList());
+        description.put("outputs", element.getOutputDependencies().stream()
+                .map(dependency -> describeElement(dependency.getElementTo()))
+                .toList());
+        if (element instanceof ContainerChainElement container) {
+            description.put("children", container.getElements().stream()
+                    .map(this::describeSubtree)
+                    .toList());
+        }
+        return description;
+    }
+
+    private Map<String, Object> describeElement(ChainElement element) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("type", element.getType());
+        description.put("name", element.getName());
+        description.put("originalId", element.getOriginalId());
+        description.put("properties", element.getProperties());
+        description.put("environment", element.getEnvironment());
+        return description;
+    }
+
+    /**
+     * Collects ids in the same order as {@link #describe(ChainElement)} visits elements,
+     * so equal descriptions always map tokens to the matching positions.
+     */
+    private List<String> collectNeighbourhoodIds(ChainElement element) {
+        List<String> ids = new ArrayList<>();
+        collectSubtreeIds(element, ids);
+        if (element.getParent() != null) {
+            ids.add(element.getParent().getId());
+        }
+        return ids;
+    }
+
+    private void collectSubtreeIds(ChainElement element, List<String> ids) {
+        ids.add(element.getId());
+        for (Dependency dependency : element.getInputDependencies()) {
+            ids.add(dependency.getElementFrom().getId());
+        }
+        for (Dependency dependency : element.getOutputDependencies()) {
+            ids.add(dependency.getElementTo().getId());
+        }
+        if (element instanceof ContainerChainElement container) {
+            for (ChainElement child : container.getElements()) {
+                collectSubtreeIds(child, ids);
+            }
+        }
+    }
+
+    private static String replaceIds(String fragment, List<String> ids) {
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id != null && !id.isEmpty()) {
+                fragment = fragment.replace(id, token(i));
+            }
+        }
+        return fragment;
+    }
+
+    private static String restoreIds(String fragment, List<String> ids) {
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id != null) {
+                fragment = fragment.replace(token(i), id);
+            }
+        }
+        return fragment;
+    }
+
+    private static String token(int index) {
+        return TOKEN_DELIMITER + Integer.toString(index) + TOKEN_DELIMITER;
+    }
+}
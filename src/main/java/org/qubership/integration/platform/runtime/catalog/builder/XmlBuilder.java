@@ -49,13 +49,15 @@ public class XmlBuilder {
     private final TemplateService templateService;
     private final LibraryElementsService libraryService;
     private final ElementUtils elementUtils;
+    private final ElementFragmentCache fragmentCache;
 
     @Autowired
     public XmlBuilder(TemplateService templateService, LibraryElementsService libraryService,
-                      ElementUtils elementUtils) {
+                      ElementUtils elementUtils, ElementFragmentCache fragmentCache) {
         this.templateService = templateService;
         this.libraryService = libraryService;
         this.elementUtils = elementUtils;
+        this.fragmentCache = fragmentCache;
     }
 
     public String build(List<ChainElement> elements) throws XMLStreamException, IOException {
@@ -103,7 +105,7 @@ public String build(List<ChainElement> elements) throws XMLStreamException, IOEx
                     addChainStart(streamWriter);
                 }
                 if (type != ElementType.CONTAINER) {
-                    streamWriter.writeRaw(templateService.applyTemplate(chainElement));
+                    streamWriter.writeRaw(fragmentCache.getOrRender(chainElement, templateService::applyTemplate));
                 }
             }
             if (chainRoute.getNextRoutes().size() > 1) {
@@ -20,9 +20,13 @@
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Helper;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.helper.ConditionalHelpers;
 import com.github.jknack.handlebars.helper.StringHelpers;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.qubership.integration.platform.catalog.exception.SnapshotCreationException;
@@ -30,12 +34,25 @@
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
 import org.qubership.integration.platform.catalog.service.library.LibraryElementsService;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -47,17 +64,33 @@ public final class TemplateService {
     private static final String DEFAULT_TEMPLATE_SUFFIX = "/template.hbs";
     private static final String COMPOSITE_TRIGGER_DIR_SUFFIX = "/trigger";
     private static final String COMPOSITE_TRIGGER_MODULE_DIR_SUFFIX = "/module";
+    private static final String RENDER_METRIC_NAME = "qip.snapshot.template.render";
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
 
     private final Handlebars handlebars;
     private final LibraryElementsService libraryService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Templates compiled on startup by name: element type, element type with composite trigger
+     * variant suffix, or shared template name
+     */
+    private volatile Map<String, Template> templates = Map.of();
+    private volatile String fingerprint = "";
+    private final Set<String> missingTemplates = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
 
     @Autowired
-    public TemplateService(ListableBeanFactory beanFactory, LibraryElementsService libraryService) {
+    public TemplateService(ListableBeanFactory beanFactory,
+                           LibraryElementsService libraryService,
+                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
         this.libraryService = libraryService;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
         this.handlebars = new Handlebars()
                 .with(
                     new ClassPathTemplateLoader(TEMPLATE_FOLDER, DEFAULT_TEMPLATE_SUFFIX),
                     new ClassPathTemplateLoader(SHARED_TEMPLATE_FOLDER, SHARED_TEMPLATE_SUFFIX))
+                .with(new ConcurrentMapTemplateCache())
                 .with(EscapingStrategy.NOOP);
 
         handlebars.setInfiniteLoops(true);
@@ -67,6 +100,86 @@ public TemplateService(ListableBeanFactory beanFactory, LibraryElementsService l
         registerCustomHelpers(beanFactory);
     }
 
+    /**
+     * Compile all element and shared templates, so snapshot builds never compile templates
+     */
+    @PostConstruct
+    public void compileTemplates() {
+        long start = System.currentTimeMillis();
+        Map<String, Template> compiled = new HashMap<>();
+        Map<String, byte[]> sources = new TreeMap<>();
+        // element templates take precedence over shared ones, same as in template loaders order
+        compileTemplates(SHARED_TEMPLATE_FOLDER, "/*" + SHARED_TEMPLATE_SUFFIX, SHARED_TEMPLATE_SUFFIX, compiled, sources);
+        compileTemplates(TEMPLATE_FOLDER, "/**" + DEFAULT_TEMPLATE_SUFFIX, DEFAULT_TEMPLATE_SUFFIX, compiled, sources);
+        templates = Map.copyOf(compiled);
+        fingerprint = buildFingerprint(sources);
+        missingTemplates.clear();
+        log.info("Compiled {} templates in {} ms", compiled.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return hex encoded SHA-256 hash of the names and sources of all templates compiled on startup,
+     * it changes whenever a template is added, removed or modified
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    private void compileTemplates(String folder, String pattern, String suffix,
+                                  Map<String, Template> compiled, Map<String, byte[]> sources) {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources("classpath*:" + folder + pattern);
+        } catch (IOException e) {
+            log.error("Can't list templates in {}", folder, e);
+            return;
+        }
+        for (Resource resource : resources) {
+            String location;
+            try {
+                location = resource.getURL().toString();
+            } catch (IOException e) {
+                log.error("Can't resolve template location {}", resource.getDescription(), e);
+                continue;
+            }
+            int nameStart = location.lastIndexOf(folder + "/");
+            int nameEnd = location.length() - suffix.length();
+            if (nameStart < 0 || nameStart + folder.length() + 1 >= nameEnd) {
+                continue;
+            }
+            String name = location.substring(nameStart + folder.length() + 1, nameEnd);
+            try (InputStream content = resource.getInputStream()) {
+                sources.put(location.substring(nameStart), content.readAllBytes());
+            } catch (IOException e) {
+                log.error("Can't read template {}", name, e);
+            }
+            try {
+                Template template = compile(name);
+                if (template != null) {
+                    compiled.put(name, template);
+                }
+            } catch (RuntimeException e) {
+                // invalid template fails the snapshot build of its element, not the application startup
+                log.error("Can't compile template {}", name, e);
+            }
+        }
+    }
+
+    private static String buildFingerprint(Map<String, byte[]> sources) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+            sources.forEach((location, content) -> {
+                digest.update(location.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(content);
+                digest.update((byte) 0);
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to build templates fingerprint", e);
+        }
+    }
+
     private void registerCustomHelpers(ListableBeanFactory beanFactory) {
         Map<String, Object> helpers = beanFactory.getBeansWithAnnotation(TemplatesHelper.class);
         for (Object bean : helpers.values()) {
@@ -90,12 +203,14 @@ private void registerCustomHelpers(ListableBeanFactory beanFactory) {
     }
 
     public String applyTemplate(ChainElement element) {
-        Template template = getTemplate(element);
+        String templateName = getTemplateName(element);
+        Template template = getTemplate(templateName);
         if (template == null) {
             throw new SnapshotCreationException("Element is not supposed to be outside a parent container.", element);
         }
 
         String renderedElement;
+        Timer.Sample sample = meterRegistry == null ? null : Timer.start(meterRegistry);
         try {
             renderedElement = template.apply(element);
         } catch (IOException | RuntimeException e) {
@@ -108,21 +223,41 @@ public String applyTemplate(ChainElement element) {
                 }
             }
             throw new SnapshotCreationException("Fields are not properly defined or require mandatory connection", element, e);
+        } finally {
+            if (sample != null) {
+                sample.stop(getRenderTimer(templateName));
+            }
         }
 
         return renderedElement;
     }
 
     public Template getTemplate(ChainElement element) {
+        return getTemplate(getTemplateName(element));
+    }
+
+    public Template getTemplate(String name) {
+        Template template = templates.get(name);
+        if (template != null || missingTemplates.contains(name)) {
+            return template;
+        }
+        template = compile(name);
+        if (template == null) {
+            missingTemplates.add(name);
+        }
+        return template;
+    }
+
+    private String getTemplateName(ChainElement element) {
         return libraryService.getElementDescriptor(element).getType() == ElementType.COMPOSITE_TRIGGER
-                ? getTemplate(element.getType() + (element.getInputDependencies().isEmpty() && element.getParent() == null
+                ? element.getType() + (element.getInputDependencies().isEmpty() && element.getParent() == null
                         ? COMPOSITE_TRIGGER_DIR_SUFFIX
-                        : COMPOSITE_TRIGGER_MODULE_DIR_SUFFIX))
-                : getTemplate(element.getType());
+                        : COMPOSITE_TRIGGER_MODULE_DIR_SUFFIX)
+                : element.getType();
     }
 
     @SuppressWarnings("checkstyle:EmptyCatchBlock")
-    public Template getTemplate(String name) {
+    private Template compile(String name) {
         try {
             return handlebars.compile(name);
         } catch (FileNotFoundException ignored) {
@@ -131,4 +266,17 @@ public Template getTemplate(String name) {
         }
         return null;
     }
+
+    /**
+     * Includes rendering of nested elements, if the template renders them
+     */
+    private Timer getRenderTimer(String templateName) {
+        return renderTimers.computeIfAbsent(templateName, name -> Timer.builder(RENDER_METRIC_NAME)
+                .tag("template", name)
+                .description("Time to render element template")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry));
+    }
 }
@@ -24,6 +24,7 @@
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
 import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplatesHelper;
 import org.qubership.integration.platform.runtime.catalog.mapper.MappingDescriptionValidator;
+import org.qubership.integration.platform.runtime.catalog.mapper.MappingInterpretationCache;
 import org.qubership.integration.platform.runtime.catalog.mapper.MappingInterpreter;
 import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.MappingDescription;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,28 +40,25 @@ public class MapperInterpretatorHelper extends BaseHelper {
     private final ObjectMapper objectMapper;
     private final MappingInterpreter interpreter;
     private final MappingDescriptionValidator validator;
+    private final MappingInterpretationCache interpretationCache;
 
     @Autowired
     public MapperInterpretatorHelper(
             MappingInterpreter interpreter,
             @Qualifier("primaryObjectMapper") ObjectMapper objectMapper,
-            MappingDescriptionValidator validator
+            MappingDescriptionValidator validator,
+            MappingInterpretationCache interpretationCache
     ) {
         this.interpreter = interpreter;
         this.objectMapper = objectMapper;
         this.validator = validator;
+        this.interpretationCache = interpretationCache;
     }
 
     @HelperFunction("mapper-interpretation")
     public String apply(String mappingDescriptionAsString, Options options) {
         try {
-            MappingDescription mappingDescription = isNull(mappingDescriptionAsString)
-                    ? new MappingDescription(null, null, null, null, null)
-                    : objectMapper.readValue(mappingDescriptionAsString, MappingDescription.class);
-            validator.validate(mappingDescription);
-            return interpreter.getInterpretation(mappingDescription);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error processing JSON in property-json helper", e);
+            return interpretationCache.getOrInterpret(mappingDescriptionAsString, this::interpret);
         } catch (SnapshotCreationException e) {
             var context = options.context.model();
             if (context instanceof ChainElement element && isNull(e.getElementId())) {
@@ -71,6 +69,18 @@ public String apply(String mappingDescriptionAsString, Options options) {
         }
     }
 
+    private String interpret(String mappingDescriptionAsString) {
+        try {
+            MappingDescription mappingDescription = isNull(mappingDescriptionAsString)
+                    ? new MappingDescription(null, null, null, null, null)
+                    : objectMapper.readValue(mappingDescriptionAsString, MappingDescription.class);
+            validator.validate(mappingDescription);
+            return interpreter.getInterpretation(mappingDescription);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error processing JSON in property-json helper", e);
+        }
+    }
+
     public CharSequence mappingId(Options options) {
         return UUID.randomUUID().toString();
     }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@AutoConfiguration
+public class ChainImportAutoConfiguration {
+
+    @Bean(name = "chainImportParseExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "chainImportParseExecutor")
+    public ExecutorService chainImportParseExecutor(
+            @Value("${qip.import.parse-parallelism:0}") int parallelism
+    ) {
+        // Parsing and migration are CPU-bound, so platform threads sized to the available cores
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("chain-import-parse-", 0).daemon().factory());
+    }
+
+    @Bean(name = "systemImportExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "systemImportExecutor")
+    public ExecutorService systemImportExecutor(
+            @Value("${qip.import.service-parallelism:4}") int parallelism
+    ) {
+        // Shared by all import requests, each service import holds a database connection while saving
+        return Executors.newFixedThreadPool(Math.max(parallelism, 1),
+                Thread.ofPlatform().name("system-import-", 0).daemon().factory());
+    }
+}
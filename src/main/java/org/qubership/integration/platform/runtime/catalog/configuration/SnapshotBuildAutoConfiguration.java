@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.configuration;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@AutoConfiguration
+public class SnapshotBuildAutoConfiguration {
+
+    @Bean(name = "snapshotBuildExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "snapshotBuildExecutor")
+    public ExecutorService snapshotBuildExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("snapshot-build-", 0).factory());
+    }
+}
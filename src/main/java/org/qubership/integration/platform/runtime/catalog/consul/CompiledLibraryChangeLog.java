@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.consul;
+
+import org.qubership.integration.platform.catalog.model.compiledlibrary.CompiledLibraryUpdate;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.system.SystemModelRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.CompiledLibraryChange;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.CompiledLibraryChangeRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.CompiledLibraryChangeRepository.ChangeLogState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Versioned log of compiled library changes, kept in the database and shared by all instances.
+ * <p>
+ * The last published state of every library is stored with the version it was changed in, so changes
+ * since a version are the libraries with a greater one. Removed libraries are kept for
+ * {@code qip.compiled-libraries.change-log-size} versions. Readers with a version of another
+ * epoch (another database) or older than that get a full resync.
+ * <p>
+ * The version of the libraries list written to Consul is kept in the log too, so any instance
+ * writes the list if the latest version has not been written yet.
+ */
+@Component
+public class CompiledLibraryChangeLog {
+
+    public record Changes(String epoch, long fromVersion, long toVersion, boolean fullResync,
+                          List<CompiledLibraryUpdate> updated, List<String> removed) {
+    }
+
+    private final CompiledLibraryChangeRepository compiledLibraryChangeRepository;
+    private final SystemModelRepository systemModelRepository;
+    private final int maxChanges;
+
+    @Autowired
+    public CompiledLibraryChangeLog(CompiledLibraryChangeRepository compiledLibraryChangeRepository,
+                                    SystemModelRepository systemModelRepository,
+                                    @Value("${qip.compiled-libraries.change-log-size:1000}") int maxChanges) {
+        this.compiledLibraryChangeRepository = compiledLibraryChangeRepository;
+        this.systemModelRepository = systemModelRepository;
+        this.maxChanges = Math.max(maxChanges, 1);
+    }
+
+    /**
+     * Compares actual libraries with the last published ones and records the difference as a new version.
+     * Libraries are read after the log is locked, so a list read before a concurrent change can't
+     * overwrite it.
+     *
+     * @return true if anything has changed
+     */
+    @Transactional
+    public boolean apply() {
+        ChangeLogState state = compiledLibraryChangeRepository.lockChangeLogState();
+        long version = state.getVersion() + 1;
+        List<CompiledLibraryUpdate> actual = getActualLibraries();
+
+        Map<String, CompiledLibraryChange> published = compiledLibraryChangeRepository.findAll().stream()
+                .collect(Collectors.toMap(CompiledLibraryChange::getModelId, Function.identity()));
+        List<CompiledLibraryChange> changed = new ArrayList<>();
+        Set<String> actualModelIds = new HashSet<>();
+        for (CompiledLibraryUpdate library : actual) {
+            actualModelIds.add(library.getModelId());
+            CompiledLibraryChange change = published.get(library.getModelId());
+            if (change == null) {
+                change = CompiledLibraryChange.builder().modelId(library.getModelId()).build();
+            } else if (Objects.equals(change.getCompiledWhen(), library.getTimestamp())) {
+                continue;
+            }
+            change.setCompiledWhen(library.getTimestamp());
+            change.setVersion(version);
+            changed.add(change);
+        }
+        published.values().stream()
+                .filter(change -> !change.isRemoved() && !actualModelIds.contains(change.getModelId()))
+                .forEach(change -> {
+                    change.setCompiledWhen(null);
+                    change.setVersion(version);
+                    changed.add(change);
+                });
+
+        if (changed.isEmpty()) {
+            return false;
+        }
+
+        compiledLibraryChangeRepository.saveAll(changed);
+        compiledLibraryChangeRepository.deleteRemovedUpToVersion(version - maxChanges);
+        compiledLibraryChangeRepository.updateChangeLogState(version, version - maxChanges);
+        return true;
+    }
+
+    /**
+     * Passes libraries of the latest version to the writer, if the version has not been written yet.
+     * The writer is called with the log locked, so writes of all instances are made in version order.
+     * If the writer fails, the version stays unwritten.
+     *
+     * @param force write even if the latest version has been written already
+     * @return true if the writer was called
+     */
+    @Transactional
+    public boolean publish(boolean force, Consumer<List<CompiledLibraryUpdate>> writer) {
+        ChangeLogState state = compiledLibraryChangeRepository.lockChangeLogState();
+        if (!force && state.getPublishedVersion() >= state.getVersion()) {
+            return false;
+        }
+
+        writer.accept(toUpdates(compiledLibraryChangeRepository.findAllByCompiledWhenIsNotNull()));
+        compiledLibraryChangeRepository.updatePublishedVersion(state.getVersion());
+        return true;
+    }
+
+    /**
+     * Changes merged from all versions after {@code sinceVersion}, or all libraries if the version can't be served
+     */
+    @Transactional(readOnly = true)
+    public Changes changesSince(String sinceEpoch, long sinceVersion) {
+        ChangeLogState state = compiledLibraryChangeRepository.getChangeLogState();
+        long version = state.getVersion();
+        boolean fullResync = !state.getEpoch().equals(sinceEpoch)
+                || sinceVersion > version
+                || sinceVersion < state.getPrunedVersion();
+        if (fullResync) {
+            return new Changes(state.getEpoch(), 0, version, true,
+                    toUpdates(compiledLibraryChangeRepository.findAllByCompiledWhenIsNotNull()), Collections.emptyList());
+        }
+
+        // libraries changed after the state is read are returned with the next version
+        List<CompiledLibraryChange> changes =
+                compiledLibraryChangeRepository.findAllByVersionGreaterThanAndVersionLessThanEqual(sinceVersion, version);
+        List<String> removed = changes.stream()
+                .filter(CompiledLibraryChange::isRemoved)
+                .map(CompiledLibraryChange::getModelId)
+                .toList();
+        return new Changes(state.getEpoch(), sinceVersion, version, false,
+                toUpdates(changes.stream().filter(change -> !change.isRemoved()).toList()), removed);
+    }
+
+    private List<CompiledLibraryUpdate> getActualLibraries() {
+        return systemModelRepository.findAllWithCompiledLibraries().stream()
+                .map(fields ->
+                        CompiledLibraryUpdate.builder()
+                                .modelId((String) fields[0])
+                                .timestamp((Timestamp) fields[1])
+                                .build())
+                .toList();
+    }
+
+    private static List<CompiledLibraryUpdate> toUpdates(List<CompiledLibraryChange> changes) {
+        return changes.stream()
+                .map(change -> CompiledLibraryUpdate.builder()
+                        .modelId(change.getModelId())
+                        .timestamp(change.getCompiledWhen())
+                        .build())
+                .toList();
+    }
+}
@@ -19,48 +19,48 @@
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.qubership.integration.platform.catalog.consul.ConsulService;
-import org.qubership.integration.platform.catalog.model.compiledlibrary.CompiledLibraryUpdate;
-import org.qubership.integration.platform.catalog.persistence.configs.repository.system.SystemModelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
 
 
 @Slf4j
 @Component
 public class CompiledLibraryEventsProducerService {
-    private final SystemModelRepository systemModelRepository;
     private final ConsulService consulService;
+    private final CompiledLibraryChangeLog compiledLibraryChangeLog;
 
     @Getter
     private boolean initUpdateCompleted = false;
 
     @Autowired
     public CompiledLibraryEventsProducerService(
-            SystemModelRepository systemModelRepository,
-            ConsulService consulService) {
-        this.systemModelRepository = systemModelRepository;
+            ConsulService consulService,
+            CompiledLibraryChangeLog compiledLibraryChangeLog) {
         this.consulService = consulService;
+        this.compiledLibraryChangeLog = compiledLibraryChangeLog;
     }
 
     public synchronized void sendAllCompiledLibrariesUpdate() {
-        List<CompiledLibraryUpdate> allLibs = new ArrayList<>(getAllLibrariesUpdates());
-        log.debug("Send all compiled libraries update to Consul...");
-        consulService.updateLibraries(allLibs);
-        initUpdateCompleted = true;
+        sendCompiledLibrariesUpdate(true);
     }
 
-    private List<CompiledLibraryUpdate> getAllLibrariesUpdates() {
-        return systemModelRepository.findAllWithCompiledLibraries().stream()
-                .map(fields ->
-                        CompiledLibraryUpdate.builder()
-                                .modelId((String) fields[0])
-                                .timestamp((Timestamp) fields[1])
-                                .build())
-                .collect(Collectors.toList());
+    /**
+     * Records changed libraries in the change log and writes the libraries list to Consul,
+     * if its latest version has not been written by any instance yet
+     *
+     * @param force write to Consul even if the latest version has been written already
+     */
+    public synchronized void sendCompiledLibrariesUpdate(boolean force) {
+        compiledLibraryChangeLog.apply();
+        boolean written = compiledLibraryChangeLog.publish(force || !initUpdateCompleted, libraries -> {
+            log.debug("Send all compiled libraries update to Consul...");
+            consulService.updateLibraries(new ArrayList<>(libraries));
+        });
+        if (!written) {
+            log.debug("Compiled libraries have not changed, Consul update skipped");
+        }
+        initUpdateCompleted = true;
     }
 }
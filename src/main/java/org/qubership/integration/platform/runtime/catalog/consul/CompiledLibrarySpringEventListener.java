@@ -20,6 +20,7 @@
 import org.qubership.integration.platform.catalog.model.compiledlibrary.CompiledLibraryEvent;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -28,23 +29,44 @@
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
+/**
+ * Publishes compiled libraries updates from a single worker thread. Events arriving within
+ * the debounce delay are coalesced into one update, failed updates are retried with
+ * exponential backoff.
+ */
 @Slf4j
 @Component
 public class CompiledLibrarySpringEventListener {
-    public static final int UPDATE_RETRY_DELAY = 3000;
     private final BlockingQueue<Object> updateEvent = new LinkedBlockingQueue<>(1);
+    // set by startup event, which may be dropped if a library event is already queued
+    private volatile boolean fullUpdateRequested = false;
 
     private final CompiledLibraryEventsProducerService compiledLibraryEventsProducerService;
+    private final long debounceDelay;
+    private final long retryInitialDelay;
+    private final long retryMaxDelay;
 
     @Autowired
-    public CompiledLibrarySpringEventListener(CompiledLibraryEventsProducerService compiledLibraryEventsProducerService) {
+    public CompiledLibrarySpringEventListener(
+            CompiledLibraryEventsProducerService compiledLibraryEventsProducerService,
+            @Value("${qip.compiled-libraries.update-debounce-ms:500}") long debounceDelay,
+            @Value("${qip.compiled-libraries.update-retry-initial-delay-ms:1000}") long retryInitialDelay,
+            @Value("${qip.compiled-libraries.update-retry-max-delay-ms:60000}") long retryMaxDelay
+    ) {
         this.compiledLibraryEventsProducerService = compiledLibraryEventsProducerService;
+        this.debounceDelay = debounceDelay;
+        this.retryInitialDelay = Math.max(retryInitialDelay, 1);
+        this.retryMaxDelay = Math.max(retryMaxDelay, this.retryInitialDelay);
 
-        new Thread(this::sendAllCompiledLibrariesUpdateRetryable).start();
+        Thread.ofPlatform()
+                .name("compiled-libraries-update")
+                .daemon()
+                .start(this::sendCompiledLibrariesUpdateRetryable);
     }
 
     @EventListener
     public void onApplicationStarted(ApplicationStartedEvent event) {
+        fullUpdateRequested = true;
         updateEvent.offer(event);
     }
 
@@ -53,35 +75,45 @@ public void catchLibraryUpdate(CompiledLibraryEvent event) {
         updateEvent.offer(event);
     }
 
-    private void sendAllCompiledLibrariesUpdateRetryable() {
+    private void sendCompiledLibrariesUpdateRetryable() {
         while (true) { // worker loop
             try {
                 Object event = updateEvent.take(); // wait for events
                 log.debug("Catch library update event: {}", event);
 
+                if (debounceDelay > 0) {
+                    // events of the same burst are covered by one update
+                    Thread.sleep(debounceDelay);
+                    updateEvent.clear();
+                }
+
+                long retryDelay = retryInitialDelay;
                 while (true) { // retry loop
+                    boolean fullUpdate = fullUpdateRequested;
+                    fullUpdateRequested = false;
                     try {
-                        log.debug("Sending all system model compiled libraries update started...");
+                        log.debug("Sending compiled libraries update started...");
 
-                        compiledLibraryEventsProducerService.sendAllCompiledLibrariesUpdate();
+                        compiledLibraryEventsProducerService.sendCompiledLibrariesUpdate(fullUpdate);
 
-                        log.debug("Sending all system model compiled libraries update completed");
+                        log.debug("Sending compiled libraries update completed");
                         break;
                     } catch (Exception e) {
+                        fullUpdateRequested |= fullUpdate;
                         MDC.put("error_code", "8050");
                         log.warn("Retry of Event Listener failed with error: "
-                                + "Attempt to collect and send all compiled libraries update failed: {}", e.getMessage());
+                                + "Attempt to collect and send all compiled libraries update failed: {}. Next attempt in {} ms",
+                                e.getMessage(), retryDelay);
                         MDC.remove("error_code");
 
-                        try {
-                            Thread.sleep(UPDATE_RETRY_DELAY);
-                        } catch (InterruptedException ex) {
-                            throw new RuntimeException(ex);
-                        }
+                        Thread.sleep(retryDelay);
+                        retryDelay = Math.min(retryDelay * 2, retryMaxDelay);
                     }
                 }
             } catch (InterruptedException e) {
-                log.error("Failed to get event from queue", e);
+                log.error("Compiled libraries update worker interrupted", e);
+                Thread.currentThread().interrupt();
+                return;
             }
         }
     }
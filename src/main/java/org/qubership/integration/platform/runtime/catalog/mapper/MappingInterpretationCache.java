@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.qubership.integration.platform.catalog.util.HashUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.function.Function;
+
+/**
+ * Cache of mapper element interpretations keyed by a hash of the mapping description.
+ * <p>
+ * Interpretation depends on the description only, so equal descriptions of different
+ * elements and snapshots share one entry. Descriptions that fail validation are not cached.
+ */
+@Component
+public class MappingInterpretationCache {
+
+    private static final String METRIC_NAME = "qip.mapper.interpretation.cache";
+    private static final String NULL_DESCRIPTION_KEY = "null";
+
+    private final boolean enabled;
+    private final Cache<String, String> interpretations;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public MappingInterpretationCache(MeterRegistry meterRegistry,
+                                      @Value("${qip.snapshots.mapping-interpretation-cache.enabled:true}") boolean enabled,
+                                      @Value("${qip.snapshots.mapping-interpretation-cache.max-size:5000}") long maxSize,
+                                      @Value("${qip.snapshots.mapping-interpretation-cache.max-memory:64MB}") DataSize maxMemory) {
+        this.enabled = enabled;
+        long maxWeight = Math.max(maxMemory.toBytes(), 1);
+        // an entry weighs at least its share of the memory limit, so the cache holds
+        // no more than maxSize entries and no more than maxMemory of strings
+        long minEntryWeight = Math.max(maxWeight / Math.max(maxSize, 1), 1);
+        this.interpretations = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .<String, String>weigher((key, value) ->
+                        (int) Math.min(Math.max(2L * (key.length() + value.length()), minEntryWeight), Integer.MAX_VALUE))
+                .build();
+        this.hits = Counter.builder(METRIC_NAME)
+                .tag("result", "hit")
+                .description("Mapping interpretations taken from cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME)
+                .tag("result", "miss")
+                .description("Mapping interpretations built by interpreter")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", interpretations, Cache::size)
+                .description("Number of cached mapping interpretations")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param interpreter - parses, validates and interprets the description, called on cache miss only
+     */
+    public String getOrInterpret(String mappingDescription, Function<String, String> interpreter) {
+        if (!enabled) {
+            return interpreter.apply(mappingDescription);
+        }
+
+        String key = mappingDescription == null ? NULL_DESCRIPTION_KEY : HashUtils.sha1hex(mappingDescription);
+        String interpretation = interpretations.getIfPresent(key);
+        if (interpretation != null) {
+            hits.increment();
+            return interpretation;
+        }
+
+        misses.increment();
+        interpretation = interpreter.apply(mappingDescription);
+        if (interpretation != null) {
+            interpretations.put(key, interpretation);
+        }
+        return interpretation;
+    }
+
+    public void invalidateAll() {
+        interpretations.invalidateAll();
+    }
+
+    public long size() {
+        return interpretations.size();
+    }
+}
@@ -36,7 +36,6 @@
 import org.qubership.integration.platform.mapper.GeneratedField;
 import org.qubership.integration.platform.runtime.catalog.mapper.*;
 import org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.xml.XmlTemplateBuilder;
-import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldKind;
 import org.qubership.integration.platform.runtime.catalog.mapper.expressions.ToAtlasMapExpressionConverter;
 import org.qubership.integration.platform.runtime.catalog.mapper.metadata.DataFormat;
 import org.qubership.integration.platform.runtime.catalog.mapper.metadata.MetadataUtils;
@@ -108,6 +107,8 @@ public class AtlasMapInterpreter implements MappingInterpreter {
 
     private final DataTypeToFieldTypeConverter dataTypeToFieldTypeConverter;
 
+    private final ToAtlasMapExpressionConverter expressionConverter = new ToAtlasMapExpressionConverter();
+
     @Autowired
     public AtlasMapInterpreter(@Qualifier("primaryObjectMapper") ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -860,48 +861,12 @@ private void setConditionalExpression(List<String> parameters, Mapping mapping)
     }
 
     private void setCommonExpression(String expression, Mapping mapping) {
-        ToAtlasMapExpressionConverter expressionConverter = new ToAtlasMapExpressionConverter();
         List<Field> inputFields = isNull(mapping.getInputFieldGroup())
                 ? mapping.getInputField()
                 : mapping.getInputFieldGroup().getField();
-        String convertedExpression = expressionConverter.convert(expression, fieldReference -> inputFields.stream()
-                .filter(field -> {  // match field kind
-                    FieldKind kind = fieldReference.kind();
-                    return (FieldKind.CONSTANT.equals(kind)
-                                && ((field instanceof ConstantField) || field instanceof GeneratedField))
-                            || (FieldKind.PROPERTY.equals(kind)
-                                && (field instanceof PropertyField)
-                                && !((PropertyField) field).getScope().equals(CURRENT_SCOPE))
-                            || (FieldKind.PROPERTY.equals(kind)
-                                && !(field instanceof ConstantField)
-                                && !(field instanceof PropertyField)
-                                && (fieldReference.path().size() > 1)
-                                && (field.getDocId().equals(fieldReference.path().get(0))))
-                            || (FieldKind.HEADER.equals(kind)
-                                && (field instanceof PropertyField)
-                                && ((PropertyField) field).getScope().equals(CURRENT_SCOPE))
-                            || (FieldKind.BODY.equals(kind)
-                                && !(field instanceof ConstantField)
-                                && !(field instanceof PropertyField));
-                })
-                .filter(field -> { // match field path
-                    String path = field.getPath();
-                    if (path.startsWith("/")) {
-                        path = path.substring(1);
-                    }
-                    if (field instanceof PropertyField) {
-                        path = path.replaceAll("^(current|camelExchangeProperty)/", "");
-                    }
-                    List<String> referencePath = (FieldKind.PROPERTY.equals(fieldReference.kind()) && fieldReference.path().size() > 1)
-                            ? fieldReference.path().subList(1, fieldReference.path().size())
-                            : fieldReference.path();
-                    return Arrays.stream(path.split("/"))
-                            .map(name -> name.replaceAll("<>", ""))
-                            .toList()
-                            .equals(referencePath);
-                })
+        InputFieldIndex inputFieldIndex = new InputFieldIndex(inputFields);
+        String convertedExpression = expressionConverter.convert(expression, fieldReference -> inputFieldIndex.find(fieldReference)
                 .map(field -> String.format("%s:%s", field.getDocId(), field.getPath()))
-                .findFirst()
                 .orElseThrow(() -> new SnapshotCreationException(
                         MAPPING_CREATION_ERROR_MESSAGE.concat(UNABLE_TO_INTERPRETER_EXPRESSION).concat(expression)
                                 .concat(" ").concat(FAILED_TO_RESOLVE_FIELD_REFERENCE).concat(fieldReference.toString()))));
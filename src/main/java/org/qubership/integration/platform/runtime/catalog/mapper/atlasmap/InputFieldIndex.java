@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper.atlasmap;
+
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.PropertyField;
+import org.qubership.integration.platform.mapper.GeneratedField;
+import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldKind;
+import org.qubership.integration.platform.runtime.catalog.mapper.expressions.FieldReference;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Input fields of a mapping indexed by their path segments, used to resolve
+ * expression field references without scanning all fields for each reference.
+ */
+class InputFieldIndex {
+    private static final String CURRENT_SCOPE = "current";
+    private static final Pattern PROPERTY_SCOPE_PREFIX_PATTERN = Pattern.compile("^(current|camelExchangeProperty)/");
+
+    // <path segments, fields in the mapping order>
+    private final Map<List<String>, List<Field>> fieldsByPath = new HashMap<>();
+
+    InputFieldIndex(List<Field> inputFields) {
+        for (Field field : inputFields) {
+            fieldsByPath.computeIfAbsent(pathSegments(field), path -> new ArrayList<>()).add(field);
+        }
+    }
+
+    /**
+     * @return first input field matching kind and path of the reference
+     */
+    Optional<Field> find(FieldReference fieldReference) {
+        List<String> referencePath = (FieldKind.PROPERTY.equals(fieldReference.kind()) && fieldReference.path().size() > 1)
+                ? fieldReference.path().subList(1, fieldReference.path().size())
+                : fieldReference.path();
+        return fieldsByPath.getOrDefault(referencePath, Collections.emptyList()).stream()
+                .filter(field -> matchesKind(field, fieldReference))
+                .findFirst();
+    }
+
+    private static boolean matchesKind(Field field, FieldReference fieldReference) {
+        FieldKind kind = fieldReference.kind();
+        return (FieldKind.CONSTANT.equals(kind)
+                    && ((field instanceof ConstantField) || field instanceof GeneratedField))
+                || (FieldKind.PROPERTY.equals(kind)
+                    && (field instanceof PropertyField)
+                    && !((PropertyField) field).getScope().equals(CURRENT_SCOPE))
+                || (FieldKind.PROPERTY.equals(kind)
+                    && !(field instanceof ConstantField)
+                    && !(field instanceof PropertyField)
+                    && (fieldReference.path().size() > 1)
+                    && (field.getDocId().equals(fieldReference.path().get(0))))
+                || (FieldKind.HEADER.equals(kind)
+                    && (field instanceof PropertyField)
+                    && ((PropertyField) field).getScope().equals(CURRENT_SCOPE))
+                || (FieldKind.BODY.equals(kind)
+                    && !(field instanceof ConstantField)
+                    && !(field instanceof PropertyField));
+    }
+
+    private static List<String> pathSegments(Field field) {
+        String path = field.getPath();
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if (field instanceof PropertyField) {
+            path = PROPERTY_SCOPE_PREFIX_PATTERN.matcher(path).replaceAll("");
+        }
+        return Arrays.stream(path.split("/"))
+                .map(name -> name.replace("<>", ""))
+                .toList();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper.expressions;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converted expression with unresolved field references.
+ *
+ * @param texts      converted text around references, always one more than references
+ * @param references field references in the order they appear in the expression
+ */
+public record CompiledExpression(List<String> texts, List<FieldReference> references) {
+
+    public String render(Function<FieldReference, String> fieldIdResolver) {
+        StringBuilder sb = new StringBuilder(texts.get(0));
+        for (int i = 0; i < references.size(); i++) {
+            sb.append(fieldIdResolver.apply(references.get(i))).append(texts.get(i + 1));
+        }
+        return sb.toString();
+    }
+}
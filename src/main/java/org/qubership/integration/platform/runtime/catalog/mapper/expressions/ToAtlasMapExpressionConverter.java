@@ -16,26 +16,108 @@
 
 package org.qubership.integration.platform.runtime.catalog.mapper.expressions;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.qubership.integration.platform.runtime.catalog.mapper.expressions.parser.ExpressionLexer;
 import org.qubership.integration.platform.runtime.catalog.mapper.expressions.parser.ExpressionParser;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Converts mapper expressions to AtlasMap ones. Safe for use from multiple threads.
+ * <p>
+ * Expressions are parsed once and kept compiled, field references are resolved on every conversion.
+ */
 public class ToAtlasMapExpressionConverter {
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    // field reference markers in converted text, expressions with NUL characters are converted without cache
+    private static final char MARKER_DELIMITER = '\u0000';
+
+    private final Cache<String, CompiledExpression> compiledExpressions;
+
+    public ToAtlasMapExpressionConverter() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public ToAtlasMapExpressionConverter(long cacheSize) {
+        this.compiledExpressions = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
     public String convert(
             String expressionText,
             Function<FieldReference, String> fieldIdResolver
     ) {
+        if (expressionText.indexOf(MARKER_DELIMITER) >= 0) {
+            return new ExpressionVisitor(fieldIdResolver).visit(parse(expressionText));
+        }
+        return compile(expressionText).render(fieldIdResolver);
+    }
+
+    private CompiledExpression compile(String expressionText) {
+        CompiledExpression compiled = compiledExpressions.getIfPresent(expressionText);
+        if (compiled == null) {
+            // expressions with syntax errors are not cached
+            compiled = doCompile(expressionText);
+            compiledExpressions.put(expressionText, compiled);
+        }
+        return compiled;
+    }
+
+    private CompiledExpression doCompile(String expressionText) {
+        List<FieldReference> references = new ArrayList<>();
+        ExpressionVisitor visitor = new ExpressionVisitor(reference -> {
+            references.add(reference);
+            return MARKER_DELIMITER + String.valueOf(references.size() - 1) + MARKER_DELIMITER;
+        });
+        String converted = visitor.visit(parse(expressionText));
+
+        List<String> texts = new ArrayList<>(references.size() + 1);
+        List<FieldReference> orderedReferences = new ArrayList<>(references.size());
+        int start = 0;
+        int markerStart;
+        while ((markerStart = converted.indexOf(MARKER_DELIMITER, start)) >= 0) {
+            int markerEnd = converted.indexOf(MARKER_DELIMITER, markerStart + 1);
+            texts.add(converted.substring(start, markerStart));
+            orderedReferences.add(references.get(Integer.parseInt(converted.substring(markerStart + 1, markerEnd))));
+            start = markerEnd + 1;
+        }
+        texts.add(converted.substring(start));
+        return new CompiledExpression(List.copyOf(texts), List.copyOf(orderedReferences));
+    }
+
+    /**
+     * Tries the faster SLL prediction first, it fails on syntax errors and on the rare
+     * inputs it can't handle. The full LL parse then either succeeds or reports the error.
+     */
+    private ParseTree parse(String expressionText) {
         ANTLRErrorListener errorListener = buildErrorListener();
         ExpressionLexer lexer = new ExpressionLexer(CharStreams.fromString(expressionText));
         lexer.addErrorListener(errorListener);
-        ExpressionParser parser = new ExpressionParser(new CommonTokenStream(lexer));
-        parser.addErrorListener(errorListener);
-        ExpressionVisitor visitor = new ExpressionVisitor(fieldIdResolver);
-        ParseTree tree = parser.expression();
-        return visitor.visit(tree);
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        ExpressionParser parser = new ExpressionParser(tokens);
+
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return parser.expression();
+        } catch (ParseCancellationException e) {
+            tokens.seek(0);
+            parser.reset();
+            parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+            parser.addErrorListener(errorListener);
+            parser.setErrorHandler(new DefaultErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            return parser.expression();
+        }
     }
 
     private ANTLRErrorListener buildErrorListener() {
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.sql.Timestamp;
+
+/**
+ * Last published state of the compiled library of a specification and the change log version
+ * it was changed in. Removed libraries are kept with an empty timestamp until pruned.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@Entity(name = "compiled_library_changes")
+public class CompiledLibraryChange {
+
+    @Id
+    @Column(name = "model_id")
+    private String modelId;
+    @Column(name = "compiled_when")
+    private Timestamp compiledWhen;
+    private long version;
+
+    public boolean isRemoved() {
+        return compiledWhen == null;
+    }
+}
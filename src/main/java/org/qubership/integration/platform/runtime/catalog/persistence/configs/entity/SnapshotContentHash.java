@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.sql.Timestamp;
+
+/**
+ * Content hash of the chain state a snapshot was built from
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@Entity(name = "snapshot_content_hashes")
+public class SnapshotContentHash {
+
+    @Id
+    @Column(name = "snapshot_id")
+    private String snapshotId;
+    @Column(name = "chain_id")
+    private String chainId;
+    @Column(name = "content_hash")
+    private String contentHash;
+    @Column(name = "created_when")
+    private Timestamp createdWhen;
+
+    @PrePersist
+    public void specifyCreatedWhen() {
+        createdWhen = new Timestamp(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.persistence.configs.repository;
+
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.CompiledLibraryChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CompiledLibraryChangeRepository extends JpaRepository<CompiledLibraryChange, String> {
+    interface ChangeLogState {
+        String getEpoch();
+
+        Long getVersion();
+
+        Long getPrunedVersion();
+
+        /**
+         * Version of the libraries list written to Consul
+         */
+        Long getPublishedVersion();
+    }
+
+    @Query(nativeQuery = true,
+            value = """
+                    SELECT epoch AS "epoch", version AS "version", pruned_version AS "prunedVersion",
+                        published_version AS "publishedVersion"
+                    FROM {h-schema}compiled_library_change_log"""
+    )
+    ChangeLogState getChangeLogState();
+
+    /**
+     * Same as {@link #getChangeLogState}, the row stays locked until the end of the transaction,
+     * so changes are recorded by one instance at a time
+     */
+    @Query(nativeQuery = true,
+            value = """
+                    SELECT epoch AS "epoch", version AS "version", pruned_version AS "prunedVersion",
+                        published_version AS "publishedVersion"
+                    FROM {h-schema}compiled_library_change_log
+                    FOR UPDATE"""
+    )
+    ChangeLogState lockChangeLogState();
+
+    @Modifying
+    @Query(nativeQuery = true,
+            value = """
+                    UPDATE {h-schema}compiled_library_change_log
+                    SET version = :version, pruned_version = GREATEST(pruned_version, :prunedVersion)"""
+    )
+    void updateChangeLogState(long version, long prunedVersion);
+
+    @Modifying
+    @Query(nativeQuery = true,
+            value = """
+                    UPDATE {h-schema}compiled_library_change_log
+                    SET published_version = GREATEST(published_version, :version)"""
+    )
+    void updatePublishedVersion(long version);
+
+    List<CompiledLibraryChange> findAllByCompiledWhenIsNotNull();
+
+    List<CompiledLibraryChange> findAllByVersionGreaterThanAndVersionLessThanEqual(long fromVersion, long toVersion);
+
+    @Modifying
+    @Query(nativeQuery = true,
+            value = """
+                    DELETE FROM {h-schema}compiled_library_changes
+                    WHERE compiled_when IS NULL AND version <= :version"""
+    )
+    void deleteRemovedUpToVersion(long version);
+}
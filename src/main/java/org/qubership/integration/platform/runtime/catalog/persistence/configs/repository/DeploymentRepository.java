@@ -23,6 +23,7 @@
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -30,10 +31,21 @@
 @Repository
 public interface DeploymentRepository extends JpaRepository<Deployment, String> {
 
+    interface DeploymentOwner {
+        String getId();
+
+        String getCreatedById();
+
+        Timestamp getCreatedWhen();
+    }
+
     List<Deployment> findAllByChainId(String chainId);
 
     List<Deployment> findAllByDomain(String domain);
 
+    @Query("SELECT d.id AS id, d.createdBy.id AS createdById, d.createdWhen AS createdWhen FROM #{#entityName} d WHERE d.id IN :ids")
+    List<DeploymentOwner> findOwnersByIdIn(Collection<String> ids);
+
     void deleteAllByChainId(String chainId);
 
     void deleteAllBySnapshotId(String snapshotId);
@@ -95,4 +107,43 @@ FROM catalog.deployments d JOIN (SELECT *
             """,
             nativeQuery = true)
     void deleteObsoleteDeployments(Collection<String> deployed, Collection<String> notDeployed);
+
+    /**
+     * Versions of chains as sources of deployment updates, covering the chain itself and its masked fields.
+     * Counts are included so that deletions change the version as well.
+     *
+     * @return rows of [chain id, version]
+     */
+    @Query(value = """
+            SELECT c.id,
+                   concat_ws('|', c.modified_when, count(m.id), max(m.modified_when))
+            FROM catalog.chains c
+                LEFT JOIN catalog.masked_fields m ON m.chain_id = c.id
+            WHERE c.id IN :chainIds
+            GROUP BY c.id, c.modified_when""",
+            nativeQuery = true)
+    List<Object[]> findChainSourceVersions(Collection<String> chainIds);
+
+    /**
+     * Versions of integration systems as sources of deployment updates, covering the system itself,
+     * its environments, specification groups and specifications.
+     * Counts are included so that deletions change the version as well.
+     *
+     * @return rows of [system id, version]
+     */
+    @Query(value = """
+            SELECT s.id,
+                   concat_ws('|', s.modified_when,
+                       (SELECT concat_ws(',', count(e.id), max(e.modified_when))
+                        FROM catalog.environment e WHERE e.system_id = s.id),
+                       (SELECT concat_ws(',', count(g.id), max(g.modified_when))
+                        FROM catalog.specification_group g WHERE g.system_id = s.id),
+                       (SELECT concat_ws(',', count(m.id), max(m.modified_when))
+                        FROM catalog.models m
+                            JOIN catalog.specification_group g ON m.specification_group_id = g.id
+                        WHERE g.system_id = s.id))
+            FROM catalog.integration_system s
+            WHERE s.id IN :systemIds""",
+            nativeQuery = true)
+    List<Object[]> findSystemSourceVersions(Collection<String> systemIds);
 }
@@ -21,6 +21,7 @@
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ImportSessionRepository extends JpaRepository<ImportSession, String> {
@@ -32,4 +33,19 @@ public interface ImportSessionRepository extends JpaRepository<ImportSession, St
                     + "WHERE modified_when <= NOW() - make_interval(0, 0, 0, 0, 0, :sessionLifetimeMinutes, 0)"
     )
     void deleteSessionsOlderThan(int sessionLifetimeMinutes);
+
+    /**
+     * Updates completion without reading and rewriting the import result
+     *
+     * @return number of updated sessions
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            nativeQuery = true,
+            value = "UPDATE catalog.import_sessions "
+                    + "SET completion_percentage = :completion, modified_when = NOW() "
+                    + "WHERE id = :id"
+    )
+    int updateCompletion(String id, int completion);
 }
@@ -26,23 +26,66 @@
 import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public interface SnapshotRepository extends SnapshotBaseRepository {
+    interface PrunedSnapshot {
+        String getId();
+
+        String getName();
+
+        String getChainId();
+
+        String getChainName();
+    }
+
+    interface PruneCandidates {
+        String getChainId();
+
+        String getChainName();
+
+        Long getSnapshots();
+    }
+
+    /**
+     * Deletes a chunk of snapshots not used by deployments and not current for their chains
+     *
+     * @return deleted snapshots with names of their chains
+     */
+    @Query(nativeQuery = true,
+            value = """
+                    WITH pruned AS (
+                        DELETE FROM {h-schema}snapshots where ctid in
+                        (SELECT s.ctid
+                        FROM {h-schema}snapshots s
+                        LEFT JOIN {h-schema}deployments d ON d.snapshot_id = s.id
+                        LEFT JOIN {h-schema}chains c ON c.current_snapshot_id = s.id
+                        WHERE s.created_when < :createdWhen AND
+                        d.id IS NULL AND c.id IS NULL
+                        LIMIT :chunk) RETURNING id, name, chain_id)
+                    SELECT p.id AS "id", p.name AS "name", p.chain_id AS "chainId", c.name AS "chainName"
+                    FROM pruned p
+                    LEFT JOIN {h-schema}chains c ON c.id = p.chain_id"""
+    )
+    List<PrunedSnapshot> pruneByCreatedWhen(@NonNull Timestamp createdWhen, int chunk);
+
+    /**
+     * Snapshots {@link #pruneByCreatedWhen} would delete, grouped by chain
+     */
     @Query(nativeQuery = true,
             value = """
-                    DELETE FROM {h-schema}snapshots where ctid in 
-                    (SELECT s.ctid 
-                    FROM {h-schema}snapshots s 
-                    LEFT JOIN {h-schema}deployments d ON d.snapshot_id = s.id 
-                    LEFT JOIN {h-schema}chains c ON c.current_snapshot_id = s.id 
-                    WHERE s.created_when < :createdWhen AND 
-                    d.id IS NULL AND c.id IS NULL 
-                    LIMIT :chunk) RETURNING id, name, chain_id as chain"""
+                    SELECT s.chain_id AS "chainId", ch.name AS "chainName", count(*) AS "snapshots"
+                    FROM {h-schema}snapshots s
+                    LEFT JOIN {h-schema}deployments d ON d.snapshot_id = s.id
+                    LEFT JOIN {h-schema}chains c ON c.current_snapshot_id = s.id
+                    LEFT JOIN {h-schema}chains ch ON ch.id = s.chain_id
+                    WHERE s.created_when < :createdWhen AND
+                    d.id IS NULL AND c.id IS NULL
+                    GROUP BY s.chain_id, ch.name
+                    ORDER BY count(*) DESC"""
     )
-    List<Map<String, String>> pruneByCreatedWhen(@NonNull Timestamp createdWhen, int chunk);
+    List<PruneCandidates> countPruneCandidatesByChain(@NonNull Timestamp createdWhen);
 
     List<Snapshot> findAllByChainId(String chainId);
 
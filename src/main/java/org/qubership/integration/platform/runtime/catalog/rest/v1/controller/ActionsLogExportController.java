@@ -20,12 +20,15 @@
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.context.RequestIdContext;
+import org.qubership.integration.platform.runtime.catalog.model.exportimport.ActionsLogExportFormat;
 import org.qubership.integration.platform.runtime.catalog.service.exportimport.ActionsLogExportService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.sql.Timestamp;
 
@@ -44,21 +47,27 @@ public ActionsLogExportController(ActionsLogExportService actionsLogExportServic
 
     @GetMapping(value = "")
     @Operation(description = "Export action log as a file")
-    public ResponseEntity<Object> export(@RequestParam @Parameter(description = "Timestamp from") Long actionTimeFrom,
-                                         @RequestParam @Parameter(description = "Timestamp to") Long actionTimeTo) {
-        log.info("Request to export actions log");
-        byte[] document = this.actionsLogExportService.exportAsExcelDocument(new Timestamp(actionTimeFrom), new Timestamp(actionTimeTo));
-        return asResponse(document);
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam @Parameter(description = "Timestamp from") Long actionTimeFrom,
+                                                        @RequestParam @Parameter(description = "Timestamp to") Long actionTimeTo,
+                                                        @RequestParam(defaultValue = "XLSX") @Parameter(description = "File format, CSV is lighter for large time ranges") ActionsLogExportFormat format) {
+        log.info("Request to export actions log as {}", format);
+        String requestId = RequestIdContext.get();
+        return asStreamingResponse(format, outputStream -> {
+            RequestIdContext.set(requestId);
+            actionsLogExportService.export(new Timestamp(actionTimeFrom), new Timestamp(actionTimeTo), format, outputStream);
+        });
     }
 
-    private ResponseEntity<Object> asResponse(byte[] document) {
+    /**
+     * Document is written to the response while actions are being read, so its length is unknown
+     */
+    private ResponseEntity<StreamingResponseBody> asStreamingResponse(ActionsLogExportFormat format, StreamingResponseBody body) {
         HttpHeaders header = new HttpHeaders();
-        header.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=catalog-actions-log.xlsx");
+        header.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=catalog-actions-log." + format.getExtension());
         header.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION);
-        ByteArrayResource resource = new ByteArrayResource(document);
         return ResponseEntity.ok()
                 .headers(header)
-                .contentLength(resource.contentLength())
-                .body(resource);
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
 }
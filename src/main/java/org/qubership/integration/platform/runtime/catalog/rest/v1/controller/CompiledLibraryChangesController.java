@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.rest.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.runtime.catalog.consul.CompiledLibraryChangeLog;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.system.CompiledLibraryChangesDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping(value = "/v1/models/compiled-libraries/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "compiled-library-changes-controller", description = "Compiled Library Changes Controller")
+public class CompiledLibraryChangesController {
+
+    private final CompiledLibraryChangeLog compiledLibraryChangeLog;
+
+    @Autowired
+    public CompiledLibraryChangesController(CompiledLibraryChangeLog compiledLibraryChangeLog) {
+        this.compiledLibraryChangeLog = compiledLibraryChangeLog;
+    }
+
+    @GetMapping
+    @Operation(description = "Get compiled libraries changed since the given version, all libraries if the version is unknown")
+    public ResponseEntity<CompiledLibraryChangesDTO> getChanges(
+            @RequestParam(required = false) @Parameter(description = "Epoch of the last received changes") String epoch,
+            @RequestParam(defaultValue = "0") @Parameter(description = "Version of the last received changes") long sinceVersion) {
+        log.debug("Request to get compiled library changes since {}:{}", epoch, sinceVersion);
+        CompiledLibraryChangeLog.Changes changes = compiledLibraryChangeLog.changesSince(epoch, sinceVersion);
+        return ResponseEntity.ok(CompiledLibraryChangesDTO.builder()
+                .epoch(changes.epoch())
+                .fromVersion(changes.fromVersion())
+                .toVersion(changes.toVersion())
+                .fullResync(changes.fullResync())
+                .updated(changes.updated())
+                .removed(changes.removed())
+                .build());
+    }
+}
@@ -20,15 +20,14 @@
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
-import org.qubership.integration.platform.catalog.service.exportimport.ExportImportUtils;
-import org.qubership.integration.platform.runtime.catalog.service.SystemModelService;
+import org.qubership.integration.platform.runtime.catalog.service.CompiledLibraryFileCache;
+import org.qubership.integration.platform.runtime.catalog.service.CompiledLibraryFileCache.CompiledLibraryFile;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.util.Pair;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-
-import static java.util.Objects.isNull;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Slf4j
 @RestController
@@ -37,20 +36,50 @@
 @Tag(name = "compiled-library-controller", description = "Compiled Library Controller")
 public class CompiledLibraryController {
 
-    private final SystemModelService systemModelService;
+    private final CompiledLibraryFileCache compiledLibraryFileCache;
 
     @Autowired
-    public CompiledLibraryController(SystemModelService systemModelService) {
-        this.systemModelService = systemModelService;
+    public CompiledLibraryController(CompiledLibraryFileCache compiledLibraryFileCache) {
+        this.compiledLibraryFileCache = compiledLibraryFileCache;
     }
 
+    /**
+     * Conditional (If-None-Match) and Range requests are handled by Spring MVC
+     * for resource bodies using the ETag set here
+     */
     @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     @Operation(description = "Get compiled jar file for the specification")
-    public ResponseEntity<Object> getSystemModelJar(@PathVariable @Parameter(description = "Specification id") String modelId) {
+    public ResponseEntity<Resource> getSystemModelJar(@PathVariable @Parameter(description = "Specification id") String modelId) {
         log.debug("Request to get jar file for model with id {}", modelId);
-        Pair<byte[], String> pair = systemModelService.getCompiledLibrary(modelId);
-        return isNull(pair)
-                ? ResponseEntity.noContent().build()
-                : ExportImportUtils.convertFileToResponse(pair.getFirst(), pair.getSecond());
+        return compiledLibraryFileCache.getLibraryFile(modelId)
+                .map(file -> {
+                    releaseOnRequestCompletion(file);
+                    return toResponse(file);
+                })
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * The file is sent after the handler returns, it's kept on disk until the request is completed
+     */
+    private void releaseOnRequestCompletion(CompiledLibraryFile file) {
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                CompiledLibraryFile.class.getName() + ":" + file.hash(),
+                () -> compiledLibraryFileCache.release(file),
+                RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private ResponseEntity<Resource> toResponse(CompiledLibraryFile file) {
+        HttpHeaders header = new HttpHeaders();
+        header.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.name() + "\"");
+        header.add(HttpHeaders.ACCEPT_RANGES, "bytes");
+        header.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+                String.join(", ", HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG, HttpHeaders.ACCEPT_RANGES));
+        return ResponseEntity.ok()
+                .headers(header)
+                .eTag("\"" + file.hash() + "\"")
+                // the jar changes when the specification is recompiled, clients revalidate it by ETag on every use
+                .cacheControl(CacheControl.noCache())
+                .body(compiledLibraryFileCache.toResource(file));
     }
 }
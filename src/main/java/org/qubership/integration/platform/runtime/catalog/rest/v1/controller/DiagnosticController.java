@@ -70,7 +70,8 @@ public ResponseEntity<List<DiagnosticValidationDTO>> searchValidations(
         for (Pair<AbstractValidation, ValidationAlertsSet> pair : validations) {
             AbstractValidation validation = pair.getLeft();
             ValidationAlertsSet alertsSet = pair.getRight();
-            ValidationStatusDTO statusDTO = validationMapper.asStatusDTO(statuses.get(validation.getId()));
+            ValidationStatusDTO statusDTO = validationMapper.asStatusDTO(statuses.get(validation.getId()),
+                    diagnosticService.getLastDuration(validation.getId()));
 
             result.add(validationMapper.asDTO(validation, statusDTO, alertsSet));
         }
@@ -91,7 +92,8 @@ public ResponseEntity<DiagnosticValidationDTO> getValidationById(
             log.debug("Request to get all diagnostic validation: {}", validationId);
         }
         Pair<AbstractValidation, ValidationAlertsSet> pair = diagnosticService.getValidationById(validationId);
-        ValidationStatusDTO status = validationMapper.asStatusDTO(diagnosticService.getCurrentStatus(validationId));
+        ValidationStatusDTO status = validationMapper.asStatusDTO(diagnosticService.getCurrentStatus(validationId),
+                diagnosticService.getLastDuration(validationId));
         ValidationAlertsSet alertsSet = pair.getRight();
         DiagnosticValidationDTO dto = validationMapper.asDTO(pair.getLeft(), status, alertsSet);
         clearEntitiesByState(dto);
@@ -102,11 +104,13 @@ public ResponseEntity<DiagnosticValidationDTO> getValidationById(
     @Operation(description = "Run diagnostic validations")
     public ResponseEntity<Void> runValidations(
             @RequestParam(required = false, defaultValue = "") @Parameter(description = "List of validation IDs that need to be run."
-                    + " If the parameter is empty, then all validations will be run") Set<String> validationIds
+                    + " If the parameter is empty, then all validations will be run") Set<String> validationIds,
+            @RequestParam(required = false, defaultValue = "false") @Parameter(description = "Skip validations that depend on chains only"
+                    + " if no chain was modified since their last successful run") boolean onlyModifiedChains
     ) {
         log.info("Request to start validations processing for: {}",
                 validationIds == null || validationIds.isEmpty() ? "all validations" : validationIds);
-        diagnosticService.runValidationsAsync(validationIds);
+        diagnosticService.runValidationsAsync(validationIds, onlyModifiedChains);
         return ResponseEntity.accepted().build();
     }
 
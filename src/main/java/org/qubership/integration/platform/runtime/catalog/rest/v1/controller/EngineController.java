@@ -16,6 +16,7 @@
 
 package org.qubership.integration.platform.runtime.catalog.rest.v1.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,13 +32,25 @@
 import org.qubership.integration.platform.runtime.catalog.service.DeploymentService;
 import org.qubership.integration.platform.runtime.catalog.service.EngineService;
 import org.qubership.integration.platform.runtime.catalog.service.RuntimeDeploymentService;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateNotifier;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -45,23 +58,34 @@
 @CrossOrigin(origins = "*")
 @Tag(name = "engine-controller", description = "Engine Controller")
 public class EngineController {
+    public static final String DEPLOYMENTS_VERSION_HEADER = "X-Deployments-Version";
+    public static final String DEPLOYMENTS_UPDATE_MODE_HEADER = "X-Deployments-Update-Mode";
+    public static final String DEPLOYMENTS_UPDATE_STREAM_MODE = "stream";
+    private static final String GZIP_ENCODING = "gzip";
+
     private final EngineMapper engineMapper;
     private final EngineService engineService;
     private final DeploymentMapper deploymentMapper;
     private final DeploymentService deploymentService;
     private final RuntimeDeploymentService runtimeDeploymentService;
+    private final DeploymentsUpdateNotifier deploymentsUpdateNotifier;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     EngineController(EngineService engineService,
                      EngineMapper engineMapper,
                      DeploymentMapper deploymentMapper,
                      DeploymentService deploymentService,
-                     RuntimeDeploymentService runtimeDeploymentService) {
+                     RuntimeDeploymentService runtimeDeploymentService,
+                     DeploymentsUpdateNotifier deploymentsUpdateNotifier,
+                     @Qualifier("primaryObjectMapper") ObjectMapper objectMapper) {
         this.engineService = engineService;
         this.engineMapper = engineMapper;
         this.deploymentMapper = deploymentMapper;
         this.deploymentService = deploymentService;
         this.runtimeDeploymentService = runtimeDeploymentService;
+        this.deploymentsUpdateNotifier = deploymentsUpdateNotifier;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -126,4 +150,98 @@ ResponseEntity<DeploymentsUpdate> getDeploymentsUpdate(@PathVariable @Parameter(
             throw e;
         }
     }
+
+    /**
+     * Internal endpoint, used for communication with qip-engine.
+     * Streaming variant of the deployments update, selected by the {@value DEPLOYMENTS_UPDATE_MODE_HEADER}
+     * header. The response document is the same, but deployment updates are written as they are built,
+     * gzip-compressed if the engine accepts it. An incomplete document means the update has failed.
+     */
+    @PostMapping(path = "/{domainName}/deployments/update",
+            headers = DEPLOYMENTS_UPDATE_MODE_HEADER + "=" + DEPLOYMENTS_UPDATE_STREAM_MODE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Get deployments update for particular engine as a stream, for internal use")
+    ResponseEntity<StreamingResponseBody> streamDeploymentsUpdate(@PathVariable @Parameter(description = "Engine domain name") String domainName,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) @Parameter(description = "Response is gzip-compressed if accepted") String acceptEncoding,
+                                                                  @RequestBody @Parameter(description = "Engine deployments update request object") EngineDeploymentsDTO engineDeployments) {
+        if (log.isDebugEnabled()) {
+            log.debug("Request to stream deployments for engine with domain {}", domainName);
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP_ENCODING);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream) : outputStream;
+            try {
+                DeploymentsUpdateStreamWriter writer = new DeploymentsUpdateStreamWriter(objectMapper, target);
+                deploymentService.writeDeploymentsForDomain(domainName, engineDeployments, writer);
+                // not closed on failure, so the engine can't mistake a partial update for a complete one
+                writer.close();
+            } catch (Exception e) {
+                log.error("Failed to stream deployments for engine update", e);
+                throw e;
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Internal endpoint, used for communication with qip-engine.
+     * Long-polling variant of the deployments update: the request is held until deployments version
+     * moves past the one the engine has seen and there is something to update or stop on the engine.
+     * Responds with 304 if nothing has changed within the wait timeout, the engine should repeat the request
+     * with the same version then. The version to use in the next request is returned
+     * in the {@value DEPLOYMENTS_VERSION_HEADER} header.
+     */
+    @PostMapping(path = "/{domainName}/deployments/update/wait", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Wait for deployments update for particular engine, for internal use")
+    DeferredResult<ResponseEntity<DeploymentsUpdate>> waitForDeploymentsUpdate(@PathVariable @Parameter(description = "Engine domain name") String domainName,
+                                                                               @RequestParam(required = false) @Parameter(description = "Last deployments version received by the engine. If absent, update is returned immediately") Long version,
+                                                                               @RequestBody @Parameter(description = "Engine deployments update request object") EngineDeploymentsDTO engineDeployments) {
+        if (log.isDebugEnabled()) {
+            log.debug("Request to wait for deployments for engine with domain {}, version {}", domainName, version);
+        }
+        DeferredResult<ResponseEntity<DeploymentsUpdate>> result = new DeferredResult<>(
+                deploymentsUpdateNotifier.getWaitTimeout().toMillis(),
+                () -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        AtomicReference<CompletableFuture<Long>> pendingWait = new AtomicReference<>();
+        result.onCompletion(() -> Optional.ofNullable(pendingWait.get()).ifPresent(wait -> wait.cancel(false)));
+        awaitDeploymentsUpdate(result, pendingWait, domainName, engineDeployments, version == null ? -1 : version);
+        return result;
+    }
+
+    private void awaitDeploymentsUpdate(DeferredResult<ResponseEntity<DeploymentsUpdate>> result,
+                                        AtomicReference<CompletableFuture<Long>> pendingWait,
+                                        String domainName,
+                                        EngineDeploymentsDTO engineDeployments,
+                                        long lastSeenVersion) {
+        CompletableFuture<Long> wait = deploymentsUpdateNotifier.awaitVersionAfter(lastSeenVersion);
+        pendingWait.set(wait);
+        if (result.isSetOrExpired()) {
+            wait.cancel(false);
+            return;
+        }
+        wait.thenAccept(currentVersion -> {
+            try {
+                DeploymentsUpdate deploymentsUpdate =
+                        deploymentService.getDeploymentsForDomain(domainName, engineDeployments);
+                if (lastSeenVersion >= 0
+                        && deploymentsUpdate.getUpdate().isEmpty()
+                        && deploymentsUpdate.getStop().isEmpty()) {
+                    // version is global, changes may concern other domains only
+                    awaitDeploymentsUpdate(result, pendingWait, domainName, engineDeployments, currentVersion);
+                    return;
+                }
+                result.setResult(ResponseEntity.ok()
+                        .header(DEPLOYMENTS_VERSION_HEADER, String.valueOf(currentVersion))
+                        .body(deploymentsUpdate));
+            } catch (Exception e) {
+                log.error("Failed to get deployments for engine update", e);
+                result.setErrorResult(e);
+            }
+        });
+    }
 }
@@ -26,6 +26,7 @@
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -46,4 +47,12 @@ public ResponseEntity<EventsUpdate> getEvents(
             @RequestParam(required = false, defaultValue = "") @Parameter(description = "Response will include all events after specified one") String lastEventId) {
         return ResponseEntity.ok(eventService.getEvents(lastEventId));
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(description = "Subscribe on events stream. Stream event id is the event sequence number.")
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) @Parameter(description = "Sequence of the last received event, set by browser on reconnect") Long lastEventIdHeader,
+            @RequestParam(required = false) @Parameter(description = "Stream will include all kept events after specified sequence") Long lastSequence) {
+        return eventService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastSequence);
+    }
 }
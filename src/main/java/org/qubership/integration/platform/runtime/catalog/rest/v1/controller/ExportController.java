@@ -23,6 +23,7 @@
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.context.RequestIdContext;
 import org.qubership.integration.platform.catalog.model.apispec.ApiSpecificationFormat;
 import org.qubership.integration.platform.catalog.model.apispec.ApiSpecificationType;
 import org.qubership.integration.platform.runtime.catalog.service.exportimport.ApiSpecificationExportService;
@@ -35,6 +36,7 @@
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -65,19 +67,25 @@ public ResponseEntity<Object> exportChain(@PathVariable @NotBlank @Parameter(des
 
     @GetMapping("/chains")
     @Operation(description = "Export multiple chains in a single zip archive")
-    public ResponseEntity<Object> exportChains(@RequestParam @NotEmpty @Valid @Parameter(description = "List of chain ids, separated by comma") List<String> chainIds,
-                                               @RequestParam(required = false) @Parameter(description = "Whether resulting archive should contain sub-chains called from specified chains") boolean exportWithSubChains) {
+    public ResponseEntity<StreamingResponseBody> exportChains(@RequestParam @NotEmpty @Valid @Parameter(description = "List of chain ids, separated by comma") List<String> chainIds,
+                                                              @RequestParam(required = false) @Parameter(description = "Whether resulting archive should contain sub-chains called from specified chains") boolean exportWithSubChains) {
         log.info("Request to export chains with IDs: {}", chainIds);
-        Pair<String, byte[]> zip = exportService.exportListChains(chainIds, exportWithSubChains);
-        return asResponse(zip);
+        String requestId = RequestIdContext.get();
+        return asStreamingResponse(outputStream -> {
+            RequestIdContext.set(requestId);
+            exportService.exportListChains(chainIds, exportWithSubChains, outputStream);
+        });
     }
 
     @GetMapping()
     @Operation(description = "Export all available chains in a single zip archive")
-    public ResponseEntity<Object> exportAllChains() {
+    public ResponseEntity<StreamingResponseBody> exportAllChains() {
         log.info("Request to export all chain");
-        Pair<String, byte[]> zip = exportService.exportAllChains();
-        return asResponse(zip);
+        String requestId = RequestIdContext.get();
+        return asStreamingResponse(outputStream -> {
+            RequestIdContext.set(requestId);
+            exportService.exportAllChains(outputStream);
+        });
     }
 
     @GetMapping("/api-spec")
@@ -108,4 +116,16 @@ private ResponseEntity<Object> asResponse(Pair<String, byte[]> zip) {
                 .contentLength(resource.contentLength())
                 .body(resource);
     }
+
+    /**
+     * Archive is written to the response while it is being built, so its length is unknown
+     */
+    private ResponseEntity<StreamingResponseBody> asStreamingResponse(StreamingResponseBody body) {
+        HttpHeaders header = new HttpHeaders();
+        header.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportService.generateExportZipName() + "\"");
+        header.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION);
+        return ResponseEntity.ok()
+                .headers(header)
+                .body(body);
+    }
 }
@@ -24,6 +24,7 @@
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.engine.LiveExchangeExtDTO;
 import org.qubership.integration.platform.runtime.catalog.service.LiveExchangesService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.CollectionUtils;
@@ -38,6 +39,9 @@
 @Validated
 @Tag(name = "live-exchanges-controller", description = "Live Exchanges Controller")
 public class LiveExchangesController {
+    // engines whose exchanges are missing in the response
+    public static final String FAILED_ENGINES_HEADER = "X-Failed-Engines";
+
     private final LiveExchangesService liveExchangesService;
 
     @Autowired
@@ -46,13 +50,18 @@ public LiveExchangesController(LiveExchangesService liveExchangesService) {
     }
 
     @GetMapping
-    @Operation(description = "Get top N running sessions live exchanges ordered by execution time DESC from all running engines")
+    @Operation(description = "Get top N running sessions live exchanges ordered by execution time DESC from all running engines. Engines that failed to respond are listed in the X-Failed-Engines header")
     public ResponseEntity<List<LiveExchangeExtDTO>> getLiveExchanges(@RequestParam(required = false, defaultValue = "10") @Positive @Parameter(description = "Amount of entries to view") Integer limit) {
-        List<LiveExchangeExtDTO> result = liveExchangesService.getTopLongLiveExchanges(limit);
-        if (CollectionUtils.isEmpty(result)) {
-            return ResponseEntity.noContent().build();
+        LiveExchangesService.TopLiveExchanges result = liveExchangesService.getTopLongLiveExchanges(limit);
+        HttpHeaders headers = new HttpHeaders();
+        if (!result.failedEngines().isEmpty()) {
+            headers.add(FAILED_ENGINES_HEADER, String.join(",", result.failedEngines()));
+            headers.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, FAILED_ENGINES_HEADER);
+        }
+        if (CollectionUtils.isEmpty(result.exchanges())) {
+            return ResponseEntity.noContent().headers(headers).build();
         }
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().headers(headers).body(result.exchanges());
     }
 
     @DeleteMapping("/{podIp}/{deploymentId}/{exchangeId}")
@@ -24,12 +24,17 @@
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.runtime.catalog.mapper.MappingInterpretationCache;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneProgressDTO;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneReportDTO;
 import org.qubership.integration.platform.runtime.catalog.service.SnapshotService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping(value = "/v1/catalog/maintenance", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -39,9 +44,12 @@
 public class MaintenanceController {
 
     private final SnapshotService snapshotService;
+    private final MappingInterpretationCache mappingInterpretationCache;
 
-    public MaintenanceController(SnapshotService snapshotService) {
+    public MaintenanceController(SnapshotService snapshotService,
+                                 MappingInterpretationCache mappingInterpretationCache) {
         this.snapshotService = snapshotService;
+        this.mappingInterpretationCache = mappingInterpretationCache;
     }
 
     @Operation(extensions = @Extension(properties = {@ExtensionProperty(name = "x-api-kind", value = "bwc")}),
@@ -53,4 +61,24 @@ public ResponseEntity<Void> pruneSnapshots(@RequestParam @Valid @Min(0) @Paramet
         snapshotService.pruneSnapshotsAsync(olderThanDays, chunk);
         return ResponseEntity.accepted().build();
     }
+
+    @Operation(description = "Get progress of the last snapshots cleanup started on the current instance")
+    @GetMapping("/snapshots/prune/progress")
+    public ResponseEntity<SnapshotPruneProgressDTO> getPruneSnapshotsProgress() {
+        return ResponseEntity.of(snapshotService.getPruneProgress());
+    }
+
+    @Operation(description = "Get number of snapshots per chain that cleanup would delete, nothing is deleted")
+    @GetMapping("/snapshots/prune/report")
+    public ResponseEntity<List<SnapshotPruneReportDTO>> getPruneSnapshotsReport(@RequestParam @Valid @Min(0) @Parameter(description = "Snapshots older than that amount of days will be deleted") int olderThanDays) {
+        return ResponseEntity.ok(snapshotService.getPruneReport(olderThanDays));
+    }
+
+    @Operation(description = "Remove all cached mapper element interpretations")
+    @PostMapping("/caches/mapping-interpretations/flush")
+    public ResponseEntity<Void> flushMappingInterpretations() {
+        log.info("Request to flush mapping interpretations cache, {} entries", mappingInterpretationCache.size());
+        mappingInterpretationCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
 }
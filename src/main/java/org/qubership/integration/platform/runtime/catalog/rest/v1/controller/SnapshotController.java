@@ -21,6 +21,7 @@
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.ChainContentHashDTO;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotRequest;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotResponse;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.SnapshotMapper;
@@ -32,6 +33,7 @@
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -59,7 +61,7 @@ public ResponseEntity<List<SnapshotResponse>> findByChainIdLight(@PathVariable @
         var entities = snapshotService.findByChainIdLight(chainId);
         var responseList = snapshotMapper.asResponse(entities);
         responseList.forEach(snapshotDto -> snapshotDto.setXmlDefinition(null));
-        return ResponseEntity.ok(responseList);
+        return ResponseEntity.ok(withContentHashes(responseList));
     }
 
     @GetMapping("/{snapshotId}")
@@ -77,7 +79,7 @@ public ResponseEntity<SnapshotResponse> findById(
         if (light) {
             response.setXmlDefinition(null);
         }
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withContentHash(response));
     }
 
     @PostMapping
@@ -87,7 +89,16 @@ public ResponseEntity<SnapshotResponse> build(@PathVariable @Parameter(descripti
         var entity = snapshotService.build(chainId);
         var response = snapshotMapper.asResponse(entity);
         response.setXmlDefinition(null);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withContentHash(response));
+    }
+
+    @GetMapping("/content-hash")
+    @Operation(description = "Get content hash of the current chain state and of the chain state its current snapshot was built from")
+    public ResponseEntity<ChainContentHashDTO> getContentHash(@PathVariable @Parameter(description = "Chain id") String chainId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Request to get content hash of chain: {}", chainId);
+        }
+        return ResponseEntity.ok(snapshotService.getChainContentHash(chainId));
     }
 
     @PutMapping("/{snapshotId}")
@@ -98,7 +109,7 @@ public ResponseEntity<SnapshotResponse> updateSnapshot(@PathVariable @Parameter(
         log.info("Request to build snapshot for chain with id: {}", chainId);
         Snapshot snapshot = snapshotService.merge(chainId, snapshotId, snapshotMapper.asRequest(request));
         SnapshotResponse response = snapshotMapper.asResponse(snapshot);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withContentHash(response));
     }
 
     @PostMapping(path = "/{snapshotId}/revert", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -110,7 +121,7 @@ public ResponseEntity<SnapshotResponse> revert(
         var entity = snapshotService.revert(chainId, snapshotId);
         var response = snapshotMapper.asResponse(entity);
         response.setXmlDefinition(null);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withContentHash(response));
     }
 
     @DeleteMapping
@@ -130,4 +141,15 @@ public ResponseEntity<Void> deleteById(@PathVariable @Parameter(description = "C
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    private SnapshotResponse withContentHash(SnapshotResponse response) {
+        withContentHashes(List.of(response));
+        return response;
+    }
+
+    private List<SnapshotResponse> withContentHashes(List<SnapshotResponse> responses) {
+        Map<String, String> contentHashes = snapshotService.getContentHashes(
+                responses.stream().map(SnapshotResponse::getId).toList());
+        responses.forEach(response -> response.setContentHash(contentHashes.get(response.getId())));
+        return responses;
+    }
 }
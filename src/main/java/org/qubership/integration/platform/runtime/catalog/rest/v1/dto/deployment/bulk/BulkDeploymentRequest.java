@@ -17,6 +17,7 @@
 package org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
@@ -39,4 +40,8 @@ public class BulkDeploymentRequest {
     @Builder.Default
     @Schema(description = "List of id of chains which should be (re)deployed")
     private List<@NotBlank @Pattern(regexp = "^[-._a-zA-Z0-9]+$") String> chainIds = new ArrayList<>();
+    @Min(1)
+    @Schema(description = "How many snapshots may be built at the same time. "
+            + "Capped on the server side by the database connection pool size")
+    private Integer parallelism;
 }
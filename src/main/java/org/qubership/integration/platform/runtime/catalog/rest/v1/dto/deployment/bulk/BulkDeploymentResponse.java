@@ -16,6 +16,7 @@
 
 package org.qubership.integration.platform.runtime.catalog.rest.v1.dto.deployment.bulk;
 
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 @Getter
@@ -28,4 +29,8 @@ public class BulkDeploymentResponse {
     private String chainName;
     private BulkDeploymentStatus status;
     private String errorMessage;
+    @Schema(description = "Snapshot build time, in ms")
+    private Long snapshotBuildDuration;
+    @Schema(description = "Deployments creation time, in ms")
+    private Long deployDuration;
 }
@@ -35,4 +35,6 @@ public class ValidationStatusDTO {
     private Timestamp startedWhen;
     @Schema(description = "Validation last execution additional message (optional)")
     private String message;
+    @Schema(description = "Validation last execution duration on the current instance, in ms (optional)")
+    private Long duration;
 }
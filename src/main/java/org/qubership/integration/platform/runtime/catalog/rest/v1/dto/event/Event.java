@@ -28,6 +28,8 @@
 public class Event {
     @Schema(description = "Id")
     private String id;
+    @Schema(description = "Monotonic sequence number, can be used to resume events stream")
+    private long sequence;
     @Schema(description = "Timestamp")
     private long time;
     @Nullable
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@Schema(description = "Content hash of the current chain state compared with its current snapshot")
+public class ChainContentHashDTO {
+    @Schema(description = "Chain id")
+    private String chainId;
+    @Schema(description = "Content hash of the current chain state")
+    private String contentHash;
+    @Schema(description = "Current snapshot id")
+    private String currentSnapshotId;
+    @Schema(description = "Content hash of the chain state the current snapshot was built from")
+    private String currentSnapshotContentHash;
+    @Schema(description = "Whether the chain differs from its current snapshot")
+    private boolean changed;
+}
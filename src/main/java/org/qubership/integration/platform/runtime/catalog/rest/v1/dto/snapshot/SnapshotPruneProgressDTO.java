@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+@Builder
+@Schema(description = "Progress of the last snapshots cleanup started on the current instance")
+public class SnapshotPruneProgressDTO {
+    @Schema(description = "Cleanup state")
+    private SnapshotPruneState state;
+    @Schema(description = "Cleanup start time")
+    private Timestamp startedWhen;
+    @Schema(description = "Cleanup end time (optional)")
+    private Timestamp finishedWhen;
+    @Schema(description = "Number of snapshots matching the cleanup criteria at start")
+    private long total;
+    @Schema(description = "Number of deleted snapshots")
+    private long deleted;
+    @Schema(description = "Deleted snapshots per second")
+    private double throughput;
+    @Schema(description = "Estimated time left, in ms (optional)")
+    private Long estimatedTimeLeft;
+    @Schema(description = "Error message if cleanup failed (optional)")
+    private String message;
+}
@@ -37,4 +37,8 @@ public class SnapshotResponse extends BaseResponse {
 
     @Schema(description = "Labels assigned to the snapshot")
     private List<SnapshotLabelDTO> labels;
+
+    @Schema(description = "Content hash of the chain state the snapshot was built from, "
+            + "absent for snapshots built before content hashes were introduced")
+    private String contentHash;
 }
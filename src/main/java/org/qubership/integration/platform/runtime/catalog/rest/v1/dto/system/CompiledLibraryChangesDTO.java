@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.rest.v1.dto.system;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import org.qubership.integration.platform.catalog.model.compiledlibrary.CompiledLibraryUpdate;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@Schema(description = "Compiled libraries changed since the given version")
+public class CompiledLibraryChangesDTO {
+    @Schema(description = "Change log epoch, versions of different epochs are not comparable")
+    private String epoch;
+    @Schema(description = "Version the changes are calculated from")
+    private long fromVersion;
+    @Schema(description = "Current version, to be used in the next request")
+    private long toVersion;
+    @Schema(description = "Whether the version can't be served and updated contains all compiled libraries")
+    private boolean fullResync;
+    @Schema(description = "Added and updated compiled libraries")
+    private List<CompiledLibraryUpdate> updated;
+    @Schema(description = "Ids of specifications whose compiled libraries were removed")
+    private List<String> removed;
+}
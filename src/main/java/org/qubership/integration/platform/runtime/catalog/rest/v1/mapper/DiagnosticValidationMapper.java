@@ -38,7 +38,7 @@ public interface DiagnosticValidationMapper {
     @Mapping(source = "alertsSet.chainAlerts", target = "chainEntities")
     DiagnosticValidationDTO asDTO(AbstractValidation validation, ValidationStatusDTO status, ValidationAlertsSet alertsSet);
 
-    ValidationStatusDTO asStatusDTO(ValidationStatus currentStatus);
+    ValidationStatusDTO asStatusDTO(ValidationStatus currentStatus, Long duration);
 
     List<ValidationChainEntityDTO> asChainEntityDTO(List<ValidationChainAlert> chainEntities);
 
@@ -17,6 +17,7 @@
 package org.qubership.integration.platform.runtime.catalog.rest.v1.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.qubership.integration.platform.catalog.mapping.UserMapper;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.SnapshotLabel;
@@ -35,6 +36,7 @@
 )
 public interface SnapshotMapper {
 
+    @Mapping(target = "contentHash", ignore = true)
     SnapshotResponse asResponse(Snapshot snapshot);
 
     List<SnapshotResponse> asResponse(List<Snapshot> snapshots);
@@ -24,6 +24,8 @@
 import org.qubership.integration.platform.catalog.service.ActionsLogService;
 import org.qubership.integration.platform.runtime.catalog.service.DeploymentService;
 import org.qubership.integration.platform.runtime.catalog.service.RuntimeDeploymentService;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateNotifier;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.HttpTriggerRouteIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -41,6 +43,8 @@ public class TasksScheduler {
     private final ConsulService consulService;
     private final RuntimeDeploymentService runtimeDeploymentService;
     private final ActionsLogService actionsLogService;
+    private final DeploymentsUpdateNotifier deploymentsUpdateNotifier;
+    private final HttpTriggerRouteIndex httpTriggerRouteIndex;
 
     @Value("${qip.actions-log.cleanup.interval}")
     private String actionLogInterval;
@@ -48,10 +52,14 @@ public class TasksScheduler {
     @Autowired
     public TasksScheduler(ConsulService consulService,
                           RuntimeDeploymentService runtimeDeploymentService,
-                          ActionsLogService actionsLogService) {
+                          ActionsLogService actionsLogService,
+                          DeploymentsUpdateNotifier deploymentsUpdateNotifier,
+                          HttpTriggerRouteIndex httpTriggerRouteIndex) {
         this.consulService = consulService;
         this.runtimeDeploymentService = runtimeDeploymentService;
         this.actionsLogService = actionsLogService;
+        this.deploymentsUpdateNotifier = deploymentsUpdateNotifier;
+        this.httpTriggerRouteIndex = httpTriggerRouteIndex;
     }
 
     @Scheduled(cron = "${qip.actions-log.cleanup.cron}")
@@ -95,6 +103,8 @@ public void checkDeploymentUpdates() {
             Pair<Boolean, Long> response = consulService.waitForDeploymentsUpdate();
             if (response.getLeft()) { // changes detected
                 DeploymentService.clearDeploymentsUpdateCache(response.getRight());
+                httpTriggerRouteIndex.invalidate();
+                deploymentsUpdateNotifier.notifyUpdate(response.getRight());
             }
         } catch (KVNotFoundException kvnfe) {
             log.debug("Deployments update KV is empty. {}", kvnfe.getMessage());
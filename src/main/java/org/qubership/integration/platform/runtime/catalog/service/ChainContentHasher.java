@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.qubership.integration.platform.catalog.model.system.ServiceEnvironment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.MaskedField;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Builds a hash of everything a snapshot copies from the chain: elements with their
+ * properties and place in the graph, dependencies, masked fields, swimlanes and the
+ * environments of the systems used by the elements.
+ * <p>
+ * Collections are sorted by ids and map entries by keys, so the hash doesn't depend on
+ * the order entities are loaded in. The snapshot XML is rendered by the running build, so
+ * the fingerprint of the loaded templates and the build version and time are included as well.
+ */
+@Component
+public class ChainContentHasher {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final ObjectWriter canonicalWriter;
+    private final TemplateService templateService;
+    private final String build;
+
+    @Autowired
+    public ChainContentHasher(@Qualifier("primaryObjectMapper") ObjectMapper objectMapper,
+                              TemplateService templateService,
+                              ObjectProvider<BuildProperties> buildPropertiesProvider) {
+        this.canonicalWriter = objectMapper.writer()
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.templateService = templateService;
+        // template helpers and element builders are code, any rebuild may change the rendered XML
+        BuildProperties buildProperties = buildPropertiesProvider.getIfAvailable();
+        this.build = buildProperties == null ? "" : buildProperties.getVersion() + "@" + buildProperties.getTime();
+    }
+
+    /**
+     * @param environments - active environments of the systems used by the chain elements
+     * @return hex encoded SHA-256 hash
+     */
+    public String hash(Chain chain, Collection<ServiceEnvironment> environments) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("build", build);
+        description.put("templates", templateService.getFingerprint());
+        description.put("defaultSwimlane", getId(chain.getDefaultSwimlane()));
+        description.put("reuseSwimlane", getId(chain.getReuseSwimlane()));
+        description.put("elements", chain.getElements().stream()
+                .sorted(Comparator.comparing(ChainElement::getId))
+                .map(this::describeElement)
+                .toList());
+        description.put("maskedFields", chain.getMaskedFields().stream()
+                .map(MaskedField::getName)
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .toList());
+        description.put("environments", environments.stream()
+                .sorted(Comparator.comparing(ServiceEnvironment::getSystemId))
+                .toList());
+
+        try {
+            byte[] content = canonicalWriter.writeValueAsString(description).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(content));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to build content hash of chain " + chain.getId(), e);
+        }
+    }
+
+    private Map<String, Object> describeElement(ChainElement element) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", element.getId());
+        description.put("type", element.getType());
+        description.put("name", element.getName());
+        description.put("description", element.getDescription());
+        description.put("parent", getId(element.getParent()));
+        description.put("swimlane", getId(element.getSwimlane()));
+        description.put("properties", element.getProperties());
+        description.put("outputs", element.getOutputDependencies().stream()
+                .map(Dependency::getElementTo)
+                .map(ChainContentHasher::getId)
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .toList());
+        return description;
+    }
+
+    private static String getId(ChainElement element) {
+        return element == null ? null : element.getId();
+    }
+}
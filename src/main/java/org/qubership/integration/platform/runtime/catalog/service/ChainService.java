@@ -16,6 +16,7 @@
 
 package org.qubership.integration.platform.runtime.catalog.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.ActionLog;
@@ -42,22 +43,26 @@
 @Service
 public class ChainService extends ChainBaseService {
     private static final String CHAIN_WITH_ID_NOT_FOUND_MESSAGE = "Can't find chain with id: ";
+    private static final String CHAIN_IDS_QUERY = "SELECT c.id FROM " + Chain.class.getName() + " c ORDER BY c.id";
 
     private final ChainRepository chainRepository;
     private final DeploymentService deploymentService;
     private final ActionsLogService actionLogger;
+    private final EntityManager entityManager;
 
     @Autowired
     public ChainService(
             ChainRepository chainRepository,
             ElementService elementService,
             @Lazy DeploymentService deploymentService,
-            ActionsLogService actionLogger
+            ActionsLogService actionLogger,
+            EntityManager entityManager
     ) {
         super(chainRepository, elementService);
         this.chainRepository = chainRepository;
         this.deploymentService = deploymentService;
         this.actionLogger = actionLogger;
+        this.entityManager = entityManager;
     }
 
     public Boolean exists(String chainId) {
@@ -68,6 +73,10 @@ public List<Chain> findAll() {
         return chainRepository.findAll();
     }
 
+    public List<String> findAllIds() {
+        return entityManager.createQuery(CHAIN_IDS_QUERY, String.class).getResultList();
+    }
+
     public List<Chain> findAllById(List<String> chainIds) {
         return chainRepository.findAllById(chainIds);
     }
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.Striped;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Local disk cache of compiled library jars, files are named by the SHA-256 of their content.
+ * <p>
+ * A library version is identified by the library id, modification time and size, so a
+ * recompiled library gets a new entry while engines keep downloading the cached file of an
+ * unchanged one. Jar content is copied from the database in chunks and never kept on the heap
+ * as a whole. The content hash is used as a strong ETag by the download endpoint.
+ * <p>
+ * Files returned by {@link #getLibraryFile} are leased until {@link #release} is called,
+ * a leased file is deleted on eviction only after its last lease is released. A library larger
+ * than the cache max size is not cached, its file is deleted when the last lease is released.
+ */
+@Slf4j
+@Component
+public class CompiledLibraryFileCache {
+
+    public record CompiledLibraryFile(String name, String hash, Path path, long size) {
+    }
+
+    private record LibraryVersion(String id, String name, String modifiedWhen, long size) {
+        String key() {
+            return id + ":" + modifiedWhen + ":" + size;
+        }
+    }
+
+    private static final String METRIC_NAME = "qip.compiled-libraries.cache";
+    private static final String DOWNLOAD_METRIC_NAME = "qip.compiled-libraries.download.bytes";
+    private static final String FILE_EXTENSION = ".jar";
+    // files of the configured directory outside of it are never touched
+    private static final String CACHE_SUBDIRECTORY = "jars";
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final String LIBRARY_VERSION_QUERY = """
+            SELECT cl.id, cl.name, cast(cl.modified_when AS TEXT), octet_length(cl.data)
+            FROM catalog.models m
+                     LEFT JOIN catalog.compiled_libraries cl ON cl.id = m.compiled_library_id
+            WHERE m.id = :modelId""";
+    private static final String LIBRARY_CHUNK_QUERY = """
+            SELECT substring(cl.data FROM :from FOR :length)
+            FROM catalog.compiled_libraries cl
+            WHERE cl.id = :id""";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final Path cacheDirectory;
+    private final int chunkSize;
+    private final long maxWeight;
+    // <library version key, cached file>
+    private final Cache<String, CompiledLibraryFile> files;
+    private final Striped<Lock> loadLocks = Striped.lazyWeakLock(64);
+    // guards files on disk: creation, leases and deletion
+    private final Object filesLock = new Object();
+    // <path, number of leases>
+    private final Map<Path, Integer> leases = new HashMap<>();
+    // evicted files to delete when their last lease is released
+    private final Set<Path> pendingDeletions = new HashSet<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter downloadedBytes;
+
+    @Autowired
+    public CompiledLibraryFileCache(EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${qip.compiled-libraries.cache.directory:${java.io.tmpdir}/qip-compiled-libraries}") String cacheDirectory,
+                                    @Value("${qip.compiled-libraries.cache.max-size:512MB}") DataSize maxSize,
+                                    @Value("${qip.compiled-libraries.cache.read-chunk-size:1MB}") DataSize chunkSize) {
+        this.entityManager = entityManager;
+        // all chunks of a library are read from one database snapshot
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransactionTemplate.setReadOnly(true);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheDirectory = Path.of(cacheDirectory).resolve(CACHE_SUBDIRECTORY);
+        this.chunkSize = (int) Math.min(Math.max(chunkSize.toBytes(), 1), Integer.MAX_VALUE);
+        this.maxWeight = Math.max(maxSize.toBytes(), 1);
+        this.files = CacheBuilder.newBuilder()
+                // the max weight is split between segments, with one segment any file up to the max size fits.
+                // Writes are serialized by filesLock anyway
+                .concurrencyLevel(1)
+                .maximumWeight(maxWeight)
+                .<String, CompiledLibraryFile>weigher((key, file) -> weight(file))
+                .removalListener(this::onRemoval)
+                .build();
+        this.hits = Counter.builder(METRIC_NAME)
+                .tag("result", "hit")
+                .description("Compiled library downloads served from the disk cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME)
+                .tag("result", "miss")
+                .description("Compiled library downloads copied from the database")
+                .register(meterRegistry);
+        this.downloadedBytes = Counter.builder(DOWNLOAD_METRIC_NAME)
+                .baseUnit("bytes")
+                .description("Compiled library bytes sent to clients")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", files, Cache::size)
+                .description("Number of cached compiled library versions")
+                .register(meterRegistry);
+
+        prepareCacheDirectory();
+    }
+
+    /**
+     * @return leased cached file of the library currently compiled for the specification,
+     * empty if the specification has no compiled library. The file must be released with {@link #release}.
+     * @throws EntityNotFoundException if the specification doesn't exist
+     */
+    public Optional<CompiledLibraryFile> getLibraryFile(String modelId) {
+        LibraryVersion version = findLibraryVersion(modelId);
+        if (version == null) {
+            return Optional.empty();
+        }
+
+        CompiledLibraryFile file = acquireCached(version.key());
+        if (file != null) {
+            hits.increment();
+            return Optional.of(file);
+        }
+
+        Lock lock = loadLocks.get(version.key());
+        lock.lock();
+        try {
+            file = acquireCached(version.key());
+            if (file != null) {
+                hits.increment();
+                return Optional.of(file);
+            }
+            misses.increment();
+            return Optional.ofNullable(load(modelId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a file returned by {@link #getLibraryFile}
+     */
+    public void release(CompiledLibraryFile file) {
+        synchronized (filesLock) {
+            Integer count = leases.computeIfPresent(file.path(), (path, leaseCount) -> leaseCount > 1 ? leaseCount - 1 : null);
+            if (count == null && pendingDeletions.remove(file.path()) && !isCached(file.hash())) {
+                deleteQuietly(file.path());
+            }
+        }
+    }
+
+    /**
+     * Resource of the cached file that counts the bytes actually sent,
+     * so not modified and partial responses are accounted correctly
+     */
+    public Resource toResource(CompiledLibraryFile file) {
+        return new FileSystemResource(file.path()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new CountingInputStream(super.getInputStream());
+            }
+        };
+    }
+
+    public void invalidateAll() {
+        files.invalidateAll();
+    }
+
+    public long size() {
+        return files.size();
+    }
+
+    private CompiledLibraryFile acquireCached(String versionKey) {
+        synchronized (filesLock) {
+            CompiledLibraryFile file = files.getIfPresent(versionKey);
+            if (file == null) {
+                return null;
+            }
+            if (!Files.exists(file.path())) {
+                files.invalidate(versionKey);
+                return null;
+            }
+            leases.merge(file.path(), 1, Integer::sum);
+            return file;
+        }
+    }
+
+    private CompiledLibraryFile load(String modelId) {
+        return snapshotTransactionTemplate.execute(status -> {
+            // read again, the library may have been recompiled since the first check
+            LibraryVersion version = findLibraryVersion(modelId);
+            if (version == null) {
+                return null;
+            }
+
+            CompiledLibraryFile file = acquireCached(version.key());
+            return file != null ? file : copyToCache(version);
+        });
+    }
+
+    private CompiledLibraryFile copyToCache(LibraryVersion version) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(cacheDirectory, "library-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                for (long offset = 0; offset < version.size(); offset += chunkSize) {
+                    out.write(readChunk(version.id(), offset));
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path path = cacheDirectory.resolve(hash + FILE_EXTENSION);
+            CompiledLibraryFile file = new CompiledLibraryFile(version.name(), hash, path, version.size());
+            synchronized (filesLock) {
+                if (Files.exists(path)) {
+                    // same content is already cached for another library version
+                    Files.delete(tempFile);
+                } else {
+                    Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+                }
+                // leased before it is cached, so evictions made by the put don't delete it
+                leases.merge(path, 1, Integer::sum);
+                if (weight(file) > maxWeight) {
+                    // would be evicted right away, served from the file until released
+                    pendingDeletions.add(path);
+                    log.debug("Compiled library {} is larger than the cache, served from {}", version.id(), path);
+                    return file;
+                }
+                files.put(version.key(), file);
+            }
+            log.debug("Compiled library {} cached as {}", version.id(), path);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            throw new UncheckedIOException("Failed to cache compiled library " + version.id(), e);
+        } catch (NoSuchAlgorithmException e) {
+            deleteQuietly(tempFile);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] readChunk(String libraryId, long offset) {
+        return (byte[]) entityManager.createNativeQuery(LIBRARY_CHUNK_QUERY)
+                // substring positions start from 1, bytea size is limited to 1GB
+                .setParameter("from", (int) offset + 1)
+                .setParameter("length", chunkSize)
+                .setParameter("id", libraryId)
+                .getSingleResult();
+    }
+
+    private LibraryVersion findLibraryVersion(String modelId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(LIBRARY_VERSION_QUERY)
+                .setParameter("modelId", modelId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("Can't find specification with id: " + modelId);
+        }
+
+        Object[] row = rows.get(0);
+        if (row[0] == null || row[3] == null) {
+            return null;
+        }
+        return new LibraryVersion((String) row[0], (String) row[1], String.valueOf(row[2]), ((Number) row[3]).longValue());
+    }
+
+    private void onRemoval(RemovalNotification<String, CompiledLibraryFile> notification) {
+        CompiledLibraryFile removed = notification.getValue();
+        if (removed == null || notification.getCause() == RemovalCause.REPLACED) {
+            return;
+        }
+        synchronized (filesLock) {
+            // other library versions may have the same content
+            if (isCached(removed.hash())) {
+                return;
+            }
+            if (leases.containsKey(removed.path())) {
+                pendingDeletions.add(removed.path());
+            } else {
+                deleteQuietly(removed.path());
+            }
+        }
+    }
+
+    private static int weight(CompiledLibraryFile file) {
+        return (int) Math.min(Math.max(file.size(), 1), Integer.MAX_VALUE);
+    }
+
+    private boolean isCached(String hash) {
+        return files.asMap().values().stream().anyMatch(file -> file.hash().equals(hash));
+    }
+
+    private void prepareCacheDirectory() {
+        try {
+            Files.createDirectories(cacheDirectory);
+            // files left by the previous run are not tracked by the cache
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(cacheDirectory, "*.{jar,tmp}")) {
+                leftovers.forEach(CompiledLibraryFileCache::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare compiled libraries cache directory " + cacheDirectory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete compiled library cache file {}", path, e);
+        }
+    }
+
+    private class CountingInputStream extends FilterInputStream {
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                downloadedBytes.increment();
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                downloadedBytes.increment(count);
+            }
+            return count;
+        }
+    }
+}
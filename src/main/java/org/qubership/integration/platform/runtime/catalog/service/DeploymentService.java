@@ -21,6 +21,7 @@
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.qubership.integration.platform.catalog.model.ElementRoute;
@@ -60,6 +61,9 @@
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.GenericMessageType;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.exception.exceptions.DeploymentProcessingException;
 import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentBuilderService;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentUpdateCache;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateStreamWriter;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.HttpTriggerRouteIndex;
 import org.qubership.integration.platform.runtime.catalog.util.SQLUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -68,14 +72,15 @@
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
 import static org.qubership.integration.platform.catalog.model.constant.CamelNames.*;
@@ -86,6 +91,8 @@
 public class DeploymentService {
 
     private static final String DEPLOYMENT_WITH_ID_NOT_FOUND_MESSAGE = "Can't find deployment with id: ";
+    // deployments built and written per chunk in streaming mode, bounds the heap held by a single engine request
+    private static final int DEPLOYMENTS_UPDATE_STREAM_CHUNK_SIZE = 50;
 
     private final DeploymentRepository deploymentRepository;
     private final ElementRepository elementRepository;
@@ -97,6 +104,8 @@ public class DeploymentService {
     private final ActionsLogService actionLogger;
     private final DeploymentBuilderService deploymentBuilderService;
     private final TransactionHandler transactionHandler;
+    private final DeploymentUpdateCache deploymentUpdateCache;
+    private final HttpTriggerRouteIndex httpTriggerRouteIndex;
 
     @Value("${qip.chains.triggers.check.enabled}")
     private boolean triggersCheckEnabled;
@@ -107,6 +116,9 @@ public class DeploymentService {
     @Value("${qip.control-plane.chain-routes-registration.ingress-gateways:true}")
     private boolean registerOnIncomingGateways;
 
+    @Value("${qip.snapshots.bulk-build.default-parallelism:1}")
+    private int defaultBulkBuildParallelism;
+
     // <id, userId, message, type, optionalFields>
     private MultiConsumer.Consumer5<String, String, String, GenericMessageType, Map<String, String>> messagesCallback = (a, b, c, d, e) -> {
     };
@@ -143,7 +155,9 @@ public DeploymentService(DeploymentRepository deploymentRepository,
                              LibraryElementsService libraryElementsService,
                              ActionsLogService actionLogger,
                              DeploymentBuilderService deploymentBuilderService,
-                             TransactionHandler transactionHandler) {
+                             TransactionHandler transactionHandler,
+                             DeploymentUpdateCache deploymentUpdateCache,
+                             HttpTriggerRouteIndex httpTriggerRouteIndex) {
         this.deploymentRepository = deploymentRepository;
         this.elementRepository = elementRepository;
         this.chainService = chainService;
@@ -153,6 +167,8 @@ public DeploymentService(DeploymentRepository deploymentRepository,
         this.actionLogger = actionLogger;
         this.deploymentBuilderService = deploymentBuilderService;
         this.transactionHandler = transactionHandler;
+        this.deploymentUpdateCache = deploymentUpdateCache;
+        this.httpTriggerRouteIndex = httpTriggerRouteIndex;
     }
 
     @Transactional
@@ -220,14 +236,17 @@ public Deployment create(Deployment deployment, Chain chain, Snapshot snapshot,
         }
 
         AtomicReference<Deployment> savedDeployment = new AtomicReference<>();
-
+        AtomicReference<List<ElementRoute>> httpTriggerRoutes = new AtomicReference<>();
 
         transactionHandler.runInNewTransaction(() -> {
-            checkTriggers(deployment.getDomain(), snapshot.getId(), chain.getId(), excludeDeployments);
+            httpTriggerRoutes.set(mapHttpTriggerRoutes(
+                    elementRepository.findAllBySnapshotIdAndTypeIn(snapshot.getId(), List.of(CamelNames.HTTP_TRIGGER_COMPONENT))));
+            checkTriggers(deployment.getDomain(), snapshot.getId(), chain.getId(), excludeDeployments, httpTriggerRoutes.get());
             prepareDeployment(deployment, snapshot, chain);
             savedDeployment.set(deploymentRepository.save(deployment));
             logDeploymentAction(savedDeployment.get(), chain.getId(), chain.getName(), LogOperation.CREATE);
         });
+        httpTriggerRouteIndex.register(savedDeployment.get().getId(), savedDeployment.get().getDomain(), chain.getId(), httpTriggerRoutes.get());
         return savedDeployment.get();
     }
 
@@ -253,21 +272,25 @@ public Pair<Boolean, List<BulkDeploymentResponse>> bulkCreate(BulkDeploymentRequ
                     })
                 .collect(Collectors.toMap(AbstractEntity::getId, Function.identity()));
 
-        log.info("Bulk deploy for {} chains", chains.size());
+        int parallelism = Optional.ofNullable(request.getParallelism()).orElse(defaultBulkBuildParallelism);
+        log.info("Bulk deploy for {} chains, snapshot build parallelism {}", chains.size(), parallelism);
 
+        Map<String, Long> buildDurations = new HashMap<>();
+        BiConsumer<String, Long> durationHandler = buildDurations::put;
         BiConsumer<String, String> errorHandler = (chainId, msg) -> {
             statuses.add(BulkDeploymentResponse.builder()
                 .chainId(chainId)
                 .chainName(chains.get(chainId).getName())
                 .status(BulkDeploymentStatus.FAILED_SNAPSHOT)
                 .errorMessage(msg)
+                .snapshotBuildDuration(buildDurations.get(chainId))
                 .build());
             failed.set(true);
         };
 
         Map<String, Snapshot> snapshots = switch (request.getSnapshotAction()) {
-            case CREATE_NEW -> snapshotService.buildAll(chains.keySet(), errorHandler);
-            case LAST_CREATED -> snapshotService.findLastCreatedOrBuild(chains.keySet(), errorHandler);
+            case CREATE_NEW -> snapshotService.buildAll(chains.keySet(), parallelism, errorHandler, durationHandler);
+            case LAST_CREATED -> snapshotService.findLastCreatedOrBuild(chains.keySet(), parallelism, errorHandler, durationHandler);
         };
 
         for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
@@ -277,12 +300,15 @@ public Pair<Boolean, List<BulkDeploymentResponse>> bulkCreate(BulkDeploymentRequ
                 return dep;
             }).toList();
 
+            long deployStartTime = System.currentTimeMillis();
             try {
                 createAll(deps, entry.getKey(), entry.getValue());
                 statuses.add(BulkDeploymentResponse.builder()
                         .chainId(entry.getKey())
                         .chainName(chains.get(entry.getKey()).getName())
                         .status(BulkDeploymentStatus.CREATED)
+                        .snapshotBuildDuration(buildDurations.get(entry.getKey()))
+                        .deployDuration(System.currentTimeMillis() - deployStartTime)
                         .build());
             } catch (Exception e) {
                 log.error("Error creating deployment for chain: {}, {}", entry.getKey(), e.getMessage());
@@ -291,6 +317,8 @@ public Pair<Boolean, List<BulkDeploymentResponse>> bulkCreate(BulkDeploymentRequ
                         .chainName(chains.get(entry.getKey()).getName())
                         .status(BulkDeploymentStatus.FAILED_DEPLOY)
                         .errorMessage(e.getMessage())
+                        .snapshotBuildDuration(buildDurations.get(entry.getKey()))
+                        .deployDuration(System.currentTimeMillis() - deployStartTime)
                         .build());
                 failed.set(true);
             }
@@ -336,26 +364,28 @@ private List<DeploymentRoute> buildDeploymentRoutes(Deployment deployment) {
     }
 
     public boolean checkRouteExists(ElementRoute route, String excludeChainId) {
-        return findElementsThatUseRoute(route, excludeChainId).findAny().isPresent();
+        return !httpTriggerRouteIndex.findIntersecting(route, excludeChainId).isEmpty();
     }
 
+    /**
+     * Uses the same route index as {@link #checkRouteExists(ElementRoute, String)}, so both agree
+     */
     public List<Pair<String, Deployment>> findRouteDeployments(ElementRoute route, String excludeChainId) {
-        return findElementsThatUseRoute(route, excludeChainId)
-                .flatMap(element -> {
-                    String path = getHttpTriggerPath(element);
-                    return element.getSnapshot().getDeployments().stream().map(deployment -> Pair.of(path, deployment));
-                })
-                .collect(Collectors.toList());
-    }
-
-    private Stream<ChainElement> findElementsThatUseRoute(ElementRoute route, String excludeChainId) {
-        return elementRepository
-                .findElementsForRouteExistenceCheck(List.of(CamelNames.HTTP_TRIGGER_COMPONENT), excludeChainId)
+        List<HttpTriggerRouteIndex.IndexedRoute> routes = httpTriggerRouteIndex.findIntersecting(route, excludeChainId);
+        Map<String, Deployment> deployments = deploymentRepository.findAllById(routes.stream()
+                        .map(HttpTriggerRouteIndex.IndexedRoute::deploymentId)
+                        .distinct()
+                        .toList())
                 .stream()
-                .filter(element -> getHttpTriggerRoute(element).intersectsWith(route));
+                .collect(Collectors.toMap(Deployment::getId, Function.identity()));
+        return routes.stream()
+                .filter(indexedRoute -> deployments.containsKey(indexedRoute.deploymentId()))
+                .map(indexedRoute -> Pair.of(indexedRoute.route().getPath(), deployments.get(indexedRoute.deploymentId())))
+                .collect(Collectors.toList());
     }
 
-    private void checkTriggers(String domain, String snapshotId, String chainId, List<Deployment> excludeDeployments) {
+    private void checkTriggers(String domain, String snapshotId, String chainId, List<Deployment> excludeDeployments,
+                               List<ElementRoute> pendingRoutes) {
         if (!triggersCheckEnabled) {
             return;
         }
@@ -364,7 +394,7 @@ private void checkTriggers(String domain, String snapshotId, String chainId, Lis
                 ? null
                 : excludeDeployments.stream().map(Deployment::getId).collect(Collectors.toList());
 
-        checkHttpTriggers(snapshotId, chainId, excludeDeploymentIds, domain);
+        checkHttpTriggers(pendingRoutes, chainId, excludeDeploymentIds, domain);
 
         checkSdsTriggers(snapshotId, chainId, excludeDeploymentIds, domain);
 
@@ -394,32 +424,17 @@ private void checkSdsTriggers(String snapshotId, String chainId, List<String> ex
         }
     }
 
-    private void checkHttpTriggers(String snapshotId, String chainId, List<String> excludeDeploymentIds, String domain) {
-        List<String> triggersToCheck = List.of(CamelNames.HTTP_TRIGGER_COMPONENT);
-
-        List<ElementRoute> pendingRoutes = mapHttpTriggerRoutes(
-                elementRepository.findAllBySnapshotIdAndTypeIn(
-                        snapshotId,
-                        triggersToCheck));
+    private void checkHttpTriggers(List<ElementRoute> pendingRoutes, String chainId, List<String> excludeDeploymentIds, String domain) {
         if (pendingRoutes.isEmpty()) {
             return;
         }
 
-        List<ElementRoute> allRoutes = mapHttpTriggerRoutes(
-                elementRepository.findElementsForTriggerCheck(
-                        triggersToCheck,
-                        chainId,
-                        SQLUtils.prepareCollectionForHqlNotInClause(excludeDeploymentIds)));
-
-        List<ElementRoute> otherDomainsRoutes = mapHttpTriggerRoutes(
-                elementRepository.findElementsForDomainTriggerCheck(
-                        triggersToCheck,
-                        domain,
-                        chainId,
-                        SQLUtils.prepareCollectionForHqlNotInClause(excludeDeploymentIds)));
-
-        Set<String> gatewayEqualPaths = findSameHttpTriggerPaths(pendingRoutes, allRoutes, true);
-        Set<String> otherDomainsEqualPaths = findSameHttpTriggerPaths(pendingRoutes, otherDomainsRoutes, false);
+        // the index may lag behind deployments created on other pods
+        httpTriggerRouteIndex.synchronize();
+        Set<String> gatewayEqualPaths = findSameHttpTriggerPaths(pendingRoutes, true, (path, methods) ->
+                httpTriggerRouteIndex.existsSameRoute(path, methods, null, true, chainId, excludeDeploymentIds));
+        Set<String> otherDomainsEqualPaths = findSameHttpTriggerPaths(pendingRoutes, false, (path, methods) ->
+                httpTriggerRouteIndex.existsSameRoute(path, methods, domain, false, chainId, excludeDeploymentIds));
 
         if (!gatewayEqualPaths.isEmpty()) {
             throw new EntityExistsException("Found similar triggers paths registered on public/private gateway: "
@@ -450,7 +465,8 @@ private List<String> mapSdsTriggerJobIds(Collection<ChainElement> listOfObjects)
         return listOfObjects.stream().map(TriggerUtils::getSdsTriggerJobId).toList();
     }
 
-    private Set<String> findSameHttpTriggerPaths(List<ElementRoute> pendingRoutes, List<ElementRoute> existingRoutes, boolean checkGatewayOnly) {
+    private Set<String> findSameHttpTriggerPaths(List<ElementRoute> pendingRoutes, boolean checkGatewayOnly,
+                                                 BiPredicate<String, Set<HttpMethod>> existingRouteMatcher) {
         Set<String> equalPaths = new HashSet<>();
 
         Map<String, Set<HttpMethod>> pendingPathIntersection = new HashMap<>();
@@ -467,16 +483,11 @@ private Set<String> findSameHttpTriggerPaths(List<ElementRoute> pendingRoutes, L
             }
         }
 
-        for (ElementRoute route : existingRoutes) {
-            if (StringUtils.isNotBlank(route.getPath()) && (!checkGatewayOnly || route.isExternal() || route.isPrivate())) {
-                Set<HttpMethod> intersectionMethods = pendingPathIntersection.get(route.getPath());
-                if (intersectionMethods != null) {
-                    if (route.getMethods().stream().anyMatch(intersectionMethods::contains)) {
-                        equalPaths.add(route.getPath());
-                    }
-                }
+        pendingPathIntersection.forEach((path, methods) -> {
+            if (existingRouteMatcher.test(path, methods)) {
+                equalPaths.add(path);
             }
-        }
+        });
 
         return equalPaths;
     }
@@ -489,6 +500,8 @@ private Set<String> findSameSdsTriggerJobIds(List<String> pendingJobIds, List<St
     public void deleteAllByChainId(String chainId) throws DeploymentProcessingException {
         List<Deployment> deployments = findAllByChainId(chainId);
         transactionHandler.runInNewTransaction(() -> deploymentRepository.deleteAllByChainId(chainId));
+        deploymentUpdateCache.evictByChainId(chainId);
+        httpTriggerRouteIndex.unregisterByChainId(chainId);
         deployments.forEach(deployment -> logDeploymentAction(deployment, deployment.getId(), deployment.getChain().getName(), LogOperation.DELETE));
      }
 
@@ -497,6 +510,10 @@ public void deleteAllBySnapshotId(String snapshotId) throws DeploymentProcessing
         Snapshot snapshot = snapshotService.findById(snapshotId);
         snapshot.getDeployments().forEach(deployment -> logDeploymentAction(deployment, deployment.getId(), deployment.getChain().getName(), LogOperation.DELETE));
         transactionHandler.runInNewTransaction(() -> deploymentRepository.deleteAllBySnapshotId(snapshotId));
+        snapshot.getDeployments().forEach(deployment -> {
+            deploymentUpdateCache.evict(deployment.getId());
+            httpTriggerRouteIndex.unregister(deployment.getId());
+        });
     }
 
     @DeploymentModification
@@ -508,6 +525,8 @@ public void deleteById(String deploymentId) throws DeploymentProcessingException
 
             logDeploymentAction(deployment, deployment.getChain().getId(), deployment.getChain().getName(), LogOperation.DELETE);
         });
+        deploymentUpdateCache.evict(deploymentId);
+        httpTriggerRouteIndex.unregister(deploymentId);
     }
 
     private void logDeploymentAction(Deployment deployment, String parentId, String parentName, LogOperation operation) {
@@ -525,10 +544,11 @@ private void logDeploymentAction(Deployment deployment, String parentId, String
 
     @Transactional(propagation = Propagation.NEVER)
     public DeploymentsUpdate getDeploymentsForDomain(String domainName, EngineDeploymentsDTO engineDeployments) {
-        final List<DeploymentUpdate> update = new ArrayList<>();
-        final List<DeploymentUpdate> stop = new ArrayList<>();
         boolean fullDeploymentsRequest = engineDeployments.getExcludeDeployments().isEmpty();
         Long currentDeploymentVersion = deploymentsUpdateVersion;
+        if (deploymentUpdateCache.evictModifiedSources()) {
+            fullDeploymentsUpdateCache.clear();
+        }
         if (fullDeploymentsRequest) {
             DeploymentsUpdate initialUpdate = fullDeploymentsUpdateCache.get(domainName);
             if (initialUpdate != null) {
@@ -536,23 +556,10 @@ public DeploymentsUpdate getDeploymentsForDomain(String domainName, EngineDeploy
             }
         }
 
-        List<DeploymentInfo> excludeDeployments = engineDeployments.getExcludeDeployments();
-
-        if (CollectionUtils.isEmpty(excludeDeployments)) {
-            update.addAll(deploymentBuilderService.buildDeploymentsUpdate(deploymentRepository.findAllByDomain(domainName)));
-        } else { // calculate delta
-            List<String> toExcludeIds = excludeDeployments.stream().map(DeploymentInfo::getDeploymentId).toList();
-
-            List<Deployment> toUpdate = deploymentRepository.findDeploymentsToUpdate(domainName, toExcludeIds);
-            update.addAll(deploymentBuilderService.buildDeploymentsUpdate(toUpdate));
-
-            Set<String> toRemoveIds = deploymentRepository.findDeploymentsToRemove(domainName, toExcludeIds);
-            List<DeploymentInfo> toRemove = excludeDeployments.stream()
-                    .filter(ex -> toRemoveIds.contains(ex.getDeploymentId()))
-                    .toList();
-
-            stop.addAll(deploymentBuilderService.buildDeploymentsStop(toRemove));
-        }
+        List<DeploymentUpdate> update = new ArrayList<>(
+                deploymentBuilderService.buildDeploymentsUpdate(findDeploymentsToUpdate(domainName, engineDeployments)));
+        List<DeploymentUpdate> stop = new ArrayList<>(
+                deploymentBuilderService.buildDeploymentsStop(findDeploymentsToStop(domainName, engineDeployments)));
 
         DeploymentsUpdate result = DeploymentsUpdate.builder().update(update).stop(stop).build();
         if (fullDeploymentsRequest) {
@@ -563,6 +570,60 @@ public DeploymentsUpdate getDeploymentsForDomain(String domainName, EngineDeploy
         return result;
     }
 
+    /**
+     * Same as {@link #getDeploymentsForDomain(String, EngineDeploymentsDTO)}, but deployment updates
+     * are built and written in chunks, so the whole update is never held in memory.
+     * Cached updates are used, but the built ones are not cached.
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public void writeDeploymentsForDomain(String domainName,
+                                          EngineDeploymentsDTO engineDeployments,
+                                          DeploymentsUpdateStreamWriter writer) throws IOException {
+        if (deploymentUpdateCache.evictModifiedSources()) {
+            fullDeploymentsUpdateCache.clear();
+        }
+
+        List<Deployment> toUpdate = findDeploymentsToUpdate(domainName, engineDeployments);
+        for (List<Deployment> chunk : ListUtils.partition(toUpdate, DEPLOYMENTS_UPDATE_STREAM_CHUNK_SIZE)) {
+            for (DeploymentUpdate update : deploymentBuilderService.buildDeploymentsUpdateWithoutCaching(chunk)) {
+                writer.writeUpdate(update);
+            }
+            writer.flush();
+        }
+        for (DeploymentUpdate stop : deploymentBuilderService.buildDeploymentsStop(
+                findDeploymentsToStop(domainName, engineDeployments))) {
+            writer.writeStop(stop);
+        }
+    }
+
+    /**
+     * Deployments to be deployed on the engine. Deployments from the exclude list
+     * and earlier (by created_when, within the chain) are excluded
+     */
+    private List<Deployment> findDeploymentsToUpdate(String domainName, EngineDeploymentsDTO engineDeployments) {
+        List<DeploymentInfo> excludeDeployments = engineDeployments.getExcludeDeployments();
+        if (CollectionUtils.isEmpty(excludeDeployments)) {
+            return deploymentRepository.findAllByDomain(domainName);
+        }
+        List<String> toExcludeIds = excludeDeployments.stream().map(DeploymentInfo::getDeploymentId).toList();
+        return deploymentRepository.findDeploymentsToUpdate(domainName, toExcludeIds);
+    }
+
+    /**
+     * Deployments from the exclude list, that no longer exist in the domain
+     */
+    private List<DeploymentInfo> findDeploymentsToStop(String domainName, EngineDeploymentsDTO engineDeployments) {
+        List<DeploymentInfo> excludeDeployments = engineDeployments.getExcludeDeployments();
+        if (CollectionUtils.isEmpty(excludeDeployments)) {
+            return Collections.emptyList();
+        }
+        List<String> toExcludeIds = excludeDeployments.stream().map(DeploymentInfo::getDeploymentId).toList();
+        Set<String> toRemoveIds = deploymentRepository.findDeploymentsToRemove(domainName, toExcludeIds);
+        return excludeDeployments.stream()
+                .filter(ex -> toRemoveIds.contains(ex.getDeploymentId()))
+                .toList();
+    }
+
     /**
      * Post egress routes for [http-sender, graphql-sender]
      */
@@ -31,6 +31,7 @@
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
@@ -116,6 +117,27 @@ public void fillElementsEnvironment(List<ChainElement> elements) {
         mergeElementsBySystemIdWithEnvironments(elementsBySystemId, environments);
     }
 
+    /**
+     * Same as {@link #fillElementsEnvironment(List)} with environments generated beforehand
+     * by {@link #generateElementsEnvironments(List)}
+     */
+    public void fillElementsEnvironment(List<ChainElement> elements, List<ServiceEnvironment> environments) {
+        HashMap<String, List<ChainElement>> elementsBySystemId = getElementsBySystemId(elements);
+        if (!elementsBySystemId.isEmpty()) {
+            mergeElementsBySystemIdWithEnvironments(elementsBySystemId, environments);
+        }
+    }
+
+    /**
+     * @return active environments of the systems used by the elements
+     */
+    public List<ServiceEnvironment> generateElementsEnvironments(List<ChainElement> elements) {
+        HashMap<String, List<ChainElement>> elementsBySystemId = getElementsBySystemId(elements);
+        return elementsBySystemId.isEmpty()
+                ? Collections.emptyList()
+                : environmentService.generateSystemEnvironments(elementsBySystemId.keySet());
+    }
+
     public void mergeElementsBySystemIdWithEnvironments(HashMap<String, List<ChainElement>> elementsBySystemId,
                                                         List<ServiceEnvironment> environments) {
         for (ServiceEnvironment serviceEnvironment : environments) {
@@ -16,51 +16,84 @@
 
 package org.qubership.integration.platform.runtime.catalog.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.queue.CircularFifoQueue;
 import org.qubership.integration.platform.catalog.model.deployment.engine.EngineDeployment;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.User;
 import org.qubership.integration.platform.runtime.catalog.events.EngineStateUpdateEvent;
+import org.qubership.integration.platform.runtime.catalog.events.EngineStatesUpdateEvent;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.*;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentMapper;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.EngineMapper;
+import org.qubership.integration.platform.runtime.catalog.service.event.EventRingBuffer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
 
 @Slf4j
 @Component
 public class EventService {
     private static final int EVENT_TIME_THRESHOLD_MS = 15 * 1000;
-    private static final int EVENTS_QUEUE_SIZE = 100;
+    private static final int STREAM_BATCH_SIZE = 100;
+    private static final String METRIC_NAME = "qip.events";
 
     private final DeploymentService deploymentService;
     private final EngineService engineService;
     private final DeploymentMapper deploymentMapper;
     private final EngineMapper engineMapper;
     private final AuditorAware<User> auditor;
-    private final ReadWriteLock readWriteLock;
-    private final CircularFifoQueue<Event> circularFifoQueue;
+    private final EventRingBuffer eventBuffer;
+    private final Set<EventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter droppedEvents;
+    private final long streamTimeoutMillis;
+    private final long heartbeatIntervalNanos;
 
     @Autowired
     public EventService(DeploymentService deploymentService,
                         EngineService engineService,
                         DeploymentMapper deploymentMapper,
                         EngineMapper engineMapper,
-                        AuditorAware<User> auditor) {
+                        AuditorAware<User> auditor,
+                        MeterRegistry meterRegistry,
+                        @Value("${qip.events.buffer-size:4096}") int bufferSize,
+                        @Value("${qip.events.stream.timeout:30m}") Duration streamTimeout,
+                        @Value("${qip.events.stream.heartbeat-interval:15s}") Duration heartbeatInterval) {
         this.deploymentService = deploymentService;
         this.engineService = engineService;
         this.deploymentMapper = deploymentMapper;
         this.engineMapper = engineMapper;
         this.auditor = auditor;
-        this.readWriteLock = new ReentrantReadWriteLock();
-        this.circularFifoQueue = new CircularFifoQueue<>(EVENTS_QUEUE_SIZE);
+        this.eventBuffer = new EventRingBuffer(bufferSize);
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.heartbeatIntervalNanos = heartbeatInterval.toNanos();
+
+        this.droppedEvents = Counter.builder(METRIC_NAME + ".dropped")
+                .description("Events overwritten in the buffer before a stream subscriber received them")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".subscribers", subscribers, Set::size)
+                .description("Number of open event streams")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".subscriber.lag", this, EventService::getMaxSubscriberLag)
+                .description("Max number of events a stream subscriber is behind the latest event")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".sequence", eventBuffer, EventRingBuffer::getLastSequence)
+                .description("Sequence of the latest event")
+                .register(meterRegistry);
     }
 
     @EventListener
@@ -81,50 +114,89 @@ public EventsUpdate getEvents(String lastEventId) {
         long now = new Date().getTime();
         boolean lastEventFound = lastEventId.isBlank();
         String newLastEventId = "";
-        Optional<User> user = auditor.getCurrentAuditor();
-        String userId = null;
-        if (user.isPresent()) {
-            userId = user.get().getId();
-        }
+        String userId = getCurrentUserId();
 
-        readWriteLock.readLock().lock();
-        try {
-            for (Event event : circularFifoQueue) {
-                if (lastEventFound) {
-                    if (now - event.getTime() < EVENT_TIME_THRESHOLD_MS
-                            && (event.getUserId() == null || event.getUserId().equals(userId))) {
-                        result.add(event);
-                    }
-                } else {
-                    if (event.getId().equals(lastEventId)) {
-                        lastEventFound = true;
-                    }
+        List<Event> events = eventBuffer.snapshot();
+        for (Event event : events) {
+            if (lastEventFound) {
+                if (now - event.getTime() < EVENT_TIME_THRESHOLD_MS && isVisibleTo(event, userId)) {
+                    result.add(event);
+                }
+            } else {
+                if (event.getId().equals(lastEventId)) {
+                    lastEventFound = true;
                 }
             }
-            if (!circularFifoQueue.isEmpty()) {
-                newLastEventId = circularFifoQueue.get(circularFifoQueue.size() - 1).getId();
-            }
-        } finally {
-            readWriteLock.readLock().unlock();
+        }
+        if (!events.isEmpty()) {
+            newLastEventId = events.get(events.size() - 1).getId();
         }
 
         return EventsUpdate.builder().events(result).lastEventId(newLastEventId).build();
     }
 
+    /**
+     * Opens a stream of events visible to the current user.
+     *
+     * @param lastSequence sequence of the last event received by the client, the stream resumes
+     *                     right after it. If null, only new events are sent.
+     */
+    public SseEmitter subscribe(@Nullable Long lastSequence) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        long cursor = lastSequence == null
+                ? eventBuffer.getLastSequence()
+                : Math.min(lastSequence, eventBuffer.getLastSequence());
+        EventSubscriber subscriber = new EventSubscriber(emitter, getCurrentUserId(), cursor);
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(throwable -> subscriber.close());
+
+        subscriber.thread = Thread.ofVirtual()
+                .name("events-stream-" + subscriber.hashCode())
+                .unstarted(() -> streamEvents(subscriber));
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+    }
+
     @EventListener
-    public void onEngineStateUpdate(EngineStateUpdateEvent stateUpdateEvent) {
-        try {
-            EngineDeployment engineDeployment = stateUpdateEvent.getEngineDeployment();
-            addEvent(UUID.randomUUID().toString(),
-                    deploymentMapper.toRuntimeUpdate(
-                            engineDeployment,
-                            stateUpdateEvent.getEngineInfo(),
-                            stateUpdateEvent.getLoggingInfo()),
-                    ObjectType.DEPLOYMENT,
-                    stateUpdateEvent.getUserId());
-        } catch (Exception e) {
-            log.warn("Failed to add engine update state event: {}", e.getMessage());
+    public void onEngineStatesUpdate(EngineStatesUpdateEvent statesUpdateEvent) {
+        boolean appended = false;
+        for (EngineStateUpdateEvent stateUpdateEvent : statesUpdateEvent.getUpdates()) {
+            try {
+                eventBuffer.append(toDeploymentEvent(stateUpdateEvent));
+                appended = true;
+            } catch (Exception e) {
+                log.warn("Failed to add engine update state event: {}", e.getMessage());
+            }
         }
+        // subscribers are woken up once per batch
+        if (appended) {
+            notifySubscribers();
+        }
+    }
+
+    private Event toDeploymentEvent(EngineStateUpdateEvent stateUpdateEvent) {
+        EngineDeployment engineDeployment = stateUpdateEvent.getEngineDeployment();
+        return Event.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(stateUpdateEvent.getUserId())
+                .time(new Date().getTime())
+                .data(deploymentMapper.toRuntimeUpdate(
+                        engineDeployment,
+                        stateUpdateEvent.getEngineInfo(),
+                        stateUpdateEvent.getLoggingInfo()))
+                .objectType(ObjectType.DEPLOYMENT)
+                .build();
     }
 
     private void subscribeOnEvents() {
@@ -135,36 +207,111 @@ private void subscribeOnEvents() {
     }
 
     private void addMessageEvent(String id, String userId, String message, GenericMessageType type, Map<String, String> optionalFields) {
-        readWriteLock.writeLock().lock();
-        try {
-            circularFifoQueue.add(Event.builder()
-                    .id(id)
-                    .userId(userId)
-                    .time(new Date().getTime())
-                    .objectType(ObjectType.GENERIC_MESSAGE)
-                    .data(GenericMessage.builder()
-                            .message(message)
-                            .type(type)
-                            .optionalFields(optionalFields)
-                            .build())
-                    .build());
-        } finally {
-            readWriteLock.writeLock().unlock();
-        }
+        publish(Event.builder()
+                .id(id)
+                .userId(userId)
+                .time(new Date().getTime())
+                .objectType(ObjectType.GENERIC_MESSAGE)
+                .data(GenericMessage.builder()
+                        .message(message)
+                        .type(type)
+                        .optionalFields(optionalFields)
+                        .build())
+                .build());
     }
 
     private void addEvent(String id, Object data, ObjectType type, String userId) {
-        readWriteLock.writeLock().lock();
+        publish(Event.builder()
+                .id(id)
+                .userId(userId)
+                .time(new Date().getTime())
+                .data(data)
+                .objectType(type)
+                .build());
+    }
+
+    private void publish(Event event) {
+        eventBuffer.append(event);
+        notifySubscribers();
+    }
+
+    private void notifySubscribers() {
+        for (EventSubscriber subscriber : subscribers) {
+            LockSupport.unpark(subscriber.thread);
+        }
+    }
+
+    private void streamEvents(EventSubscriber subscriber) {
+        long lastSentNanos = System.nanoTime();
         try {
-            circularFifoQueue.add(Event.builder()
-                    .id(id)
-                    .userId(userId)
-                    .time(new Date().getTime())
-                    .data(data)
-                    .objectType(type)
-                    .build());
+            while (subscriber.active) {
+                EventRingBuffer.ReadResult readResult = eventBuffer.readAfter(subscriber.cursor, STREAM_BATCH_SIZE);
+                if (readResult.dropped() > 0) {
+                    droppedEvents.increment(readResult.dropped());
+                    log.debug("{} events dropped for stream of user {}", readResult.dropped(), subscriber.userId);
+                }
+                for (Event event : readResult.events()) {
+                    if (isVisibleTo(event, subscriber.userId)) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.getSequence()))
+                                .name(event.getObjectType().name())
+                                .data(event, MediaType.APPLICATION_JSON));
+                        lastSentNanos = System.nanoTime();
+                    }
+                }
+                subscriber.cursor = readResult.lastSequence();
+
+                if (readResult.events().isEmpty() && readResult.dropped() == 0) {
+                    if (System.nanoTime() - lastSentNanos >= heartbeatIntervalNanos) {
+                        // detects closed connections and keeps proxies from closing idle ones
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastSentNanos = System.nanoTime();
+                    }
+                    LockSupport.parkNanos(heartbeatIntervalNanos);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Events stream of user {} closed: {}", subscriber.userId, e.getMessage());
+            subscriber.emitter.completeWithError(e);
         } finally {
-            readWriteLock.writeLock().unlock();
+            subscriber.close();
+        }
+    }
+
+    private double getMaxSubscriberLag() {
+        long lastSequence = eventBuffer.getLastSequence();
+        return subscribers.stream()
+                .mapToLong(subscriber -> lastSequence - subscriber.cursor)
+                .max()
+                .orElse(0L);
+    }
+
+    @Nullable
+    private String getCurrentUserId() {
+        return auditor.getCurrentAuditor().map(User::getId).orElse(null);
+    }
+
+    private static boolean isVisibleTo(Event event, @Nullable String userId) {
+        return event.getUserId() == null || event.getUserId().equals(userId);
+    }
+
+    private final class EventSubscriber {
+        private final SseEmitter emitter;
+        private final String userId;
+        private volatile long cursor;
+        private volatile boolean active = true;
+        private volatile Thread thread;
+
+        private EventSubscriber(SseEmitter emitter, String userId, long cursor) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.cursor = cursor;
+        }
+
+        private void close() {
+            active = false;
+            subscribers.remove(this);
+            LockSupport.unpark(thread);
         }
     }
 }
@@ -16,6 +16,7 @@
 
 package org.qubership.integration.platform.runtime.catalog.service;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.AbstractEntity;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.ActionLog;
@@ -25,58 +26,145 @@
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.engine.LiveExchangeDTO;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.engine.LiveExchangeExtDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class LiveExchangesService {
-    private static final String SESSION_GET_URL = "http://%s:8080/v1/engine/live-exchanges?limit=%d";
-    private static final String SESSION_DELETE_URL = "http://%s:8080/v1/engine/live-exchanges/%s/%s";
+    private static final String SESSION_GET_PATH = "/v1/engine/live-exchanges?limit=%d";
+    private static final String SESSION_DELETE_PATH = "/v1/engine/live-exchanges/%s/%s";
+
+    // longest running first, exchanges without duration go last
+    private static final Comparator<LiveExchangeDTO> LONGEST_FIRST =
+            Comparator.comparing(LiveExchangeDTO::getDuration, Comparator.nullsFirst(Comparator.<Long>naturalOrder())).reversed();
 
     private final RuntimeDeploymentService runtimeDeploymentService;
     private final RestTemplate restTemplateMs;
     private final ActionsLogService actionLogger;
     private final DeploymentService deploymentService;
     private final ChainService chainService;
+    private final String engineUrl;
+    private final long engineTimeoutNanos;
+    private final ExecutorService engineRequestExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-exchanges-", 0).factory());
+
+    /**
+     * @param exchanges     top exchanges of all engines that responded in time
+     * @param failedEngines hosts of engines that failed or did not respond in time
+     */
+    public record TopLiveExchanges(List<LiveExchangeExtDTO> exchanges, List<String> failedEngines) {
+    }
 
     @Autowired
     public LiveExchangesService(RuntimeDeploymentService runtimeDeploymentService,
                                 RestTemplate restTemplateMs,
                                 ActionsLogService actionLogger,
                                 DeploymentService deploymentService,
-                                ChainService chainService) {
+                                ChainService chainService,
+                                @Value("${qip.live-exchanges.engine-url:http://%s:8080}") String engineUrl,
+                                @Value("${qip.live-exchanges.engine-timeout:5s}") Duration engineTimeout) {
         this.runtimeDeploymentService = runtimeDeploymentService;
         this.restTemplateMs = restTemplateMs;
         this.actionLogger = actionLogger;
         this.deploymentService = deploymentService;
         this.chainService = chainService;
+        this.engineUrl = engineUrl;
+        this.engineTimeoutNanos = engineTimeout.toNanos();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        engineRequestExecutor.shutdownNow();
     }
 
-    public List<LiveExchangeExtDTO> getTopLongLiveExchanges(int limit) {
+    /**
+     * Requests top exchanges from all engines at once. Engines that do not respond
+     * within the engine timeout are reported as failed, their requests are cancelled.
+     */
+    public TopLiveExchanges getTopLongLiveExchanges(int limit) {
         List<String> engineIps = runtimeDeploymentService.getEngineHosts().values().stream().flatMap(Collection::stream).toList();
-        List<LiveExchangeExtDTO> result = engineIps.stream().parallel().map(ip -> {
-            LiveExchangeDTO[] requestResult = null;
+        long deadline = System.nanoTime() + engineTimeoutNanos;
+
+        Map<String, Future<LiveExchangeDTO[]>> requests = new LinkedHashMap<>();
+        for (String ip : engineIps) {
+            requests.put(ip, engineRequestExecutor.submit(() ->
+                    restTemplateMs.getForObject(getEngineUrl(ip) + String.format(SESSION_GET_PATH, limit), LiveExchangeDTO[].class)));
+        }
+
+        List<List<LiveExchangeExtDTO>> engineExchanges = new ArrayList<>();
+        List<String> failedEngines = new ArrayList<>();
+        for (Map.Entry<String, Future<LiveExchangeDTO[]>> request : requests.entrySet()) {
+            String ip = request.getKey();
             try {
-                requestResult = restTemplateMs.getForObject(String.format(SESSION_GET_URL, ip, limit), LiveExchangeDTO[].class);
-            } catch (Exception e) {
-                log.warn("Unable to retrieve live sessions from engine ip {}", ip, e);
+                LiveExchangeDTO[] requestResult = request.getValue().get(
+                        Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (requestResult != null) {
+                    engineExchanges.add(Arrays.stream(requestResult).map(le -> new LiveExchangeExtDTO(le, ip)).toList());
+                }
+            } catch (TimeoutException e) {
+                request.getValue().cancel(true);
+                failedEngines.add(ip);
+                log.warn("Live sessions were not retrieved from engine ip {} in time", ip);
+            } catch (InterruptedException e) {
+                requests.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while retrieving live sessions", e);
+            } catch (ExecutionException e) {
+                failedEngines.add(ip);
+                log.warn("Unable to retrieve live sessions from engine ip {}", ip, e.getCause());
             }
-            return Optional.ofNullable(requestResult).map(l -> Arrays.stream(l)
-                    .map(le -> new LiveExchangeExtDTO(le, ip))).orElse(null);
-        }).filter(Objects::nonNull).flatMap(l -> l).toList();
+        }
 
+        List<LiveExchangeExtDTO> result = mergeTop(engineExchanges, limit);
         enrichResultWithChainName(result);
 
+        return new TopLiveExchanges(result, failedEngines);
+    }
 
+    /**
+     * K-way merge of exchanges from all engines keeping the longest running {@code limit} ones
+     */
+    static List<LiveExchangeExtDTO> mergeTop(List<List<LiveExchangeExtDTO>> engineExchanges, int limit) {
+        record Cursor(List<LiveExchangeExtDTO> exchanges, int position) {
+            LiveExchangeExtDTO current() {
+                return exchanges.get(position);
+            }
+        }
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(engineExchanges.size(), 1),
+                Comparator.comparing(Cursor::current, LONGEST_FIRST));
+        for (List<LiveExchangeExtDTO> exchanges : engineExchanges) {
+            if (!exchanges.isEmpty()) {
+                // engines return sorted exchanges, sorting again is cheap and keeps the merge correct anyway
+                List<LiveExchangeExtDTO> sorted = new ArrayList<>(exchanges);
+                sorted.sort(LONGEST_FIRST);
+                queue.add(new Cursor(sorted, 0));
+            }
+        }
+
+        List<LiveExchangeExtDTO> result = new ArrayList<>(Math.min(limit, 1024));
+        while (result.size() < limit && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            result.add(cursor.current());
+            if (cursor.position() + 1 < cursor.exchanges().size()) {
+                queue.add(new Cursor(cursor.exchanges(), cursor.position() + 1));
+            }
+        }
         return result;
     }
 
     private void enrichResultWithChainName(List<LiveExchangeExtDTO> result) {
-        Map<String, String> idNameChainMap = chainService.findAllById(result.stream().map(LiveExchangeExtDTO::getChainId).toList()).stream().collect(Collectors.toMap(AbstractEntity::getId, AbstractEntity::getName));
+        if (result.isEmpty()) {
+            return;
+        }
+        Map<String, String> idNameChainMap = chainService.findAllById(result.stream().map(LiveExchangeExtDTO::getChainId).distinct().toList()).stream().collect(Collectors.toMap(AbstractEntity::getId, AbstractEntity::getName));
         result.forEach(r -> r.setChainName(idNameChainMap.get(r.getChainId())));
     }
 
@@ -95,6 +183,10 @@ public void sendKillExchangeRequest(String podIp, String deploymentId, String ex
                 .parentName(domainName)
                 .operation(LogOperation.DELETE)
                 .build());
-        restTemplateMs.delete(String.format(SESSION_DELETE_URL, podIp, deploymentId, exchangeId));
+        restTemplateMs.delete(getEngineUrl(podIp) + String.format(SESSION_DELETE_PATH, deploymentId, exchangeId));
+    }
+
+    private String getEngineUrl(String podIp) {
+        return String.format(engineUrl, podIp);
     }
 }
@@ -16,19 +16,23 @@
 
 package org.qubership.integration.platform.runtime.catalog.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.qubership.integration.platform.catalog.consul.exception.KVNotFoundException;
 import org.qubership.integration.platform.catalog.model.deployment.engine.*;
 import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.User;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
 import org.qubership.integration.platform.runtime.catalog.events.EngineStateUpdateEvent;
+import org.qubership.integration.platform.runtime.catalog.events.EngineStatesUpdateEvent;
 import org.qubership.integration.platform.runtime.catalog.model.deployment.RuntimeDeployment;
 import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentMapper;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.EnginesStateSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -41,45 +45,51 @@
 @Slf4j
 @Service
 public class RuntimeDeploymentService {
+    private static final String METRIC_NAME = "qip.engines.state.reconciliation";
 
     private final TransactionHandler transactionHandler;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final DeploymentRepository deploymentRepository;
     private final DeploymentMapper deploymentMapper;
 
-    // <engine_host, state>
-    private final AtomicReference<Map<String, EngineState>> enginesStateCache = new AtomicReference<>(new HashMap<>());
+    private final int eventBatchSize;
+    private final Timer reconciliationTimer;
+    private final DistributionSummary deltaSize;
+
+    private final AtomicReference<EnginesStateSnapshot> enginesState = new AtomicReference<>(EnginesStateSnapshot.EMPTY);
+    // arguments of the last obsolete deployments cleanup, state updates are provided by a single scheduler thread
+    private Set<String> lastDeployed;
+    private Set<String> lastNotDeployed;
 
     @Autowired
     public RuntimeDeploymentService(TransactionHandler transactionHandler,
                                     ApplicationEventPublisher applicationEventPublisher,
                                     DeploymentRepository deploymentRepository,
-                                    @Lazy DeploymentMapper deploymentMapper) {
+                                    @Lazy DeploymentMapper deploymentMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${qip.engines.state.event-batch-size:200}") int eventBatchSize) {
         this.transactionHandler = transactionHandler;
         this.applicationEventPublisher = applicationEventPublisher;
         this.deploymentRepository = deploymentRepository;
         this.deploymentMapper = deploymentMapper;
+        this.eventBatchSize = Math.max(eventBatchSize, 1);
+
+        this.reconciliationTimer = Timer.builder(METRIC_NAME)
+                .description("Time to apply an engines state update reported to consul")
+                .register(meterRegistry);
+        this.deltaSize = DistributionSummary.builder(METRIC_NAME + ".delta")
+                .description("Number of deployment state changes found in an engines state update")
+                .register(meterRegistry);
     }
 
     // <chainId, List<ChainRuntimeDeployment>>
     public Map<String, Collection<ChainRuntimeDeployment>> getChainRuntimeDeployments() {
-        Map<String, Collection<ChainRuntimeDeployment>> result = new HashMap<>();
-        Collection<EngineState> states = enginesStateCache.get().values();
-        for (EngineState engineState : states) {
-            Map<String, EngineDeployment> deployments = engineState.getDeployments();
-            if (deployments != null) {
-                for (EngineDeployment engineDeployment : deployments.values()) {
-                    result.computeIfAbsent(engineDeployment.getDeploymentInfo().getChainId(), k -> new ArrayList<>())
-                            .add(deploymentMapper.toChainRuntimeDeployment(engineDeployment, engineState.getEngine().getHost()));
-                }
-            }
-        }
-        return result;
+        return enginesState.get().getChainRuntimeDeployments();
     }
 
     public Collection<EngineDeployment> findRuntimeDeployments(String engineHost) {
         try {
-            Map<String, EngineState> states = enginesStateCache.get();
+            Map<String, EngineState> states = enginesState.get().getEngineStates();
             if (states.containsKey(engineHost)) {
                 return states.get(engineHost).getDeployments().values();
             }
@@ -89,40 +99,26 @@ public Collection<EngineDeployment> findRuntimeDeployments(String engineHost) {
         return Collections.emptyList();
     }
 
+    // <domain, List<engine_host>>
     public Map<String, List<String>> getEngineHosts() {
-        List<EngineState> engineStates = enginesStateCache.get().values().stream().toList();
-        Map<String, List<String>> hosts = new HashMap<>();
-
-        for (EngineState engineState : engineStates) {
-            if (hosts.get(engineState.getEngine().getDomain()) != null) {
-                hosts.get(engineState.getEngine().getDomain()).add(engineState.getEngine().getHost());
-            } else {
-                hosts.put(engineState.getEngine().getDomain(), new ArrayList<>(Collections.singletonList(engineState.getEngine().getHost())));
-            }
-        }
-
-        return hosts;
+        return enginesState.get().getEngineHosts();
     }
 
     public RuntimeDeployment getRuntimeDeployment(String deploymentId) {
-        RuntimeDeployment runtimeDeployment = new RuntimeDeployment(deploymentId);
-        Collection<EngineState> states = enginesStateCache.get().values();
-        for (EngineState engineState : states) {
-            runtimeDeployment.setServiceName(engineState.getEngine().getEngineDeploymentName());
-            runtimeDeployment.getStates().put(
-                    engineState.getEngine().getHost(),
-                    Optional.ofNullable(engineState.getDeployments()).map(deployments -> deployments.get(deploymentId)).orElse(null)
-            );
-        }
-
-        return runtimeDeployment;
+        return enginesState.get().getRuntimeDeployment(deploymentId);
     }
 
     public void provideEnginesStateUpdate(Collection<EngineState> newStateList) {
+        reconciliationTimer.record(() -> reconcileEnginesState(newStateList));
+    }
 
+    private void reconcileEnginesState(Collection<EngineState> newStateList) {
         Map<String, EngineState> stateMap = remapEngineStatesForCache(newStateList);
         Map<String, Pair<EngineInfo, EngineDeployment>> newState = remapEngineStatesForCompare(stateMap);
-        Map<String, Pair<EngineInfo, EngineDeployment>> oldState = remapEngineStatesForCompare(enginesStateCache.getAndSet(stateMap));
+        // views are built before publishing, so readers never see a partially built state
+        EnginesStateSnapshot snapshot = EnginesStateSnapshot.of(stateMap, deploymentMapper::toChainRuntimeDeployment);
+        Map<String, Pair<EngineInfo, EngineDeployment>> oldState =
+                remapEngineStatesForCompare(enginesState.getAndSet(snapshot).getEngineStates());
 
         // calculate state delta
         List<Pair<EngineInfo, EngineDeployment>> deploymentsDelta = new ArrayList<>();
@@ -154,25 +150,8 @@ public void provideEnginesStateUpdate(Collection<EngineState> newStateList) {
             }
         }
 
-        // send events for UI
-        for (Pair<EngineInfo, EngineDeployment> deploymentPair : deploymentsDelta) {
-            String userId = null;
-            Optional<Deployment> deploymentOptional =
-                    deploymentRepository.findById(deploymentPair.getRight().getDeploymentInfo().getDeploymentId());
-            if (deploymentOptional.isPresent()) {
-                User createdBy = deploymentOptional.get().getCreatedBy();
-                userId = createdBy == null ? null : createdBy.getId();
-            }
-
-            applicationEventPublisher.publishEvent(
-                    new EngineStateUpdateEvent(
-                            this,
-                            deploymentPair.getLeft(),
-                            deploymentPair.getRight(),
-                            new DeploymentService.LoggingInfo(deploymentOptional),
-                            userId,
-                            null));
-        }
+        publishStateUpdates(deploymentsDelta);
+        deltaSize.record(deploymentsDelta.size());
 
         // merge states
         Map<String, EngineDeployment> mergedDeployments = new HashMap<>(); // <deploymentId, deployment>
@@ -190,9 +169,52 @@ public void provideEnginesStateUpdate(Collection<EngineState> newStateList) {
             }
         }
 
-        transactionHandler.runInTransaction(() -> {
-            deploymentRepository.deleteObsoleteDeployments(deployed, notDeployed);
-        });
+        // the result of the cleanup depends on these sets only
+        if (!deployed.equals(lastDeployed) || !notDeployed.equals(lastNotDeployed)) {
+            transactionHandler.runInTransaction(() -> {
+                deploymentRepository.deleteObsoleteDeployments(deployed, notDeployed);
+            });
+            lastDeployed = deployed;
+            lastNotDeployed = notDeployed;
+        }
+    }
+
+    /**
+     * Sends events for UI. Owners of all changed deployments are loaded with a single query.
+     */
+    private void publishStateUpdates(List<Pair<EngineInfo, EngineDeployment>> deploymentsDelta) {
+        if (deploymentsDelta.isEmpty()) {
+            return;
+        }
+
+        Set<String> deploymentIds = deploymentsDelta.stream()
+                .map(pair -> pair.getRight().getDeploymentInfo().getDeploymentId())
+                .collect(Collectors.toSet());
+        Map<String, DeploymentRepository.DeploymentOwner> owners = deploymentRepository.findOwnersByIdIn(deploymentIds)
+                .stream()
+                .collect(Collectors.toMap(DeploymentRepository.DeploymentOwner::getId, Function.identity()));
+
+        List<EngineStateUpdateEvent> batch = new ArrayList<>(Math.min(deploymentsDelta.size(), eventBatchSize));
+        for (Pair<EngineInfo, EngineDeployment> deploymentPair : deploymentsDelta) {
+            DeploymentRepository.DeploymentOwner owner = owners.get(deploymentPair.getRight().getDeploymentInfo().getDeploymentId());
+            batch.add(new EngineStateUpdateEvent(
+                    this,
+                    deploymentPair.getLeft(),
+                    deploymentPair.getRight(),
+                    owner == null || owner.getCreatedWhen() == null
+                            ? new DeploymentService.LoggingInfo()
+                            : new DeploymentService.LoggingInfo(owner.getCreatedWhen().getTime()),
+                    owner == null ? null : owner.getCreatedById(),
+                    null));
+
+            if (batch.size() >= eventBatchSize) {
+                applicationEventPublisher.publishEvent(new EngineStatesUpdateEvent(this, batch));
+                batch = new ArrayList<>(eventBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            applicationEventPublisher.publishEvent(new EngineStatesUpdateEvent(this, batch));
+        }
     }
 
     // key = engine_host + deployment_id
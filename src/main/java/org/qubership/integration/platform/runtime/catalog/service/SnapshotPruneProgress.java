@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneProgressDTO;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneState;
+
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a single snapshots cleanup run, updated by the cleanup thread and read by requests
+ */
+public class SnapshotPruneProgress {
+    private final long startedWhen;
+    private final long total;
+    private final AtomicLong deleted = new AtomicLong();
+    private volatile SnapshotPruneState state = SnapshotPruneState.IN_PROGRESS;
+    private volatile long finishedWhen;
+    private volatile String message;
+
+    /**
+     * @param total number of snapshots matching the cleanup criteria at start
+     */
+    public SnapshotPruneProgress(long startedWhen, long total) {
+        this.startedWhen = startedWhen;
+        this.total = total;
+    }
+
+    public long chunkDeleted(int count) {
+        return deleted.addAndGet(count);
+    }
+
+    public void complete(long now) {
+        finishedWhen = now;
+        state = SnapshotPruneState.COMPLETED;
+    }
+
+    public void fail(long now, String message) {
+        finishedWhen = now;
+        this.message = message;
+        state = SnapshotPruneState.FAILED;
+    }
+
+    public boolean isInProgress() {
+        return state == SnapshotPruneState.IN_PROGRESS;
+    }
+
+    public SnapshotPruneProgressDTO toDTO(long now) {
+        SnapshotPruneState currentState = state;
+        long deletedCount = deleted.get();
+        long elapsed = (currentState == SnapshotPruneState.IN_PROGRESS ? now : finishedWhen) - startedWhen;
+        double throughput = elapsed > 0 ? deletedCount * 1000.0 / elapsed : 0;
+
+        Long estimatedTimeLeft = null;
+        if (currentState == SnapshotPruneState.IN_PROGRESS && throughput > 0) {
+            // snapshots created or released while running are not counted in total
+            estimatedTimeLeft = (long) (Math.max(total - deletedCount, 0) * 1000 / throughput);
+        }
+
+        return SnapshotPruneProgressDTO.builder()
+                .state(currentState)
+                .startedWhen(new Timestamp(startedWhen))
+                .finishedWhen(currentState == SnapshotPruneState.IN_PROGRESS ? null : new Timestamp(finishedWhen))
+                .total(total)
+                .deleted(deletedCount)
+                .throughput(throughput)
+                .estimatedTimeLeft(estimatedTimeLeft)
+                .message(message)
+                .build();
+    }
+}
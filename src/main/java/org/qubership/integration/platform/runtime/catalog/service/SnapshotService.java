@@ -16,14 +16,16 @@
 
 package org.qubership.integration.platform.runtime.catalog.service;
 
+import com.zaxxer.hikari.HikariConfig;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.qubership.integration.platform.catalog.context.RequestIdContext;
 import org.qubership.integration.platform.catalog.exception.SnapshotCreationException;
+import org.qubership.integration.platform.catalog.model.system.ServiceEnvironment;
 import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.AbstractEntity;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.AbstractLabel;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.ActionLog;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.EntityType;
@@ -32,15 +34,22 @@
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.SwimlaneChainElement;
-import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.DependencyRepository;
 import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
 import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.SnapshotLabelsRepository;
 import org.qubership.integration.platform.catalog.service.ActionsLogService;
 import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
+import org.qubership.integration.platform.runtime.catalog.configuration.datasource.properties.HikariConfigProperties;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.SnapshotContentHash;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotContentHashRepository;
 import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotRepository;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.ChainContentHashDTO;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneProgressDTO;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneReportDTO;
 import org.qubership.integration.platform.runtime.catalog.service.verification.ElementPropertiesVerificationService;
 import org.qubership.integration.platform.runtime.catalog.service.verification.properties.VerificationError;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -53,6 +62,11 @@
 import java.time.Period;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -63,13 +77,15 @@
 public class SnapshotService {
 
     private static final String CONFIGURATION_WITH_ID_NOT_FOUND_MESSAGE = "Can't find configuration with id ";
+    private static final String CONFIGS_DATASOURCE_NAME = "configs-datasource";
+    // connections left for the caller transaction and concurrent requests during parallel builds
+    private static final int RESERVED_CONNECTIONS = 2;
 
     private final SnapshotRepository snapshotRepository;
     private final ElementRepository elementRepository;
     private final ElementService elementService;
     private final XmlBuilder xmlBuilder;
     private final ChainService chainService;
-    private final DependencyRepository dependencyRepository;
     private final DeploymentService deploymentService;
     private final ActionsLogService actionLogger;
     private final ElementPropertiesVerificationService elementPropertiesVerificationService;
@@ -77,6 +93,18 @@ public class SnapshotService {
     private final TransactionHandler transactionHandler;
     private final SnapshotService self;
     private final SnapshotLabelsRepository snapshotLabelsRepository;
+    private final ExecutorService snapshotBuildExecutor;
+    private final HikariConfigProperties hikariConfigProperties;
+    private final EntityManager entityManager;
+    private final ChainContentHasher chainContentHasher;
+    private final SnapshotContentHashRepository snapshotContentHashRepository;
+    private final AtomicReference<SnapshotPruneProgress> pruneProgress = new AtomicReference<>();
+
+    @Value("${qip.snapshots.bulk-build.max-parallelism:0}")
+    private int maxBuildParallelism;
+
+    @Value("${qip.snapshots.reuse-unchanged:true}")
+    private boolean reuseUnchangedSnapshots;
 
     @Autowired
     public SnapshotService(SnapshotRepository snapshotRepository,
@@ -84,20 +112,23 @@ public SnapshotService(SnapshotRepository snapshotRepository,
                            ElementService elementService,
                            XmlBuilder xmlBuilder,
                            ChainService chainService,
-                           DependencyRepository dependencyRepository,
                            @Lazy DeploymentService deploymentService,
                            @Lazy SnapshotService self,
                            ActionsLogService actionLogger,
                            ElementPropertiesVerificationService elementPropertiesVerificationService,
                            MaskedFieldsService maskedFieldsService,
                            TransactionHandler  transactionHandler,
-                           SnapshotLabelsRepository snapshotLabelsRepository) {
+                           SnapshotLabelsRepository snapshotLabelsRepository,
+                           @Qualifier("snapshotBuildExecutor") ExecutorService snapshotBuildExecutor,
+                           HikariConfigProperties hikariConfigProperties,
+                           EntityManager entityManager,
+                           ChainContentHasher chainContentHasher,
+                           SnapshotContentHashRepository snapshotContentHashRepository) {
         this.snapshotRepository = snapshotRepository;
         this.elementRepository = elementRepository;
         this.elementService = elementService;
         this.xmlBuilder = xmlBuilder;
         this.chainService = chainService;
-        this.dependencyRepository = dependencyRepository;
         this.deploymentService = deploymentService;
         this.actionLogger = actionLogger;
         this.elementPropertiesVerificationService = elementPropertiesVerificationService;
@@ -105,6 +136,11 @@ public SnapshotService(SnapshotRepository snapshotRepository,
         this.transactionHandler = transactionHandler;
         this.self = self;
         this.snapshotLabelsRepository = snapshotLabelsRepository;
+        this.snapshotBuildExecutor = snapshotBuildExecutor;
+        this.hikariConfigProperties = hikariConfigProperties;
+        this.entityManager = entityManager;
+        this.chainContentHasher = chainContentHasher;
+        this.snapshotContentHashRepository = snapshotContentHashRepository;
     }
 
     public Snapshot findById(String snapshotId) {
@@ -114,13 +150,23 @@ public Snapshot findById(String snapshotId) {
 
     // Map<chainId, snapshot>
     public Map<String, Snapshot> findLastCreatedOrBuild(Collection<String> chainIds, BiConsumer<String, String> errorHandler) {
+        return findLastCreatedOrBuild(chainIds, 1, errorHandler, (chainId, duration) -> {});
+    }
+
+    // Map<chainId, snapshot>
+    public Map<String, Snapshot> findLastCreatedOrBuild(
+            Collection<String> chainIds,
+            int parallelism,
+            BiConsumer<String, String> errorHandler,
+            BiConsumer<String, Long> durationHandler
+    ) {
         Map<String, Snapshot> snapshots = snapshotRepository.findAllLastCreated(chainIds).stream()
                 .collect(Collectors.toMap(snapshot -> snapshot.getChain().getId(), Function.identity()));
         final Set<String> chainsWithoutSnapshot = new HashSet<>(chainIds);
         chainsWithoutSnapshot.removeAll(snapshots.keySet());
 
         // create a new snapshot if there are no snapshots in the chain
-        snapshots.putAll(buildAll(chainsWithoutSnapshot, errorHandler));
+        snapshots.putAll(buildAll(chainsWithoutSnapshot, parallelism, errorHandler, durationHandler));
 
         return snapshots;
     }
@@ -135,28 +181,140 @@ public List<Snapshot> findByChainIdLight(String chainId) {
 
     // Map<chainId, snapshot>
     public Map<String, Snapshot> buildAll(Collection<String> chainIds, BiConsumer<String, String> errorHandler) {
+        return buildAll(chainIds, 1, errorHandler, (chainId, duration) -> {});
+    }
+
+    /**
+     * Build snapshots for chains, each one in its own transaction.
+     * Handlers are always called from the caller thread, so they don't need to be thread-safe.
+     *
+     * @param parallelism     requested amount of concurrent builds, capped below the connection pool size
+     * @param errorHandler    consumer of chain id and error message for failed builds
+     * @param durationHandler consumer of chain id and build duration in ms, called before the error handler
+     * @return map of chain id to snapshot
+     */
+    public Map<String, Snapshot> buildAll(
+            Collection<String> chainIds,
+            int parallelism,
+            BiConsumer<String, String> errorHandler,
+            BiConsumer<String, Long> durationHandler
+    ) {
+        int effectiveParallelism = Math.min(parallelism, getBuildParallelismLimit());
+        if (effectiveParallelism > 1 && chainIds.size() > 1) {
+            log.info("Building {} snapshots with parallelism {}", chainIds.size(), effectiveParallelism);
+            return buildAllInParallel(chainIds, effectiveParallelism, errorHandler, durationHandler);
+        }
+
         Map<String, Snapshot> result = new HashMap<>();
         for (String chainId : chainIds) {
+            handleBuildResult(chainId, buildTimed(chainId), result, errorHandler, durationHandler);
+        }
+        return result;
+    }
+
+    private Map<String, Snapshot> buildAllInParallel(
+            Collection<String> chainIds,
+            int parallelism,
+            BiConsumer<String, String> errorHandler,
+            BiConsumer<String, Long> durationHandler
+    ) {
+        Semaphore permits = new Semaphore(parallelism);
+        String requestId = RequestIdContext.get();
+        Map<String, Future<SnapshotBuildResult>> futures = new LinkedHashMap<>();
+        for (String chainId : chainIds) {
+            futures.put(chainId, snapshotBuildExecutor.submit(() -> {
+                RequestIdContext.set(requestId);
+                permits.acquire();
+                try {
+                    return buildTimed(chainId);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        Map<String, Snapshot> result = new HashMap<>();
+        for (Map.Entry<String, Future<SnapshotBuildResult>> entry : futures.entrySet()) {
+            SnapshotBuildResult buildResult;
             try {
-                result.put(chainId, self.build(chainId));
-            } catch (Exception e) {
-                log.warn("Failed to build snapshot for chainId {}: {}", chainId, e.getMessage());
-                errorHandler.accept(chainId, e.getMessage());
+                buildResult = entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(future -> future.cancel(true));
+                throw new SnapshotCreationException("Snapshots build was interrupted");
+            } catch (ExecutionException e) {
+                buildResult = new SnapshotBuildResult(null, e.getCause().getMessage(), 0L);
             }
+            handleBuildResult(entry.getKey(), buildResult, result, errorHandler, durationHandler);
         }
         return result;
     }
 
+    private SnapshotBuildResult buildTimed(String chainId) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Snapshot snapshot = self.build(chainId);
+            return new SnapshotBuildResult(snapshot, null, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.warn("Failed to build snapshot for chainId {}: {}", chainId, e.getMessage());
+            return new SnapshotBuildResult(null, e.getMessage(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private void handleBuildResult(
+            String chainId,
+            SnapshotBuildResult buildResult,
+            Map<String, Snapshot> result,
+            BiConsumer<String, String> errorHandler,
+            BiConsumer<String, Long> durationHandler
+    ) {
+        durationHandler.accept(chainId, buildResult.duration());
+        if (buildResult.snapshot() != null) {
+            result.put(chainId, buildResult.snapshot());
+        } else {
+            errorHandler.accept(chainId, buildResult.errorMessage());
+        }
+    }
+
+    private int getBuildParallelismLimit() {
+        int poolSize = Optional.ofNullable(hikariConfigProperties.getDatasource(CONFIGS_DATASOURCE_NAME))
+                .map(HikariConfig::getMaximumPoolSize)
+                .orElse(RESERVED_CONNECTIONS + 1);
+        int limit = Math.max(1, poolSize - RESERVED_CONNECTIONS);
+        return maxBuildParallelism > 0 ? Math.min(maxBuildParallelism, limit) : limit;
+    }
+
+    private record SnapshotBuildResult(Snapshot snapshot, String errorMessage, long duration) {
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Snapshot build(String chainId) {
         return build(chainId, null);
     }
 
+    /**
+     * Builds a snapshot of the current chain state. If the chain is unchanged since one of its
+     * snapshots was built, that snapshot is made current and returned instead of a new one.
+     *
+     * @param technicalLabels - labels added to the built or reused snapshot
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Snapshot build(String chainId, Set<String> technicalLabels) {
         Chain chain = chainService.findById(chainId);
         verifyElementProperties(chain);
 
+        List<ServiceEnvironment> environments = elementService.generateElementsEnvironments(chain.getElements());
+        String contentHash = chainContentHasher.hash(chain, environments);
+        if (reuseUnchangedSnapshots) {
+            Snapshot unchanged = findUnchangedSnapshot(chain, contentHash);
+            if (unchanged != null) {
+                log.debug("Chain {} is unchanged since snapshot {} was built, snapshot is reused", chainId, unchanged.getId());
+                addTechnicalLabels(unchanged, technicalLabels);
+                chainService.setCurrentSnapshot(chain.getId(), unchanged);
+                return unchanged;
+            }
+        }
+
         String name = snapshotRepository.getNextAvailableName(chainId);
 
         Snapshot snapshot = Snapshot.builder()
@@ -168,11 +326,16 @@ public Snapshot build(String chainId, Set<String> technicalLabels) {
         }
 
         snapshot = snapshotRepository.saveAndFlush(snapshot);
+        snapshotContentHashRepository.save(SnapshotContentHash.builder()
+                .snapshotId(snapshot.getId())
+                .chainId(chain.getId())
+                .contentHash(contentHash)
+                .build());
 
         moveElementsToSnapshot(chain, snapshot);
         moveMaskedFields(chain.getMaskedFields(), snapshot);
         List<ChainElement> snapshotElements = snapshot.getElements();
-        fillServiceEnvironments(snapshotElements);
+        fillServiceEnvironments(snapshotElements, environments);
 
         try {
             snapshot.setXmlDefinition(xmlBuilder.build(snapshotElements));
@@ -197,11 +360,69 @@ private Collection<SnapshotLabel> getSnapshotTechnicalLabels(Set<String> technic
         return snapshotLabels;
     }
 
-    private void fillServiceEnvironments(List<ChainElement> newElements) {
-        elementService.fillElementsEnvironment(newElements);
+    private void fillServiceEnvironments(List<ChainElement> newElements, List<ServiceEnvironment> environments) {
+        elementService.fillElementsEnvironment(newElements, environments);
         elementRepository.saveAll(newElements);
     }
 
+    /**
+     * Latest snapshot of the chain built from the same content, the current snapshot first
+     */
+    private Snapshot findUnchangedSnapshot(Chain chain, String contentHash) {
+        Snapshot current = chain.getCurrentSnapshot();
+        if (current != null && snapshotContentHashRepository.findById(current.getId())
+                .map(SnapshotContentHash::getContentHash)
+                .filter(contentHash::equals)
+                .isPresent()) {
+            return current;
+        }
+        return snapshotContentHashRepository.findFirstByChainIdAndContentHashOrderByCreatedWhenDesc(chain.getId(), contentHash)
+                .flatMap(hash -> snapshotRepository.findById(hash.getSnapshotId()))
+                .orElse(null);
+    }
+
+    private void addTechnicalLabels(Snapshot snapshot, Set<String> technicalLabels) {
+        if (CollectionUtils.isEmpty(technicalLabels)) {
+            return;
+        }
+        Set<String> existingNames = snapshot.getLabels().stream()
+                .map(SnapshotLabel::getName)
+                .collect(Collectors.toSet());
+        Set<String> newNames = technicalLabels.stream()
+                .filter(name -> !existingNames.contains(name))
+                .collect(Collectors.toSet());
+        if (!newNames.isEmpty()) {
+            snapshot.addLabels(getSnapshotTechnicalLabels(newNames, snapshot));
+        }
+    }
+
+    /**
+     * @return content hashes by snapshot id, snapshots built before hashes were introduced have none
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> getContentHashes(Collection<String> snapshotIds) {
+        return snapshotContentHashRepository.findAllBySnapshotIdIn(snapshotIds).stream()
+                .collect(Collectors.toMap(SnapshotContentHash::getSnapshotId, SnapshotContentHash::getContentHash));
+    }
+
+    @Transactional(readOnly = true)
+    public ChainContentHashDTO getChainContentHash(String chainId) {
+        Chain chain = chainService.findById(chainId);
+        String contentHash = chainContentHasher.hash(chain, elementService.generateElementsEnvironments(chain.getElements()));
+        String currentSnapshotId = Optional.ofNullable(chain.getCurrentSnapshot()).map(Snapshot::getId).orElse(null);
+        String currentSnapshotContentHash = Optional.ofNullable(currentSnapshotId)
+                .flatMap(snapshotContentHashRepository::findById)
+                .map(SnapshotContentHash::getContentHash)
+                .orElse(null);
+        return ChainContentHashDTO.builder()
+                .chainId(chainId)
+                .contentHash(contentHash)
+                .currentSnapshotId(currentSnapshotId)
+                .currentSnapshotContentHash(currentSnapshotContentHash)
+                .changed(!contentHash.equals(currentSnapshotContentHash))
+                .build();
+    }
+
     private void verifyElementProperties(Chain chain) {
         Map<ChainElement, Collection<VerificationError>> errorMap =
                 elementPropertiesVerificationService.verifyElementProperties(chain);
@@ -239,7 +460,6 @@ private void revertElements(Snapshot snapshot, Chain chain) {
             newElement.setId(element.getOriginalId());
             newElement.setOriginalId(null);
             newElement.setSnapshot(null);
-            newElement = elementRepository.save(newElement);
 
             chain.addElement(newElement);
             replacements.put(element, newElement);
@@ -247,6 +467,7 @@ private void revertElements(Snapshot snapshot, Chain chain) {
         chain.setDefaultSwimlane((SwimlaneChainElement) replacements.get(snapshot.getDefaultSwimlane()));
         chain.setReuseSwimlane((SwimlaneChainElement) replacements.get(snapshot.getReuseSwimlane()));
         replaceChildren(replacements);
+        persistElements(replacements.values());
         replaceDependencies(replacements);
     }
 
@@ -254,7 +475,7 @@ private void revertMaskedFields(Set<MaskedField> maskedFields, Chain chain) {
         for (MaskedField maskedField : maskedFields) {
             MaskedField copiedMaskedField = maskedField.copy();
             copiedMaskedField.setChain(chain);
-            copiedMaskedField = maskedFieldsService.save(copiedMaskedField);
+            entityManager.persist(copiedMaskedField);
             chain.addMaskedField(copiedMaskedField);
         }
     }
@@ -263,7 +484,7 @@ private void moveMaskedFields(Set<MaskedField> maskedFields, Snapshot snapshot)
         for (MaskedField maskedField : maskedFields) {
             MaskedField copiedMaskedField = maskedField.copy();
             copiedMaskedField.setSnapshot(snapshot);
-            copiedMaskedField = maskedFieldsService.save(copiedMaskedField);
+            entityManager.persist(copiedMaskedField);
             snapshot.addMaskedField(copiedMaskedField);
         }
     }
@@ -277,6 +498,7 @@ private void moveElementsToSnapshot(@NonNull Chain chain, Snapshot snapshot) {
             snapshot.setReuseSwimlane(reuseSwimlane);
         }
         replaceChildren(replacements);
+        persistElements(replacements.values());
         replaceDependencies(replacements);
     }
 
@@ -286,7 +508,6 @@ private Map<ChainElement, ChainElement> copyElements(List<ChainElement> elements
             ChainElement newElement = element.copy();
             newElement.setSnapshot(snapshot);
             newElement.setChain(chain);
-            newElement = elementRepository.save(newElement);
 
             if (snapshot != null) {
                 snapshot.addElement(newElement);
@@ -347,7 +568,29 @@ private void replaceDependencies(Map<ChainElement, ChainElement> replacements) {
     }
 
     private Dependency createDependency(ChainElement from, ChainElement to) {
-        return dependencyRepository.save(Dependency.of(from, to));
+        Dependency dependency = Dependency.of(from, to);
+        entityManager.persist(dependency);
+        return dependency;
+    }
+
+    /**
+     * Copies have pre-assigned ids, so they are persisted directly instead of being merged
+     * through repositories: no select per row, and inserts are sent in JDBC batches on flush.
+     * Parents and swimlanes go first to keep foreign keys valid inside the batches.
+     */
+    private void persistElements(Collection<ChainElement> elements) {
+        elements.stream()
+                .sorted(Comparator.comparingInt(SnapshotService::getNestingLevel)
+                        .thenComparing(element -> !(element instanceof SwimlaneChainElement)))
+                .forEach(entityManager::persist);
+    }
+
+    private static int getNestingLevel(ChainElement element) {
+        int level = 0;
+        for (ChainElement parent = element.getParent(); parent != null; parent = parent.getParent()) {
+            level++;
+        }
+        return level;
     }
 
     public void deleteAllByChainId(String chainId) {
@@ -437,31 +680,68 @@ public void pruneSnapshotsAsync(int olderThanDays, int chunk) {
         });
     }
 
-    private void pruneSnapshots(int olderThanDays, int chunk) {
-        long deletedTotal = 0;
-        int deletedCurrent;
+    /**
+     * Progress of the last cleanup started on the current instance
+     */
+    public Optional<SnapshotPruneProgressDTO> getPruneProgress() {
+        return Optional.ofNullable(pruneProgress.get()).map(progress -> progress.toDTO(System.currentTimeMillis()));
+    }
+
+    /**
+     * Snapshots that cleanup would delete now, grouped by chain. Nothing is deleted.
+     */
+    @Transactional(readOnly = true)
+    public List<SnapshotPruneReportDTO> getPruneReport(int olderThanDays) {
+        return snapshotRepository.countPruneCandidatesByChain(getPruneDeletionDate(olderThanDays)).stream()
+                .map(candidates -> SnapshotPruneReportDTO.builder()
+                        .chainId(candidates.getChainId())
+                        .chainName(candidates.getChainName())
+                        .snapshots(candidates.getSnapshots())
+                        .build())
+                .toList();
+    }
 
+    private void pruneSnapshots(int olderThanDays, int chunk) {
         long startTime = System.currentTimeMillis();
-        Timestamp deletionDate = Timestamp.from(Instant.now().minus(Period.ofDays(olderThanDays)));
-
-        do {
-            deletedCurrent = transactionHandler.supplyInNewTransaction(() -> {
-                List<Map<String, String>> result = snapshotRepository.pruneByCreatedWhen(deletionDate, chunk);
-                result.forEach(s -> logSnapshotAction(
-                        s.get(AbstractEntity.Fields.id), s.get(AbstractEntity.Fields.name), s.get(Snapshot.Fields.chain),
-                        chainService.tryFindById(s.get(Snapshot.Fields.chain)).map(Chain::getName).orElse(null), // XXX Potential performance improvement
-                        LogOperation.DELETE));
-                return result.size();
-            });
-            deletedTotal += deletedCurrent;
-
-            if (deletedCurrent > 0) {
-                log.debug("Snapshots chunk of {} removed, currently removed {}", deletedCurrent, deletedTotal);
-            }
-        } while (deletedCurrent > 0);
+        Timestamp deletionDate = getPruneDeletionDate(olderThanDays);
+        long total = transactionHandler.supplyInNewTransaction(() ->
+                snapshotRepository.countPruneCandidatesByChain(deletionDate).stream()
+                        .mapToLong(SnapshotRepository.PruneCandidates::getSnapshots)
+                        .sum());
+        SnapshotPruneProgress progress = new SnapshotPruneProgress(startTime, total);
+        pruneProgress.set(progress);
+
+        try {
+            long deletedTotal = 0;
+            List<SnapshotRepository.PrunedSnapshot> deleted;
+            do {
+                deleted = transactionHandler.supplyInNewTransaction(() -> {
+                    List<SnapshotRepository.PrunedSnapshot> pruned =
+                            snapshotRepository.pruneByCreatedWhen(deletionDate, chunk);
+                    // logged in the delete transaction, action logs of a chunk are flushed as one JDBC batch on commit
+                    pruned.forEach(snapshot -> logSnapshotAction(
+                            snapshot.getId(), snapshot.getName(), snapshot.getChainId(), snapshot.getChainName(),
+                            LogOperation.DELETE));
+                    return pruned;
+                });
+                deletedTotal = progress.chunkDeleted(deleted.size());
+
+                if (!deleted.isEmpty()) {
+                    log.debug("Snapshots chunk of {} removed, currently removed {} of {}", deleted.size(), deletedTotal, total);
+                }
+            } while (!deleted.isEmpty());
+
+            progress.complete(System.currentTimeMillis());
+            String durationStr = DurationFormatUtils.formatDurationWords(
+                    System.currentTimeMillis() - startTime, true, false);
+            log.info("Snapshots removed successfully: {}. Time elapsed: {}", deletedTotal, durationStr);
+        } catch (RuntimeException e) {
+            progress.fail(System.currentTimeMillis(), e.getMessage());
+            throw e;
+        }
+    }
 
-        String durationStr = DurationFormatUtils.formatDurationWords(
-                System.currentTimeMillis() - startTime, true, false);
-        log.info("Snapshots removed successfully: {}. Time elapsed: {}", deletedTotal, durationStr);
+    private static Timestamp getPruneDeletionDate(int olderThanDays) {
+        return Timestamp.from(Instant.now().minus(Period.ofDays(olderThanDays)));
     }
 }
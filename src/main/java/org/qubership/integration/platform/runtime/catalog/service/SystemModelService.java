@@ -18,7 +18,6 @@
 
 import lombok.extern.slf4j.Slf4j;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.LogOperation;
-import org.qubership.integration.platform.catalog.persistence.configs.entity.system.CompiledLibrary;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.system.SystemModel;
 import org.qubership.integration.platform.catalog.persistence.configs.repository.system.SystemModelLabelsRepository;
 import org.qubership.integration.platform.catalog.persistence.configs.repository.system.SystemModelRepository;
@@ -27,15 +26,11 @@
 import org.qubership.integration.platform.catalog.service.codegen.SystemModelCodeGenerator;
 import org.qubership.integration.platform.catalog.service.compiler.CompilerService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
-import static java.util.Objects.isNull;
-
 @Slf4j
 @Service
 public class SystemModelService extends SystemModelBaseService {
@@ -59,18 +54,6 @@ public SystemModel getSystemModelOrElseNull(String modelId) {
         return systemModelRepository.findById(modelId).orElse(null);
     }
 
-    @Transactional
-    public Pair<byte[], String> getCompiledLibrary(String modelId) {
-        SystemModel model = getSystemModel(modelId);
-        CompiledLibrary compiledLibrary = model.getCompiledLibrary();
-        if (isNull(compiledLibrary)) {
-            return null;
-        }
-        String name = compiledLibrary.getName();
-        byte[] data = compiledLibrary.getData();
-        return isNull(data) ? null : Pair.of(data, name);
-    }
-
     public Optional<SystemModel> deleteSystemModelByIdIfExists(String modelId) {
         Optional<SystemModel> specificationOptional = systemModelRepository.findById(modelId);
         if (specificationOptional.isPresent()) {
@@ -16,6 +16,7 @@
 
 package org.qubership.integration.platform.runtime.catalog.service.deployment;
 
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -39,9 +40,9 @@
 import org.qubership.integration.platform.runtime.catalog.model.deployment.update.ElementProperties;
 import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentRouteMapper;
 import org.qubership.integration.platform.runtime.catalog.service.*;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentSourcesLoader.DeploymentSources;
 import org.qubership.integration.platform.runtime.catalog.service.deployment.properties.ElementPropertiesBuilderFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -58,49 +59,72 @@
 @Component
 @Transactional
 public class DeploymentBuilderService {
+    @Deprecated(since = "23.4")
+    private static final String RANDOM_ID_PLACEHOLDER = "%%{random-id-placeholder}";
     @Deprecated(since = "23.4")
     private static final Pattern RANDOM_ID_PLACEHOLDER_PATTERN = Pattern.compile("%%\\{random-id-placeholder}");
     private static final Pattern DEPLOYMENT_ID_PLACEHOLDER_PATTERN = Pattern.compile("%%\\{deployment-id-placeholder}");
     private static final String DOMAIN_PLACEHOLDER = "%%{domain-placeholder}";
+    private static final String ENVIRONMENT_WITH_ID_NOT_FOUND_MESSAGE = "Can't find environment with id ";
 
-    private final ChainService chainService;
-    private final SnapshotService snapshotService;
     private final ElementUtils elementUtils;
     private final ElementPropertiesBuilderFactory elementPropertiesBuilderFactory;
     private final LibraryElementsService libraryService;
     private final DeploymentRouteMapper deploymentRouteMapper;
-    private final SystemService systemService;
-    private final EnvironmentService environmentService;
+    private final DeploymentUpdateCache deploymentUpdateCache;
+    private final DeploymentSourcesLoader deploymentSourcesLoader;
 
     @Autowired
     public DeploymentBuilderService(
-            @Lazy ChainService chainService,
-            @Lazy SnapshotService snapshotService,
             ElementUtils elementUtils,
             ElementPropertiesBuilderFactory elementPropertiesBuilderFactory,
             LibraryElementsService libraryService,
             DeploymentRouteMapper deploymentRouteMapper,
-            SystemService systemService,
-            EnvironmentService environmentService) {
-        this.chainService = chainService;
-        this.snapshotService = snapshotService;
+            DeploymentUpdateCache deploymentUpdateCache,
+            DeploymentSourcesLoader deploymentSourcesLoader) {
         this.elementUtils = elementUtils;
         this.elementPropertiesBuilderFactory = elementPropertiesBuilderFactory;
         this.libraryService = libraryService;
         this.deploymentRouteMapper = deploymentRouteMapper;
-        this.systemService = systemService;
-        this.environmentService = environmentService;
+        this.deploymentUpdateCache = deploymentUpdateCache;
+        this.deploymentSourcesLoader = deploymentSourcesLoader;
     }
 
     public List<DeploymentUpdate> buildDeploymentsUpdate(List<Deployment> deployments) {
-        List<DeploymentUpdate> result = new ArrayList<>();
-        for (Deployment deployment : deployments) {
-            Chain chain = chainService.findById(deployment.getChain().getId());
-            Snapshot snapshot = snapshotService.findById(deployment.getSnapshot().getId());
+        return buildDeploymentsUpdate(deployments, true);
+    }
 
-            DeploymentConfiguration config = createUpdateDeploymentConfiguration(deployment);
+    /**
+     * Same as {@link #buildDeploymentsUpdate(List)}, but updates missing in the cache are not put into it
+     */
+    public List<DeploymentUpdate> buildDeploymentsUpdateWithoutCaching(List<Deployment> deployments) {
+        return buildDeploymentsUpdate(deployments, false);
+    }
 
-            result.add(DeploymentUpdate.builder()
+    private List<DeploymentUpdate> buildDeploymentsUpdate(List<Deployment> deployments, boolean cacheBuilt) {
+        return deploymentUpdateCache.getOrBuild(deployments, this::buildDeploymentUpdates, cacheBuilt).stream()
+                .map(DeploymentBuilderService::resolveRandomIdPlaceholder)
+                .toList();
+    }
+
+    private Map<String, DeploymentUpdateCache.BuiltUpdate> buildDeploymentUpdates(List<Deployment> deployments) {
+        DeploymentSources sources = deploymentSourcesLoader.load(deployments);
+        Map<String, DeploymentUpdateCache.BuiltUpdate> result = new HashMap<>();
+        for (Deployment deployment : sources.deployments().values()) {
+            Chain chain = sources.chains().get(deployment.getChain().getId());
+            Snapshot snapshot = sources.snapshots().get(deployment.getSnapshot().getId());
+            if (chain == null || snapshot == null) {
+                log.debug("Chain or snapshot of deployment {} has been removed, skipping", deployment.getId());
+                continue;
+            }
+
+            Set<String> systemIds = new HashSet<>();
+            DeploymentConfiguration config = createUpdateDeploymentConfiguration(deployment, snapshot, sources, systemIds);
+            Map<String, String> sourceVersions = new HashMap<>();
+            sourceVersions.put(chain.getId(), sources.sourceVersions().get(chain.getId()));
+            systemIds.forEach(systemId -> sourceVersions.put(systemId, sources.sourceVersions().get(systemId)));
+
+            DeploymentUpdate update = DeploymentUpdate.builder()
                     .deploymentInfo(DeploymentInfo.builder()
                             .deploymentId(deployment.getId())
                             .chainId(chain.getId())
@@ -115,7 +139,8 @@ public List<DeploymentUpdate> buildDeploymentsUpdate(List<Deployment> deployment
                                     .map(MaskedField::getName)
                                     .collect(Collectors.toSet()))
                     .configuration(config)
-                    .build());
+                    .build();
+            result.put(deployment.getId(), new DeploymentUpdateCache.BuiltUpdate(update, sourceVersions));
         }
         return result;
     }
@@ -130,9 +155,13 @@ public List<DeploymentUpdate> buildDeploymentsStop(List<DeploymentInfo> deployme
         return result;
     }
 
-    private DeploymentConfiguration createUpdateDeploymentConfiguration(Deployment deployment) {
-        Snapshot snapshot = deployment.getSnapshot();
-
+    /**
+     * @param systemIds - collects ids of integration systems used to build the configuration
+     */
+    private DeploymentConfiguration createUpdateDeploymentConfiguration(Deployment deployment,
+                                                                        Snapshot snapshot,
+                                                                        DeploymentSources sources,
+                                                                        Set<String> systemIds) {
         Set<ChainElement> groupContainers = snapshot.getElements().stream()
                 .filter(item -> ElementService.CONTAINER_TYPE_NAME.equals(item.getType())
                         || Optional.ofNullable(libraryService.getElementDescriptor(item.getType()))
@@ -173,11 +202,16 @@ private DeploymentConfiguration createUpdateDeploymentConfiguration(Deployment d
                         if (IntegrationSystemType.EXTERNAL.name().equals(element.getProperty(CamelOptions.SYSTEM_TYPE))) {
                             String systemId = (String) element.getProperty(CamelOptions.SYSTEM_ID);
                             if (StringUtils.isNotEmpty(systemId)) {
-                                IntegrationSystem system = systemService.findById(systemId);
+                                systemIds.add(systemId);
+                                IntegrationSystem system = Optional.ofNullable(sources.systems().get(systemId))
+                                        .orElseThrow(() -> new EntityNotFoundException(
+                                                SystemService.SYSTEM_WITH_ID_NOT_FOUND_MESSAGE + systemId));
                                 properties.put(EXTERNAL_SERVICE_NAME, system.getName());
                                 String activeEnvironmentId = system.getActiveEnvironmentId();
                                 if (StringUtils.isNotEmpty(activeEnvironmentId)) {
-                                    Environment env = environmentService.getByIdForSystem(systemId, activeEnvironmentId);
+                                    Environment env = Optional.ofNullable(sources.getActiveEnvironment(system))
+                                            .orElseThrow(() -> new EntityNotFoundException(
+                                                    ENVIRONMENT_WITH_ID_NOT_FOUND_MESSAGE + activeEnvironmentId));
                                     properties.put(EXTERNAL_SERVICE_ENV_NAME, env.getName());
                                 }
                             }
@@ -207,15 +241,39 @@ private boolean containsSchedulerElements(List<ElementProperties> elementPropert
                         && SCHEDULER.equals(properties.getProperties().get(ELEMENT_TYPE)));
     }
 
+    /**
+     * The random id placeholder is left as is, it's resolved for every returned update,
+     * see {@link #resolveRandomIdPlaceholder(DeploymentUpdate)}
+     */
     private String replacePlaceholders(Snapshot snapshot, Deployment deployment) {
         StringBuilder result = replacePlaceholder(
-                snapshot.getXmlDefinition(),
-                UUID.randomUUID().toString(),
-                RANDOM_ID_PLACEHOLDER_PATTERN); // TODO deprecated and must not be used!
-        result = replacePlaceholder(result.toString(), deployment.getId(), DEPLOYMENT_ID_PLACEHOLDER_PATTERN);
+                snapshot.getXmlDefinition(), deployment.getId(), DEPLOYMENT_ID_PLACEHOLDER_PATTERN);
         return result.toString().replace(DOMAIN_PLACEHOLDER, deployment.getDomain().toLowerCase());
     }
 
+    /**
+     * Cached updates are shared, so a copy is returned if the placeholder is present
+     */
+    private static DeploymentUpdate resolveRandomIdPlaceholder(DeploymentUpdate update) {
+        DeploymentConfiguration config = update.getConfiguration();
+        if (config == null || config.getXml() == null || !config.getXml().contains(RANDOM_ID_PLACEHOLDER)) {
+            return update;
+        }
+        String xml = replacePlaceholder(
+                config.getXml(),
+                UUID.randomUUID().toString(),
+                RANDOM_ID_PLACEHOLDER_PATTERN).toString(); // TODO deprecated and must not be used!
+        return DeploymentUpdate.builder()
+                .deploymentInfo(update.getDeploymentInfo())
+                .maskedFields(update.getMaskedFields())
+                .configuration(DeploymentConfiguration.builder()
+                        .xml(xml)
+                        .properties(config.getProperties())
+                        .routes(config.getRoutes())
+                        .build())
+                .build();
+    }
+
     @NotNull
     private static StringBuilder replacePlaceholder(String input, String replacement, Pattern pattern) {
         Matcher matcher = pattern.matcher(input);
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.lang3.StringUtils;
+import org.qubership.integration.platform.catalog.model.constant.CamelOptions;
+import org.qubership.integration.platform.catalog.model.system.IntegrationSystemType;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.Environment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.IntegrationSystem;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.qubership.integration.platform.catalog.consul.ConfigurationPropertiesConstants.SERVICE_CALL_ELEMENT;
+
+/**
+ * Loads everything needed to build deployment updates with a fixed number of set-based queries,
+ * regardless of the number of deployments.
+ */
+@Component
+public class DeploymentSourcesLoader {
+    // keeps the number of bind parameters of a single query well below the JDBC driver limit
+    static final int CHUNK_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final DeploymentRepository deploymentRepository;
+
+    @Autowired
+    public DeploymentSourcesLoader(EntityManager entityManager, DeploymentRepository deploymentRepository) {
+        this.entityManager = entityManager;
+        this.deploymentRepository = deploymentRepository;
+    }
+
+    public record DeploymentSources(
+            Map<String, Deployment> deployments,
+            Map<String, Chain> chains,
+            Map<String, Snapshot> snapshots,
+            Map<String, IntegrationSystem> systems,
+            Map<String, Environment> environments,
+            Map<String, String> sourceVersions
+    ) {
+        public Environment getActiveEnvironment(IntegrationSystem system) {
+            Environment environment = environments.get(system.getActiveEnvironmentId());
+            return environment != null && system.getId().equals(environment.getSystem().getId()) ? environment : null;
+        }
+    }
+
+    /**
+     * Must be called inside a transaction, returned entities are attached to the current persistence context.
+     * Versions of chains and systems are read before the entities themselves, so they are never newer than
+     * the loaded content.
+     */
+    public DeploymentSources load(Collection<Deployment> deployments) {
+        Map<String, Deployment> loadedDeployments = findAllById(
+                "SELECT DISTINCT d FROM %s d LEFT JOIN FETCH d.deploymentRoutes WHERE d.id IN :ids",
+                Deployment.class, Deployment::getId, deployments.stream().map(Deployment::getId).toList());
+
+        List<String> chainIds = loadedDeployments.values().stream()
+                .map(deployment -> deployment.getChain().getId())
+                .distinct()
+                .toList();
+        Map<String, String> sourceVersions = new HashMap<>(loadChainVersions(chainIds));
+        Map<String, Chain> chains = findAllById(
+                "SELECT DISTINCT c FROM %s c LEFT JOIN FETCH c.maskedFields WHERE c.id IN :ids",
+                Chain.class, Chain::getId, chainIds);
+
+        List<String> snapshotIds = loadedDeployments.values().stream()
+                .map(deployment -> deployment.getSnapshot().getId())
+                .distinct()
+                .toList();
+        Map<String, Snapshot> snapshots = findAllById(
+                "SELECT DISTINCT s FROM %s s LEFT JOIN FETCH s.elements WHERE s.id IN :ids",
+                Snapshot.class, Snapshot::getId, snapshotIds);
+        // dependencies are read by element properties builders, fetched separately to avoid a cartesian product
+        findAllById(
+                "SELECT DISTINCT e FROM %s e LEFT JOIN FETCH e.inputDependencies WHERE e.snapshot.id IN :ids",
+                ChainElement.class, ChainElement::getId, snapshotIds);
+        findAllById(
+                "SELECT DISTINCT e FROM %s e LEFT JOIN FETCH e.outputDependencies WHERE e.snapshot.id IN :ids",
+                ChainElement.class, ChainElement::getId, snapshotIds);
+
+        List<String> systemIds = snapshots.values().stream()
+                .flatMap(snapshot -> snapshot.getElements().stream())
+                .filter(element -> SERVICE_CALL_ELEMENT.equals(element.getType())
+                        && IntegrationSystemType.EXTERNAL.name().equals(element.getProperty(CamelOptions.SYSTEM_TYPE)))
+                .map(element -> (String) element.getProperty(CamelOptions.SYSTEM_ID))
+                .filter(StringUtils::isNotEmpty)
+                .distinct()
+                .toList();
+        sourceVersions.putAll(loadSystemVersions(systemIds));
+        Map<String, IntegrationSystem> systems = findAllById(
+                "SELECT s FROM %s s WHERE s.id IN :ids",
+                IntegrationSystem.class, IntegrationSystem::getId, systemIds);
+
+        Map<String, Environment> environments = findAllById(
+                "SELECT e FROM %s e WHERE e.id IN :ids",
+                Environment.class, Environment::getId, systems.values().stream()
+                        .map(IntegrationSystem::getActiveEnvironmentId)
+                        .filter(StringUtils::isNotEmpty)
+                        .distinct()
+                        .toList());
+
+        return new DeploymentSources(loadedDeployments, chains, snapshots, systems, environments, sourceVersions);
+    }
+
+    /**
+     * @return versions of existing chains by id, see {@link DeploymentRepository#findChainSourceVersions}
+     */
+    public Map<String, String> loadChainVersions(Collection<String> chainIds) {
+        return loadVersions(chainIds, deploymentRepository::findChainSourceVersions);
+    }
+
+    /**
+     * @return versions of existing integration systems by id, see {@link DeploymentRepository#findSystemSourceVersions}
+     */
+    public Map<String, String> loadSystemVersions(Collection<String> systemIds) {
+        return loadVersions(systemIds, deploymentRepository::findSystemSourceVersions);
+    }
+
+    private static Map<String, String> loadVersions(Collection<String> ids, Function<List<String>, List<Object[]>> query) {
+        Map<String, String> result = new HashMap<>();
+        for (List<String> chunk : Lists.partition(List.copyOf(ids), CHUNK_SIZE)) {
+            for (Object[] row : query.apply(chunk)) {
+                result.put((String) row[0], (String) row[1]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param queryFormat - query with a placeholder for the entity name. Entities are referenced by
+     *                    class name as their JPA names are defined by the library and may differ.
+     */
+    private <T> Map<String, T> findAllById(String queryFormat, Class<T> entityClass, Function<T, String> idGetter, List<String> ids) {
+        String query = String.format(queryFormat, entityClass.getName());
+        Map<String, T> result = new HashMap<>();
+        for (List<String> chunk : Lists.partition(ids, CHUNK_SIZE)) {
+            entityManager.createQuery(query, entityClass)
+                    .setParameter("ids", chunk)
+                    .getResultList()
+                    .forEach(entity -> result.put(idGetter.apply(entity), entity));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Cache of built {@link DeploymentUpdate} payloads by deployment id.
+ * <p>
+ * Deployments are immutable, so an entry only becomes stale when the chain or one of the
+ * external systems it was built from is modified. Every entry keeps the versions of its sources
+ * as they were read before the build (see {@link DeploymentSourcesLoader}). Versions cover chains
+ * with their masked fields and systems with their environments and specifications, including
+ * deletions, and are read from the database, so changes made on any pod are detected.
+ * The check runs at most once per configured interval.
+ */
+@Slf4j
+@Component
+public class DeploymentUpdateCache {
+
+    private static final String METRIC_NAME = "qip.deployments.update.cache";
+
+    private final DeploymentSourcesLoader deploymentSourcesLoader;
+    private final boolean enabled;
+    private final long sourcesCheckIntervalMillis;
+    private final Cache<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer buildTimer;
+    private final Object sourcesCheckLock = new Object();
+    private volatile long lastSourcesCheck = System.currentTimeMillis();
+
+    /**
+     * Deployment update together with versions of the chain and integration systems it was built from
+     */
+    public record BuiltUpdate(DeploymentUpdate update, Map<String, String> sourceVersions) {
+    }
+
+    private record Entry(DeploymentUpdate update, String chainId, Map<String, String> sourceVersions) {
+    }
+
+    @Autowired
+    public DeploymentUpdateCache(DeploymentSourcesLoader deploymentSourcesLoader,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${qip.deployments.update-cache.enabled:true}") boolean enabled,
+                                 @Value("${qip.deployments.update-cache.max-size:10000}") long maxSize,
+                                 @Value("${qip.deployments.update-cache.expire-after-access:1h}") Duration expireAfterAccess,
+                                 @Value("${qip.deployments.update-cache.sources-check-interval:5s}") Duration sourcesCheckInterval) {
+        this.deploymentSourcesLoader = deploymentSourcesLoader;
+        this.enabled = enabled;
+        this.sourcesCheckIntervalMillis = sourcesCheckInterval.toMillis();
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.hits = Counter.builder(METRIC_NAME)
+                .tag("result", "hit")
+                .description("Deployment updates taken from cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME)
+                .tag("result", "miss")
+                .description("Deployment updates built from snapshots")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("qip.deployments.update.build")
+                .description("Time to build deployment updates missing in cache")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", entries, Cache::size)
+                .description("Number of cached deployment updates")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param builder - builds updates for deployments missing in the cache, result is mapped by deployment id.
+     *                Deployments absent in the builder result are skipped.
+     */
+    public List<DeploymentUpdate> getOrBuild(List<Deployment> deployments,
+                                             Function<List<Deployment>, Map<String, BuiltUpdate>> builder) {
+        return getOrBuild(deployments, builder, true);
+    }
+
+    /**
+     * @param builder - builds updates for deployments missing in the cache, result is mapped by deployment id.
+     *                Deployments absent in the builder result are skipped.
+     * @param cacheBuilt - whether built updates are put into the cache
+     */
+    public List<DeploymentUpdate> getOrBuild(List<Deployment> deployments,
+                                             Function<List<Deployment>, Map<String, BuiltUpdate>> builder,
+                                             boolean cacheBuilt) {
+        Map<String, DeploymentUpdate> updates = new HashMap<>();
+        List<Deployment> toBuild = new ArrayList<>();
+        for (Deployment deployment : deployments) {
+            Entry entry = enabled ? entries.getIfPresent(deployment.getId()) : null;
+            if (entry != null) {
+                updates.put(deployment.getId(), entry.update());
+            } else {
+                toBuild.add(deployment);
+            }
+        }
+        hits.increment(updates.size());
+        misses.increment(toBuild.size());
+
+        if (!toBuild.isEmpty()) {
+            Map<String, BuiltUpdate> built = buildTimer.record(() -> builder.apply(toBuild));
+            for (Deployment deployment : toBuild) {
+                BuiltUpdate builtUpdate = built.get(deployment.getId());
+                if (builtUpdate == null) {
+                    continue;
+                }
+                if (enabled && cacheBuilt) {
+                    entries.put(deployment.getId(), new Entry(builtUpdate.update(),
+                            deployment.getChain().getId(), builtUpdate.sourceVersions()));
+                }
+                updates.put(deployment.getId(), builtUpdate.update());
+            }
+        }
+
+        return deployments.stream()
+                .map(deployment -> updates.get(deployment.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Evict entries which sources have a different version now or have been deleted.
+     * The check runs at most once per configured interval.
+     *
+     * @return true if any entry was evicted
+     */
+    public boolean evictModifiedSources() {
+        if (!enabled || System.currentTimeMillis() - lastSourcesCheck < sourcesCheckIntervalMillis) {
+            return false;
+        }
+
+        synchronized (sourcesCheckLock) {
+            if (System.currentTimeMillis() - lastSourcesCheck < sourcesCheckIntervalMillis) {
+                return false;
+            }
+
+            Map<String, Entry> snapshot = Map.copyOf(entries.asMap());
+            Set<String> chainIds = new HashSet<>();
+            Set<String> systemIds = new HashSet<>();
+            for (Entry entry : snapshot.values()) {
+                entry.sourceVersions().keySet().forEach(id -> (entry.chainId().equals(id) ? chainIds : systemIds).add(id));
+            }
+            Map<String, String> versions = new HashMap<>(deploymentSourcesLoader.loadChainVersions(chainIds));
+            versions.putAll(deploymentSourcesLoader.loadSystemVersions(systemIds));
+            lastSourcesCheck = System.currentTimeMillis();
+
+            List<String> stale = snapshot.entrySet().stream()
+                    .filter(entry -> isStale(entry.getValue(), versions))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!stale.isEmpty()) {
+                log.debug("Evicting {} cached deployment updates with modified sources", stale.size());
+                // an entry rebuilt after the snapshot was taken may be evicted too, which is harmless
+                entries.invalidateAll(stale);
+            }
+            return !stale.isEmpty();
+        }
+    }
+
+    public void evict(String deploymentId) {
+        entries.invalidate(deploymentId);
+    }
+
+    public void evictByChainId(String chainId) {
+        entries.asMap().values().removeIf(entry -> chainId.equals(entry.chainId()));
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    private static boolean isStale(Entry entry, Map<String, String> versions) {
+        return entry.sourceVersions().entrySet().stream()
+                .anyMatch(source -> !Objects.equals(source.getValue(), versions.get(source.getKey())));
+    }
+}
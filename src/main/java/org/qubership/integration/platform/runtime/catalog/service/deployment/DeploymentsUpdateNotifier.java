@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process notifier of deployments version changes, used to wake up
+ * engine requests waiting for deployments update.
+ * <p>
+ * The version is the deployments update timestamp from consul, so it is the same on all pods.
+ */
+@Slf4j
+@Component
+public class DeploymentsUpdateNotifier {
+
+    /**
+     * How long engine requests wait for deployments update
+     */
+    @Getter
+    @Value("${qip.deployments.update.wait-timeout:30s}")
+    private Duration waitTimeout;
+
+    private final AtomicLong version = new AtomicLong(0);
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    // waiters continue on these threads, so building a response never blocks the notifying thread
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("deployments-update-", 0).factory());
+
+    private record Waiter(long version, CompletableFuture<Long> future) {
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @param lastSeenVersion - last deployments version known to the caller
+     * @return future completed with the current version once it is greater than the given one.
+     * Cancel the future to stop waiting.
+     */
+    public CompletableFuture<Long> awaitVersionAfter(long lastSeenVersion) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        Waiter waiter = new Waiter(lastSeenVersion, future);
+        waiters.add(waiter);
+        future.whenComplete((ignored, throwable) -> waiters.remove(waiter));
+
+        // checked after registration, so a concurrent update can't be missed
+        long current = version.get();
+        if (current > lastSeenVersion) {
+            wakeUp(waiter, current);
+        }
+        return future;
+    }
+
+    public void notifyUpdate(long newVersion) {
+        long current = version.accumulateAndGet(newVersion, Math::max);
+        log.debug("Deployments version changed to {}, waking up waiting requests", current);
+        for (Waiter waiter : waiters) {
+            if (current > waiter.version()) {
+                wakeUp(waiter, current);
+            }
+        }
+    }
+
+    public int getWaitersCount() {
+        return waiters.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void wakeUp(Waiter waiter, long current) {
+        if (waiters.remove(waiter)) {
+            executor.execute(() -> waiter.future().complete(current));
+        }
+    }
+}
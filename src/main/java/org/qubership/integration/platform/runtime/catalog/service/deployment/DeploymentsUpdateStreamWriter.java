@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentUpdate;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentsUpdate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes {@link DeploymentsUpdate} JSON document one deployment at a time,
+ * so the whole update never has to be held in memory.
+ * <p>
+ * Updates must be written before stops, the document is finished on {@link #close()}.
+ */
+public class DeploymentsUpdateStreamWriter implements Closeable {
+    private final JsonGenerator generator;
+    private boolean stopsStarted = false;
+
+    public DeploymentsUpdateStreamWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("update");
+    }
+
+    public void writeUpdate(DeploymentUpdate update) throws IOException {
+        if (stopsStarted) {
+            throw new IllegalStateException("Deployment updates must be written before stops");
+        }
+        generator.writeObject(update);
+    }
+
+    public void writeStop(DeploymentUpdate stop) throws IOException {
+        if (!stopsStarted) {
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("stop");
+            stopsStarted = true;
+        }
+        generator.writeObject(stop);
+    }
+
+    /**
+     * Send everything written so far to the client
+     */
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!stopsStarted) {
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("stop");
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import lombok.Getter;
+import org.qubership.integration.platform.catalog.model.deployment.engine.ChainRuntimeDeployment;
+import org.qubership.integration.platform.catalog.model.deployment.engine.EngineDeployment;
+import org.qubership.integration.platform.catalog.model.deployment.engine.EngineState;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.RuntimeDeployment;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable views of the engines state reported to consul, built once per state change.
+ * <p>
+ * Returned collections are shared between all readers and must not be modified.
+ */
+public final class EnginesStateSnapshot {
+
+    public static final EnginesStateSnapshot EMPTY = of(Collections.emptyMap(), (deployment, host) -> null);
+
+    // <engine_host, state>
+    @Getter
+    private final Map<String, EngineState> engineStates;
+    // <chainId, List<ChainRuntimeDeployment>>
+    @Getter
+    private final Map<String, Collection<ChainRuntimeDeployment>> chainRuntimeDeployments;
+    // <deploymentId, RuntimeDeployment>
+    private final Map<String, RuntimeDeployment> runtimeDeployments;
+    // <domain, List<engine_host>>
+    @Getter
+    private final Map<String, List<String>> engineHosts;
+    private final String lastServiceName;
+
+    private EnginesStateSnapshot(Map<String, EngineState> engineStates,
+                                 Map<String, Collection<ChainRuntimeDeployment>> chainRuntimeDeployments,
+                                 Map<String, RuntimeDeployment> runtimeDeployments,
+                                 Map<String, List<String>> engineHosts,
+                                 String lastServiceName) {
+        this.engineStates = engineStates;
+        this.chainRuntimeDeployments = chainRuntimeDeployments;
+        this.runtimeDeployments = runtimeDeployments;
+        this.engineHosts = engineHosts;
+        this.lastServiceName = lastServiceName;
+    }
+
+    /**
+     * @param chainRuntimeDeploymentMapper maps a deployment reported by engine host to its chain view
+     */
+    public static EnginesStateSnapshot of(Map<String, EngineState> engineStates,
+                                          BiFunction<EngineDeployment, String, ChainRuntimeDeployment> chainRuntimeDeploymentMapper) {
+        Map<String, List<ChainRuntimeDeployment>> byChain = new HashMap<>();
+        Map<String, List<String>> hostsByDomain = new HashMap<>();
+        Set<String> deploymentIds = new HashSet<>();
+        String lastServiceName = null;
+
+        for (EngineState engineState : engineStates.values()) {
+            String host = engineState.getEngine().getHost();
+            lastServiceName = engineState.getEngine().getEngineDeploymentName();
+            hostsByDomain.computeIfAbsent(engineState.getEngine().getDomain(), domain -> new ArrayList<>()).add(host);
+
+            Map<String, EngineDeployment> deployments = engineState.getDeployments();
+            if (deployments != null) {
+                for (Map.Entry<String, EngineDeployment> entry : deployments.entrySet()) {
+                    EngineDeployment engineDeployment = entry.getValue();
+                    deploymentIds.add(entry.getKey());
+                    byChain.computeIfAbsent(engineDeployment.getDeploymentInfo().getChainId(), chainId -> new ArrayList<>())
+                            .add(chainRuntimeDeploymentMapper.apply(engineDeployment, host));
+                }
+            }
+        }
+
+        Map<String, RuntimeDeployment> byDeployment = new HashMap<>();
+        for (String deploymentId : deploymentIds) {
+            byDeployment.put(deploymentId, buildRuntimeDeployment(engineStates, deploymentId, lastServiceName));
+        }
+
+        Map<String, Collection<ChainRuntimeDeployment>> chainRuntimeDeployments = new HashMap<>();
+        byChain.forEach((chainId, deployments) -> chainRuntimeDeployments.put(chainId, List.copyOf(deployments)));
+        Map<String, List<String>> engineHosts = new HashMap<>();
+        hostsByDomain.forEach((domain, hosts) -> engineHosts.put(domain, List.copyOf(hosts)));
+
+        return new EnginesStateSnapshot(
+                Collections.unmodifiableMap(engineStates),
+                Collections.unmodifiableMap(chainRuntimeDeployments),
+                byDeployment,
+                Collections.unmodifiableMap(engineHosts),
+                lastServiceName);
+    }
+
+    /**
+     * Runtime state of the deployment on every engine, engines without the deployment have null state
+     */
+    public RuntimeDeployment getRuntimeDeployment(String deploymentId) {
+        RuntimeDeployment runtimeDeployment = runtimeDeployments.get(deploymentId);
+        return runtimeDeployment != null
+                ? runtimeDeployment
+                // not reported by any engine, every state is null
+                : buildRuntimeDeployment(engineStates, deploymentId, lastServiceName);
+    }
+
+    private static RuntimeDeployment buildRuntimeDeployment(Map<String, EngineState> engineStates, String deploymentId,
+                                                            String serviceName) {
+        RuntimeDeployment runtimeDeployment = new RuntimeDeployment(deploymentId);
+        runtimeDeployment.setServiceName(serviceName);
+        for (EngineState engineState : engineStates.values()) {
+            runtimeDeployment.getStates().put(
+                    engineState.getEngine().getHost(),
+                    Optional.ofNullable(engineState.getDeployments()).map(deployments -> deployments.get(deploymentId)).orElse(null));
+        }
+        return runtimeDeployment;
+    }
+}
@@ -0,0 +1,492 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.qubership.integration.platform.catalog.model.ElementRoute;
+import org.qubership.integration.platform.catalog.model.constant.CamelNames;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.util.TriggerUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * In-memory index of HTTP trigger routes of all deployments.
+ * <p>
+ * Routes are kept in path tries partitioned by domain and gateway type, every trie node
+ * has a bitset of HTTP methods of the routes below it, so conflict checks only walk the
+ * segments of the checked path. The trie narrows down candidates only, the final decision
+ * is made with the same predicates the database based checks used.
+ * <p>
+ * Deployments created or deleted on this pod are applied right away. Changes from other
+ * pods are picked up by comparing deployment ids with the database after
+ * {@link #invalidate()} or when the index is older than
+ * {@code qip.deployments.route-index.sync-interval}. Before the conflict checks of a new
+ * deployment only deployments created since the previous check are loaded, see {@link #synchronize()}.
+ */
+@Slf4j
+@Component
+public class HttpTriggerRouteIndex {
+
+    // deployments are committed some time after their creation time is set, and pods clocks differ
+    private static final long CREATED_WHEN_OVERLAP_MILLIS = 60_000L;
+    // library entities are referenced by class name, their JPA names are defined by the library
+    private static final String DEPLOYMENT_IDS_QUERY = "SELECT d.id FROM " + Deployment.class.getName() + " d";
+    private static final String EXISTING_DEPLOYMENT_IDS_QUERY = DEPLOYMENT_IDS_QUERY + " WHERE d.id IN :ids";
+    private static final String DEPLOYMENTS_QUERY = "SELECT d.id, d.domain, d.chain.id, d.snapshot.id FROM "
+            + Deployment.class.getName() + " d WHERE d.id IN :ids";
+    private static final String CREATED_DEPLOYMENTS_QUERY = "SELECT d.id, d.domain, d.chain.id, d.snapshot.id FROM "
+            + Deployment.class.getName() + " d WHERE d.createdWhen >= :since";
+    private static final String HTTP_TRIGGERS_QUERY = "SELECT e FROM " + ChainElement.class.getName()
+            + " e WHERE e.snapshot.id IN :ids AND e.type IN :types";
+    // standard methods have fixed bits, custom ones share the last bit, the bitset is a pre-filter only
+    private static final List<HttpMethod> METHODS = List.of(HttpMethod.values());
+    private static final int CUSTOM_METHOD_BIT = 63;
+
+    public enum GatewayType {
+        // external and private routes are registered on gateways shared by all domains
+        GATEWAY,
+        INTERNAL;
+
+        public static GatewayType of(ElementRoute route) {
+            return route.isExternal() || route.isPrivate() ? GATEWAY : INTERNAL;
+        }
+    }
+
+    public record IndexedRoute(String deploymentId, String domain, String chainId, ElementRoute route) {
+    }
+
+    private record LoadedDeployment(String deploymentId, String domain, String chainId, List<ElementRoute> routes) {
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<IndexedRoute> routes = new ArrayList<>();
+        private long methods;
+
+        private boolean isEmpty() {
+            return children.isEmpty() && routes.isEmpty();
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final long syncIntervalMillis;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<GatewayType, Node>> tries = new HashMap<>();
+    private final Map<String, List<IndexedRoute>> deploymentRoutes = new HashMap<>();
+    private volatile boolean loaded = false;
+    private volatile boolean dirty = false;
+    private volatile long syncedWhen = 0L;
+    private volatile long createdSince = 0L;
+
+    @Autowired
+    public HttpTriggerRouteIndex(EntityManager entityManager,
+                                 @Value("${qip.deployments.route-index.sync-interval:30s}") Duration syncInterval) {
+        this.entityManager = entityManager;
+        this.syncIntervalMillis = syncInterval.toMillis();
+    }
+
+    /**
+     * Checks whether a deployed route has exactly the same path and at least one common method
+     *
+     * @param domain domain to look in, all domains if null
+     * @param gatewayOnly look only through external and private routes
+     */
+    public boolean existsSameRoute(String path, Set<HttpMethod> methods, @Nullable String domain, boolean gatewayOnly,
+                                   String excludeChainId, @Nullable Collection<String> excludeDeploymentIds) {
+        if (StringUtils.isBlank(path)) {
+            return false;
+        }
+        Predicate<IndexedRoute> filter = indexedRoute -> path.equals(indexedRoute.route().getPath())
+                && !Collections.disjoint(methods, indexedRoute.route().getMethods())
+                && !Objects.equals(excludeChainId, indexedRoute.chainId())
+                && (excludeDeploymentIds == null || !excludeDeploymentIds.contains(indexedRoute.deploymentId()));
+        List<String> segments = splitPath(path);
+        long methodBits = toBits(methods);
+
+        Set<String> deploymentIds = read(() -> {
+            Set<String> result = new HashSet<>();
+            Collection<Map<GatewayType, Node>> partitions = domain == null
+                    ? tries.values()
+                    : Optional.ofNullable(tries.get(domain)).map(List::of).orElse(List.of());
+            for (Map<GatewayType, Node> partition : partitions) {
+                for (Map.Entry<GatewayType, Node> entry : partition.entrySet()) {
+                    if (gatewayOnly && entry.getKey() != GatewayType.GATEWAY) {
+                        continue;
+                    }
+                    Node node = findExact(entry.getValue(), segments);
+                    if (node != null && (node.methods & methodBits) != 0) {
+                        node.routes.stream()
+                                .filter(filter)
+                                .map(IndexedRoute::deploymentId)
+                                .forEach(result::add);
+                    }
+                }
+            }
+            return result;
+        });
+        return !deploymentIds.isEmpty() && !retainExisting(deploymentIds).isEmpty();
+    }
+
+    /**
+     * Finds deployed routes that {@link ElementRoute#intersectsWith(ElementRoute) intersect} with the given one.
+     * Path template segments like <code>{id}</code> match any segment while walking the trie.
+     */
+    public List<IndexedRoute> findIntersecting(ElementRoute route, String excludeChainId) {
+        if (route.getPath() == null) {
+            return Collections.emptyList();
+        }
+        List<String> segments = splitPath(route.getPath());
+
+        return read(() -> {
+            List<IndexedRoute> result = new ArrayList<>();
+            for (Map<GatewayType, Node> partition : tries.values()) {
+                for (Node root : partition.values()) {
+                    collectCandidates(root, segments, 0, candidate -> {
+                        if (!Objects.equals(excludeChainId, candidate.chainId())
+                                && candidate.route().intersectsWith(route)) {
+                            result.add(candidate);
+                        }
+                    });
+                }
+            }
+            return result;
+        });
+    }
+
+    public void register(String deploymentId, String domain, String chainId, Collection<ElementRoute> routes) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            addDeployment(deploymentId, domain, chainId, routes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unregister(String deploymentId) {
+        lock.writeLock().lock();
+        try {
+            removeDeployment(deploymentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unregisterByChainId(String chainId) {
+        lock.writeLock().lock();
+        try {
+            deploymentRoutes.entrySet().stream()
+                    .filter(entry -> entry.getValue().stream().anyMatch(route -> chainId.equals(route.chainId())))
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(this::removeDeployment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the index to be synchronized with the database before the next check
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Loads deployments created since the previous call. Must be called inside the deploy transaction
+     * before conflict checks, so deployments committed on other pods are taken into account.
+     * Costs a query over the recently created deployments only, the index is compared with all
+     * deployments on the sync interval. Deployments deleted on other pods in the meantime don't cause
+     * false conflicts, since conflicts found by {@link #existsSameRoute} are confirmed in the database.
+     */
+    public void synchronize() {
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = entityManager.createQuery(CREATED_DEPLOYMENTS_QUERY, Object[].class)
+                .setParameter("since", new Timestamp(createdSince))
+                .getResultList();
+        createdSince = now - CREATED_WHEN_OVERLAP_MILLIS;
+
+        List<Object[]> newRows = read(() -> rows.stream()
+                .filter(row -> !deploymentRoutes.containsKey((String) row[0]))
+                .toList());
+        if (newRows.isEmpty()) {
+            return;
+        }
+        List<LoadedDeployment> deployments = loadRoutes(newRows);
+        lock.writeLock().lock();
+        try {
+            deployments.stream()
+                    .filter(deployment -> !deploymentRoutes.containsKey(deployment.deploymentId()))
+                    .forEach(deployment -> addDeployment(deployment.deploymentId(), deployment.domain(),
+                            deployment.chainId(), deployment.routes()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("HTTP trigger route index synchronized, {} created deployments added", deployments.size());
+    }
+
+    public int size() {
+        return read(() -> deploymentRoutes.values().stream().mapToInt(List::size).sum());
+    }
+
+    private <T> T read(Supplier<T> action) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded && !dirty && System.currentTimeMillis() - syncedWhen < syncIntervalMillis) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded && !dirty && System.currentTimeMillis() - syncedWhen < syncIntervalMillis) {
+                return;
+            }
+            doSynchronize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void doSynchronize() {
+        dirty = false;
+        createdSince = System.currentTimeMillis() - CREATED_WHEN_OVERLAP_MILLIS;
+        sync();
+        loaded = true;
+        syncedWhen = System.currentTimeMillis();
+    }
+
+    /**
+     * Removes deleted deployments and loads routes of deployments missing in the index
+     */
+    private void sync() {
+        Set<String> actualIds = new HashSet<>(entityManager
+                .createQuery(DEPLOYMENT_IDS_QUERY, String.class)
+                .getResultList());
+
+        deploymentRoutes.keySet().stream()
+                .filter(id -> !actualIds.contains(id))
+                .toList()
+                .forEach(this::removeDeployment);
+
+        List<String> newIds = actualIds.stream()
+                .filter(id -> !deploymentRoutes.containsKey(id))
+                .toList();
+        for (List<String> chunk : Lists.partition(newIds, DeploymentSourcesLoader.CHUNK_SIZE)) {
+            List<Object[]> rows = entityManager.createQuery(DEPLOYMENTS_QUERY, Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            loadRoutes(rows).forEach(deployment -> addDeployment(deployment.deploymentId(), deployment.domain(),
+                    deployment.chainId(), deployment.routes()));
+        }
+        log.debug("HTTP trigger route index synchronized, {} deployments added", newIds.size());
+    }
+
+    /**
+     * @param deployments rows of deployment id, domain, chain id and snapshot id
+     */
+    private List<LoadedDeployment> loadRoutes(List<Object[]> deployments) {
+        Map<String, List<ElementRoute>> snapshotRoutes = new HashMap<>();
+        List<String> snapshotIds = deployments.stream()
+                .map(row -> (String) row[3])
+                .distinct()
+                .toList();
+        for (List<String> chunk : Lists.partition(snapshotIds, DeploymentSourcesLoader.CHUNK_SIZE)) {
+            entityManager.createQuery(HTTP_TRIGGERS_QUERY, ChainElement.class)
+                    .setParameter("ids", chunk)
+                    .setParameter("types", List.of(CamelNames.HTTP_TRIGGER_COMPONENT))
+                    .getResultList()
+                    .forEach(element -> snapshotRoutes
+                            .computeIfAbsent(element.getSnapshot().getId(), id -> new ArrayList<>())
+                            .add(TriggerUtils.getHttpTriggerRoute(element)));
+        }
+
+        return deployments.stream()
+                .map(row -> new LoadedDeployment((String) row[0], (String) row[1], (String) row[2],
+                        snapshotRoutes.getOrDefault((String) row[3], Collections.emptyList())))
+                .toList();
+    }
+
+    /**
+     * Removes deployments deleted on other pods from the index
+     *
+     * @return ids of the given deployments that still exist
+     */
+    private Set<String> retainExisting(Set<String> deploymentIds) {
+        Set<String> existing = new HashSet<>(entityManager
+                .createQuery(EXISTING_DEPLOYMENT_IDS_QUERY, String.class)
+                .setParameter("ids", deploymentIds)
+                .getResultList());
+        if (existing.size() < deploymentIds.size()) {
+            lock.writeLock().lock();
+            try {
+                deploymentIds.stream()
+                        .filter(id -> !existing.contains(id))
+                        .forEach(this::removeDeployment);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return existing;
+    }
+
+    private void addDeployment(String deploymentId, String domain, String chainId, Collection<ElementRoute> routes) {
+        removeDeployment(deploymentId);
+        List<IndexedRoute> indexedRoutes = new ArrayList<>();
+        for (ElementRoute route : routes) {
+            if (StringUtils.isBlank(route.getPath())) {
+                continue;
+            }
+            IndexedRoute indexedRoute = new IndexedRoute(deploymentId, domain, chainId, route);
+            long methodBits = toBits(route.getMethods());
+            Node node = tries.computeIfAbsent(domain, key -> new EnumMap<>(GatewayType.class))
+                    .computeIfAbsent(GatewayType.of(route), key -> new Node());
+            node.methods |= methodBits;
+            for (String segment : splitPath(route.getPath())) {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+                node.methods |= methodBits;
+            }
+            node.routes.add(indexedRoute);
+            indexedRoutes.add(indexedRoute);
+        }
+        deploymentRoutes.put(deploymentId, indexedRoutes);
+    }
+
+    private void removeDeployment(String deploymentId) {
+        List<IndexedRoute> indexedRoutes = deploymentRoutes.remove(deploymentId);
+        if (indexedRoutes == null) {
+            return;
+        }
+        for (IndexedRoute indexedRoute : indexedRoutes) {
+            Map<GatewayType, Node> partition = tries.get(indexedRoute.domain());
+            GatewayType gatewayType = GatewayType.of(indexedRoute.route());
+            Node root = partition.get(gatewayType);
+            if (removeRoute(root, splitPath(indexedRoute.route().getPath()), 0, indexedRoute)) {
+                partition.remove(gatewayType);
+                if (partition.isEmpty()) {
+                    tries.remove(indexedRoute.domain());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the node became empty and should be removed by the caller
+     */
+    private static boolean removeRoute(Node node, List<String> segments, int depth, IndexedRoute indexedRoute) {
+        if (depth == segments.size()) {
+            node.routes.remove(indexedRoute);
+        } else {
+            Node child = node.children.get(segments.get(depth));
+            if (child != null && removeRoute(child, segments, depth + 1, indexedRoute)) {
+                node.children.remove(segments.get(depth));
+            }
+        }
+        node.methods = node.routes.stream()
+                .mapToLong(route -> toBits(route.route().getMethods()))
+                .reduce(0L, (a, b) -> a | b);
+        for (Node child : node.children.values()) {
+            node.methods |= child.methods;
+        }
+        return node.isEmpty();
+    }
+
+    private static Node findExact(Node root, List<String> segments) {
+        Node node = root;
+        for (String segment : segments) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static void collectCandidates(Node node, List<String> segments, int depth,
+                                          Consumer<IndexedRoute> consumer) {
+        if (depth == segments.size()) {
+            node.routes.forEach(consumer);
+            return;
+        }
+        String segment = segments.get(depth);
+        if (isTemplate(segment)) {
+            for (Node child : node.children.values()) {
+                collectCandidates(child, segments, depth + 1, consumer);
+            }
+            return;
+        }
+        Node exact = node.children.get(segment);
+        if (exact != null) {
+            collectCandidates(exact, segments, depth + 1, consumer);
+        }
+        for (Map.Entry<String, Node> child : node.children.entrySet()) {
+            if (isTemplate(child.getKey())) {
+                collectCandidates(child.getValue(), segments, depth + 1, consumer);
+            }
+        }
+    }
+
+    private static boolean isTemplate(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    /**
+     * Empty segments are dropped, so paths differing in slashes only share a node,
+     * exact path equality is checked on the routes of the node.
+     */
+    static List<String> splitPath(String path) {
+        return Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toList();
+    }
+
+    private static long toBits(Collection<HttpMethod> methods) {
+        long bits = 0L;
+        if (methods != null) {
+            for (HttpMethod method : methods) {
+                int index = METHODS.indexOf(method);
+                bits |= 1L << (index < 0 ? CUSTOM_METHOD_BIT : index);
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.diagnostic;
+
+import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationChainAlert;
+
+import java.util.*;
+
+/**
+ * Difference between stored alerts of a validation and alerts found by its new run.
+ * Alerts are equal if they point to the same chain and element and have the same properties.
+ */
+public record ChainAlertsDiff(List<ValidationChainAlert> toDelete, List<ValidationChainAlert> toSave) {
+
+    private record AlertKey(String chainId, String elementId, Object properties) {
+    }
+
+    public static ChainAlertsDiff of(Collection<ValidationChainAlert> stored, Collection<ValidationChainAlert> actual) {
+        // a validation may report equal alerts several times, so stored alerts are matched one to one
+        Map<AlertKey, Deque<ValidationChainAlert>> unmatched = new HashMap<>();
+        for (ValidationChainAlert alert : stored) {
+            unmatched.computeIfAbsent(keyOf(alert), key -> new ArrayDeque<>()).add(alert);
+        }
+
+        List<ValidationChainAlert> toSave = new ArrayList<>();
+        for (ValidationChainAlert alert : actual) {
+            Deque<ValidationChainAlert> storedAlerts = unmatched.get(keyOf(alert));
+            if (storedAlerts == null || storedAlerts.poll() == null) {
+                toSave.add(alert);
+            }
+        }
+
+        List<ValidationChainAlert> toDelete = new ArrayList<>();
+        unmatched.values().forEach(toDelete::addAll);
+        return new ChainAlertsDiff(toDelete, toSave);
+    }
+
+    public boolean isEmpty() {
+        return toDelete.isEmpty() && toSave.isEmpty();
+    }
+
+    private static AlertKey keyOf(ValidationChainAlert alert) {
+        return new AlertKey(
+                alert.getChain() == null ? null : alert.getChain().getId(),
+                alert.getElement() == null ? null : alert.getElement().getId(),
+                alert.getProperties() == null || alert.getProperties().isEmpty() ? null : alert.getProperties());
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.qubership.integration.platform.runtime.catalog.service.diagnostic;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +27,7 @@
 import org.qubership.integration.platform.catalog.model.filter.FilterCondition;
 import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.ConfigParameter;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationChainAlert;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationState;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationStatus;
@@ -42,14 +45,16 @@
 import org.qubership.integration.platform.runtime.catalog.service.diagnostic.validations.external.ExternalValidation;
 import org.qubership.integration.platform.runtime.catalog.service.filter.ChainAlertFilterSpecificationBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -62,6 +67,13 @@ public class DiagnosticService {
     private static final String DIAGNOSTIC_NAMESPACE = "diagnostic";
     private static final String DIAGNOSTIC_VALIDATION_STATE_UPDATE_LOCK_NAME = "diagnosticValidationUpdateLock";
     private static final int VALIDATION_DB_LOCK_TIMEOUT_MINUTES = 15;
+    private static final String METRIC_NAME = "qip.diagnostic.validation";
+    // Chain is referenced by class name, its JPA name is defined by the library
+    private static final String CHAINS_MODIFIED_SINCE_QUERY =
+            "SELECT c.id FROM " + Chain.class.getName() + " c WHERE c.modifiedWhen >= :since";
+    // the task only waits for validations, so it doesn't hold a thread of a shared pool
+    private static final Executor VALIDATIONS_TASK_EXECUTOR =
+            runnable -> Thread.ofVirtual().name("diagnostic-validations").start(runnable);
 
     // <validationId, validation>
     private final Map<String, AbstractValidation> validations = new HashMap<>();
@@ -73,6 +85,10 @@ public class DiagnosticService {
     private final ChainAlertFilterSpecificationBuilder chainAlertSpecBuilder;
 
     private final EntityManager entityManager;
+    private final ExecutorService validationExecutor;
+    private final MeterRegistry meterRegistry;
+    // <validationId, duration_ms>
+    private final Map<String, Long> lastDurations = new ConcurrentHashMap<>();
 
     @Autowired
     public DiagnosticService(ValidationChainAlertRepository chainAlertRepository,
@@ -81,7 +97,9 @@ public DiagnosticService(ValidationChainAlertRepository chainAlertRepository,
                              ConfigParameterService configParameterService,
                              TransactionHandler transactionHandler,
                              ChainAlertFilterSpecificationBuilder chainAlertSpecBuilder,
-                             EntityManager entityManager) {
+                             EntityManager entityManager,
+                             @Qualifier("diagnosticValidationExecutor") ExecutorService validationExecutor,
+                             MeterRegistry meterRegistry) {
         this.validationStatusRepository = validationStatusRepository;
         this.configParameterService = configParameterService;
         this.transactionHandler = transactionHandler;
@@ -90,6 +108,8 @@ public DiagnosticService(ValidationChainAlertRepository chainAlertRepository,
                 builtinValidations.stream().collect(Collectors.toMap(AbstractValidation::getId, Function.identity())));
         this.chainAlertRepository = chainAlertRepository;
         this.entityManager = entityManager;
+        this.validationExecutor = validationExecutor;
+        this.meterRegistry = meterRegistry;
     }
 
     @Transactional
@@ -239,8 +259,14 @@ public long getAlertsCount(List<ValidationChainAlert> chainAlerts) {
         return chainAlerts == null ? 0 : chainAlerts.size();
     }
 
-    // Only one scan task can be executed at a time
-    public CompletableFuture<Void> runValidationsAsync(@Nullable Set<String> validationIds) throws DiagnosticValidationUnexpectedException {
+    /**
+     * Only one scan task can be executed at a time. Validations of the task run concurrently.
+     *
+     * @param onlyModifiedChains skip validations that depend on chains only, if no chain was modified
+     *                           since their last successful run
+     */
+    public CompletableFuture<Void> runValidationsAsync(@Nullable Set<String> validationIds, boolean onlyModifiedChains)
+            throws DiagnosticValidationUnexpectedException {
         if (validationUpdateTryLock()) {
             return CompletableFuture.runAsync(() -> {
                 try {
@@ -249,10 +275,16 @@ public CompletableFuture<Void> runValidationsAsync(@Nullable Set<String> validat
                             : validations.keySet().stream()
                                     .filter(validationIds::contains)
                                     .collect(Collectors.toSet());
+                    if (onlyModifiedChains) {
+                        filteredIds = filteredIds.stream()
+                                .filter(this::isValidationOutdated)
+                                .collect(Collectors.toSet());
+                    }
 
                     Map<String, ValidationStatus> filteredValidations = new HashMap<>(filteredIds.size());
+                    Set<String> idsToStart = filteredIds;
                     transactionHandler.runInNewTransaction(() -> {
-                        for (String filteredId : filteredIds) {
+                        for (String filteredId : idsToStart) {
                             ValidationStatus savedStatus = validationStatusRepository.save(
                                     ValidationStatus.builder()
                                             .validationId(filteredId)
@@ -262,42 +294,88 @@ public CompletableFuture<Void> runValidationsAsync(@Nullable Set<String> validat
                         }
                     });
 
-                    for (Map.Entry<String, ValidationStatus> entry : filteredValidations.entrySet()) {
-                        AbstractValidation validation = validations.get(entry.getKey());
-                        ValidationStatus state = entry.getValue();
-                        try {
-                            log.info("Diagnostic validation '{}' has started", validation.getTitle());
-
-                            transactionHandler.runInNewTransaction(() -> {
-                                // remove old alerts and save new
-                                switch (validation.getEntityType()) {
-                                    case CHAIN, CHAIN_ELEMENT -> {
-                                        chainAlertRepository.deleteAllByValidationId(validation.getId());
-                                        chainAlertRepository.saveAll((Collection<ValidationChainAlert>) validation.validate());
-                                    }
-                                }
-                            });
-
-                            state.setState(ValidationState.OK);
-                            log.info("Diagnostic validation '{}' completed", validation.getTitle());
-                        } catch (Exception e) {
-                            log.error("Validation '{}' failed with an unexpected error", validation.getTitle(), e);
-                            state.setState(ValidationState.FAILED, e.getMessage());
-                        }
-                        validationStatusRepository.save(state);
-                    }
+                    CompletableFuture.allOf(filteredValidations.entrySet().stream()
+                                    .map(entry -> CompletableFuture.runAsync(
+                                            () -> runValidation(validations.get(entry.getKey()), entry.getValue()),
+                                            validationExecutor))
+                                    .toArray(CompletableFuture[]::new))
+                            .join();
                     log.info("Diagnostic validations task completed");
                 } catch (Exception e) {
                     log.error("Diagnostic validations task failed", e);
                 } finally {
                     validationUpdateUnlock();
                 }
-            });
+            }, VALIDATIONS_TASK_EXECUTOR);
         } else {
             throw new ValidationAlreadyInProgressUnexpectedException("Validation(s) already in progress");
         }
     }
 
+    private void runValidation(AbstractValidation validation, ValidationStatus state) {
+        long started = System.nanoTime();
+        try {
+            log.info("Diagnostic validation '{}' has started", validation.getTitle());
+
+            transactionHandler.runInNewTransaction(() -> {
+                // only changed alerts are removed and saved
+                switch (validation.getEntityType()) {
+                    case CHAIN, CHAIN_ELEMENT -> {
+                        ChainAlertsDiff diff = ChainAlertsDiff.of(
+                                chainAlertRepository.findAllByValidationId(validation.getId()),
+                                (Collection<ValidationChainAlert>) validation.validate());
+                        chainAlertRepository.deleteAll(diff.toDelete());
+                        chainAlertRepository.saveAll(diff.toSave());
+                        log.debug("Diagnostic validation '{}' alerts removed: {}, added: {}",
+                                validation.getTitle(), diff.toDelete().size(), diff.toSave().size());
+                    }
+                }
+            });
+
+            state.setState(ValidationState.OK);
+            log.info("Diagnostic validation '{}' completed", validation.getTitle());
+        } catch (Exception e) {
+            log.error("Validation '{}' failed with an unexpected error", validation.getTitle(), e);
+            state.setState(ValidationState.FAILED, e.getMessage());
+        }
+        long duration = System.nanoTime() - started;
+        lastDurations.put(validation.getId(), Duration.ofNanos(duration).toMillis());
+        Timer.builder(METRIC_NAME)
+                .tag("validation", validation.getId())
+                .tag("state", state.getState().name())
+                .description("Diagnostic validation execution time")
+                .register(meterRegistry)
+                .record(duration, TimeUnit.NANOSECONDS);
+        validationStatusRepository.save(state);
+    }
+
+    /**
+     * Validation may be outdated if it depends on something besides chains, was never completed
+     * or some chain was modified after its last run had started
+     */
+    private boolean isValidationOutdated(String validationId) {
+        if (!validations.get(validationId).dependsOnChainsOnly()) {
+            return true;
+        }
+        ValidationStatus status = validationStatusRepository.findById(validationId).orElse(null);
+        if (status == null || status.getState() != ValidationState.OK || status.getStartedWhen() == null) {
+            return true;
+        }
+        return !entityManager.createQuery(CHAINS_MODIFIED_SINCE_QUERY, String.class)
+                .setParameter("since", status.getStartedWhen())
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Execution time of the last validation run on this instance, in ms
+     */
+    @Nullable
+    public Long getLastDuration(String validationId) {
+        return lastDurations.get(validationId);
+    }
+
     public Map<String, ValidationStatus> getCurrentStatuses() {
         List<ValidationStatus> savedStates = validationStatusRepository.findAll();
         Map<String, ValidationStatus> result = savedStates.stream().collect(Collectors.toMap(ValidationStatus::getValidationId, Function.identity()));
@@ -66,6 +66,14 @@ public AbstractValidation(String id, String title, String description, String su
     @Transactional(propagation = Propagation.REQUIRED)
     public abstract Collection<? extends ValidationAlert> validate() throws DiagnosticValidationUnexpectedException;
 
+    /**
+     * Whether alerts depend on the content of chains only. Such validation can be skipped
+     * if no chain was modified since its last successful run.
+     */
+    public boolean dependsOnChainsOnly() {
+        return false;
+    }
+
     public void putProperties(Map<String, Serializable> props) {
         properties.putAll(props);
     }
@@ -34,6 +34,8 @@
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -76,21 +78,31 @@ public Collection<ValidationChainAlert> validate() throws DiagnosticValidationUn
     private @NotNull Collection<ValidationChainAlert> processValidation() {
         Map<String, DeploymentRuntimeProperties> runtimeConfigs = consulService.getChainRuntimeConfig();
 
-        Collection<ValidationChainAlert> result = new ArrayList<>();
+        Set<String> loggingLevels = (Set<String>) getProperty(CHAIN_SESSIONS_LOGGING_LEVEL_KEY);
+        Map<String, DeploymentRuntimeProperties> excessiveConfigs = new HashMap<>();
         for (Map.Entry<String, DeploymentRuntimeProperties> entry : runtimeConfigs.entrySet()) {
-            DeploymentRuntimeProperties props = entry.getValue();
-            if (((Set<String>) getProperty(CHAIN_SESSIONS_LOGGING_LEVEL_KEY)).contains(props.getSessionsLoggingLevel().name())) {
-                Chain chain = chainService.tryFindById(entry.getKey()).orElse(null);
+            if (loggingLevels.contains(entry.getValue().getSessionsLoggingLevel().name())) {
+                excessiveConfigs.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (excessiveConfigs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Chain> chains = chainService.findAllById(new ArrayList<>(excessiveConfigs.keySet())).stream()
+                .collect(Collectors.toMap(Chain::getId, Function.identity()));
+
+        Collection<ValidationChainAlert> result = new ArrayList<>();
+        for (Map.Entry<String, DeploymentRuntimeProperties> entry : excessiveConfigs.entrySet()) {
+            Chain chain = chains.get(entry.getKey());
 
-                // if a chain is present only in consul - skip alert
-                if (chain != null) {
-                    ValidationChainAlert alert = ValidationChainAlert.builder()
-                            .validationId(getId())
-                            .chain(chain)
-                            .build();
-                    alert.addProperty("sessionsLoggingLevel", props.getSessionsLoggingLevel().name());
-                    result.add(alert);
-                }
+            // if a chain is present only in consul - skip alert
+            if (chain != null) {
+                ValidationChainAlert alert = ValidationChainAlert.builder()
+                        .validationId(getId())
+                        .chain(chain)
+                        .build();
+                alert.addProperty("sessionsLoggingLevel", entry.getValue().getSessionsLoggingLevel().name());
+                result.add(alert);
             }
         }
 
@@ -30,7 +30,9 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -72,16 +74,20 @@ public Collection<ValidationChainAlert> validate() throws DiagnosticValidationUn
                 (String) getProperty(SNAPSHOT_OLDER_THAN_DAYS_THRESHOLD_KEY),
                 (Integer) getProperty(SNAPSHOT_WARN_COUNT_THRESHOLD_KEY));
 
+        Map<String, Chain> chains = chainRepository.findAllById(
+                        chainIdsAndSnapshotsCount.stream().map(entity -> entity[0]).toList()).stream()
+                .collect(Collectors.toMap(Chain::getId, Function.identity()));
+
         List<ValidationChainAlert> validationAlerts = new ArrayList<>();
         for (String[] entity : chainIdsAndSnapshotsCount) {
             String chainId = entity[0];
             String snapshotsCount = entity[1];
 
-            Optional<Chain> chainOptional = chainRepository.findById(chainId);
-            if (chainOptional.isPresent()) {
+            Chain chain = chains.get(chainId);
+            if (chain != null) {
                 ValidationChainAlert alert = ValidationChainAlert.builder()
                         .validationId(getId())
-                        .chain(chainOptional.get())
+                        .chain(chain)
                         .build();
                 alert.addProperty(VALIDATION_ALERT_ISSUES_COUNTER_PROP, snapshotsCount);
                 validationAlerts.add(alert);
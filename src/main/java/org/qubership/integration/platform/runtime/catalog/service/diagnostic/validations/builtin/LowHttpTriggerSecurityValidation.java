@@ -48,6 +48,11 @@ public LowHttpTriggerSecurityValidation(ElementValidationRepository elementRepos
         this.elementRepository = elementRepository;
     }
 
+    @Override
+    public boolean dependsOnChainsOnly() {
+        return true;
+    }
+
     @Override
     public Collection<ValidationChainAlert> validate() throws DiagnosticValidationUnexpectedException {
         try {
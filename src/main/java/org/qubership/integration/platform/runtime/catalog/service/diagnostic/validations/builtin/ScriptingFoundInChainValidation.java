@@ -49,6 +49,11 @@ public ScriptingFoundInChainValidation(ElementValidationRepository elementReposi
         this.elementRepository = elementRepository;
     }
 
+    @Override
+    public boolean dependsOnChainsOnly() {
+        return true;
+    }
+
     @Override
     public Collection<ValidationChainAlert> validate() throws DiagnosticValidationUnexpectedException {
         try {
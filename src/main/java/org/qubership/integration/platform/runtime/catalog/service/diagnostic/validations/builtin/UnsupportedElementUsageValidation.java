@@ -50,6 +50,11 @@ public UnsupportedElementUsageValidation(ElementRepository elementRepository) {
         this.elementRepository = elementRepository;
     }
 
+    @Override
+    public boolean dependsOnChainsOnly() {
+        return true;
+    }
+
     @Override
     public Collection<ValidationChainAlert> validate() throws DiagnosticValidationUnexpectedException {
         try {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.event;
+
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size buffer of the latest events addressed by a monotonic sequence.
+ * <p>
+ * Appending is lock-free: a writer claims the next sequence and publishes the event into
+ * the slot of that sequence, overwriting the oldest one. Readers keep their own cursor and
+ * find out how many events were overwritten before they got to them.
+ */
+public class EventRingBuffer {
+
+    public record ReadResult(List<Event> events, long lastSequence, long dropped) {
+    }
+
+    private final AtomicReferenceArray<Event> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Assigns the next sequence to the event and publishes it
+     *
+     * @return sequence of the event, starting from 1
+     */
+    public long append(Event event) {
+        long eventSequence = sequence.incrementAndGet();
+        event.setSequence(eventSequence);
+        slots.set(index(eventSequence), event);
+        return eventSequence;
+    }
+
+    /**
+     * Sequence of the latest appended event, 0 if the buffer is empty.
+     * The event itself may be not published yet.
+     */
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Reads published events with sequence greater than {@code afterSequence}
+     *
+     * @return events in sequence order, the sequence to continue from and the number
+     * of events overwritten before they could be read
+     */
+    public ReadResult readAfter(long afterSequence, int maxEvents) {
+        List<Event> events = new ArrayList<>();
+        long cursor = afterSequence;
+        long dropped = 0;
+
+        long next = afterSequence + 1;
+        while (events.size() < maxEvents && next <= sequence.get()) {
+            long oldest = sequence.get() - slots.length() + 1;
+            if (next < oldest) {
+                dropped += oldest - next;
+                cursor = oldest - 1;
+                next = oldest;
+                continue;
+            }
+
+            Event event = slots.get(index(next));
+            if (event == null || event.getSequence() < next) {
+                // claimed by a writer but not published yet
+                break;
+            }
+            if (event.getSequence() > next) {
+                // overwritten while reading, the next loop turn skips to the new oldest event
+                continue;
+            }
+            events.add(event);
+            cursor = next;
+            next++;
+        }
+
+        return new ReadResult(events, cursor, dropped);
+    }
+
+    /**
+     * All published events still kept in the buffer, oldest first
+     */
+    public List<Event> snapshot() {
+        return readAfter(Math.max(sequence.get() - slots.length(), 0), slots.length()).events();
+    }
+
+    private int index(long eventSequence) {
+        return (int) (eventSequence & mask);
+    }
+}
@@ -16,31 +16,40 @@
 
 package org.qubership.integration.platform.runtime.catalog.service.exportimport;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import org.dhatim.fastexcel.Workbook;
 import org.dhatim.fastexcel.Worksheet;
 import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.ActionLog;
-import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.EntityType;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.LogOperation;
+import org.qubership.integration.platform.runtime.catalog.model.exportimport.ActionsLogExportFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.time.ZonedDateTime;
-import java.util.Date;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.TimeZone;
+import java.util.function.Consumer;
 
 import static org.qubership.integration.platform.runtime.catalog.service.exportimport.ActionsLogExportConstants.*;
 
+/**
+ * Writes actions log to the output stream while reading it page by page, so memory
+ * usage does not depend on the exported time range.
+ */
 @Slf4j
 @Service
 public class ActionsLogExportService {
     private static final String EXCEL_EXPORT_ERROR = "Failed to create Excel document: ";
-    private final ActionsLogService actionsLogService;
     private static final int START_INDEX = 0;
     private static final int ACTION_TIME_INDEX = 0;
     private static final int USERNAME_INDEX = 1;
@@ -53,25 +62,133 @@ public class ActionsLogExportService {
     private static final int REQUEST_ID_INDEX = 8;
     private static final int LAST_INDEX = REQUEST_ID_INDEX;
     private static final int FONT_SIZE = 11;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    static final int PAGE_SIZE = 1000;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN)
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Exported columns of the action, the user name is selected with the action instead of loading the user
+     */
+    public record ActionLogRow(String id, Timestamp actionTime, String username, LogOperation operation,
+                               String entityId, EntityType entityType, String entityName,
+                               String parentId, String parentName, String requestId) {
+    }
+
+    private final EntityManager entityManager;
 
     @Autowired
-    public ActionsLogExportService(ActionsLogService actionsLogService) {
-        this.actionsLogService = actionsLogService;
+    public ActionsLogExportService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public void export(Timestamp actionTimeFrom, Timestamp actionTimeTo, ActionsLogExportFormat format,
+                       OutputStream outputStream) throws IOException {
+        switch (format) {
+            case XLSX -> exportAsExcelDocument(actionTimeFrom, actionTimeTo, outputStream);
+            case CSV -> exportAsCsvDocument(actionTimeFrom, actionTimeTo, outputStream);
+        }
     }
 
-    public byte[] exportAsExcelDocument(Timestamp actionTimeFrom, Timestamp actionTimeTo) {
-        try (ByteArrayOutputStream fos = new ByteArrayOutputStream()) {
-            Workbook workbook = new Workbook(fos, APPLICATION_NAME, APPLICATION_VERSION);
+    public void exportAsExcelDocument(Timestamp actionTimeFrom, Timestamp actionTimeTo, OutputStream outputStream) {
+        try {
+            Workbook workbook = new Workbook(outputStream, APPLICATION_NAME, APPLICATION_VERSION);
             Worksheet worksheet = workbook.newWorksheet(EXCEL_SHEET_NAME);
-            this.setHeaderCells(worksheet);
-            this.setDataCells(worksheet, actionTimeFrom, actionTimeTo);
+            setHeaderCells(worksheet);
+            int[] rowNumber = {START_INDEX};
+            forEachPage(actionTimeFrom, actionTimeTo, page -> {
+                for (ActionLogRow action : page) {
+                    setDataCells(worksheet, ++rowNumber[0], action);
+                }
+                flush(worksheet);
+            });
             workbook.finish();
-            return fos.toByteArray();
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new RuntimeException(EXCEL_EXPORT_ERROR + e.getMessage());
         }
     }
 
+    public void exportAsCsvDocument(Timestamp actionTimeFrom, Timestamp actionTimeTo, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writeCsvRow(writer, ACTION_TIME_HEADER_VALUE, USERNAME_HEADER_VALUE, OPERATION_HEADER_VALUE,
+                ENTITY_ID_HEADER_VALUE, ENTITY_TYPE_HEADER_VALUE, ENTITY_NAME_HEADER_VALUE,
+                PARENT_ID_HEADER_VALUE, PARENT_NAME_HEADER_VALUE, REQUEST_ID_HEADER_VALUE);
+        try {
+            forEachPage(actionTimeFrom, actionTimeTo, page -> {
+                try {
+                    for (ActionLogRow action : page) {
+                        writeCsvRow(writer,
+                                formatTimestamp(action.actionTime()),
+                                action.username(),
+                                action.operation().name(),
+                                action.entityId(),
+                                action.entityType().name(),
+                                action.entityName(),
+                                action.parentId(),
+                                action.parentName(),
+                                action.requestId());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads actions in the time range ordered by action time and id, each page is a separate keyset query
+     */
+    void forEachPage(Timestamp actionTimeFrom, Timestamp actionTimeTo, Consumer<List<ActionLogRow>> pageConsumer) {
+        ActionLogRow last = null;
+        List<ActionLogRow> page;
+        do {
+            page = findPage(actionTimeFrom, actionTimeTo, last, PAGE_SIZE);
+            if (!page.isEmpty()) {
+                pageConsumer.accept(page);
+                last = page.get(page.size() - 1);
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    List<ActionLogRow> findPage(Timestamp actionTimeFrom, Timestamp actionTimeTo, ActionLogRow after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ActionLogRow> query = builder.createQuery(ActionLogRow.class);
+        Root<ActionLog> action = query.from(ActionLog.class);
+        Path<Timestamp> actionTime = action.get("actionTime");
+        Path<String> id = action.get("id");
+
+        Predicate predicate = builder.between(actionTime, actionTimeFrom, actionTimeTo);
+        if (after != null) {
+            predicate = builder.and(predicate, builder.or(
+                    builder.greaterThan(actionTime, after.actionTime()),
+                    builder.and(
+                            builder.equal(actionTime, after.actionTime()),
+                            builder.greaterThan(id, after.id()))));
+        }
+
+        query.select(builder.construct(ActionLogRow.class,
+                        id,
+                        actionTime,
+                        action.get("user").get("username"),
+                        action.get("operation"),
+                        action.get("entityId"),
+                        action.get("entityType"),
+                        action.get("entityName"),
+                        action.get("parentId"),
+                        action.get("parentName"),
+                        action.get("requestId")))
+                .where(predicate)
+                .orderBy(builder.asc(actionTime), builder.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     private void setHeaderCells(Worksheet worksheet) {
         worksheet.value(START_INDEX, ACTION_TIME_INDEX, ACTION_TIME_HEADER_VALUE);
         worksheet.value(START_INDEX, USERNAME_INDEX, USERNAME_HEADER_VALUE);
@@ -88,31 +205,54 @@ private void setHeaderCells(Worksheet worksheet) {
         }
     }
 
-    private void setDataCells(Worksheet worksheet, Timestamp actionTimeFrom, Timestamp actionTimeTo) {
+    private void setDataCells(Worksheet worksheet, int actionRowNumber, ActionLogRow action) {
+        worksheet.value(actionRowNumber, ACTION_TIME_INDEX, formatTimestamp(action.actionTime()));
+        worksheet.style(actionRowNumber, ACTION_TIME_INDEX).horizontalAlignment(LEFT).set();
 
-        List<ActionLog> actions = actionsLogService.findAllByActionTimeBetween(actionTimeFrom, actionTimeTo);
+        worksheet.value(actionRowNumber, USERNAME_INDEX, action.username());
+        worksheet.value(actionRowNumber, OPERATION_INDEX, action.operation().name());
+        worksheet.value(actionRowNumber, ENTITY_ID_INDEX, action.entityId());
+        worksheet.value(actionRowNumber, ENTITY_TYPE_INDEX, action.entityType().name());
+        worksheet.value(actionRowNumber, ENTITY_NAME_INDEX, action.entityName());
+        worksheet.value(actionRowNumber, PARENT_ID_INDEX, action.parentId());
+        worksheet.value(actionRowNumber, PARENT_NAME_INDEX, action.parentName());
+        worksheet.value(actionRowNumber, REQUEST_ID_INDEX, action.requestId());
+    }
 
-        int actionRowNumber = START_INDEX;
+    // written rows are released from memory
+    private static void flush(Worksheet worksheet) {
+        try {
+            worksheet.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        for (ActionLog action : actions) {
-            actionRowNumber = actionRowNumber + 1;
-            worksheet.value(actionRowNumber, ACTION_TIME_INDEX, applyFormatterOnTimestamp(action.getActionTime()));
-            worksheet.style(actionRowNumber, ACTION_TIME_INDEX).horizontalAlignment(LEFT).set();
+    private static String formatTimestamp(Timestamp actionTime) {
+        return DATE_FORMATTER.format(actionTime.toInstant());
+    }
 
-            worksheet.value(actionRowNumber, USERNAME_INDEX, action.getUser().getUsername());
-            worksheet.value(actionRowNumber, OPERATION_INDEX, action.getOperation().name());
-            worksheet.value(actionRowNumber, ENTITY_ID_INDEX, action.getEntityId());
-            worksheet.value(actionRowNumber, ENTITY_TYPE_INDEX, action.getEntityType().name());
-            worksheet.value(actionRowNumber, ENTITY_NAME_INDEX, action.getEntityName());
-            worksheet.value(actionRowNumber, PARENT_ID_INDEX, action.getParentId());
-            worksheet.value(actionRowNumber, PARENT_NAME_INDEX, action.getParentName());
-            worksheet.value(actionRowNumber, REQUEST_ID_INDEX, action.getRequestId());
+    private static void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
         }
+        writer.write("\r\n");
     }
 
-    private String applyFormatterOnTimestamp(Timestamp actionTime) {
-        DateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
-        dateFormat.setTimeZone(TimeZone.getTimeZone(ZonedDateTime.now().getZone()));
-        return dateFormat.format(new Date(actionTime.getTime()));
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // spreadsheet applications evaluate such values as formulas
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.exportimport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.qubership.integration.platform.catalog.context.RequestIdContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Two-stage pipeline for chain directories of an import archive.
+ * <p>
+ * The parse stage (file reading, file version migration, deserialization) runs on the
+ * {@code chainImportParseExecutor} pool, at most {@code qip.import.parse-look-ahead}
+ * directories ahead of the writer. The write stage runs on the calling thread in
+ * the original directory order, so persistence and progress reporting stay sequential.
+ */
+@Slf4j
+@Component
+public class ChainImportPipeline {
+
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(File chainFilesDir) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Writer<T> {
+        /**
+         * @param parsed returns the parse stage result or rethrows its exception
+         */
+        void write(File chainFilesDir, Callable<T> parsed);
+    }
+
+    private final ExecutorService parseExecutor;
+    private final int lookAhead;
+
+    @Autowired
+    public ChainImportPipeline(@Qualifier("chainImportParseExecutor") ExecutorService parseExecutor,
+                               @Value("${qip.import.parse-look-ahead:16}") int lookAhead) {
+        this.parseExecutor = parseExecutor;
+        this.lookAhead = Math.max(lookAhead, 1);
+    }
+
+    public <T> void run(List<File> chainFilesDirectories, Parser<T> parser, Writer<T> writer) {
+        String requestId = RequestIdContext.get();
+        Deque<Future<T>> pending = new ArrayDeque<>();
+        int submitted = 0;
+        try {
+            for (File chainFilesDir : chainFilesDirectories) {
+                while (submitted < chainFilesDirectories.size() && pending.size() < lookAhead) {
+                    File dirToParse = chainFilesDirectories.get(submitted++);
+                    pending.addLast(parseExecutor.submit(() -> {
+                        RequestIdContext.set(requestId);
+                        return parser.parse(dirToParse);
+                    }));
+                }
+
+                Future<T> parsed = pending.removeFirst();
+                writer.write(chainFilesDir, () -> awaitParsed(parsed));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static <T> T awaitParsed(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
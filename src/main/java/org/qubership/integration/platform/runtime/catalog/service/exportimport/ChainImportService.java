@@ -57,6 +57,8 @@
 import java.io.File;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -85,6 +87,7 @@ public class ChainImportService {
     private final ChainDifferenceService chainDifferenceService;
     private final ImportInstructionsService importInstructionsService;
     private final ChainFileMigrationService chainFileMigrationService;
+    private final ChainImportPipeline chainImportPipeline;
 
     @Value("${qip.build.artifact-descriptor-version}")
     private String artifactDescriptorVersion;
@@ -106,7 +109,8 @@ public ChainImportService(
             MaskedFieldsService maskedFieldsService,
             ChainDifferenceService chainDifferenceService,
             ImportInstructionsService importInstructionsService,
-            ChainFileMigrationService chainFileMigrationService
+            ChainFileMigrationService chainFileMigrationService,
+            ChainImportPipeline chainImportPipeline
     ) {
         this.yamlMapper = yamlMapper;
         this.transactionTemplate = transactionTemplate;
@@ -124,6 +128,7 @@ public ChainImportService(
         this.chainDifferenceService = chainDifferenceService;
         this.importInstructionsService = importInstructionsService;
         this.chainFileMigrationService = chainFileMigrationService;
+        this.chainImportPipeline = chainImportPipeline;
     }
 
     public List<ImportChainPreviewDTO> getChainsImportPreview(File importDirectory, ChainImportInstructionsConfig instructionsConfig) {
@@ -273,8 +278,10 @@ private ImportChainsAndInstructionsResult restoreChainsFromDir(
         Map<String, ChainCommitRequestAction> chainsToImport = chainsIgnoreOverrideResult.chainsToImport();
         Map<String, String> overridesMapping = chainsIgnoreOverrideResult.overridesMapping();
         int total = chainFilesDirectories.length;
-        int counter = 0;
-        for (File chainFilesDir : chainFilesDirectories) {
+        AtomicInteger counter = new AtomicInteger();
+        ChainImportPipeline.Parser<ParsedChainFiles> parser = chainFilesDir ->
+                chainsToImport.containsKey(chainFilesDir.getName()) ? parseChainFiles(chainFilesDir) : null;
+        chainImportPipeline.run(List.of(chainFilesDirectories), parser, (chainFilesDir, parsedChainFiles) -> {
             String chainId = chainFilesDir.getName();
             if (!chainsToImport.containsKey(chainId)) {
                 importChainResults.add(ImportChainResult.builder()
@@ -283,7 +290,7 @@ private ImportChainsAndInstructionsResult restoreChainsFromDir(
                         .deployAction(ChainCommitRequestAction.NONE)
                         .build());
                 log.info("Chain {} ignored as a part of import instructions list", chainId);
-                continue;
+                return;
             }
 
             Pair<String, String> overridesPair = overridesMapping.entrySet().stream()
@@ -293,10 +300,10 @@ private ImportChainsAndInstructionsResult restoreChainsFromDir(
                     .orElse(null);
 
             importProgressService.calculateImportStatus(
-                    importId, total, counter, ImportSessionService.SERVICE_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.CHAIN_IMPORT_PERCENTAGE_THRESHOLD);
-            counter++;
+                    importId, total, counter.getAndIncrement(), ImportSessionService.SERVICE_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.CHAIN_IMPORT_PERCENTAGE_THRESHOLD);
 
-            ImportChainResult chainResult = restoreOneChainFromDir(chainFilesDir, commitRequests, technicalLabels, overridesPair, validateByHash);
+            ImportChainResult chainResult = restoreOneChainFromDir(
+                    chainFilesDir, parsedChainFiles, commitRequests, technicalLabels, overridesPair, validateByHash);
 
             if (chainResult != null) {
                 importChainResults.add(chainResult);
@@ -314,13 +321,25 @@ private ImportChainsAndInstructionsResult restoreChainsFromDir(
                                             .build()));
                 }
             }
-        }
+        });
 
         return new ImportChainsAndInstructionsResult(importChainResults, chainsIgnoreOverrideResult.chainImportInstructionResults());
     }
 
+    /**
+     * Parse stage of the chain import, runs outside of the writer thread and must not touch the database
+     */
+    private ParsedChainFiles parseChainFiles(File chainFilesDir) throws Exception {
+        String chainYAML = Files.readString(getChainYAMLFile(chainFilesDir).toPath());
+        chainYAML = migrateToActualFileVersion(chainYAML);
+        ChainExternalEntity chainExternalEntity = yamlMapper.readValue(chainYAML, ChainExternalEntity.class);
+        String externalHash = ChainUtils.getChainFilesHash(chainFilesDir, artifactDescriptorVersion);
+        return new ParsedChainFiles(chainExternalEntity, externalHash);
+    }
+
     private ImportChainResult restoreOneChainFromDir(
             File chainFilesDir,
+            Callable<ParsedChainFiles> parsedChainFiles,
             List<ChainCommitRequest> commitRequests,
             Set<String> technicalLabels,
             Pair<String, String> overridesPair,
@@ -329,12 +348,11 @@ private ImportChainResult restoreOneChainFromDir(
         ImportChainResult importChainResult = null;
         ChainExternalEntity chainExternalEntity = null;
         try {
-            String chainYAML = Files.readString(getChainYAMLFile(chainFilesDir).toPath());
-            chainYAML = migrateToActualFileVersion(chainYAML);
-            chainExternalEntity = yamlMapper.readValue(chainYAML, ChainExternalEntity.class);
+            ParsedChainFiles parsed = parsedChainFiles.call();
+            chainExternalEntity = parsed.chainExternalEntity();
 
             String chainId = chainExternalEntity.getId();
-            String externalHash = ChainUtils.getChainFilesHash(chainFilesDir, artifactDescriptorVersion);
+            String externalHash = parsed.externalHash();
 
             if (isSameHash(chainId, externalHash) && validateByHash) {
                 log.warn(CHAINS_HASH_MATCHED_LOG_MESSAGE, chainId);
@@ -381,6 +399,9 @@ private ImportChainResult restoreOneChainFromDir(
         return importChainResult;
     }
 
+    private record ParsedChainFiles(ChainExternalEntity chainExternalEntity, String externalHash) {
+    }
+
     private boolean shouldCommitChain(List<ChainCommitRequest> commitRequests, String chainId) {
         return CollectionUtils.isEmpty(commitRequests) || commitRequests.stream().anyMatch(request -> Objects.equals(request.getId(), chainId));
     }
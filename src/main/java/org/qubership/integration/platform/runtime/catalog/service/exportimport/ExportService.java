@@ -21,6 +21,7 @@
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -38,17 +39,26 @@
 import org.qubership.integration.platform.runtime.catalog.service.exportimport.mapper.chain.ChainExternalEntityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -59,11 +69,15 @@
 @Transactional(readOnly = true)
 @Service
 public class ExportService {
+    // chains loaded and written per transaction in streaming export
+    static final int EXPORT_PAGE_SIZE = 50;
+
     private final YAMLMapper yamlMapper;
     private final ObjectMapper objectMapper;
     private final ChainService chainService;
     private final ActionsLogService actionLogger;
     private final ChainExternalEntityMapper chainExternalEntityMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     @Autowired
     public ExportService(
@@ -71,49 +85,103 @@ public ExportService(
             @Qualifier("primaryObjectMapper") ObjectMapper objectMapper,
             ChainService chainService,
             ActionsLogService actionLogger,
-            ChainExternalEntityMapper chainExternalEntityMapper
+            ChainExternalEntityMapper chainExternalEntityMapper,
+            TransactionTemplate transactionTemplate
     ) {
         this.yamlMapper = yamlMapper;
         this.objectMapper = objectMapper;
         this.chainService = chainService;
         this.actionLogger = actionLogger;
         this.chainExternalEntityMapper = chainExternalEntityMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
-    public Pair<String, byte[]> exportAllChains() {
-        List<Chain> allChains = chainService.findAll();
-        return exportChain(allChains);
+    /**
+     * Write zip archive with all chains to the output stream
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportAllChains(OutputStream outputStream) {
+        exportChainsById(readOnlyTransactionTemplate.execute(status -> chainService.findAllIds()), outputStream);
     }
 
-    public Pair<String, byte[]> exportListChains(List<String> chainIds, boolean exportWithSubChains) {
-        if (exportWithSubChains) {
-            chainIds = chainService.getSubChainsIds(chainIds, new ArrayList<String>());
-        }
-        List<Chain> chains = chainService.findAllById(chainIds);
-        return exportChain(chains);
+    /**
+     * Write zip archive with specified chains to the output stream
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportListChains(List<String> chainIds, boolean exportWithSubChains, OutputStream outputStream) {
+        List<String> ids = exportWithSubChains
+                ? readOnlyTransactionTemplate.execute(status -> chainService.getSubChainsIds(chainIds, new ArrayList<>()))
+                : chainIds;
+        exportChainsById(ids.stream().distinct().toList(), outputStream);
     }
 
     public Pair<String, byte[]> exportSingleChain(String chainId) {
         Chain chain = chainService.findById(chainId);
-        return exportChain(List.of(chain));
+        try {
+            ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+            try (ZipOutputStream zipOut = new ZipOutputStream(zipBytes)) {
+                writeChainFiles(chain, zipOut);
+            }
+            logChainExport(chain);
+            return Pair.of(generateExportZipName(), zipBytes.toByteArray());
+        } catch (Exception e) {
+            throw new ChainExportException(e);
+        }
     }
 
-    private Pair<String, byte[]> exportChain(@NonNull List<Chain> chains) {
-        Map<Path, byte[]> fileContentMap = new HashMap<>();
+    /**
+     * Ids are paged instead of chains: chains created or deleted during the export
+     * neither shift the pages nor get exported twice, deleted ones are skipped
+     */
+    private void exportChainsById(List<String> ids, OutputStream outputStream) {
+        List<List<String>> pages = ListUtils.partition(ids, EXPORT_PAGE_SIZE);
+        exportChains(page -> new SliceImpl<>(
+                pages.isEmpty() ? List.of() : chainService.findAllById(pages.get(page)),
+                PageRequest.of(page, EXPORT_PAGE_SIZE),
+                page + 1 < pages.size()), outputStream);
+    }
 
+    /**
+     * Chains are loaded, mapped and written page by page, each page in its own read-only transaction,
+     * so only a single page of chains is held in memory. Export is logged once the archive is complete.
+     */
+    private void exportChains(IntFunction<Slice<Chain>> pageLoader, OutputStream outputStream) {
+        List<ActionLog> exportActions = new ArrayList<>();
         try {
-            for (Chain chain : chains) {
-                fileContentMap.putAll(createChainFiles(chain));
-            }
-            String zipName = generateExportZipName();
-            byte[] zipBytes = zipChainFiles(fileContentMap);
-            for (Chain chain : chains) {
-                logChainExport(chain);
+            ZipOutputStream zipOut = new ZipOutputStream(outputStream);
+            boolean hasNext = true;
+            for (int page = 0; hasNext; page++) {
+                int pageNumber = page;
+                hasNext = Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status -> {
+                    Slice<Chain> chains = pageLoader.apply(pageNumber);
+                    for (Chain chain : chains) {
+                        try {
+                            writeChainFiles(chain, zipOut);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        exportActions.add(createExportAction(chain));
+                    }
+                    return chains.hasNext();
+                }));
+                zipOut.flush();
             }
-            return Pair.of(zipName, zipBytes);
+            zipOut.finish();
         } catch (Exception e) {
             throw new ChainExportException(e);
         }
+        exportActions.forEach(actionLogger::logAction);
+    }
+
+    private void writeChainFiles(Chain chain, ZipOutputStream zipOut) throws IOException, JSONException {
+        for (Map.Entry<Path, byte[]> entry : createChainFiles(chain).entrySet()) {
+            Path path = Path.of(CHAINS_ARCH_PARENT_DIR).resolve(entry.getKey());
+            zipOut.putNextEntry(new ZipEntry(path.toString()));
+            zipOut.write(entry.getValue());
+            zipOut.closeEntry();
+        }
     }
 
     private Map<Path, byte[]> createChainFiles(Chain chain) throws IOException, JSONException {
@@ -140,23 +208,6 @@ private Map<Path, byte[]> createChainFiles(Chain chain) throws IOException, JSON
         return result;
     }
 
-    private byte[] zipChainFiles(Map<Path, byte[]> fileContentMap) throws IOException {
-        ZipOutputStream zipOut;
-        ByteArrayOutputStream fos = new ByteArrayOutputStream();
-        zipOut = new ZipOutputStream(fos);
-        for (Map.Entry<Path, byte[]> entry : fileContentMap.entrySet()) {
-            Path path = Path.of(CHAINS_ARCH_PARENT_DIR).resolve(entry.getKey());
-            ZipEntry zipEntry = new ZipEntry(path.toString());
-            zipOut.putNextEntry(zipEntry);
-            byte[] data = entry.getValue();
-            zipOut.write(data, 0, data.length);
-            zipOut.closeEntry();
-        }
-        zipOut.close();
-        fos.close();
-        return fos.toByteArray();
-    }
-
     public Path getChainDirectory(Chain chain) {
         return Path.of(chain.getId());
     }
@@ -171,7 +222,11 @@ public String generateChainYamlName(Chain chain) {
     }
 
     private void logChainExport(Chain chain) {
-        actionLogger.logAction(ActionLog.builder()
+        actionLogger.logAction(createExportAction(chain));
+    }
+
+    private ActionLog createExportAction(Chain chain) {
+        return ActionLog.builder()
                 .entityType(EntityType.CHAIN)
                 .entityId(chain.getId())
                 .entityName(chain.getName())
@@ -179,7 +234,7 @@ private void logChainExport(Chain chain) {
                 .parentId(chain.getParentFolder() == null ? null : chain.getParentFolder().getId())
                 .parentName(chain.getParentFolder() == null ? null : chain.getParentFolder().getName())
                 .operation(LogOperation.EXPORT)
-                .build());
+                .build();
     }
 
     protected Map<String, String> getPropertiesToSaveInSeparateFile(Chain chain) throws JsonProcessingException, JSONException {
@@ -66,7 +66,9 @@
 import java.nio.file.Files;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -95,6 +97,7 @@ public class ImportService {
     protected final ChainRepository chainRepository;
     private final TransactionTemplate transactionTemplate;
     private final ChainFileMigrationService chainFileMigrationService;
+    private final ChainImportPipeline chainImportPipeline;
 
     private static final short ASYNC_IMPORT_PERCENTAGE_THRESHOLD = 40;
     private static final short ASYNC_SNAPSHOT_BUILD_PERCENTAGE_THRESHOLD = 90;
@@ -113,7 +116,8 @@ public ImportService(ChainExternalEntityMapper chainExternalEntityMapper,
                          ImportSessionService importProgressService,
                          ChainImportService chainImportService,
                          TransactionTemplate transactionTemplate,
-                         ChainFileMigrationService chainFileMigrationService
+                         ChainFileMigrationService chainFileMigrationService,
+                         ChainImportPipeline chainImportPipeline
     ) {
         this.chainExternalEntityMapper = chainExternalEntityMapper;
         this.objectMapper = objectMapper;
@@ -129,6 +133,7 @@ public ImportService(ChainExternalEntityMapper chainExternalEntityMapper,
         this.chainImportService = chainImportService;
         this.transactionTemplate = transactionTemplate;
         this.chainFileMigrationService = chainFileMigrationService;
+        this.chainImportPipeline = chainImportPipeline;
     }
 
     public ImportPreviewDTO importFileAsPreview(MultipartFile file) {
@@ -433,10 +438,16 @@ private ChainCommitRequestAction getResultingDeployAction(ImportChainResult chai
     public ImportChainResult restoreChainFromYaml(String yaml, File chainFilesDir,
                                                List<ChainCommitRequest> commitRequests,
                                                Set<String> technicalLabels) {
+        return restoreChainFromMigratedYaml(() -> migrateToActualFileVersion(yaml), chainFilesDir, commitRequests, technicalLabels);
+    }
+
+    private ImportChainResult restoreChainFromMigratedYaml(Callable<String> migratedYamlSource, File chainFilesDir,
+                                                           List<ChainCommitRequest> commitRequests,
+                                                           Set<String> technicalLabels) {
         ImportChainResult resultImportChainDTO = null;
         ChainCompareDTO basicChainInfo = null;
         try {
-            String migratedYaml = migrateToActualFileVersion(yaml);
+            String migratedYaml = migratedYamlSource.call();
             basicChainInfo = getYamlBasicChainInfo(migratedYaml);
             ChainCompareDTO finalBasicChainInfo = basicChainInfo;
             if (CollectionUtils.isEmpty(commitRequests)
@@ -558,13 +569,13 @@ private void checkAndPutScriptFileNameInServiceCall(Chain chain, ChainDeserializ
         }
     }
 
-    public ImportChainResult restoreChainFromDir(File chainFilesDir,
-                                              List<ChainCommitRequest> commitRequests,
-                                              Set<String> technicalLabels) {
+    private ImportChainResult restoreParsedChainFromDir(File chainFilesDir,
+                                                        Callable<String> migratedYaml,
+                                                        List<ChainCommitRequest> commitRequests,
+                                                        Set<String> technicalLabels) {
         ImportChainResult resultImportChainDTO;
         try {
-            String chainYAML = Files.readString(getChainYAMLFile(chainFilesDir).toPath());
-            resultImportChainDTO = transactionTemplate.execute((status -> restoreChainFromYaml(chainYAML, chainFilesDir, commitRequests, technicalLabels)));
+            resultImportChainDTO = transactionTemplate.execute((status -> restoreChainFromMigratedYaml(migratedYaml, chainFilesDir, commitRequests, technicalLabels)));
         } catch (Exception e) {
             log.warn("Exception while chain import: ", e);
             resultImportChainDTO = new ImportChainResult();
@@ -798,16 +809,17 @@ private ImportDTO restoreChainsFromDir(File importDirectory, List<ChainCommitReq
         }
         if (!CollectionUtils.isEmpty(chainFilesDirectories)) {
             int total = chainFilesDirectories.size();
-            int counter = 0;
-            for (File chainFilesDir : chainFilesDirectories) {
-                calculateImportAsyncStatus(importId, total, counter);
-                counter++;
+            AtomicInteger counter = new AtomicInteger();
+            ChainImportPipeline.Parser<String> parser = chainFilesDir ->
+                    migrateToActualFileVersion(Files.readString(getChainYAMLFile(chainFilesDir).toPath()));
+            chainImportPipeline.run(chainFilesDirectories, parser, (chainFilesDir, migratedYaml) -> {
+                calculateImportAsyncStatus(importId, total, counter.getAndIncrement());
 
-                ImportChainResult chainDTO = restoreChainFromDir(chainFilesDir, commitRequests, technicalLabels);
+                ImportChainResult chainDTO = restoreParsedChainFromDir(chainFilesDir, migratedYaml, commitRequests, technicalLabels);
                 if (chainDTO != null) {
                     response.getChains().add(chainDTO);
                 }
-            }
+            });
         }
 
         return response;
@@ -25,6 +25,16 @@
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress of imports running on the current instance is kept in memory and written to
+ * the database at most once per {@code qip.import.progress-flush-interval-ms} and on every
+ * import phase change. Sessions are read from the database, completion of imports running on
+ * the current instance is taken from memory.
+ */
 @Slf4j
 @Service
 public class ImportSessionService {
@@ -34,45 +44,85 @@ public class ImportSessionService {
     public static final short CHAIN_IMPORT_PERCENTAGE_THRESHOLD = 60;
     public static final short SNAPSHOT_BUILD_PERCENTAGE_THRESHOLD = 80;
 
+    // 100 means the result is saved, running import never reports it
+    private static final int MAX_RUNNING_COMPLETION = 99;
+
     private final Integer importSessionLifetimeMinutes;
+    private final long progressFlushIntervalMs;
     private final ImportSessionRepository importSessionRepository;
+    // <importId, progress>
+    private final Map<String, ImportProgress> runningImports = new ConcurrentHashMap<>();
+
+    private static class ImportProgress {
+        private final long startedWhen = System.currentTimeMillis();
+        private volatile int completion;
+        private int flushedPhase = -1;
+        private long flushedWhen;
+
+        synchronized boolean shouldFlush(int phase, long now, long flushIntervalMs) {
+            if (phase != flushedPhase || now - flushedWhen >= flushIntervalMs) {
+                flushedPhase = phase;
+                flushedWhen = now;
+                return true;
+            }
+            return false;
+        }
+    }
 
     @Autowired
     public ImportSessionService(
             @Value("${qip.import.session-lifetime-minutes:300}") Integer importSessionLifetimeMinutes,
+            @Value("${qip.import.progress-flush-interval-ms:1000}") long progressFlushIntervalMs,
             ImportSessionRepository importSessionRepository
     ) {
         this.importSessionLifetimeMinutes = importSessionLifetimeMinutes;
+        this.progressFlushIntervalMs = progressFlushIntervalMs;
         this.importSessionRepository = importSessionRepository;
     }
 
+    /**
+     * For imports running on the current instance the persisted session is returned with
+     * the completion from memory, which can be ahead of the persisted one
+     */
     @Nullable
     public ImportSession getImportSession(String importId) {
-        return importSessionRepository.findById(importId).orElse(null);
+        ImportSession importSession = importSessionRepository.findById(importId).orElse(null);
+        ImportProgress progress = runningImports.get(importId);
+        if (progress != null) {
+            if (importSession == null) {
+                // progress is not flushed yet
+                importSession = new ImportSession();
+                importSession.setId(importId);
+            }
+            importSession.setCompletion(progress.completion);
+        }
+        return importSession;
     }
 
+    /**
+     * Saves the finished session, its progress is no longer kept in memory
+     */
     public void saveImportSession(ImportSession importSession) {
         importSessionRepository.save(importSession);
+        runningImports.remove(importSession.getId());
     }
 
     @Transactional
     public void deleteObsoleteImportSessionStatuses() {
         importSessionRepository.deleteSessionsOlderThan(importSessionLifetimeMinutes);
+        long obsoleteStartTime = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(importSessionLifetimeMinutes);
+        runningImports.values().removeIf(progress -> progress.startedWhen <= obsoleteStartTime);
     }
 
+    /**
+     * Sets progress of the running import and writes it to the database immediately
+     */
     public void setImportProgressPercentage(String importId, int percentage) {
         if (importId == null) {
             return;
         }
 
-        ImportSession importSession = getImportSession(importId);
-        if (importSession == null) {
-            importSession = new ImportSession();
-            importSession.setId(importId);
-        }
-
-        importSession.setCompletion(percentage);
-        saveImportSession(importSession);
+        updateProgress(importId, percentage, percentage, true);
     }
 
     public void calculateImportStatus(String importId, int total, int counter, int fromPercentage, int toPercentage) {
@@ -87,6 +137,24 @@ public void calculateImportStatus(String importId, int total, int counter, int f
             percentage = (int) (fromPercentage + (toPercentage - fromPercentage) * ((double) counter / (double) total));
         }
 
-        setImportProgressPercentage(importId, percentage);
+        updateProgress(importId, percentage, toPercentage, false);
+    }
+
+    private void updateProgress(String importId, int percentage, int phase, boolean force) {
+        ImportProgress progress = runningImports.computeIfAbsent(importId, id -> new ImportProgress());
+        int completion = Math.min(percentage, MAX_RUNNING_COMPLETION);
+        progress.completion = completion;
+        if (progress.shouldFlush(phase, System.currentTimeMillis(), force ? 0 : progressFlushIntervalMs)) {
+            flushProgress(importId, completion);
+        }
+    }
+
+    private void flushProgress(String importId, int completion) {
+        if (importSessionRepository.updateCompletion(importId, completion) == 0) {
+            ImportSession importSession = new ImportSession();
+            importSession.setId(importId);
+            importSession.setCompletion(completion);
+            importSessionRepository.save(importSession);
+        }
     }
 }
@@ -20,10 +20,12 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.google.common.util.concurrent.Striped;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.qubership.integration.platform.catalog.context.RequestIdContext;
 import org.qubership.integration.platform.catalog.model.exportimport.instructions.ImportInstructionAction;
 import org.qubership.integration.platform.catalog.model.exportimport.instructions.ImportInstructionsConfig;
 import org.qubership.integration.platform.catalog.model.system.EnvironmentLabel;
@@ -53,6 +55,7 @@
 import org.qubership.integration.platform.runtime.catalog.service.exportimport.instructions.ImportInstructionsService;
 import org.qubership.integration.platform.runtime.catalog.service.exportimport.serializer.ServiceSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.auditing.AuditingHandler;
@@ -68,8 +71,14 @@
 import java.nio.file.Paths;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -89,8 +98,10 @@ public class SystemExportImportService {
     private static final String SPECIFICATION_EXISTS_BY_ID_ERROR_MESSAGE_START = "Specification with id '";
     private static final String SPECIFICATION_EXISTS_ERROR_MESSAGE_END = "' was not imported. ";
     protected static final String CONFIG_DEPLOY_LABELS = "deployLabels";
+    private static final int SYSTEM_IMPORT_LOCK_STRIPES = 256;
 
     private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
     private final YAMLMapper yamlMapper;
     private final SystemService systemService;
     private final SystemModelService systemModelService;
@@ -101,6 +112,8 @@ public class SystemExportImportService {
     private final ServiceDeserializer serviceDeserializer;
     private final ImportSessionService importProgressService;
     private final ImportInstructionsService importInstructionsService;
+    private final ExecutorService systemImportExecutor;
+    private final Striped<Lock> systemImportLocks = Striped.lazyWeakLock(SYSTEM_IMPORT_LOCK_STRIPES);
 
     @Value("${qip.export.remove-unused-specifications}")
     private boolean removeUnusedSpecs;
@@ -117,9 +130,12 @@ public SystemExportImportService(
             ServiceSerializer serviceSerializer,
             ServiceDeserializer serviceDeserializer,
             ImportSessionService importProgressService,
-            ImportInstructionsService importInstructionsService
+            ImportInstructionsService importInstructionsService,
+            @Qualifier("systemImportExecutor") ExecutorService systemImportExecutor
     ) {
         this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
         this.yamlMapper = yamlExportImportMapper;
         this.systemService = systemService;
         this.environmentService = environmentService;
@@ -130,6 +146,7 @@ public SystemExportImportService(
         this.serviceDeserializer = serviceDeserializer;
         this.importProgressService = importProgressService;
         this.importInstructionsService = importInstructionsService;
+        this.systemImportExecutor = systemImportExecutor;
     }
 
     private void removeUnusedSpecifications(IntegrationSystem integrationSystem, List<String> usedSystemModelIds) {
@@ -322,25 +339,12 @@ public List<ImportSystemResult> importSystemRequest(MultipartFile importFile, Li
                             .collect(Collectors.toSet()),
                     false)
                     .idsToImport();
-            for (File singleSystemFile : extractedSystemFiles) {
-                String serviceId = extractSystemIdFromFileName(singleSystemFile);
-                if (!servicesToImport.contains(serviceId)) {
-                    response.add(ImportSystemResult.builder()
-                            .id(serviceId)
-                            .name(serviceId)
-                            .status(ImportSystemStatus.IGNORED)
-                            .build());
-                    log.info("Service {} ignored as a part of import exclusion list", serviceId);
-                    continue;
-                }
-
-                ImportSystemResult result = importOneSystemInTransaction(singleSystemFile, deployLabel, systemIds, technicalLabels);
-                if (result != null) {
-                    response.add(result);
-                }
+            try {
+                response.addAll(importSystemFiles(extractedSystemFiles, servicesToImport, deployLabel, systemIds,
+                        technicalLabels, processed -> {}));
+            } finally {
+                deleteFile(exportDirectory);
             }
-
-            deleteFile(exportDirectory);
         } else {
             throw new RuntimeException("Unsupported file extension: " + fileExtension);
         }
@@ -378,66 +382,112 @@ public ImportSystemsAndInstructionsResult importSystems(
                 true
         );
         int total = systemsFiles.size();
-        int counter = 0;
-        List<ImportSystemResult> response = new ArrayList<>();
-        for (File systemFile : systemsFiles) {
+        List<ImportSystemResult> response = importSystemFiles(systemsFiles, ignoreResult.idsToImport(), deployLabel,
+                systemIds, technicalLabels, processed -> importProgressService.calculateImportStatus(
+                        importId, total, processed, ImportSessionService.COMMON_VARIABLES_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.SERVICE_IMPORT_PERCENTAGE_THRESHOLD));
+
+        return new ImportSystemsAndInstructionsResult(response, ignoreResult.importInstructionResults());
+    }
+
+    /**
+     * Imports services on the {@code systemImportExecutor} pool
+     *
+     * @param progressHandler called on the calling thread with the number of processed files, in files order
+     * @return import results in files order
+     */
+    private List<ImportSystemResult> importSystemFiles(
+            List<File> systemFiles,
+            Set<String> servicesToImport,
+            String deployLabel,
+            List<String> systemIds,
+            Set<String> technicalLabels,
+            IntConsumer progressHandler
+    ) {
+        String requestId = RequestIdContext.get();
+        List<Future<ImportSystemResult>> imports = new ArrayList<>(systemFiles.size());
+        for (File systemFile : systemFiles) {
             String serviceId = extractSystemIdFromFileName(systemFile);
-            if (!ignoreResult.idsToImport().contains(serviceId)) {
-                response.add(ImportSystemResult.builder()
+            if (!servicesToImport.contains(serviceId)) {
+                log.info("Service {} ignored as a part of import exclusion list", serviceId);
+                imports.add(CompletableFuture.completedFuture(ImportSystemResult.builder()
                         .id(serviceId)
                         .name(serviceId)
                         .status(ImportSystemStatus.IGNORED)
-                        .build());
-                log.info("Service {} ignored as a part of import exclusion list", serviceId);
+                        .build()));
                 continue;
             }
 
-            importProgressService.calculateImportStatus(
-                    importId, total, counter, ImportSessionService.COMMON_VARIABLES_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.SERVICE_IMPORT_PERCENTAGE_THRESHOLD);
-            counter++;
-
-            ImportSystemResult result = importOneSystemInTransaction(systemFile, deployLabel, systemIds, technicalLabels);
-
-            if (result != null) {
-                response.add(result);
-            }
+            imports.add(systemImportExecutor.submit(() -> {
+                RequestIdContext.set(requestId);
+                return importOneSystemInTransaction(systemFile, deployLabel, systemIds, technicalLabels);
+            }));
         }
 
-        return new ImportSystemsAndInstructionsResult(response, ignoreResult.importInstructionResults());
-    }
-
-    protected synchronized ImportSystemResult importOneSystemInTransaction(File mainServiceFile, String deployLabel, List<String> systemIds, Set<String> technicalLabels) {
+        List<ImportSystemResult> results = new ArrayList<>();
+        try {
+            int processed = 0;
+            for (Future<ImportSystemResult> systemImport : imports) {
+                ImportSystemResult result = systemImport.get();
+                if (result != null) {
+                    results.add(result);
+                }
+                progressHandler.accept(++processed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Services import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unexpected error while services import: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            imports.forEach(systemImport -> systemImport.cancel(true));
+        }
+        return results;
+    }
+
+    /**
+     * File parsing, deserialization and compilation of new specifications run without locks.
+     * The service is saved under the locks of its id and ids of its specification groups and
+     * specifications, so that imports sharing any of them don't interleave.
+     */
+    protected ImportSystemResult importOneSystemInTransaction(File mainServiceFile, String deployLabel, List<String> systemIds, Set<String> technicalLabels) {
         ImportSystemResult result;
         Optional<IntegrationSystem> baseSystemOptional = Optional.empty();
 
         try {
             ObjectNode serviceNode = getFileNode(mainServiceFile);
             SystemDeserializationResult deserializationResult = getBaseSystemDeserializationResult(serviceNode);
-            baseSystemOptional = Optional.ofNullable(deserializationResult.getSystem());
-
-            result = transactionTemplate.execute((status) -> {
-                File serviceDirectory = mainServiceFile.getParentFile();
-                IntegrationSystem baseSystem = deserializationResult.getSystem();
-
-                if (!CollectionUtils.isEmpty(systemIds) && !systemIds.contains(baseSystem.getId())) {
-                    return null;
-                }
-
-                deserializationResult.setSystem(serviceDeserializer.deserializeSystem(
-                        serviceNode, serviceDirectory));
-
+            IntegrationSystem baseSystem = deserializationResult.getSystem();
+            baseSystemOptional = Optional.ofNullable(baseSystem);
 
-                StringBuilder message = new StringBuilder();
-                ImportSystemStatus importStatus = enrichAndSaveIntegrationSystem(deserializationResult, deployLabel, technicalLabels, message::append);
+            if (!CollectionUtils.isEmpty(systemIds) && !systemIds.contains(baseSystem.getId())) {
+                return null;
+            }
 
-                return ImportSystemResult.builder()
-                        .id(deserializationResult.getSystem().getId())
-                        .name(deserializationResult.getSystem().getName())
-                        .status(importStatus)
-                        .message(message.toString())
-                        .build();
-            });
+            deserializationResult.setSystem(serviceDeserializer.deserializeSystem(
+                    serviceNode, mainServiceFile.getParentFile()));
+            Set<SystemModel> compiledModels = compileNewSpecifications(deserializationResult.getSystem());
+
+            List<Lock> locks = lockImportedIds(deserializationResult.getSystem());
+            try {
+                result = transactionTemplate.execute((status) -> {
+                    StringBuilder message = new StringBuilder();
+                    ImportSystemStatus importStatus = enrichAndSaveIntegrationSystem(
+                            deserializationResult, deployLabel, technicalLabels, compiledModels, message::append);
+
+                    return ImportSystemResult.builder()
+                            .id(deserializationResult.getSystem().getId())
+                            .name(deserializationResult.getSystem().getName())
+                            .status(importStatus)
+                            .message(message.toString())
+                            .build();
+                });
+            } finally {
+                unlock(locks);
+            }
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             result = ImportSystemResult.builder()
                     .id(baseSystemOptional.map(IntegrationSystem::getId).orElse(null))
                     .name(baseSystemOptional.map(IntegrationSystem::getName).orElse(""))
@@ -450,7 +500,94 @@ protected synchronized ImportSystemResult importOneSystemInTransaction(File main
         return result;
     }
 
-    private ImportSystemStatus enrichAndSaveIntegrationSystem(SystemDeserializationResult deserializationResult, String deployLabel, Set<String> technicalLabels, Consumer<String> messageHandler) {
+    /**
+     * Locks ids of the service, its specification groups and specifications. Locks are returned
+     * by the striped set in stripe order, so concurrent imports acquire them in the same order.
+     */
+    private List<Lock> lockImportedIds(IntegrationSystem system) throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        ids.add(system.getId());
+        for (SpecificationGroup specificationGroup : system.getSpecificationGroups()) {
+            ids.add(specificationGroup.getId());
+            specificationGroup.getSystemModels().forEach(systemModel -> ids.add(systemModel.getId()));
+        }
+        ids.removeIf(Objects::isNull);
+
+        List<Lock> locked = new ArrayList<>();
+        try {
+            for (Lock lock : systemImportLocks.bulkGet(ids)) {
+                lock.lockInterruptibly();
+                locked.add(lock);
+            }
+        } catch (InterruptedException e) {
+            unlock(locked);
+            throw e;
+        }
+        return locked;
+    }
+
+    private static void unlock(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Compiles libraries of specifications missing in the current version of the service.
+     * Specifications added by a concurrent change of the service are compiled when it's saved.
+     *
+     * @return specifications with compiled libraries
+     */
+    private Set<SystemModel> compileNewSpecifications(IntegrationSystem system) {
+        Collection<SystemModel> newSystemModels = readOnlyTransactionTemplate.execute(status ->
+                findNewSpecifications(system, systemService.getByIdOrNull(system.getId())));
+        compileLibraries(newSystemModels);
+
+        Set<SystemModel> compiledModels = Collections.newSetFromMap(new IdentityHashMap<>());
+        compiledModels.addAll(newSystemModels);
+        return compiledModels;
+    }
+
+    /**
+     * Specifications of the new service version that {@link #mergeSpecificationGroups} will add
+     */
+    private Collection<SystemModel> findNewSpecifications(IntegrationSystem newSystem, IntegrationSystem oldSystem) {
+        List<SystemModel> newSystemModels = new ArrayList<>();
+        if (oldSystem == null) {
+            newSystem.getSpecificationGroups().forEach(group -> newSystemModels.addAll(group.getSystemModels()));
+            return newSystemModels;
+        }
+
+        Set<String> oldModelIds = new HashSet<>();
+        Set<String> oldSpecGroupNames = new HashSet<>();
+        Map<String, SpecificationGroup> oldSpecGroupsIdMap = new HashMap<>();
+        for (SpecificationGroup oldGroup : oldSystem.getSpecificationGroups()) {
+            oldGroup.getSystemModels().forEach(model -> oldModelIds.add(model.getId()));
+            oldSpecGroupNames.add(oldGroup.getName());
+            oldSpecGroupsIdMap.put(oldGroup.getId(), oldGroup);
+        }
+
+        for (SpecificationGroup newSpecGroup : newSystem.getSpecificationGroups()) {
+            SpecificationGroup sameOldSpecGroup = oldSpecGroupNames.contains(newSpecGroup.getName())
+                    ? oldSpecGroupsIdMap.get(newSpecGroup.getId())
+                    : null;
+            Set<String> oldModelNames = sameOldSpecGroup == null
+                    ? Collections.emptySet()
+                    : sameOldSpecGroup.getSystemModels().stream().map(SystemModel::getName).collect(Collectors.toSet());
+            newSpecGroup.getSystemModels().stream()
+                    .filter(model -> !oldModelIds.contains(model.getId()) && !oldModelNames.contains(model.getName()))
+                    .forEach(newSystemModels::add);
+        }
+        return newSystemModels;
+    }
+
+    private ImportSystemStatus enrichAndSaveIntegrationSystem(
+            SystemDeserializationResult deserializationResult,
+            String deployLabel,
+            Set<String> technicalLabels,
+            Set<SystemModel> compiledModels,
+            Consumer<String> messageHandler
+    ) {
         IntegrationSystem system = deserializationResult.getSystem();
         ImportSystemStatus status;
 
@@ -474,13 +611,7 @@ private ImportSystemStatus enrichAndSaveIntegrationSystem(SystemDeserializationR
 
         touchSystemFields(system);
 
-        StringBuilder compilationErrors = new StringBuilder();
-        boolean hasErrors = compileSystemModelLibraries(
-                newSystemModels,
-                (str) -> compilationErrors.append(str).append(" "));
-        if (hasErrors) {
-            throw new RuntimeException(LIB_COMPILATION_ERROR + compilationErrors);
-        }
+        compileLibraries(newSystemModels.stream().filter(model -> !compiledModels.contains(model)).toList());
 
         if (oldSystem != null) {
             systemService.update(system);
@@ -491,6 +622,16 @@ private ImportSystemStatus enrichAndSaveIntegrationSystem(SystemDeserializationR
         return status;
     }
 
+    private void compileLibraries(Collection<SystemModel> models) {
+        StringBuilder compilationErrors = new StringBuilder();
+        boolean hasErrors = compileSystemModelLibraries(
+                models,
+                (str) -> compilationErrors.append(str).append(" "));
+        if (hasErrors) {
+            throw new RuntimeException(LIB_COMPILATION_ERROR + compilationErrors);
+        }
+    }
+
     private boolean compileSystemModelLibraries(Collection<SystemModel> models, Consumer<String> errorHandler) {
         return models.stream()
                 .map(model -> {
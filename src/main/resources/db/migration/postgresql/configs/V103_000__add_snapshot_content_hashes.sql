@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS snapshot_content_hashes
+(
+    snapshot_id  VARCHAR(255) NOT NULL
+        CONSTRAINT pk_snapshot_content_hashes
+            PRIMARY KEY
+        CONSTRAINT fk_snapshot_content_hashes_on_snapshot
+            REFERENCES snapshots
+            ON DELETE CASCADE,
+    chain_id     VARCHAR(255) NOT NULL,
+    content_hash VARCHAR(64)  NOT NULL,
+    created_when TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_snapshot_content_hashes_chain_id_content_hash
+    ON snapshot_content_hashes (chain_id, content_hash);
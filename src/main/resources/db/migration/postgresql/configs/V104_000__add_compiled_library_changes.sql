@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS compiled_library_change_log
+(
+    epoch             VARCHAR(36) NOT NULL
+        CONSTRAINT pk_compiled_library_change_log
+            PRIMARY KEY,
+    version           BIGINT      NOT NULL DEFAULT 0,
+    pruned_version    BIGINT      NOT NULL DEFAULT 0,
+    published_version BIGINT      NOT NULL DEFAULT 0
+);
+
+INSERT INTO compiled_library_change_log (epoch)
+SELECT gen_random_uuid()::TEXT
+WHERE NOT EXISTS (SELECT 1 FROM compiled_library_change_log);
+
+CREATE TABLE IF NOT EXISTS compiled_library_changes
+(
+    model_id      VARCHAR(255) NOT NULL
+        CONSTRAINT pk_compiled_library_changes
+            PRIMARY KEY,
+    compiled_when TIMESTAMP,
+    version       BIGINT       NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_compiled_library_changes_version
+    ON compiled_library_changes (version);
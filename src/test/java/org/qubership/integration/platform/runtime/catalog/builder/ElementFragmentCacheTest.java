@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.builder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class ElementFragmentCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ElementFragmentCache cache;
+    private AtomicInteger renderCount;
+    private Function<ChainElement, String> renderer;
+
+    @BeforeEach
+    public void initialize() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ElementFragmentCache(new ObjectMapper(), meterRegistry, true, 100);
+        renderCount = new AtomicInteger();
+        renderer = element -> {
+            renderCount.incrementAndGet();
+            String parentId = element.getParent() == null ? "" : element.getParent().getId();
+            return "<to id=\"" + element.getId() + "\" parent=\"" + parentId + "\" uri=\""
+                    + element.getProperties().get("uri") + "\"/>";
+        };
+    }
+
+    @DisplayName("Unchanged element copy is served from cache with its own ids")
+    @Test
+    public void cachedFragmentRestoresIdsTest() {
+        ChainElement first = createElement("original-id", "http://localhost/a");
+        ChainElement copy = createElement("original-id", "http://localhost/a");
+
+        String firstResult = cache.getOrRender(first, renderer);
+        String copyResult = cache.getOrRender(copy, renderer);
+
+        assertThat(renderCount.get(), equalTo(1));
+        assertThat(copyResult, equalTo(renderer.apply(copy)));
+        assertThat(firstResult.contains(copy.getId()), equalTo(false));
+        assertThat(meterRegistry.get("qip.snapshot.xml.fragment.cache").tag("result", "hit").counter().count(),
+                equalTo(1.0));
+    }
+
+    @DisplayName("Changed properties cause re-rendering")
+    @Test
+    public void changedPropertiesMissTest() {
+        cache.getOrRender(createElement("original-id", "http://localhost/a"), renderer);
+        cache.getOrRender(createElement("original-id", "http://localhost/b"), renderer);
+
+        assertThat(renderCount.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(2L));
+    }
+
+    @DisplayName("Parent identifier is restored for nested elements")
+    @Test
+    public void nestedElementParentIdTest() {
+        ContainerChainElement firstParent = new ContainerChainElement();
+        firstParent.setId(UUID.randomUUID().toString());
+        firstParent.setType("try-catch-finally-2");
+        ChainElement firstChild = createElement("child-id", "http://localhost/a");
+        firstParent.addChildElement(firstChild);
+
+        ContainerChainElement secondParent = new ContainerChainElement();
+        secondParent.setId(UUID.randomUUID().toString());
+        secondParent.setType("try-catch-finally-2");
+        ChainElement secondChild = createElement("child-id", "http://localhost/a");
+        secondParent.addChildElement(secondChild);
+
+        cache.getOrRender(firstChild, renderer);
+        String actual = cache.getOrRender(secondChild, renderer);
+
+        assertThat(renderCount.get(), equalTo(1));
+        assertThat(actual.contains(secondParent.getId()), equalTo(true));
+    }
+
+    @DisplayName("Disabled cache always renders")
+    @Test
+    public void disabledCacheTest() {
+        ElementFragmentCache disabled = new ElementFragmentCache(new ObjectMapper(), meterRegistry, false, 100);
+
+        disabled.getOrRender(createElement("original-id", "http://localhost/a"), renderer);
+        disabled.getOrRender(createElement("original-id", "http://localhost/a"), renderer);
+
+        assertThat(renderCount.get(), equalTo(2));
+        assertThat(disabled.size(), equalTo(0L));
+    }
+
+    private static ChainElement createElement(String originalId, String uri) {
+        ChainElement element = new ChainElement();
+        element.setId(UUID.randomUUID().toString());
+        element.setOriginalId(originalId);
+        element.setType("http-sender");
+        element.setName("HTTP Sender");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("uri", uri);
+        element.setProperties(properties);
+        return element;
+    }
+}
@@ -20,6 +20,7 @@
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -51,6 +52,9 @@
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mockStatic;
 
@@ -319,6 +323,20 @@ public void applyCompositeTriggerTemplateTest(String scenario, String inputPath,
         assertThat(actual, CompareMatcher.isIdenticalTo(expected).ignoreWhitespace());
     }
 
+    @DisplayName("Element templates are compiled on startup")
+    @Test
+    public void templatesCompiledOnStartupTest() {
+        assertThat(templateService.getTemplate("condition"), notNullValue());
+        assertThat(templateService.getTemplate("condition") == templateService.getTemplate("condition"), equalTo(true));
+    }
+
+    @DisplayName("Missing template lookup returns null")
+    @Test
+    public void missingTemplateTest() {
+        assertThat(templateService.getTemplate("missing-element-type"), nullValue());
+        assertThat(templateService.getTemplate("missing-element-type"), nullValue());
+    }
+
     private String wrap(String xml) {
         return new StringBuilder()
                 .append("<route>")
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.consul;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.compiledlibrary.CompiledLibraryUpdate;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.system.SystemModelRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.CompiledLibraryChange;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.CompiledLibraryChangeRepository;
+import org.qubership.integration.platform.runtime.catalog.testutils.DatabaseTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompiledLibraryChangeLogTest extends DatabaseTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CompiledLibraryChangeRepository compiledLibraryChangeRepository;
+
+    private SystemModelRepository systemModelRepository;
+    // <modelId, compiledWhen>, libraries read by the change log
+    private volatile Map<String, Long> libraries;
+    private CompiledLibraryChangeLog changeLog;
+    private String epoch;
+
+    @BeforeEach
+    public void initialize() {
+        systemModelRepository = mock(SystemModelRepository.class);
+        when(systemModelRepository.findAllWithCompiledLibraries()).thenAnswer(invocation -> libraries.entrySet().stream()
+                .map(entry -> new Object[] {entry.getKey(), new Timestamp(entry.getValue())})
+                .toList());
+        changeLog = createChangeLog();
+        epoch = transactionTemplate.execute(status -> {
+            entityManager.createQuery("DELETE FROM " + CompiledLibraryChange.class.getName()).executeUpdate();
+            entityManager.createNativeQuery(
+                    "UPDATE catalog.compiled_library_change_log SET version = 0, pruned_version = 0, published_version = 0")
+                    .executeUpdate();
+            return compiledLibraryChangeRepository.getChangeLogState().getEpoch();
+        });
+    }
+
+    @DisplayName("Only actual differences create new versions")
+    @Test
+    public void applyTest() {
+        assertThat(apply(changeLog, Map.of("a", 1L, "b", 1L)), equalTo(true));
+        assertThat(apply(changeLog, Map.of("a", 1L, "b", 1L)), equalTo(false));
+        assertThat(apply(changeLog, Map.of("a", 2L, "b", 1L)), equalTo(true));
+        assertThat(changesSince(epoch, 0).toVersion(), equalTo(2L));
+    }
+
+    @DisplayName("Changes recorded by one instance are served by another one")
+    @Test
+    public void sharedBetweenInstancesTest() {
+        CompiledLibraryChangeLog otherInstance = createChangeLog();
+        apply(changeLog, Map.of("a", 1L));
+
+        CompiledLibraryChangeLog.Changes changes = transactionTemplate.execute(status -> otherInstance.changesSince(epoch, 0));
+
+        assertThat(changes.fullResync(), equalTo(false));
+        assertThat(timestamps(changes.updated()), equalTo(Map.of("a", 1L)));
+        assertThat(apply(otherInstance, Map.of("a", 1L)), equalTo(false));
+    }
+
+    @DisplayName("Changes since a version are merged, the latest change of a model wins")
+    @Test
+    public void changesSinceTest() {
+        apply(changeLog, Map.of("a", 1L, "b", 1L));
+        apply(changeLog, Map.of("a", 2L, "b", 1L, "c", 1L));
+        apply(changeLog, Map.of("a", 2L, "c", 2L));
+
+        CompiledLibraryChangeLog.Changes changes = changesSince(epoch, 1);
+
+        assertThat(changes.fullResync(), equalTo(false));
+        assertThat(changes.toVersion(), equalTo(3L));
+        assertThat(timestamps(changes.updated()), equalTo(Map.of("a", 2L, "c", 2L)));
+        assertThat(changes.removed(), equalTo(List.of("b")));
+    }
+
+    @DisplayName("Removed and added again model is reported as updated")
+    @Test
+    public void removedAndAddedTest() {
+        apply(changeLog, Map.of("a", 1L));
+        apply(changeLog, Map.of());
+        apply(changeLog, Map.of("a", 3L));
+
+        CompiledLibraryChangeLog.Changes changes = changesSince(epoch, 1);
+
+        assertThat(timestamps(changes.updated()), equalTo(Map.of("a", 3L)));
+        assertThat(changes.removed(), equalTo(List.of()));
+    }
+
+    @DisplayName("Unknown epoch and versions older than the kept log get a full resync")
+    @Test
+    public void fullResyncTest() {
+        for (long i = 1; i <= 5; i++) {
+            apply(changeLog, Map.of("a", i, "b", 1L));
+        }
+
+        CompiledLibraryChangeLog.Changes otherEpoch = changesSince("other", 4);
+        CompiledLibraryChangeLog.Changes tooOld = changesSince(epoch, 1);
+        CompiledLibraryChangeLog.Changes kept = changesSince(epoch, 2);
+
+        assertThat(otherEpoch.fullResync(), equalTo(true));
+        assertThat(timestamps(otherEpoch.updated()), equalTo(Map.of("a", 5L, "b", 1L)));
+        assertThat(tooOld.fullResync(), equalTo(true));
+        assertThat(kept.fullResync(), equalTo(false));
+        assertThat(timestamps(kept.updated()), equalTo(Map.of("a", 5L)));
+    }
+
+    @DisplayName("Current version has no changes")
+    @Test
+    public void upToDateTest() {
+        apply(changeLog, Map.of("a", 1L));
+
+        CompiledLibraryChangeLog.Changes changes = changesSince(epoch, 1);
+
+        assertThat(changes.fullResync(), equalTo(false));
+        assertThat(changes.updated(), equalTo(List.of()));
+        assertThat(changes.removed(), equalTo(List.of()));
+    }
+
+    @DisplayName("Libraries are read after the change log is locked")
+    @Test
+    public void applyAfterLockTest() throws Exception {
+        apply(changeLog, Map.of("a", 1L));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherInstance = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    compiledLibraryChangeRepository.lockChangeLogState();
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS), equalTo(true));
+
+        // waits for the lock, the libraries are changed meanwhile
+        CompletableFuture<Boolean> applied = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> changeLog.apply()));
+        Thread.sleep(200);
+        libraries = Map.of("a", 2L);
+        release.countDown();
+        otherInstance.get(10, TimeUnit.SECONDS);
+
+        assertThat(applied.get(10, TimeUnit.SECONDS), equalTo(true));
+        assertThat(timestamps(changesSince(epoch, 1).updated()), equalTo(Map.of("a", 2L)));
+    }
+
+    @DisplayName("Libraries are written once per version by any instance, a failed write is repeated")
+    @Test
+    public void publishTest() {
+        CompiledLibraryChangeLog otherInstance = createChangeLog();
+        apply(changeLog, Map.of("a", 1L));
+
+        assertThat(publish(changeLog, false), equalTo(Map.of("a", 1L)));
+        assertThat(publish(changeLog, false), nullValue());
+        assertThat(publish(otherInstance, false), nullValue());
+        assertThat(publish(otherInstance, true), equalTo(Map.of("a", 1L)));
+
+        // recorded by the other instance, written by this one
+        apply(otherInstance, Map.of("a", 1L, "b", 2L));
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.execute(status -> otherInstance.publish(false,
+                written -> {
+                    throw new IllegalStateException("Consul is not available");
+                })));
+        assertThat(publish(changeLog, false), equalTo(Map.of("a", 1L, "b", 2L)));
+        assertThat(publish(otherInstance, false), nullValue());
+    }
+
+    private CompiledLibraryChangeLog createChangeLog() {
+        return new CompiledLibraryChangeLog(compiledLibraryChangeRepository, systemModelRepository, 3);
+    }
+
+    private boolean apply(CompiledLibraryChangeLog log, Map<String, Long> timestamps) {
+        libraries = timestamps;
+        return transactionTemplate.execute(status -> log.apply());
+    }
+
+    /**
+     * @return libraries passed to the writer, null if it was not called
+     */
+    private Map<String, Long> publish(CompiledLibraryChangeLog log, boolean force) {
+        List<List<CompiledLibraryUpdate>> written = new ArrayList<>();
+        transactionTemplate.execute(status -> log.publish(force, written::add));
+        return written.isEmpty() ? null : timestamps(written.get(0));
+    }
+
+    private CompiledLibraryChangeLog.Changes changesSince(String sinceEpoch, long sinceVersion) {
+        return transactionTemplate.execute(status -> changeLog.changesSince(sinceEpoch, sinceVersion));
+    }
+
+    private static Map<String, Long> timestamps(List<CompiledLibraryUpdate> updates) {
+        return updates.stream().collect(Collectors.toMap(CompiledLibraryUpdate::getModelId, update -> update.getTimestamp().getTime()));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.mapper.atlasmap.AtlasMapInterpreter;
+import org.qubership.integration.platform.runtime.catalog.model.mapper.mapping.MappingDescription;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class MappingInterpretationCacheTest {
+
+    private static final String DEFAULT_VALUE_CONFIG = "mapper/mapping/config/13_default_value.yml";
+
+    @DisplayName("Equal mapping descriptions are interpreted once")
+    @Test
+    public void interpretedOnceTest() throws JsonProcessingException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MappingInterpretationCache cache = new MappingInterpretationCache(meterRegistry, true, 100, DataSize.ofMegabytes(1));
+        MappingInterpreter interpreter = new AtlasMapInterpreter(MapperTestUtils.OBJECT_MAPPER);
+        MappingDescription mappingDescription =
+                MapperTestUtils.getMappingFromFile(MapperTestUtils.getConfigurationFile(DEFAULT_VALUE_CONFIG));
+        String description = MapperTestUtils.OBJECT_MAPPER.writeValueAsString(mappingDescription);
+        AtomicInteger interpretations = new AtomicInteger();
+
+        String first = null;
+        for (int i = 0; i < 100; i++) {
+            String interpretation = cache.getOrInterpret(description, value -> {
+                interpretations.incrementAndGet();
+                return interpreter.getInterpretation(mappingDescription);
+            });
+            if (first == null) {
+                first = interpretation;
+            }
+            assertThat(interpretation, equalTo(first));
+        }
+
+        assertThat(interpretations.get(), equalTo(1));
+        assertThat(meterRegistry.get("qip.mapper.interpretation.cache").tag("result", "hit").counter().count(), equalTo(99.0));
+    }
+
+    @DisplayName("Cache holds no more entries than the size limit and no more data than the memory limit")
+    @Test
+    public void limitsTest() {
+        MappingInterpretationCache sizeLimited = new MappingInterpretationCache(new SimpleMeterRegistry(), true, 10, DataSize.ofMegabytes(1));
+        MappingInterpretationCache memoryLimited = new MappingInterpretationCache(new SimpleMeterRegistry(), true, 1000, DataSize.ofKilobytes(64));
+        String interpretation = "x".repeat(4096);
+
+        for (int i = 0; i < 100; i++) {
+            String description = "description-" + i;
+            sizeLimited.getOrInterpret(description, value -> value);
+            memoryLimited.getOrInterpret(description, value -> interpretation);
+        }
+
+        assertThat(sizeLimited.size(), lessThanOrEqualTo(10L));
+        // every entry takes about 8KB as UTF-16
+        assertThat(memoryLimited.size(), lessThanOrEqualTo(8L));
+    }
+
+    @DisplayName("Disabled cache interprets every time")
+    @Test
+    public void disabledTest() {
+        MappingInterpretationCache cache = new MappingInterpretationCache(new SimpleMeterRegistry(), false, 100, DataSize.ofMegabytes(1));
+        AtomicInteger interpretations = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            cache.getOrInterpret("description", value -> String.valueOf(interpretations.incrementAndGet()));
+        }
+
+        assertThat(interpretations.get(), equalTo(5));
+        assertThat(cache.size(), equalTo(0L));
+    }
+}
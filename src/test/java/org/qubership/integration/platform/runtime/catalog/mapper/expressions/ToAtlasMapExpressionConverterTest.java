@@ -18,7 +18,14 @@
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ToAtlasMapExpressionConverterTest {
     private static final ToAtlasMapExpressionConverter CONVERTER = new ToAtlasMapExpressionConverter();
@@ -38,4 +45,60 @@ public void testConvertConstantWithIntegerNumberAsName() {
                 reference -> reference.kind().name() + ":" + String.join("/", reference.path()));
         assertEquals("${CONSTANT:42}", result);
     }
+
+    @Test
+    public void testCachedExpressionResolvesReferencesOnEveryConversion() {
+        ToAtlasMapExpressionConverter converter = new ToAtlasMapExpressionConverter();
+        String expression = "concat(body.a, header.b, body.a)";
+
+        assertEquals("concat(${1:a}, ${1:b}, ${1:a})", converter.convert(expression,
+                reference -> "1:" + String.join("/", reference.path())));
+        assertEquals("concat(${2:a}, ${2:b}, ${2:a})", converter.convert(expression,
+                reference -> "2:" + String.join("/", reference.path())));
+    }
+
+    @Test
+    public void testCachedConversionEqualsUncachedOne() {
+        ToAtlasMapExpressionConverter converter = new ToAtlasMapExpressionConverter(1);
+        List<String> expressions = List.of(
+                "foo() || bar(body.property.header, constant.hello\\ world)",
+                "if(body.a > 1, header.b, property.c.d)",
+                "constant.42",
+                "body.a + body.b * (body.c - 1)");
+        for (String expression : expressions) {
+            String expected = new ToAtlasMapExpressionConverter().convert(expression, ToAtlasMapExpressionConverterTest::resolve);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected, converter.convert(expression, ToAtlasMapExpressionConverterTest::resolve));
+            }
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorIsReportedOnEveryConversion() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class,
+                    () -> CONVERTER.convert("foo(body.a,", ToAtlasMapExpressionConverterTest::resolve));
+        }
+    }
+
+    @Test
+    public void testConcurrentConversion() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String expression = "foo(body.field" + (i % 10) + ", header.h)";
+                results.add(executor.submit(() -> CONVERTER.convert(expression, ToAtlasMapExpressionConverterTest::resolve)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("foo(${BODY:field" + (i % 10) + "}, ${HEADER:h})", results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String resolve(FieldReference reference) {
+        return reference.kind().name() + ":" + String.join("/", reference.path());
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.scheduler;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.consul.ConsulService;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.service.RuntimeDeploymentService;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentsUpdateNotifier;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.HttpTriggerRouteIndex;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeploymentUpdatesNotificationTest {
+
+    private ConsulService consulService;
+    private DeploymentsUpdateNotifier notifier;
+    private TasksScheduler tasksScheduler;
+
+    @BeforeEach
+    public void initialize() {
+        consulService = mock(ConsulService.class);
+        notifier = new DeploymentsUpdateNotifier();
+        tasksScheduler = new TasksScheduler(
+                consulService,
+                mock(RuntimeDeploymentService.class),
+                mock(ActionsLogService.class),
+                notifier,
+                mock(HttpTriggerRouteIndex.class));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        notifier.shutdown();
+    }
+
+    @DisplayName("Waiting request is woken up when consul reports deployments change")
+    @Test
+    public void waiterWokenUpOnConsulChangeTest() throws Exception {
+        when(consulService.waitForDeploymentsUpdate()).thenReturn(Pair.of(true, 42L));
+        CompletableFuture<Long> wait = notifier.awaitVersionAfter(0);
+
+        assertThat(wait.isDone(), equalTo(false));
+
+        tasksScheduler.checkDeploymentUpdates();
+
+        assertThat(wait.get(5, TimeUnit.SECONDS), equalTo(42L));
+        assertThat(notifier.getWaitersCount(), equalTo(0));
+    }
+
+    @DisplayName("Waiting request keeps waiting if consul reports no changes")
+    @Test
+    public void waiterKeepsWaitingWithoutChangesTest() {
+        when(consulService.waitForDeploymentsUpdate()).thenReturn(Pair.of(false, 42L));
+        CompletableFuture<Long> wait = notifier.awaitVersionAfter(0);
+
+        tasksScheduler.checkDeploymentUpdates();
+
+        assertThat(wait.isDone(), equalTo(false));
+        assertThat(notifier.getWaitersCount(), equalTo(1));
+    }
+
+    @DisplayName("Request with outdated version doesn't wait")
+    @Test
+    public void outdatedVersionCompletesImmediatelyTest() throws Exception {
+        when(consulService.waitForDeploymentsUpdate()).thenReturn(Pair.of(true, 42L));
+        tasksScheduler.checkDeploymentUpdates();
+
+        assertThat(notifier.awaitVersionAfter(41).get(5, TimeUnit.SECONDS), equalTo(42L));
+        assertThat(notifier.awaitVersionAfter(42).isDone(), equalTo(false));
+    }
+
+    @DisplayName("Cancelled request stops waiting")
+    @Test
+    public void cancelledWaiterRemovedTest() {
+        CompletableFuture<Long> wait = notifier.awaitVersionAfter(0);
+
+        wait.cancel(false);
+
+        assertThat(notifier.getWaitersCount(), equalTo(0));
+    }
+}
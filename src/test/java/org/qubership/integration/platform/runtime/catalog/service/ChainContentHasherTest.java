@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.system.ServiceEnvironment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.MaskedField;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.runtime.catalog.builder.templates.TemplateService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.info.BuildProperties;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChainContentHasherTest {
+
+    private TemplateService templateService;
+    private ChainContentHasher hasher;
+
+    @BeforeEach
+    public void initialize() {
+        templateService = mock(TemplateService.class);
+        when(templateService.getFingerprint()).thenReturn("templates-1");
+        hasher = createHasher(null);
+    }
+
+    @DisplayName("Hash doesn't depend on the order of elements and properties")
+    @Test
+    public void orderIndependentTest() {
+        Chain first = createChain(List.of("a", "b", "c"), false);
+        Chain second = createChain(List.of("c", "a", "b"), true);
+
+        assertThat(hasher.hash(first, List.of()), equalTo(hasher.hash(second, List.of())));
+    }
+
+    @DisplayName("Changed property, dependency or masked field changes the hash")
+    @Test
+    public void contentChangeTest() {
+        String original = hasher.hash(createChain(List.of("a", "b", "c"), false), List.of());
+
+        Chain changedProperty = createChain(List.of("a", "b", "c"), false);
+        changedProperty.getElements().get(0).getProperties().put("uri", "http://localhost/changed");
+        assertThat(hasher.hash(changedProperty, List.of()), not(equalTo(original)));
+
+        Chain changedDependency = createChain(List.of("a", "b", "c"), false);
+        connect(changedDependency.getElements().get(0), changedDependency.getElements().get(2));
+        assertThat(hasher.hash(changedDependency, List.of()), not(equalTo(original)));
+
+        Chain changedMaskedField = createChain(List.of("a", "b", "c"), false);
+        changedMaskedField.getMaskedFields().add(MaskedField.builder()
+                .id("masked-field-1")
+                .name("password")
+                .chain(changedMaskedField)
+                .build());
+        assertThat(hasher.hash(changedMaskedField, List.of()), not(equalTo(original)));
+    }
+
+    @DisplayName("Changed environment of a used system changes the hash")
+    @Test
+    public void environmentChangeTest() {
+        Chain chain = createChain(List.of("a", "b"), false);
+
+        String first = hasher.hash(chain, List.of(createEnvironment("system-1", "http://host-1")));
+        String second = hasher.hash(chain, List.of(createEnvironment("system-1", "http://host-2")));
+
+        assertThat(first, not(equalTo(second)));
+    }
+
+    @DisplayName("Changed templates or build change the hash")
+    @Test
+    public void renderingChangeTest() {
+        Chain chain = createChain(List.of("a", "b"), false);
+        String original = hasher.hash(chain, List.of());
+
+        when(templateService.getFingerprint()).thenReturn("templates-2");
+        String changedTemplates = hasher.hash(chain, List.of());
+        assertThat(changedTemplates, not(equalTo(original)));
+
+        Properties build = new Properties();
+        build.put("version", "1.0.0");
+        build.put("time", "2026-01-01T00:00:00Z");
+        assertThat(createHasher(new BuildProperties(build)).hash(chain, List.of()), not(equalTo(changedTemplates)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChainContentHasher createHasher(BuildProperties buildProperties) {
+        ObjectProvider<BuildProperties> buildPropertiesProvider = mock(ObjectProvider.class);
+        when(buildPropertiesProvider.getIfAvailable()).thenReturn(buildProperties);
+        return new ChainContentHasher(new ObjectMapper(), templateService, buildPropertiesProvider);
+    }
+
+    private static Chain createChain(List<String> elementIds, boolean reverseProperties) {
+        Chain chain = Chain.builder().build();
+        chain.setId("chain-1");
+        chain.setMaskedFields(new HashSet<>());
+
+        Map<String, ChainElement> elements = new HashMap<>();
+        for (String id : elementIds) {
+            ChainElement element = new ChainElement();
+            element.setId(id);
+            element.setType("http-sender");
+            element.setName("Element " + id);
+            Map<String, Object> properties = new LinkedHashMap<>();
+            List<String> keys = new ArrayList<>(List.of("uri", "method", "timeout"));
+            if (reverseProperties) {
+                Collections.reverse(keys);
+            }
+            keys.forEach(key -> properties.put(key, key + "-" + id));
+            element.setProperties(properties);
+            chain.addElement(element);
+            elements.put(id, element);
+        }
+        connect(elements.get("a"), elements.get("b"));
+        return chain;
+    }
+
+    private static void connect(ChainElement from, ChainElement to) {
+        Dependency dependency = Dependency.of(from, to);
+        from.addOutputDependency(dependency);
+        to.addInputDependency(dependency);
+    }
+
+    private static ServiceEnvironment createEnvironment(String systemId, String address) {
+        ServiceEnvironment environment = new ServiceEnvironment();
+        environment.setSystemId(systemId);
+        environment.setAddress(address);
+        return environment;
+    }
+}
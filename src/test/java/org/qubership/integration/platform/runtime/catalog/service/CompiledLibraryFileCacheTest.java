@@ -0,0 +1,253 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.integration.platform.runtime.catalog.service.CompiledLibraryFileCache.CompiledLibraryFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompiledLibraryFileCacheTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @TempDir
+    Path cacheDirectory;
+
+    // <model id, library id>
+    private Map<String, String> models;
+    // <library id, content>
+    private Map<String, byte[]> libraries;
+    private Map<String, String> modifiedWhen;
+    private AtomicInteger chunkReads;
+    private SimpleMeterRegistry meterRegistry;
+    private EntityManager entityManager;
+    private CompiledLibraryFileCache cache;
+
+    @BeforeEach
+    public void initialize() {
+        models = new HashMap<>();
+        libraries = new HashMap<>();
+        modifiedWhen = new HashMap<>();
+        chunkReads = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+
+        entityManager = mock(EntityManager.class);
+        when(entityManager.createNativeQuery(contains("octet_length"))).thenAnswer(invocation -> versionQuery());
+        when(entityManager.createNativeQuery(contains("substring"))).thenAnswer(invocation -> chunkQuery());
+
+        cache = new CompiledLibraryFileCache(entityManager, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, cacheDirectory.toString(), DataSize.ofMegabytes(1), DataSize.ofBytes(CHUNK_SIZE));
+    }
+
+    @DisplayName("Library is copied by chunks once and named by the hash of its content")
+    @Test
+    public void copyOnceTest() throws Exception {
+        byte[] content = randomContent(4321, 1);
+        addLibrary("model-1", "library-1", content, "2024-01-01 00:00:00");
+
+        CompiledLibraryFile first = cache.getLibraryFile("model-1").orElseThrow();
+        CompiledLibraryFile second = cache.getLibraryFile("model-1").orElseThrow();
+
+        assertThat(first.hash(), equalTo(sha256(content)));
+        assertThat(first.path(), equalTo(cacheDirectory.resolve("jars").resolve(sha256(content) + ".jar")));
+        assertThat(Files.readAllBytes(first.path()), equalTo(content));
+        assertThat(second, equalTo(first));
+        assertThat(chunkReads.get(), equalTo(5));
+        assertThat(meterRegistry.counter("qip.compiled-libraries.cache", "result", "hit").count(), equalTo(1.0));
+        assertThat(meterRegistry.counter("qip.compiled-libraries.cache", "result", "miss").count(), equalTo(1.0));
+    }
+
+    @DisplayName("Recompiled library gets a new file, unchanged content shares the file")
+    @Test
+    public void libraryVersionTest() throws Exception {
+        byte[] content = randomContent(2500, 2);
+        addLibrary("model-1", "library-1", content, "2024-01-01 00:00:00");
+        addLibrary("model-2", "library-2", content, "2024-01-01 00:00:00");
+
+        CompiledLibraryFile original = cache.getLibraryFile("model-1").orElseThrow();
+        assertThat(cache.getLibraryFile("model-2").orElseThrow().path(), equalTo(original.path()));
+
+        byte[] recompiled = randomContent(2500, 3);
+        addLibrary("model-1", "library-1", recompiled, "2024-01-02 00:00:00");
+        CompiledLibraryFile changed = cache.getLibraryFile("model-1").orElseThrow();
+
+        assertThat(changed.hash(), equalTo(sha256(recompiled)));
+        assertThat(Files.readAllBytes(changed.path()), equalTo(recompiled));
+        assertThat(Files.exists(original.path()), equalTo(true));
+    }
+
+    @DisplayName("Library larger than the cache is not cached, its file is deleted when the last lease is released")
+    @Test
+    public void largerThanCacheTest() {
+        // every library is heavier than the cache
+        CompiledLibraryFileCache smallCache = new CompiledLibraryFileCache(entityManager,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, cacheDirectory.toString(), DataSize.ofBytes(1), DataSize.ofBytes(CHUNK_SIZE));
+        addLibrary("model-1", "library-1", randomContent(2500, 5), "2024-01-01 00:00:00");
+
+        CompiledLibraryFile first = smallCache.getLibraryFile("model-1").orElseThrow();
+        CompiledLibraryFile second = smallCache.getLibraryFile("model-1").orElseThrow();
+        assertThat(smallCache.size(), equalTo(0L));
+
+        smallCache.release(first);
+        assertThat(Files.exists(second.path()), equalTo(true));
+        smallCache.release(second);
+        assertThat(Files.exists(second.path()), equalTo(false));
+    }
+
+    @DisplayName("Library larger than a quarter of the cache is cached and evicts others only")
+    @Test
+    public void largeLibraryTest() throws Exception {
+        CompiledLibraryFileCache smallCache = new CompiledLibraryFileCache(entityManager,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, cacheDirectory.toString(), DataSize.ofBytes(10000), DataSize.ofBytes(CHUNK_SIZE));
+        addLibrary("model-1", "library-1", randomContent(6000, 6), "2024-01-01 00:00:00");
+        addLibrary("model-2", "library-2", randomContent(7000, 7), "2024-01-01 00:00:00");
+
+        CompiledLibraryFile first = smallCache.getLibraryFile("model-1").orElseThrow();
+        assertThat(smallCache.size(), equalTo(1L));
+        smallCache.release(first);
+        assertThat(Files.exists(first.path()), equalTo(true));
+
+        CompiledLibraryFile leased = smallCache.getLibraryFile("model-1").orElseThrow();
+        assertThat(chunkReads.get(), equalTo(6));
+
+        CompiledLibraryFile second = smallCache.getLibraryFile("model-2").orElseThrow();
+        assertThat(smallCache.size(), equalTo(1L));
+        assertThat(Files.readAllBytes(second.path()), equalTo(libraries.get("library-2")));
+        smallCache.release(second);
+        assertThat(Files.exists(second.path()), equalTo(true));
+
+        // evicted by the second library, kept until released
+        assertThat(Files.exists(leased.path()), equalTo(true));
+        smallCache.release(leased);
+        assertThat(Files.exists(leased.path()), equalTo(false));
+    }
+
+    @DisplayName("Only files of the cache subdirectory are removed on start")
+    @Test
+    public void cacheSubdirectoryTest() throws Exception {
+        Path unrelated = Files.writeString(cacheDirectory.resolve("unrelated.jar"), "content");
+        Path leftover = Files.writeString(cacheDirectory.resolve("jars").resolve("leftover.jar"), "content");
+
+        new CompiledLibraryFileCache(entityManager, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, cacheDirectory.toString(), DataSize.ofMegabytes(1), DataSize.ofBytes(CHUNK_SIZE));
+
+        assertThat(Files.exists(unrelated), equalTo(true));
+        assertThat(Files.exists(leftover), equalTo(false));
+    }
+
+    @DisplayName("Bytes read from the resource are counted as downloaded")
+    @Test
+    public void downloadedBytesTest() throws Exception {
+        addLibrary("model-1", "library-1", randomContent(3000, 4), "2024-01-01 00:00:00");
+        CompiledLibraryFile file = cache.getLibraryFile("model-1").orElseThrow();
+
+        try (InputStream in = cache.toResource(file).getInputStream()) {
+            in.skipNBytes(1000);
+            in.readNBytes(500);
+        }
+
+        assertThat(meterRegistry.counter("qip.compiled-libraries.download.bytes").count(), equalTo(500.0));
+    }
+
+    @DisplayName("Specification without a library has no file, unknown specification is an error")
+    @Test
+    public void missingLibraryTest() {
+        models.put("model-1", null);
+
+        assertThat(cache.getLibraryFile("model-1").isPresent(), equalTo(false));
+        assertThrows(EntityNotFoundException.class, () -> cache.getLibraryFile("model-2"));
+    }
+
+    private void addLibrary(String modelId, String libraryId, byte[] content, String modified) {
+        models.put(modelId, libraryId);
+        libraries.put(libraryId, content);
+        modifiedWhen.put(libraryId, modified);
+    }
+
+    private Query versionQuery() {
+        Query query = mock(Query.class);
+        Map<String, Object> parameters = new HashMap<>();
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+            return query;
+        });
+        when(query.getResultList()).thenAnswer(invocation -> {
+            String modelId = (String) parameters.get("modelId");
+            if (!models.containsKey(modelId)) {
+                return Collections.emptyList();
+            }
+            String libraryId = models.get(modelId);
+            Object[] row = libraryId == null
+                    ? new Object[] {null, null, null, null}
+                    : new Object[] {libraryId, libraryId + ".jar", modifiedWhen.get(libraryId), libraries.get(libraryId).length};
+            return Collections.singletonList(row);
+        });
+        return query;
+    }
+
+    private Query chunkQuery() {
+        Query query = mock(Query.class);
+        Map<String, Object> parameters = new HashMap<>();
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+            return query;
+        });
+        when(query.getSingleResult()).thenAnswer(invocation -> {
+            chunkReads.incrementAndGet();
+            byte[] content = libraries.get((String) parameters.get("id"));
+            int from = (Integer) parameters.get("from") - 1;
+            int to = Math.min(from + (Integer) parameters.get("length"), content.length);
+            return Arrays.copyOfRange(content, from, to);
+        });
+        return query;
+    }
+
+    private static byte[] randomContent(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.User;
+import org.qubership.integration.platform.runtime.catalog.events.EngineStateUpdateEvent;
+import org.qubership.integration.platform.runtime.catalog.events.EngineStatesUpdateEvent;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.Event;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentMapper;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.EngineMapper;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.mockito.Mockito.*;
+
+public class EventServiceTest {
+
+    private static final int BUFFER_SIZE = 8;
+    private static final String USER_ID = "user-1";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditorAware<User> auditor;
+    private EventService eventService;
+    private List<RecordedStream> streams;
+    private MockedConstruction<SseEmitter> emitters;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void initialize() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditor = mock(AuditorAware.class);
+        when(auditor.getCurrentAuditor()).thenReturn(Optional.empty());
+        eventService = new EventService(mock(DeploymentService.class), mock(EngineService.class),
+                mock(DeploymentMapper.class), mock(EngineMapper.class), auditor, meterRegistry,
+                BUFFER_SIZE, Duration.ofMinutes(1), Duration.ofMillis(50));
+
+        // emitters are not attached to a response, so the sent events and the registered callbacks are recorded
+        streams = new CopyOnWriteArrayList<>();
+        emitters = mockConstruction(SseEmitter.class, (emitter, context) -> {
+            RecordedStream stream = new RecordedStream();
+            doAnswer(invocation -> {
+                stream.record(invocation.getArgument(0));
+                return null;
+            }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+            doAnswer(invocation -> {
+                stream.onCompletion = invocation.getArgument(0);
+                return null;
+            }).when(emitter).onCompletion(any());
+            doAnswer(invocation -> {
+                stream.onTimeout = invocation.getArgument(0);
+                return null;
+            }).when(emitter).onTimeout(any());
+            streams.add(stream);
+        });
+    }
+
+    @AfterEach
+    public void shutdown() {
+        eventService.shutdown();
+        emitters.close();
+    }
+
+    @DisplayName("Stream resumes right after the client cursor, a new stream gets only new events")
+    @Test
+    public void resumeFromCursorTest() throws Exception {
+        publish(null, null, null, null, null);
+
+        RecordedStream resumed = subscribe(2L);
+        RecordedStream fresh = subscribe(null);
+        publish(null, null);
+
+        assertThat(resumed.take(5), equalTo(List.of(3L, 4L, 5L, 6L, 7L)));
+        assertThat(fresh.take(2), equalTo(List.of(6L, 7L)));
+        assertThat(resumed.poll(), nullValue());
+        assertThat(fresh.poll(), nullValue());
+    }
+
+    @DisplayName("Only events of the subscribed user and events without user are streamed")
+    @Test
+    public void userFilterTest() throws Exception {
+        when(auditor.getCurrentAuditor()).thenReturn(Optional.of(User.builder().id(USER_ID).username(USER_ID).build()));
+        RecordedStream stream = subscribe(null);
+
+        publish(USER_ID, "user-2", null, "user-2", USER_ID);
+
+        assertThat(stream.take(3), equalTo(List.of(1L, 3L, 5L)));
+        assertThat(stream.poll(), nullValue());
+    }
+
+    @DisplayName("Events overwritten before the subscriber read them are skipped and counted as dropped")
+    @Test
+    public void overflowTest() throws Exception {
+        publish(new String[BUFFER_SIZE + 4]);
+
+        RecordedStream stream = subscribe(0L);
+
+        assertThat(stream.take(BUFFER_SIZE), equalTo(List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L)));
+        assertThat(stream.poll(), nullValue());
+        assertThat(meterRegistry.get("qip.events.dropped").counter().count(), equalTo(4.0));
+        assertThat(meterRegistry.get("qip.events.sequence").gauge().value(), equalTo(12.0));
+    }
+
+    @DisplayName("Heartbeat is sent to an idle stream")
+    @Test
+    public void heartbeatTest() throws Exception {
+        RecordedStream stream = subscribe(null);
+
+        Thread.sleep(300);
+
+        assertThat(stream.heartbeats.get(), greaterThan(0));
+        assertThat(stream.poll(), nullValue());
+    }
+
+    @DisplayName("Subscriber is removed when the stream is completed")
+    @Test
+    public void completionTest() throws Exception {
+        RecordedStream stream = subscribe(null);
+        RecordedStream other = subscribe(null);
+        assertThat(subscribersCount(), equalTo(2.0));
+
+        stream.onCompletion.run();
+
+        assertThat(subscribersCount(), equalTo(1.0));
+        assertNoEventsAfterClose(stream, other);
+    }
+
+    @DisplayName("Subscriber is removed when the stream times out")
+    @Test
+    public void timeoutTest() throws Exception {
+        RecordedStream stream = subscribe(null);
+        RecordedStream other = subscribe(null);
+
+        stream.onTimeout.run();
+
+        assertThat(subscribersCount(), equalTo(1.0));
+        assertNoEventsAfterClose(stream, other);
+    }
+
+    @DisplayName("Subscriber is removed when sending to the stream fails")
+    @Test
+    public void sendFailureTest() throws Exception {
+        RecordedStream stream = subscribe(null);
+        stream.failSends = true;
+
+        publish((String) null);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscribersCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(subscribersCount(), equalTo(0.0));
+    }
+
+    private void assertNoEventsAfterClose(RecordedStream closed, RecordedStream other) throws Exception {
+        // lets the closed stream thread finish
+        Thread.sleep(100);
+
+        publish((String) null);
+
+        assertThat(other.take(1), equalTo(List.of(1L)));
+        assertThat(closed.poll(), nullValue());
+    }
+
+    private RecordedStream subscribe(Long lastSequence) {
+        eventService.subscribe(lastSequence);
+        return streams.get(streams.size() - 1);
+    }
+
+    private void publish(String... userIds) {
+        List<EngineStateUpdateEvent> updates = new ArrayList<>();
+        for (String userId : userIds) {
+            updates.add(new EngineStateUpdateEvent(this, null, null, null, userId, null));
+        }
+        eventService.onEngineStatesUpdate(new EngineStatesUpdateEvent(this, updates));
+    }
+
+    private double subscribersCount() {
+        return meterRegistry.get("qip.events.subscribers").gauge().value();
+    }
+
+    private static class RecordedStream {
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        private final AtomicInteger heartbeats = new AtomicInteger();
+        private volatile boolean failSends;
+        private volatile Runnable onCompletion;
+        private volatile Runnable onTimeout;
+
+        private void record(SseEmitter.SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof Event event) {
+                    events.add(event);
+                } else if (item.getData() instanceof String text && text.contains("heartbeat")) {
+                    heartbeats.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Sequences of the next {@code count} streamed events
+         */
+        private List<Long> take(int count) throws InterruptedException {
+            List<Long> sequences = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Event event = events.poll(5, TimeUnit.SECONDS);
+                if (event == null) {
+                    break;
+                }
+                sequences.add(event.getSequence());
+            }
+            return sequences;
+        }
+
+        private Event poll() throws InterruptedException {
+            return events.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.engine.LiveExchangeDTO;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.engine.LiveExchangeExtDTO;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LiveExchangesServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration ENGINE_TIMEOUT = Duration.ofMillis(500);
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private RuntimeDeploymentService runtimeDeploymentService;
+    private LiveExchangesService liveExchangesService;
+
+    @BeforeEach
+    public void initialize() {
+        runtimeDeploymentService = mock(RuntimeDeploymentService.class);
+        // engine hosts are ports of the stub servers
+        liveExchangesService = new LiveExchangesService(runtimeDeploymentService, new RestTemplate(),
+                mock(ActionsLogService.class), mock(DeploymentService.class), mock(ChainService.class),
+                "http://127.0.0.1:%s", ENGINE_TIMEOUT);
+    }
+
+    @AfterEach
+    public void stopServers() {
+        servers.forEach(server -> server.stop(0));
+        liveExchangesService.shutdown();
+    }
+
+    @DisplayName("Slow and failing engines are reported while exchanges of the others are merged into global top")
+    @Test
+    public void slowAndFailingEnginesTest() throws Exception {
+        String first = startEngine(exchangesHandler(LongStream.of(900, 500, 100)));
+        String second = startEngine(exchangesHandler(LongStream.of(1000, 700, 600, 50)));
+        String slow = startEngine(exchange -> {
+            sleep(ENGINE_TIMEOUT.multipliedBy(10));
+            exchangesHandler(LongStream.of(5000)).handle(exchange);
+        });
+        String failing = startEngine(exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        when(runtimeDeploymentService.getEngineHosts()).thenReturn(Map.of(
+                "default", List.of(first, slow),
+                "domain", List.of(second, failing)));
+
+        long started = System.nanoTime();
+        LiveExchangesService.TopLiveExchanges result = liveExchangesService.getTopLongLiveExchanges(4);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(result.exchanges().stream().map(LiveExchangeDTO::getDuration).toList(),
+                equalTo(List.of(1000L, 900L, 700L, 600L)));
+        assertThat(result.exchanges().stream().map(LiveExchangeExtDTO::getPodIp).toList(),
+                equalTo(List.of(second, first, second, second)));
+        assertThat(result.failedEngines(), containsInAnyOrder(slow, failing));
+        assertThat(elapsedMillis, lessThan(ENGINE_TIMEOUT.multipliedBy(4).toMillis()));
+    }
+
+    @DisplayName("Merge keeps global top of unsorted engine results")
+    @Test
+    public void mergeTopTest() {
+        Random random = new Random(7);
+        List<List<LiveExchangeExtDTO>> engineExchanges = new ArrayList<>();
+        List<Long> durations = new ArrayList<>();
+        for (int engine = 0; engine < 10; engine++) {
+            List<LiveExchangeExtDTO> exchanges = new ArrayList<>();
+            int count = random.nextInt(30);
+            for (int i = 0; i < count; i++) {
+                long duration = random.nextInt(100_000);
+                durations.add(duration);
+                exchanges.add(new LiveExchangeExtDTO(exchange(duration), "engine-" + engine));
+            }
+            engineExchanges.add(exchanges);
+        }
+        durations.sort(Comparator.reverseOrder());
+
+        List<LiveExchangeExtDTO> result = LiveExchangesService.mergeTop(engineExchanges, 25);
+
+        assertThat(result.stream().map(LiveExchangeDTO::getDuration).toList(), equalTo(durations.subList(0, 25)));
+    }
+
+    private String startEngine(HttpHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/engine/live-exchanges", handler);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        servers.add(server);
+        return String.valueOf(server.getAddress().getPort());
+    }
+
+    private static HttpHandler exchangesHandler(LongStream durations) {
+        List<LiveExchangeDTO> exchanges = durations.mapToObj(LiveExchangesServiceTest::exchange).toList();
+        return exchange -> {
+            byte[] body = OBJECT_MAPPER.writeValueAsString(exchanges).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        };
+    }
+
+    private static LiveExchangeDTO exchange(long duration) {
+        LiveExchangeDTO exchange = new LiveExchangeDTO();
+        exchange.setExchangeId(UUID.randomUUID().toString());
+        exchange.setChainId("chain");
+        exchange.setDuration(duration);
+        return exchange;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.qubership.integration.platform.catalog.model.deployment.engine.*;
+import org.qubership.integration.platform.catalog.model.deployment.update.DeploymentInfo;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.runtime.catalog.events.EngineStatesUpdateEvent;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.mapper.DeploymentMapper;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class RuntimeDeploymentServiceTest {
+
+    private static final int BATCH_SIZE = 20;
+
+    private TransactionHandler transactionHandler;
+    private ApplicationEventPublisher eventPublisher;
+    private DeploymentRepository deploymentRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private RuntimeDeploymentService runtimeDeploymentService;
+
+    @BeforeEach
+    public void initialize() {
+        transactionHandler = mock(TransactionHandler.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        deploymentRepository = mock(DeploymentRepository.class);
+        when(deploymentRepository.findOwnersByIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        meterRegistry = new SimpleMeterRegistry();
+        runtimeDeploymentService = new RuntimeDeploymentService(transactionHandler, eventPublisher,
+                deploymentRepository, mock(DeploymentMapper.class), meterRegistry, BATCH_SIZE);
+    }
+
+    @DisplayName("Owners of changed deployments are loaded with one query and events are published in batches")
+    @Test
+    public void stateDeltaBatchTest() {
+        runtimeDeploymentService.provideEnginesStateUpdate(List.of(
+                engineState("10.0.0.1", 30, DeploymentStatus.PROCESSING),
+                engineState("10.0.0.2", 25, DeploymentStatus.PROCESSING)));
+
+        verify(deploymentRepository, times(1)).findOwnersByIdIn(anyCollection());
+        ArgumentCaptor<EngineStatesUpdateEvent> events = ArgumentCaptor.forClass(EngineStatesUpdateEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues().stream().mapToInt(event -> event.getUpdates().size()).sum(), equalTo(55));
+        assertThat(events.getAllValues().stream().allMatch(event -> event.getUpdates().size() <= BATCH_SIZE), equalTo(true));
+        assertThat(meterRegistry.get("qip.engines.state.reconciliation.delta").summary().totalAmount(), equalTo(55.0));
+    }
+
+    @DisplayName("Unchanged engines state neither queries owners nor deletes obsolete deployments again")
+    @Test
+    public void unchangedStateTest() {
+        runtimeDeploymentService.provideEnginesStateUpdate(List.of(engineState("10.0.0.1", 10, DeploymentStatus.DEPLOYED)));
+        int cleanups = mockingDetails(transactionHandler).getInvocations().size();
+        clearInvocations(deploymentRepository, eventPublisher);
+
+        runtimeDeploymentService.provideEnginesStateUpdate(List.of(engineState("10.0.0.1", 10, DeploymentStatus.DEPLOYED)));
+
+        assertThat(cleanups, equalTo(1));
+        assertThat(mockingDetails(transactionHandler).getInvocations().size(), equalTo(1));
+        verify(deploymentRepository, never()).findOwnersByIdIn(anyCollection());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(meterRegistry.get("qip.engines.state.reconciliation").timer().count(), equalTo(2L));
+    }
+
+    @DisplayName("Obsolete deployments are deleted again when deployment statuses change")
+    @Test
+    public void changedStatusCleanupTest() {
+        runtimeDeploymentService.provideEnginesStateUpdate(List.of(engineState("10.0.0.1", 10, DeploymentStatus.PROCESSING)));
+        runtimeDeploymentService.provideEnginesStateUpdate(List.of(engineState("10.0.0.1", 10, DeploymentStatus.DEPLOYED)));
+
+        assertThat(mockingDetails(transactionHandler).getInvocations().size(), equalTo(2));
+    }
+
+    private static EngineState engineState(String host, int deployments, DeploymentStatus status) {
+        EngineInfo engineInfo = mock(EngineInfo.class);
+        when(engineInfo.getHost()).thenReturn(host);
+        when(engineInfo.getDomain()).thenReturn("default");
+
+        Map<String, EngineDeployment> engineDeployments = new HashMap<>();
+        for (int i = 0; i < deployments; i++) {
+            String deploymentId = host + "-deployment-" + i;
+            DeploymentInfo deploymentInfo = mock(DeploymentInfo.class);
+            when(deploymentInfo.getDeploymentId()).thenReturn(deploymentId);
+            when(deploymentInfo.getChainId()).thenReturn("chain-" + i);
+            EngineDeployment engineDeployment = mock(EngineDeployment.class);
+            when(engineDeployment.getDeploymentInfo()).thenReturn(deploymentInfo);
+            when(engineDeployment.getStatus()).thenReturn(status);
+            engineDeployments.put(deploymentId, engineDeployment);
+        }
+
+        EngineState engineState = mock(EngineState.class);
+        when(engineState.getEngine()).thenReturn(engineInfo);
+        when(engineState.getDeployments()).thenReturn(engineDeployments);
+        return engineState;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneProgressDTO;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.snapshot.SnapshotPruneState;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class SnapshotPruneProgressTest {
+
+    @DisplayName("Throughput and time left are calculated from deleted snapshots and elapsed time")
+    @Test
+    public void inProgressTest() {
+        SnapshotPruneProgress progress = new SnapshotPruneProgress(1_000, 10_000);
+        progress.chunkDeleted(1000);
+        progress.chunkDeleted(1000);
+
+        SnapshotPruneProgressDTO dto = progress.toDTO(11_000);
+
+        assertThat(dto.getState(), equalTo(SnapshotPruneState.IN_PROGRESS));
+        assertThat(dto.getDeleted(), equalTo(2000L));
+        assertThat(dto.getThroughput(), equalTo(200.0));
+        assertThat(dto.getEstimatedTimeLeft(), equalTo(40_000L));
+        assertThat(dto.getFinishedWhen(), nullValue());
+    }
+
+    @DisplayName("Finished cleanup has no time left and keeps throughput of the run")
+    @Test
+    public void completedTest() {
+        SnapshotPruneProgress progress = new SnapshotPruneProgress(0, 500);
+        progress.chunkDeleted(500);
+        progress.complete(5_000);
+
+        SnapshotPruneProgressDTO dto = progress.toDTO(60_000);
+
+        assertThat(dto.getState(), equalTo(SnapshotPruneState.COMPLETED));
+        assertThat(dto.getThroughput(), equalTo(100.0));
+        assertThat(dto.getEstimatedTimeLeft(), nullValue());
+        assertThat(dto.getFinishedWhen().getTime(), equalTo(5_000L));
+    }
+
+    @DisplayName("Failed cleanup keeps the error message")
+    @Test
+    public void failedTest() {
+        SnapshotPruneProgress progress = new SnapshotPruneProgress(0, 500);
+        progress.fail(1_000, "connection lost");
+
+        SnapshotPruneProgressDTO dto = progress.toDTO(2_000);
+
+        assertThat(dto.getState(), equalTo(SnapshotPruneState.FAILED));
+        assertThat(dto.getMessage(), equalTo("connection lost"));
+        assertThat(dto.getThroughput(), equalTo(0.0));
+    }
+}
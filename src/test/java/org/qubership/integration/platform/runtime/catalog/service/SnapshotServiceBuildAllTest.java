@@ -0,0 +1,233 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import com.zaxxer.hikari.HikariConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.exception.SnapshotCreationException;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.SnapshotLabelsRepository;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
+import org.qubership.integration.platform.runtime.catalog.configuration.datasource.properties.HikariConfigProperties;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotContentHashRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotRepository;
+import org.qubership.integration.platform.runtime.catalog.service.verification.ElementPropertiesVerificationService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SnapshotServiceBuildAllTest {
+
+    // 2 connections are reserved, so the limit is 3
+    private static final int POOL_SIZE = 5;
+    private static final int CHAINS_COUNT = 12;
+
+    private SnapshotService self;
+    private ExecutorService executor;
+    private SnapshotService snapshotService;
+    private List<String> chainIds;
+    private AtomicInteger running;
+    private AtomicInteger maxRunning;
+
+    @BeforeEach
+    public void initialize() {
+        self = mock(SnapshotService.class);
+        executor = Executors.newFixedThreadPool(CHAINS_COUNT);
+        HikariConfigProperties hikariConfigProperties = mock(HikariConfigProperties.class);
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setMaximumPoolSize(POOL_SIZE);
+        when(hikariConfigProperties.getDatasource(anyString())).thenReturn(hikariConfig);
+        snapshotService = new SnapshotService(mock(SnapshotRepository.class), mock(ElementRepository.class),
+                mock(ElementService.class), mock(XmlBuilder.class), mock(ChainService.class),
+                mock(DeploymentService.class), self, mock(ActionsLogService.class),
+                mock(ElementPropertiesVerificationService.class), mock(MaskedFieldsService.class),
+                mock(TransactionHandler.class), mock(SnapshotLabelsRepository.class), executor,
+                hikariConfigProperties, mock(EntityManager.class), mock(ChainContentHasher.class),
+                mock(SnapshotContentHashRepository.class));
+
+        chainIds = new ArrayList<>();
+        for (int i = 0; i < CHAINS_COUNT; i++) {
+            chainIds.add("chain-" + i);
+        }
+        running = new AtomicInteger();
+        maxRunning = new AtomicInteger();
+        when(self.build(anyString())).thenAnswer(invocation -> {
+            String chainId = invocation.getArgument(0);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                running.decrementAndGet();
+            }
+            if (chainId.endsWith("3") || chainId.endsWith("7")) {
+                throw new SnapshotCreationException("Invalid chain " + chainId);
+            }
+            return createSnapshot(chainId);
+        });
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Concurrent builds are capped by the connection pool size")
+    @Test
+    public void poolSizeLimitTest() {
+        snapshotService.buildAll(chainIds, CHAINS_COUNT, (chainId, error) -> {}, (chainId, duration) -> {});
+
+        assertThat(maxRunning.get(), lessThanOrEqualTo(POOL_SIZE - 2));
+        assertThat(maxRunning.get(), greaterThan(1));
+    }
+
+    @DisplayName("Concurrent builds are capped by the configured max parallelism")
+    @Test
+    public void maxParallelismLimitTest() {
+        ReflectionTestUtils.setField(snapshotService, "maxBuildParallelism", 2);
+
+        snapshotService.buildAll(chainIds, CHAINS_COUNT, (chainId, error) -> {}, (chainId, duration) -> {});
+
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+    }
+
+    @DisplayName("Parallel build reports the same results, errors and durations as the sequential one")
+    @Test
+    public void sameAsSequentialTest() {
+        BuildReport sequential = buildAll(1);
+        BuildReport parallel = buildAll(CHAINS_COUNT);
+
+        assertThat(maxRunning.get(), greaterThan(1));
+        assertThat(parallel.snapshotIds(), equalTo(sequential.snapshotIds()));
+        assertThat(parallel.errors(), equalTo(sequential.errors()));
+        assertThat(parallel.errors().keySet(), equalTo(Set.of("chain-3", "chain-7")));
+        assertThat(parallel.durations().keySet(), equalTo(new HashSet<>(chainIds)));
+        assertThat(parallel.events(), equalTo(sequential.events()));
+        assertThat(parallel.callerThreadOnly(), equalTo(true));
+    }
+
+    @DisplayName("Errors escaping the build are reported as chain errors")
+    @Test
+    public void executionExceptionTest() {
+        doThrow(new NoClassDefFoundError("missing class")).when(self).build("chain-5");
+        Map<String, String> errors = new HashMap<>();
+
+        Map<String, Snapshot> result = snapshotService.buildAll(chainIds, CHAINS_COUNT, errors::put, (chainId, duration) -> {});
+
+        assertThat(errors.get("chain-5"), equalTo("missing class"));
+        assertThat(result.containsKey("chain-5"), equalTo(false));
+        assertThat(result.size(), equalTo(CHAINS_COUNT - 3));
+    }
+
+    @DisplayName("Pending builds are cancelled when the caller is interrupted")
+    @Test
+    public void interruptTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+            return null;
+        }).when(self).build(anyString());
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                snapshotService.buildAll(chainIds, CHAINS_COUNT, (chainId, error) -> {}, (chainId, duration) -> {});
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        caller.start();
+        assertThat(started.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        caller.interrupt();
+        caller.join(5000);
+
+        assertThat(caller.isAlive(), equalTo(false));
+        assertThat(thrown.get(), instanceOf(SnapshotCreationException.class));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), equalTo(true));
+        assertThat(interrupted.get(), greaterThan(0));
+    }
+
+    private BuildReport buildAll(int parallelism) {
+        Thread caller = Thread.currentThread();
+        Map<String, String> errors = new HashMap<>();
+        Map<String, Long> durations = new HashMap<>();
+        List<String> events = new ArrayList<>();
+        AtomicInteger foreignThreadCalls = new AtomicInteger();
+        Map<String, Snapshot> result = snapshotService.buildAll(chainIds, parallelism,
+                (chainId, error) -> {
+                    if (Thread.currentThread() != caller) {
+                        foreignThreadCalls.incrementAndGet();
+                    }
+                    errors.put(chainId, error);
+                    events.add("error:" + chainId);
+                },
+                (chainId, duration) -> {
+                    if (Thread.currentThread() != caller) {
+                        foreignThreadCalls.incrementAndGet();
+                    }
+                    durations.put(chainId, duration);
+                    events.add("duration:" + chainId);
+                });
+        Map<String, String> snapshotIds = new HashMap<>();
+        result.forEach((chainId, snapshot) -> snapshotIds.put(chainId, snapshot.getId()));
+        return new BuildReport(snapshotIds, errors, durations, events, foreignThreadCalls.get() == 0);
+    }
+
+    private static Snapshot createSnapshot(String chainId) {
+        Snapshot snapshot = Snapshot.builder()
+                .name(chainId)
+                .build();
+        snapshot.setId("snapshot-" + chainId);
+        return snapshot;
+    }
+
+    private record BuildReport(
+            Map<String, String> snapshotIds,
+            Map<String, String> errors,
+            Map<String, Long> durations,
+            List<String> events,
+            boolean callerThreadOnly
+    ) {
+    }
+}
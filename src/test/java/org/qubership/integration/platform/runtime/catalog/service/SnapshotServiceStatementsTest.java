@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.MaskedField;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ContainerChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.SwimlaneChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.SnapshotLabelsRepository;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
+import org.qubership.integration.platform.runtime.catalog.configuration.datasource.properties.HikariConfigProperties;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotContentHashRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotRepository;
+import org.qubership.integration.platform.runtime.catalog.service.verification.ElementPropertiesVerificationService;
+import org.qubership.integration.platform.runtime.catalog.testutils.DatabaseTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SnapshotServiceStatementsTest extends DatabaseTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private SnapshotRepository snapshotRepository;
+
+    @Autowired
+    private SnapshotContentHashRepository snapshotContentHashRepository;
+
+    private ChainService chainService;
+    private SnapshotService snapshotService;
+
+    @BeforeEach
+    public void initialize() {
+        chainService = mock(ChainService.class);
+        ChainContentHasher chainContentHasher = mock(ChainContentHasher.class);
+        when(chainContentHasher.hash(any(), any())).thenReturn("content-hash");
+        snapshotService = new SnapshotService(snapshotRepository, mock(ElementRepository.class),
+                mock(ElementService.class), mock(XmlBuilder.class), chainService, mock(DeploymentService.class), null,
+                mock(ActionsLogService.class), mock(ElementPropertiesVerificationService.class),
+                mock(MaskedFieldsService.class), mock(TransactionHandler.class), mock(SnapshotLabelsRepository.class),
+                mock(ExecutorService.class), mock(HikariConfigProperties.class), entityManager,
+                chainContentHasher, snapshotContentHashRepository);
+    }
+
+    @DisplayName("Number of statements to copy a chain into a snapshot doesn't depend on the chain size")
+    @Test
+    public void statementCountTest() {
+        long small = countSnapshotStatements(createChain(2));
+        long large = countSnapshotStatements(createChain(10));
+
+        assertThat(large, equalTo(small));
+    }
+
+    @DisplayName("Chain content is copied into the snapshot")
+    @Test
+    public void snapshotContentTest() {
+        String chainId = createChain(3);
+
+        String snapshotId = transactionTemplate.execute(status -> buildSnapshot(chainId).getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Snapshot snapshot = entityManager.find(Snapshot.class, snapshotId);
+            Chain chain = entityManager.find(Chain.class, chainId);
+            assertThat(snapshot.getElements().size(), equalTo(chain.getElements().size()));
+            assertThat(snapshot.getMaskedFields().size(), equalTo(chain.getMaskedFields().size()));
+            assertThat(countDependencies(snapshot.getElements()), equalTo(countDependencies(chain.getElements())));
+        });
+    }
+
+    private long countSnapshotStatements(String chainId) {
+        return transactionTemplate.execute(status -> {
+            Chain chain = loadChain(chainId);
+            when(chainService.findById(anyString())).thenReturn(chain);
+            statistics().clear();
+            snapshotService.build(chainId);
+            entityManager.flush();
+            return statistics().getPrepareStatementCount();
+        });
+    }
+
+    private Snapshot buildSnapshot(String chainId) {
+        when(chainService.findById(anyString())).thenReturn(loadChain(chainId));
+        return snapshotService.build(chainId);
+    }
+
+    /**
+     * Loads everything the snapshot copies, so only the snapshot writes are counted
+     */
+    private Chain loadChain(String chainId) {
+        Chain chain = entityManager.find(Chain.class, chainId);
+        chain.getMaskedFields().size();
+        for (ChainElement element : chain.getElements()) {
+            element.getInputDependencies().forEach(dependency -> dependency.getElementFrom().getType());
+            element.getOutputDependencies().forEach(dependency -> dependency.getElementTo().getType());
+            if (element instanceof ContainerChainElement container) {
+                container.getElements().size();
+            }
+        }
+        return chain;
+    }
+
+    private static long countDependencies(List<ChainElement> elements) {
+        return elements.stream()
+                .mapToLong(element -> element.getOutputDependencies().size())
+                .sum();
+    }
+
+    /**
+     * Swimlane with containers, their children and top level elements connected into a sequence,
+     * so element subclasses, dependencies and masked fields are all persisted interleaved
+     */
+    private String createChain(int size) {
+        return transactionTemplate.execute(status -> {
+            Chain chain = Chain.builder().build();
+            chain.setId(UUID.randomUUID().toString());
+            chain.setName("chain-" + size);
+            chain.setMaskedFields(new HashSet<>());
+            entityManager.persist(chain);
+
+            SwimlaneChainElement swimlane = new SwimlaneChainElement();
+            initElement(swimlane, chain, "swimlane");
+            chain.setDefaultSwimlane(swimlane);
+
+            ChainElement previous = null;
+            for (int i = 0; i < size; i++) {
+                ContainerChainElement container = new ContainerChainElement();
+                initElement(container, chain, "condition");
+                swimlane.addElement(container);
+                for (int j = 0; j < 2; j++) {
+                    ChainElement child = new ChainElement();
+                    initElement(child, chain, "script");
+                    container.addChildElement(child);
+                }
+
+                ChainElement element = new ChainElement();
+                initElement(element, chain, "http-sender");
+                swimlane.addElement(element);
+                if (previous != null) {
+                    connect(previous, container);
+                }
+                connect(container, element);
+                previous = element;
+
+                MaskedField maskedField = MaskedField.builder()
+                        .id(UUID.randomUUID().toString())
+                        .name("field-" + i)
+                        .chain(chain)
+                        .build();
+                entityManager.persist(maskedField);
+                chain.getMaskedFields().add(maskedField);
+            }
+            return chain.getId();
+        });
+    }
+
+    private void initElement(ChainElement element, Chain chain, String type) {
+        element.setId(UUID.randomUUID().toString());
+        element.setType(type);
+        element.setName(type);
+        element.setProperties(new HashMap<>());
+        element.setChain(chain);
+        chain.addElement(element);
+        entityManager.persist(element);
+    }
+
+    private void connect(ChainElement from, ChainElement to) {
+        Dependency dependency = Dependency.of(from, to);
+        entityManager.persist(dependency);
+        from.addOutputDependency(dependency);
+        to.addInputDependency(dependency);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.SnapshotLabel;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.ElementRepository;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.chain.SnapshotLabelsRepository;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.builder.XmlBuilder;
+import org.qubership.integration.platform.runtime.catalog.configuration.datasource.properties.HikariConfigProperties;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.SnapshotContentHash;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotContentHashRepository;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.SnapshotRepository;
+import org.qubership.integration.platform.runtime.catalog.service.verification.ElementPropertiesVerificationService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.*;
+
+public class SnapshotServiceTest {
+
+    private static final String CHAIN_ID = "chain-1";
+    private static final String CONTENT_HASH = "content-hash";
+
+    private SnapshotRepository snapshotRepository;
+    private ChainService chainService;
+    private ChainContentHasher chainContentHasher;
+    private SnapshotContentHashRepository snapshotContentHashRepository;
+    private XmlBuilder xmlBuilder;
+    private SnapshotService snapshotService;
+    private Chain chain;
+
+    @BeforeEach
+    public void initialize() throws Exception {
+        snapshotRepository = mock(SnapshotRepository.class);
+        chainService = mock(ChainService.class);
+        chainContentHasher = mock(ChainContentHasher.class);
+        snapshotContentHashRepository = mock(SnapshotContentHashRepository.class);
+        xmlBuilder = mock(XmlBuilder.class);
+        snapshotService = new SnapshotService(snapshotRepository, mock(ElementRepository.class),
+                mock(ElementService.class), xmlBuilder, chainService, mock(DeploymentService.class), null,
+                mock(ActionsLogService.class), mock(ElementPropertiesVerificationService.class),
+                mock(MaskedFieldsService.class), mock(TransactionHandler.class), mock(SnapshotLabelsRepository.class),
+                mock(ExecutorService.class), mock(HikariConfigProperties.class), mock(EntityManager.class),
+                chainContentHasher, snapshotContentHashRepository);
+        ReflectionTestUtils.setField(snapshotService, "reuseUnchangedSnapshots", true);
+
+        chain = Chain.builder().build();
+        chain.setId(CHAIN_ID);
+        chain.setName("Chain");
+        chain.setMaskedFields(new HashSet<>());
+        when(chainService.findById(CHAIN_ID)).thenReturn(chain);
+        when(chainContentHasher.hash(eq(chain), any())).thenReturn(CONTENT_HASH);
+        when(snapshotRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            Snapshot snapshot = invocation.getArgument(0);
+            snapshot.setId(UUID.randomUUID().toString());
+            return snapshot;
+        });
+        when(xmlBuilder.build(any())).thenReturn("<routes/>");
+    }
+
+    @DisplayName("Current snapshot is returned when the chain is unchanged since it was built")
+    @Test
+    public void currentSnapshotReuseTest() {
+        Snapshot current = createSnapshot("current");
+        chain.setCurrentSnapshot(current);
+        when(snapshotContentHashRepository.findById(current.getId())).thenReturn(Optional.of(createHash(current)));
+
+        Snapshot result = snapshotService.build(CHAIN_ID, null);
+
+        assertThat(result, sameInstance(current));
+        verify(snapshotRepository, never()).saveAndFlush(any());
+        verify(xmlBuilder, never()).build(any());
+        verify(snapshotContentHashRepository, never()).findFirstByChainIdAndContentHashOrderByCreatedWhenDesc(anyString(), anyString());
+    }
+
+    @DisplayName("Latest older snapshot with the same content is made current")
+    @Test
+    public void olderSnapshotReuseTest() {
+        Snapshot current = createSnapshot("current");
+        chain.setCurrentSnapshot(current);
+        SnapshotContentHash changedHash = createHash(current);
+        changedHash.setContentHash("changed-content-hash");
+        when(snapshotContentHashRepository.findById(current.getId())).thenReturn(Optional.of(changedHash));
+
+        Snapshot older = createSnapshot("older");
+        when(snapshotContentHashRepository.findFirstByChainIdAndContentHashOrderByCreatedWhenDesc(CHAIN_ID, CONTENT_HASH))
+                .thenReturn(Optional.of(createHash(older)));
+        when(snapshotRepository.findById(older.getId())).thenReturn(Optional.of(older));
+
+        Snapshot result = snapshotService.build(CHAIN_ID, null);
+
+        assertThat(result, sameInstance(older));
+        verify(chainService).setCurrentSnapshot(CHAIN_ID, older);
+        verify(snapshotRepository, never()).saveAndFlush(any());
+        verify(xmlBuilder, never()).build(any());
+    }
+
+    @DisplayName("Requested technical labels are added to the reused snapshot once")
+    @Test
+    public void technicalLabelsMergeTest() {
+        Snapshot current = createSnapshot("current");
+        current.addLabels(List.of(new SnapshotLabel("existing", current, true)));
+        chain.setCurrentSnapshot(current);
+        when(snapshotContentHashRepository.findById(current.getId())).thenReturn(Optional.of(createHash(current)));
+
+        Snapshot result = snapshotService.build(CHAIN_ID, Set.of("existing", "added"));
+
+        List<String> labelNames = result.getLabels().stream()
+                .map(SnapshotLabel::getName)
+                .sorted()
+                .toList();
+        assertThat(labelNames, equalTo(List.of("added", "existing")));
+        assertThat(result.getLabels().stream().allMatch(SnapshotLabel::isTechnical), equalTo(true));
+    }
+
+    @DisplayName("New snapshot is built for an unchanged chain if reuse is disabled")
+    @Test
+    public void reuseDisabledTest() throws Exception {
+        ReflectionTestUtils.setField(snapshotService, "reuseUnchangedSnapshots", false);
+        Snapshot current = createSnapshot("current");
+        chain.setCurrentSnapshot(current);
+        when(snapshotContentHashRepository.findById(current.getId())).thenReturn(Optional.of(createHash(current)));
+
+        Snapshot result = snapshotService.build(CHAIN_ID, null);
+
+        assertThat(result, not(sameInstance(current)));
+        assertThat(result.getXmlDefinition(), equalTo("<routes/>"));
+        verify(snapshotRepository).saveAndFlush(any());
+        verify(snapshotContentHashRepository).save(argThat(hash ->
+                CONTENT_HASH.equals(hash.getContentHash()) && result.getId().equals(hash.getSnapshotId())));
+        verify(chainService).setCurrentSnapshot(CHAIN_ID, result);
+        verify(snapshotContentHashRepository, never()).findById(anyString());
+    }
+
+    private Snapshot createSnapshot(String name) {
+        Snapshot snapshot = Snapshot.builder()
+                .name(name)
+                .chain(chain)
+                .build();
+        snapshot.setId(UUID.randomUUID().toString());
+        return snapshot;
+    }
+
+    private static SnapshotContentHash createHash(Snapshot snapshot) {
+        return SnapshotContentHash.builder()
+                .snapshotId(snapshot.getId())
+                .chainId(CHAIN_ID)
+                .contentHash(CONTENT_HASH)
+                .build();
+    }
+}
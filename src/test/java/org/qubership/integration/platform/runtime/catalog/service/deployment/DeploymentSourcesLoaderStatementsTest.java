@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.constant.CamelOptions;
+import org.qubership.integration.platform.catalog.model.system.IntegrationSystemType;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Dependency;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.MaskedField;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.Environment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.IntegrationSystem;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentSourcesLoader.DeploymentSources;
+import org.qubership.integration.platform.runtime.catalog.testutils.DatabaseTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.qubership.integration.platform.catalog.consul.ConfigurationPropertiesConstants.SERVICE_CALL_ELEMENT;
+
+public class DeploymentSourcesLoaderStatementsTest extends DatabaseTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+
+    private DeploymentSourcesLoader loader;
+
+    @BeforeEach
+    public void initialize() {
+        loader = new DeploymentSourcesLoader(entityManager, deploymentRepository);
+    }
+
+    @DisplayName("Number of statements doesn't depend on number of deployments")
+    @Test
+    public void statementCountTest() {
+        long single = countStatements(createDeployments(1));
+        long multiple = countStatements(createDeployments(10));
+
+        assertThat(multiple, equalTo(single));
+    }
+
+    @DisplayName("Everything read to build deployment updates is loaded")
+    @Test
+    public void sourcesLoadedTest() {
+        List<Deployment> deployments = createDeployments(3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            DeploymentSources sources = loader.load(deployments);
+            assertThat(sources.deployments().size(), equalTo(3));
+            assertThat(sources.systems().size(), equalTo(3));
+            assertThat(sources.sourceVersions().size(), equalTo(6));
+            sources.systems().values().forEach(system ->
+                    assertThat(sources.getActiveEnvironment(system).getId(), equalTo(system.getActiveEnvironmentId())));
+        });
+    }
+
+    private long countStatements(List<Deployment> deployments) {
+        statistics().clear();
+        transactionTemplate.executeWithoutResult(status -> readAll(loader.load(deployments)));
+        return statistics().getPrepareStatementCount();
+    }
+
+    /**
+     * Reads everything {@link DeploymentBuilderService} reads from the sources
+     */
+    private static void readAll(DeploymentSources sources) {
+        sources.deployments().values().forEach(deployment -> deployment.getDeploymentRoutes().size());
+        sources.chains().values().forEach(chain -> chain.getMaskedFields().forEach(MaskedField::getName));
+        sources.snapshots().values().forEach(snapshot -> snapshot.getElements().forEach(element -> {
+            element.getInputDependencies().forEach(dependency -> dependency.getElementFrom().getType());
+            element.getOutputDependencies().forEach(dependency -> dependency.getElementTo().getType());
+        }));
+        sources.systems().values().forEach(system -> sources.getActiveEnvironment(system).getName());
+    }
+
+    private List<Deployment> createDeployments(int count) {
+        return transactionTemplate.execute(status -> {
+            List<Deployment> deployments = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                IntegrationSystem system = new IntegrationSystem();
+                system.setId(UUID.randomUUID().toString());
+                system.setName("system-" + i);
+                entityManager.persist(system);
+
+                Environment environment = new Environment();
+                environment.setId(UUID.randomUUID().toString());
+                environment.setName("environment-" + i);
+                environment.setSystem(system);
+                entityManager.persist(environment);
+                system.setActiveEnvironmentId(environment.getId());
+
+                Chain chain = Chain.builder().build();
+                chain.setId(UUID.randomUUID().toString());
+                chain.setName("chain-" + i);
+                entityManager.persist(chain);
+                entityManager.persist(MaskedField.builder()
+                        .id(UUID.randomUUID().toString())
+                        .name("password")
+                        .chain(chain)
+                        .build());
+
+                Snapshot snapshot = Snapshot.builder()
+                        .name("snapshot-" + i)
+                        .chain(chain)
+                        .build();
+                snapshot.setId(UUID.randomUUID().toString());
+                entityManager.persist(snapshot);
+
+                ChainElement trigger = createElement(snapshot, "http-trigger", new HashMap<>());
+                Map<String, Object> properties = new HashMap<>();
+                properties.put(CamelOptions.SYSTEM_TYPE, IntegrationSystemType.EXTERNAL.name());
+                properties.put(CamelOptions.SYSTEM_ID, system.getId());
+                ChainElement serviceCall = createElement(snapshot, SERVICE_CALL_ELEMENT, properties);
+                Dependency dependency = Dependency.of(trigger, serviceCall);
+                entityManager.persist(dependency);
+                trigger.addOutputDependency(dependency);
+                serviceCall.addInputDependency(dependency);
+
+                Deployment deployment = new Deployment();
+                deployment.setId(UUID.randomUUID().toString());
+                deployment.setDomain("default");
+                deployment.setChain(chain);
+                deployment.setSnapshot(snapshot);
+                entityManager.persist(deployment);
+                deployments.add(deployment);
+            }
+            return deployments;
+        });
+    }
+
+    private ChainElement createElement(Snapshot snapshot, String type, Map<String, Object> properties) {
+        ChainElement element = new ChainElement();
+        element.setId(UUID.randomUUID().toString());
+        element.setType(type);
+        element.setProperties(properties);
+        element.setSnapshot(snapshot);
+        entityManager.persist(element);
+        return element;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.constant.CamelOptions;
+import org.qubership.integration.platform.catalog.model.system.IntegrationSystemType;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Snapshot;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.Environment;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.IntegrationSystem;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.DeploymentRepository;
+import org.qubership.integration.platform.runtime.catalog.service.deployment.DeploymentSourcesLoader.DeploymentSources;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.qubership.integration.platform.catalog.consul.ConfigurationPropertiesConstants.SERVICE_CALL_ELEMENT;
+
+public class DeploymentSourcesLoaderTest {
+
+    // deployments, chains, snapshots, input and output dependencies, systems, environments
+    private static final int QUERY_TYPES_COUNT = 7;
+
+    private EntityManager entityManager;
+    private DeploymentSourcesLoader loader;
+    private List<Deployment> deployments;
+    private List<Chain> chains;
+    private List<Snapshot> snapshots;
+    private List<IntegrationSystem> systems;
+    private List<Environment> environments;
+
+    @BeforeEach
+    public void initialize() {
+        entityManager = mock(EntityManager.class);
+        loader = new DeploymentSourcesLoader(entityManager, mock(DeploymentRepository.class));
+        deployments = new ArrayList<>();
+        chains = new ArrayList<>();
+        snapshots = new ArrayList<>();
+        systems = new ArrayList<>();
+        environments = new ArrayList<>();
+
+        mockQuery(Deployment.class, deployments);
+        mockQuery(Chain.class, chains);
+        mockQuery(Snapshot.class, snapshots);
+        mockQuery(IntegrationSystem.class, systems);
+        mockQuery(Environment.class, environments);
+        mockQuery(ChainElement.class, List.of());
+    }
+
+    @DisplayName("Large number of deployments is loaded in chunks")
+    @Test
+    public void chunkedQueryCountTest() {
+        createDeployments(DeploymentSourcesLoader.CHUNK_SIZE + 1);
+
+        loader.load(deployments);
+
+        verify(entityManager, times(QUERY_TYPES_COUNT * 2)).createQuery(anyString(), any());
+    }
+
+    @DisplayName("Environment of another system is not treated as active")
+    @Test
+    public void activeEnvironmentOfAnotherSystemTest() {
+        createDeployments(2);
+        DeploymentSources sources = loader.load(deployments);
+
+        IntegrationSystem first = systems.get(0);
+        IntegrationSystem second = systems.get(1);
+        second.setActiveEnvironmentId(first.getActiveEnvironmentId());
+
+        assertThat(sources.getActiveEnvironment(first), equalTo(environments.get(0)));
+        assertThat(sources.getActiveEnvironment(second), nullValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void mockQuery(Class<T> entityClass, List<T> result) {
+        TypedQuery<T> query = mock(TypedQuery.class);
+        when(query.setParameter(eq("ids"), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(result);
+        when(entityManager.createQuery(anyString(), eq(entityClass))).thenReturn(query);
+    }
+
+    private void createDeployments(int count) {
+        for (int i = 0; i < count; i++) {
+            IntegrationSystem system = new IntegrationSystem();
+            system.setId(UUID.randomUUID().toString());
+            system.setActiveEnvironmentId(UUID.randomUUID().toString());
+            systems.add(system);
+
+            Environment environment = mock(Environment.class);
+            when(environment.getId()).thenReturn(system.getActiveEnvironmentId());
+            when(environment.getSystem()).thenReturn(system);
+            environments.add(environment);
+
+            ChainElement serviceCall = new ChainElement();
+            serviceCall.setId(UUID.randomUUID().toString());
+            serviceCall.setType(SERVICE_CALL_ELEMENT);
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(CamelOptions.SYSTEM_TYPE, IntegrationSystemType.EXTERNAL.name());
+            properties.put(CamelOptions.SYSTEM_ID, system.getId());
+            serviceCall.setProperties(properties);
+
+            Snapshot snapshot = mock(Snapshot.class);
+            when(snapshot.getId()).thenReturn(UUID.randomUUID().toString());
+            when(snapshot.getElements()).thenReturn(List.of(serviceCall));
+            snapshots.add(snapshot);
+
+            Chain chain = Chain.builder().build();
+            chain.setId(UUID.randomUUID().toString());
+            chains.add(chain);
+
+            Deployment deployment = new Deployment();
+            deployment.setId(UUID.randomUUID().toString());
+            deployment.setChain(chain);
+            deployment.setSnapshot(snapshot);
+            deployments.add(deployment);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Deployment;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentUpdate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeploymentUpdateCacheTest {
+
+    private static final String SYSTEM_ID = "system-id";
+
+    private DeploymentSourcesLoader deploymentSourcesLoader;
+    private DeploymentUpdateCache cache;
+    private Map<String, String> chainVersions;
+    private Map<String, String> systemVersions;
+    private AtomicInteger buildCount;
+    private Function<List<Deployment>, Map<String, DeploymentUpdateCache.BuiltUpdate>> builder;
+
+    @BeforeEach
+    public void initialize() {
+        deploymentSourcesLoader = mock(DeploymentSourcesLoader.class);
+        chainVersions = new HashMap<>();
+        systemVersions = new HashMap<>();
+        when(deploymentSourcesLoader.loadChainVersions(any())).thenAnswer(invocation -> Map.copyOf(chainVersions));
+        when(deploymentSourcesLoader.loadSystemVersions(any())).thenAnswer(invocation -> Map.copyOf(systemVersions));
+        cache = new DeploymentUpdateCache(deploymentSourcesLoader, new SimpleMeterRegistry(),
+                true, 100, Duration.ofHours(1), Duration.ZERO);
+
+        buildCount = new AtomicInteger();
+        builder = deployments -> {
+            Map<String, DeploymentUpdateCache.BuiltUpdate> result = new HashMap<>();
+            for (Deployment deployment : deployments) {
+                buildCount.incrementAndGet();
+                String chainId = deployment.getChain().getId();
+                Map<String, String> sourceVersions = new HashMap<>();
+                sourceVersions.put(chainId, chainVersions.get(chainId));
+                sourceVersions.put(SYSTEM_ID, systemVersions.get(SYSTEM_ID));
+                result.put(deployment.getId(), new DeploymentUpdateCache.BuiltUpdate(new DeploymentUpdate(), sourceVersions));
+            }
+            return result;
+        };
+    }
+
+    @DisplayName("Entries with unchanged source versions are kept")
+    @Test
+    public void unchangedSourcesTest() {
+        Deployment deployment = createDeployment();
+        systemVersions.put(SYSTEM_ID, "1");
+
+        cache.getOrBuild(List.of(deployment), builder);
+        assertThat(cache.evictModifiedSources(), equalTo(false));
+        cache.getOrBuild(List.of(deployment), builder);
+
+        assertThat(buildCount.get(), equalTo(1));
+    }
+
+    @DisplayName("Entries are evicted when a source version changes")
+    @Test
+    public void modifiedSourceTest() {
+        Deployment deployment = createDeployment();
+        systemVersions.put(SYSTEM_ID, "1");
+        cache.getOrBuild(List.of(deployment), builder);
+
+        // e.g. an environment deleted on another pod
+        systemVersions.put(SYSTEM_ID, "2");
+
+        assertThat(cache.evictModifiedSources(), equalTo(true));
+        cache.getOrBuild(List.of(deployment), builder);
+        assertThat(buildCount.get(), equalTo(2));
+    }
+
+    @DisplayName("Entries are evicted when a source is deleted")
+    @Test
+    public void deletedSourceTest() {
+        Deployment deployment = createDeployment();
+        cache.getOrBuild(List.of(deployment), builder);
+
+        chainVersions.remove(deployment.getChain().getId());
+
+        assertThat(cache.evictModifiedSources(), equalTo(true));
+        assertThat(cache.size(), equalTo(0L));
+    }
+
+    @DisplayName("Updates built without caching are not put into the cache")
+    @Test
+    public void buildWithoutCachingTest() {
+        Deployment deployment = createDeployment();
+
+        cache.getOrBuild(List.of(deployment), builder, false);
+        cache.getOrBuild(List.of(deployment), builder, false);
+
+        assertThat(buildCount.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(0L));
+    }
+
+    private Deployment createDeployment() {
+        Chain chain = Chain.builder().build();
+        chain.setId(UUID.randomUUID().toString());
+        chainVersions.put(chain.getId(), "1");
+
+        Deployment deployment = new Deployment();
+        deployment.setId(UUID.randomUUID().toString());
+        deployment.setChain(chain);
+        return deployment;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.deployment.update.DeploymentInfo;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentConfiguration;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentUpdate;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.update.DeploymentsUpdate;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeploymentsUpdateStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("Streamed document is the same as serialized deployments update")
+    @Test
+    public void streamedDocumentTest() throws Exception {
+        DeploymentUpdate update = createUpdate("deployment-1");
+        DeploymentUpdate stop = DeploymentUpdate.builder()
+                .deploymentInfo(DeploymentInfo.builder().deploymentId("deployment-2").build())
+                .build();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DeploymentsUpdateStreamWriter writer = new DeploymentsUpdateStreamWriter(objectMapper, outputStream);
+        writer.writeUpdate(update);
+        writer.writeStop(stop);
+        writer.close();
+
+        DeploymentsUpdate expected = DeploymentsUpdate.builder().update(List.of(update)).stop(List.of(stop)).build();
+        assertThat(objectMapper.readTree(outputStream.toByteArray()),
+                equalTo(objectMapper.valueToTree(expected)));
+    }
+
+    @DisplayName("Empty stream is a valid empty deployments update")
+    @Test
+    public void emptyStreamTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new DeploymentsUpdateStreamWriter(objectMapper, outputStream).close();
+
+        assertThat(objectMapper.readTree(outputStream.toByteArray()),
+                equalTo(objectMapper.valueToTree(DeploymentsUpdate.builder().build())));
+    }
+
+    @DisplayName("Updates can't be written after stops")
+    @Test
+    public void updateAfterStopTest() throws Exception {
+        DeploymentsUpdateStreamWriter writer = new DeploymentsUpdateStreamWriter(objectMapper, new ByteArrayOutputStream());
+        writer.writeStop(createUpdate("deployment-1"));
+
+        assertThrows(IllegalStateException.class, () -> writer.writeUpdate(createUpdate("deployment-2")));
+    }
+
+    private static DeploymentUpdate createUpdate(String deploymentId) {
+        return DeploymentUpdate.builder()
+                .deploymentInfo(DeploymentInfo.builder().deploymentId(deploymentId).chainId("chain").build())
+                .configuration(DeploymentConfiguration.builder().xml("<routes/>").build())
+                .maskedFields(Set.of("password"))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.deployment.engine.*;
+import org.qubership.integration.platform.catalog.model.deployment.update.DeploymentInfo;
+import org.qubership.integration.platform.runtime.catalog.model.deployment.RuntimeDeployment;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EnginesStateSnapshotTest {
+
+    private static final int ENGINES = 20;
+    private static final int DEPLOYMENTS_PER_ENGINE = 50;
+
+    private Map<String, EngineState> engineStates;
+    private AtomicInteger mapperCalls;
+    private EnginesStateSnapshot snapshot;
+
+    @BeforeEach
+    public void initialize() {
+        Random random = new Random(42);
+        engineStates = new HashMap<>();
+        for (int engine = 0; engine < ENGINES; engine++) {
+            String host = "10.0.0." + engine;
+            EngineInfo engineInfo = mock(EngineInfo.class);
+            when(engineInfo.getHost()).thenReturn(host);
+            when(engineInfo.getDomain()).thenReturn("domain-" + (engine % 3));
+            when(engineInfo.getEngineDeploymentName()).thenReturn("engine-" + (engine % 3));
+
+            Map<String, EngineDeployment> deployments = new HashMap<>();
+            for (int i = 0; i < DEPLOYMENTS_PER_ENGINE; i++) {
+                String deploymentId = "deployment-" + random.nextInt(200);
+                DeploymentInfo deploymentInfo = mock(DeploymentInfo.class);
+                when(deploymentInfo.getChainId()).thenReturn("chain-" + deploymentId.hashCode() % 40);
+                EngineDeployment engineDeployment = mock(EngineDeployment.class);
+                when(engineDeployment.getDeploymentInfo()).thenReturn(deploymentInfo);
+                deployments.put(deploymentId, engineDeployment);
+            }
+
+            EngineState engineState = mock(EngineState.class);
+            when(engineState.getEngine()).thenReturn(engineInfo);
+            when(engineState.getDeployments()).thenReturn(deployments);
+            engineStates.put(host, engineState);
+        }
+
+        mapperCalls = new AtomicInteger();
+        snapshot = EnginesStateSnapshot.of(engineStates, (deployment, host) -> {
+            mapperCalls.incrementAndGet();
+            return mock(ChainRuntimeDeployment.class);
+        });
+    }
+
+    @DisplayName("Chain view contains every deployment of every engine and is built once")
+    @Test
+    public void chainRuntimeDeploymentsTest() {
+        int reported = engineStates.values().stream().mapToInt(state -> state.getDeployments().size()).sum();
+
+        Map<String, Collection<ChainRuntimeDeployment>> first = snapshot.getChainRuntimeDeployments();
+        Map<String, Collection<ChainRuntimeDeployment>> second = snapshot.getChainRuntimeDeployments();
+
+        assertThat(first.values().stream().mapToInt(Collection::size).sum(), equalTo(reported));
+        assertThat(second, sameInstance(first));
+        assertThat(mapperCalls.get(), equalTo(reported));
+    }
+
+    @DisplayName("Runtime deployment view matches a walk over all engine states")
+    @Test
+    public void runtimeDeploymentTest() {
+        for (int i = 0; i < 210; i++) {
+            String deploymentId = "deployment-" + i;
+            RuntimeDeployment expected = walkEngineStates(deploymentId);
+            RuntimeDeployment actual = snapshot.getRuntimeDeployment(deploymentId);
+
+            assertThat(actual.getStates(), equalTo(expected.getStates()));
+            assertThat(actual.getServiceName(), equalTo(expected.getServiceName()));
+        }
+    }
+
+    @DisplayName("Engine hosts are grouped by domain")
+    @Test
+    public void engineHostsTest() {
+        Map<String, Set<String>> expected = new HashMap<>();
+        engineStates.values().forEach(state -> expected
+                .computeIfAbsent(state.getEngine().getDomain(), domain -> new HashSet<>())
+                .add(state.getEngine().getHost()));
+
+        Map<String, Set<String>> actual = new HashMap<>();
+        snapshot.getEngineHosts().forEach((domain, hosts) -> actual.put(domain, new HashSet<>(hosts)));
+
+        assertThat(actual, equalTo(expected));
+    }
+
+    private RuntimeDeployment walkEngineStates(String deploymentId) {
+        RuntimeDeployment runtimeDeployment = new RuntimeDeployment(deploymentId);
+        for (EngineState engineState : engineStates.values()) {
+            runtimeDeployment.setServiceName(engineState.getEngine().getEngineDeploymentName());
+            runtimeDeployment.getStates().put(engineState.getEngine().getHost(), engineState.getDeployments().get(deploymentId));
+        }
+        return runtimeDeployment;
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.deployment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.model.ElementRoute;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpTriggerRouteIndexTest {
+
+    private static final long SEED = 20240917L;
+    private static final List<String> DOMAINS = List.of("default", "domain-a", "domain-b");
+    private static final List<String> SEGMENTS = List.of("api", "v1", "v2", "orders", "users", "{id}", "{orderId}", "items");
+    private static final List<HttpMethod> METHODS = List.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private record Deployed(String deploymentId, String domain, String chainId, List<ElementRoute> routes) {
+    }
+
+    private Random random;
+    private HttpTriggerRouteIndex index;
+    private List<Deployed> deployed;
+    // deployments deleted on other pods
+    private Set<String> deletedIds;
+    // rows of deployments created on other pods
+    private List<Object[]> createdRows;
+    private AtomicInteger fullSyncs;
+    private List<Collection<String>> loadedSnapshotIds;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void initialize() {
+        deployed = new ArrayList<>();
+        deletedIds = new HashSet<>();
+        createdRows = new ArrayList<>();
+        fullSyncs = new AtomicInteger();
+        loadedSnapshotIds = new ArrayList<>();
+
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createQuery(anyString(), eq(String.class))).thenAnswer(invocation -> {
+            AtomicReference<Collection<String>> ids = new AtomicReference<>();
+            TypedQuery<String> query = mockQuery(ids, () -> {
+                if (ids.get() != null) {
+                    return ids.get().stream().filter(id -> !deletedIds.contains(id)).toList();
+                }
+                fullSyncs.incrementAndGet();
+                return deployed.stream()
+                        .map(Deployed::deploymentId)
+                        .filter(id -> !deletedIds.contains(id))
+                        .toList();
+            });
+            return query;
+        });
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenAnswer(invocation ->
+                mockQuery(new AtomicReference<>(), () -> List.copyOf(createdRows)));
+        when(entityManager.createQuery(anyString(), eq(ChainElement.class))).thenAnswer(invocation -> {
+            AtomicReference<Collection<String>> ids = new AtomicReference<>();
+            return mockQuery(ids, () -> {
+                loadedSnapshotIds.add(ids.get());
+                return List.of();
+            });
+        });
+
+        random = new Random(SEED);
+        index = new HttpTriggerRouteIndex(entityManager, Duration.ofDays(1));
+        for (int i = 0; i < 300; i++) {
+            Deployed deployment = new Deployed("deployment-" + i, randomItem(DOMAINS), "chain-" + random.nextInt(60),
+                    randomRoutes(1 + random.nextInt(3)));
+            deployed.add(deployment);
+            index.register(deployment.deploymentId(), deployment.domain(), deployment.chainId(), deployment.routes());
+        }
+    }
+
+    @DisplayName("Trigger conflict check matches the list based check on a random corpus")
+    @Test
+    public void sameRouteMatchesListCheckTest() {
+        for (int i = 0; i < 500; i++) {
+            assertSameConflicts();
+        }
+    }
+
+    @DisplayName("Trigger conflict check stays equal to the list based check after deployments removal")
+    @Test
+    public void sameRouteAfterUnregisterTest() {
+        for (int i = 0; i < 150; i++) {
+            Deployed removed = deployed.remove(random.nextInt(deployed.size()));
+            index.unregister(removed.deploymentId());
+            assertSameConflicts();
+        }
+        String chainId = deployed.get(0).chainId();
+        deployed.removeIf(deployment -> chainId.equals(deployment.chainId()));
+        index.unregisterByChainId(chainId);
+        for (int i = 0; i < 100; i++) {
+            assertSameConflicts();
+        }
+    }
+
+    @DisplayName("Route existence check matches intersectsWith scan on a random corpus")
+    @Test
+    public void intersectingMatchesScanTest() {
+        for (int i = 0; i < 500; i++) {
+            ElementRoute route = randomRoute();
+            String excludeChainId = "chain-" + random.nextInt(60);
+
+            Set<String> expected = deployed.stream()
+                    .filter(deployment -> !excludeChainId.equals(deployment.chainId()))
+                    .flatMap(deployment -> deployment.routes().stream()
+                            .filter(existing -> StringUtils.isNotBlank(existing.getPath()))
+                            .filter(existing -> existing.intersectsWith(route))
+                            .map(existing -> deployment.deploymentId() + existing.getPath()))
+                    .collect(Collectors.toSet());
+            Set<String> actual = index.findIntersecting(route, excludeChainId).stream()
+                    .map(indexed -> indexed.deploymentId() + indexed.route().getPath())
+                    .collect(Collectors.toSet());
+
+            assertThat(route.getPath(), actual, equalTo(expected));
+        }
+    }
+
+    @DisplayName("Custom HTTP methods are matched exactly")
+    @Test
+    public void customMethodTest() {
+        HttpMethod purge = HttpMethod.valueOf("PURGE");
+        HttpMethod lock = HttpMethod.valueOf("LOCK");
+        index.register("custom-deployment", "default", "custom-chain", List.of(ElementRoute.builder()
+                .path("/custom/path")
+                .methods(Set.of(purge))
+                .build()));
+
+        assertThat(index.existsSameRoute("/custom/path", Set.of(purge), "default", false, null, null), equalTo(true));
+        assertThat(index.existsSameRoute("/custom/path", Set.of(lock), "default", false, null, null), equalTo(false));
+        assertThat(index.existsSameRoute("/custom/path", Set.of(HttpMethod.GET), "default", false, null, null),
+                equalTo(false));
+    }
+
+    @DisplayName("Synchronization before checks loads only deployments created on other pods")
+    @Test
+    public void incrementalSynchronizationTest() {
+        index.synchronize();
+        index.synchronize();
+        assertThat(fullSyncs.get(), equalTo(1));
+        assertThat(loadedSnapshotIds.isEmpty(), equalTo(true));
+
+        createdRows.add(new Object[] {"created-deployment", "default", "created-chain", "created-snapshot"});
+        index.synchronize();
+        index.synchronize();
+
+        assertThat(fullSyncs.get(), equalTo(1));
+        assertThat(loadedSnapshotIds, equalTo(List.of(List.of("created-snapshot"))));
+    }
+
+    @DisplayName("Index is compared with all deployments after invalidation")
+    @Test
+    public void invalidateTest() {
+        index.invalidate();
+        index.synchronize();
+
+        assertThat(fullSyncs.get(), equalTo(2));
+    }
+
+    @DisplayName("Deployments deleted on other pods don't cause conflicts")
+    @Test
+    public void deletedOnOtherPodTest() {
+        for (int i = 0; i < 100; i++) {
+            Deployed removed = deployed.remove(random.nextInt(deployed.size()));
+            deletedIds.add(removed.deploymentId());
+            assertSameConflicts();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TypedQuery<T> mockQuery(AtomicReference<Collection<String>> ids, Supplier<List<T>> result) {
+        TypedQuery<T> query = mock(TypedQuery.class);
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            if ("ids".equals(invocation.getArgument(0))) {
+                ids.set(List.copyOf((Collection<String>) invocation.getArgument(1)));
+            }
+            return query;
+        });
+        when(query.getResultList()).thenAnswer(invocation -> result.get());
+        return query;
+    }
+
+    private void assertSameConflicts() {
+        List<ElementRoute> pendingRoutes = randomRoutes(1 + random.nextInt(4));
+        String chainId = "chain-" + random.nextInt(60);
+        String domain = randomItem(DOMAINS);
+        Set<String> excludeDeploymentIds = random.nextBoolean()
+                ? Set.of(randomItem(deployed).deploymentId())
+                : null;
+
+        List<ElementRoute> allRoutes = existingRoutes(null, chainId, excludeDeploymentIds);
+        List<ElementRoute> domainRoutes = existingRoutes(domain, chainId, excludeDeploymentIds);
+
+        assertThat(indexSamePaths(pendingRoutes, true, null, chainId, excludeDeploymentIds),
+                equalTo(listSamePaths(pendingRoutes, allRoutes, true)));
+        assertThat(indexSamePaths(pendingRoutes, false, domain, chainId, excludeDeploymentIds),
+                equalTo(listSamePaths(pendingRoutes, domainRoutes, false)));
+    }
+
+    private List<ElementRoute> existingRoutes(String domain, String excludeChainId, Set<String> excludeDeploymentIds) {
+        return deployed.stream()
+                .filter(deployment -> domain == null || domain.equals(deployment.domain()))
+                .filter(deployment -> !excludeChainId.equals(deployment.chainId()))
+                .filter(deployment -> excludeDeploymentIds == null || !excludeDeploymentIds.contains(deployment.deploymentId()))
+                .flatMap(deployment -> deployment.routes().stream())
+                .toList();
+    }
+
+    private Set<String> indexSamePaths(List<ElementRoute> pendingRoutes, boolean checkGatewayOnly, String domain,
+                                       String chainId, Set<String> excludeDeploymentIds) {
+        return pendingPaths(pendingRoutes, checkGatewayOnly).entrySet().stream()
+                .filter(entry -> index.existsSameRoute(entry.getKey(), entry.getValue(), domain, checkGatewayOnly,
+                        chainId, excludeDeploymentIds))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    // Conflicts between the pending routes are checked separately, only the existing routes part is compared
+    private static Set<String> listSamePaths(List<ElementRoute> pendingRoutes, List<ElementRoute> existingRoutes,
+                                             boolean checkGatewayOnly) {
+        Map<String, Set<HttpMethod>> pendingPathIntersection = pendingPaths(pendingRoutes, checkGatewayOnly);
+        Set<String> equalPaths = new HashSet<>();
+        for (ElementRoute route : existingRoutes) {
+            if (StringUtils.isNotBlank(route.getPath()) && (!checkGatewayOnly || route.isExternal() || route.isPrivate())) {
+                Set<HttpMethod> intersectionMethods = pendingPathIntersection.get(route.getPath());
+                if (intersectionMethods != null && route.getMethods().stream().anyMatch(intersectionMethods::contains)) {
+                    equalPaths.add(route.getPath());
+                }
+            }
+        }
+        return equalPaths;
+    }
+
+    private static Map<String, Set<HttpMethod>> pendingPaths(List<ElementRoute> pendingRoutes, boolean checkGatewayOnly) {
+        Map<String, Set<HttpMethod>> pendingPathIntersection = new HashMap<>();
+        for (ElementRoute route : pendingRoutes) {
+            if (StringUtils.isNotBlank(route.getPath()) && (!checkGatewayOnly || route.isExternal() || route.isPrivate())) {
+                pendingPathIntersection.putIfAbsent(route.getPath(), route.getMethods());
+            }
+        }
+        return pendingPathIntersection;
+    }
+
+    private List<ElementRoute> randomRoutes(int count) {
+        List<ElementRoute> routes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            routes.add(randomRoute());
+        }
+        return routes;
+    }
+
+    private ElementRoute randomRoute() {
+        StringBuilder path = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            path.append('/').append(randomItem(SEGMENTS));
+        }
+        if (random.nextInt(10) == 0) {
+            path.append('/');
+        }
+
+        Set<HttpMethod> methods = new HashSet<>();
+        for (HttpMethod method : METHODS) {
+            if (random.nextInt(3) == 0) {
+                methods.add(method);
+            }
+        }
+        if (methods.isEmpty()) {
+            methods.add(randomItem(METHODS));
+        }
+
+        int gateway = random.nextInt(3);
+        return ElementRoute.builder()
+                .path(path.toString())
+                .methods(methods)
+                .isExternal(gateway == 1)
+                .isPrivate(gateway == 2)
+                .build();
+    }
+
+    private <T> T randomItem(List<T> items) {
+        return items.get(random.nextInt(items.size()));
+    }
+}
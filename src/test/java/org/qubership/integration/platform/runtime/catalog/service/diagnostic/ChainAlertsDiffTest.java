@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.diagnostic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.element.ChainElement;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationChainAlert;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChainAlertsDiffTest {
+
+    @DisplayName("Unchanged alerts are neither deleted nor saved")
+    @Test
+    public void unchangedAlertsTest() {
+        List<ValidationChainAlert> stored = List.of(alert("chain-1", "element-1"), alert("chain-2", null));
+        List<ValidationChainAlert> actual = List.of(alert("chain-2", null), alert("chain-1", "element-1"));
+
+        ChainAlertsDiff diff = ChainAlertsDiff.of(stored, actual);
+
+        assertThat(diff.isEmpty(), equalTo(true));
+    }
+
+    @DisplayName("Only resolved alerts are deleted and only new alerts are saved")
+    @Test
+    public void changedAlertsTest() {
+        ValidationChainAlert resolved = alert("chain-1", "element-1");
+        ValidationChainAlert kept = alert("chain-1", "element-2");
+        ValidationChainAlert found = alert("chain-3", "element-5");
+
+        ChainAlertsDiff diff = ChainAlertsDiff.of(List.of(resolved, kept), List.of(alert("chain-1", "element-2"), found));
+
+        assertThat(diff.toDelete(), containsInAnyOrder(resolved));
+        assertThat(diff.toSave(), containsInAnyOrder(found));
+    }
+
+    @DisplayName("Equal alerts are matched one to one")
+    @Test
+    public void duplicateAlertsTest() {
+        ValidationChainAlert first = alert("chain-1", null);
+        ValidationChainAlert second = alert("chain-1", null);
+
+        ChainAlertsDiff removed = ChainAlertsDiff.of(List.of(first, second), List.of(alert("chain-1", null)));
+        ValidationChainAlert added = alert("chain-1", null);
+        ChainAlertsDiff duplicated = ChainAlertsDiff.of(List.of(first), List.of(alert("chain-1", null), added));
+
+        assertThat(removed.toDelete().size(), equalTo(1));
+        assertThat(removed.toSave(), empty());
+        assertThat(duplicated.toDelete(), empty());
+        assertThat(duplicated.toSave().size(), equalTo(1));
+    }
+
+    private static ValidationChainAlert alert(String chainId, String elementId) {
+        ValidationChainAlert alert = mock(ValidationChainAlert.class);
+        Chain chain = mock(Chain.class);
+        when(chain.getId()).thenReturn(chainId);
+        when(alert.getChain()).thenReturn(chain);
+        if (elementId != null) {
+            ChainElement element = mock(ChainElement.class);
+            when(element.getId()).thenReturn(elementId);
+            when(alert.getElement()).thenReturn(element);
+        }
+        return alert;
+    }
+}
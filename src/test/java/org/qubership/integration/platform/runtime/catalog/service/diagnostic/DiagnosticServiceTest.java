@@ -0,0 +1,248 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.diagnostic;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.TransactionHandler;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.ConfigParameter;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationState;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.diagnostic.ValidationStatus;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.diagnostic.ValidationChainAlertRepository;
+import org.qubership.integration.platform.catalog.persistence.configs.repository.diagnostic.ValidationStatusRepository;
+import org.qubership.integration.platform.catalog.service.ConfigParameterService;
+import org.qubership.integration.platform.runtime.catalog.service.diagnostic.validations.DiagnosticValidationUnexpectedException;
+import org.qubership.integration.platform.runtime.catalog.service.diagnostic.validations.builtin.BuiltinValidation;
+import org.qubership.integration.platform.runtime.catalog.service.filter.ChainAlertFilterSpecificationBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.mockito.Mockito.*;
+
+public class DiagnosticServiceTest {
+
+    private static final int PARALLELISM = 2;
+    private static final long VALIDATION_MILLIS = 50;
+    private static final Timestamp CHAINS_MODIFIED_WHEN = Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+
+    private ValidationStatusRepository validationStatusRepository;
+    private EntityManager entityManager;
+    private ExecutorService validationExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private List<BuiltinValidation> validations;
+    private Map<String, ValidationStatus> storedStatuses;
+    private Map<String, AtomicInteger> runs;
+    private AtomicInteger running;
+    private AtomicInteger maxRunning;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void initialize() {
+        validationStatusRepository = mock(ValidationStatusRepository.class);
+        storedStatuses = new ConcurrentHashMap<>();
+        when(validationStatusRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedStatuses.get((String) invocation.getArgument(0))));
+        when(validationStatusRepository.save(any())).thenAnswer(invocation -> {
+            ValidationStatus status = invocation.getArgument(0);
+            storedStatuses.put(status.getValidationId(), status);
+            return status;
+        });
+
+        // a chain was modified at CHAINS_MODIFIED_WHEN
+        entityManager = mock(EntityManager.class);
+        TypedQuery<String> query = mock(TypedQuery.class);
+        AtomicReference<Timestamp> since = new AtomicReference<>();
+        when(entityManager.createQuery(anyString(), eq(String.class))).thenReturn(query);
+        when(query.setParameter(eq("since"), any())).thenAnswer(invocation -> {
+            since.set(invocation.getArgument(1));
+            return query;
+        });
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenAnswer(invocation -> since.get().after(CHAINS_MODIFIED_WHEN)
+                ? List.of()
+                : List.of("chain-1"));
+
+        validationExecutor = Executors.newFixedThreadPool(PARALLELISM);
+        meterRegistry = new SimpleMeterRegistry();
+        validations = new ArrayList<>();
+        runs = new ConcurrentHashMap<>();
+        running = new AtomicInteger();
+        maxRunning = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
+
+    @DisplayName("Validations run concurrently, bounded by the validation executor")
+    @Test
+    public void boundedConcurrencyTest() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            addValidation("validation-" + i, false, null);
+        }
+
+        createService().runValidationsAsync(null, false).get(10, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get(), lessThanOrEqualTo(PARALLELISM));
+        assertThat(maxRunning.get(), greaterThan(1));
+        for (BuiltinValidation validation : validations) {
+            assertThat(runs.get(validation.getId()).get(), equalTo(1));
+            assertThat(storedStatuses.get(validation.getId()).getState(), equalTo(ValidationState.OK));
+        }
+    }
+
+    @DisplayName("Only validations outdated by chain modifications are run in the incremental mode")
+    @Test
+    public void onlyModifiedChainsTest() throws Exception {
+        addValidation("up-to-date", true, null);
+        addValidation("chains-modified", true, null);
+        addValidation("not-chains-only", false, null);
+        addValidation("failed", true, null);
+        addValidation("never-run", true, null);
+        storeStatus("up-to-date", ValidationState.OK, LocalDateTime.now().minusMinutes(10));
+        storeStatus("chains-modified", ValidationState.OK, LocalDateTime.now().minusHours(2));
+        storeStatus("not-chains-only", ValidationState.OK, LocalDateTime.now().minusMinutes(10));
+        storeStatus("failed", ValidationState.FAILED, LocalDateTime.now().minusMinutes(10));
+        DiagnosticService diagnosticService = createService();
+
+        diagnosticService.runValidationsAsync(null, true).get(10, TimeUnit.SECONDS);
+
+        assertThat(runCounts(), equalTo(Map.of(
+                "built-in_up-to-date", 0,
+                "built-in_chains-modified", 1,
+                "built-in_not-chains-only", 1,
+                "built-in_failed", 1,
+                "built-in_never-run", 1)));
+
+        // all validations are up to date now
+        diagnosticService.runValidationsAsync(null, true).get(10, TimeUnit.SECONDS);
+        assertThat(runs.get("built-in_up-to-date").get(), equalTo(0));
+        assertThat(runs.get("built-in_chains-modified").get(), equalTo(1));
+        assertThat(runs.get("built-in_not-chains-only").get(), equalTo(2));
+
+        diagnosticService.runValidationsAsync(Set.of("built-in_up-to-date"), false).get(10, TimeUnit.SECONDS);
+        assertThat(runs.get("built-in_up-to-date").get(), equalTo(1));
+    }
+
+    @DisplayName("Execution time of each validation is kept and recorded to the timer tagged by state")
+    @Test
+    public void timingTest() throws Exception {
+        addValidation("succeeded", false, null);
+        addValidation("failed", false, new DiagnosticValidationUnexpectedException("Validation failed"));
+        DiagnosticService diagnosticService = createService();
+
+        diagnosticService.runValidationsAsync(null, false).get(10, TimeUnit.SECONDS);
+
+        assertThat(diagnosticService.getLastDuration("built-in_succeeded"), greaterThanOrEqualTo(VALIDATION_MILLIS));
+        assertThat(diagnosticService.getLastDuration("built-in_failed"), greaterThanOrEqualTo(VALIDATION_MILLIS));
+        assertThat(storedStatuses.get("built-in_succeeded").getState(), equalTo(ValidationState.OK));
+        assertThat(storedStatuses.get("built-in_failed").getState(), equalTo(ValidationState.FAILED));
+
+        Timer succeeded = meterRegistry.get("qip.diagnostic.validation")
+                .tags("validation", "built-in_succeeded", "state", ValidationState.OK.name())
+                .timer();
+        Timer failed = meterRegistry.get("qip.diagnostic.validation")
+                .tags("validation", "built-in_failed", "state", ValidationState.FAILED.name())
+                .timer();
+        assertThat(succeeded.count(), equalTo(1L));
+        assertThat(failed.count(), equalTo(1L));
+        assertThat(succeeded.totalTime(TimeUnit.MILLISECONDS), greaterThanOrEqualTo((double) VALIDATION_MILLIS));
+    }
+
+    private DiagnosticService createService() {
+        ValidationChainAlertRepository chainAlertRepository = mock(ValidationChainAlertRepository.class);
+        when(chainAlertRepository.findAllByValidationId(anyString())).thenReturn(Collections.emptyList());
+
+        TransactionHandler transactionHandler = mock(TransactionHandler.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(transactionHandler).runInNewTransaction(any());
+
+        ConfigParameterService configParameterService = mock(ConfigParameterService.class);
+        AtomicReference<ConfigParameter> lock = new AtomicReference<>();
+        when(configParameterService.findByName(anyString(), anyString())).thenAnswer(invocation -> lock.get());
+        doAnswer(invocation -> {
+            lock.set(invocation.getArgument(0));
+            return null;
+        }).when(configParameterService).update(any(ConfigParameter.class));
+
+        return new DiagnosticService(chainAlertRepository, validations, validationStatusRepository,
+                configParameterService, transactionHandler, mock(ChainAlertFilterSpecificationBuilder.class),
+                entityManager, validationExecutor, meterRegistry);
+    }
+
+    private void addValidation(String id, boolean dependsOnChainsOnly, RuntimeException error) {
+        BuiltinValidation validation = mock(BuiltinValidation.class);
+        String validationId = "built-in_" + id;
+        when(validation.getId()).thenReturn(validationId);
+        when(validation.getTitle()).thenReturn(id);
+        when(validation.getEntityType()).thenReturn(ValidationEntityType.CHAIN);
+        when(validation.dependsOnChainsOnly()).thenReturn(dependsOnChainsOnly);
+        AtomicInteger validationRuns = new AtomicInteger();
+        runs.put(validationId, validationRuns);
+        doAnswer(invocation -> {
+            validationRuns.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(VALIDATION_MILLIS);
+            } finally {
+                running.decrementAndGet();
+            }
+            if (error != null) {
+                throw error;
+            }
+            return Collections.emptyList();
+        }).when(validation).validate();
+        validations.add(validation);
+    }
+
+    private void storeStatus(String id, ValidationState state, LocalDateTime startedWhen) {
+        String validationId = "built-in_" + id;
+        storedStatuses.put(validationId, ValidationStatus.builder()
+                .validationId(validationId)
+                .startedWhen(Timestamp.valueOf(startedWhen))
+                .state(state)
+                .build());
+    }
+
+    private Map<String, Integer> runCounts() {
+        Map<String, Integer> result = new HashMap<>();
+        runs.forEach((validationId, count) -> result.put(validationId, count.get()));
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.Event;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.event.ObjectType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class EventRingBufferTest {
+
+    @DisplayName("Events are read after the given sequence in order")
+    @Test
+    public void readAfterSequenceTest() {
+        EventRingBuffer buffer = new EventRingBuffer(16);
+        for (int i = 0; i < 10; i++) {
+            buffer.append(createEvent("event-" + i));
+        }
+
+        EventRingBuffer.ReadResult result = buffer.readAfter(4, 100);
+
+        assertThat(result.events().stream().map(Event::getSequence).toList(),
+                equalTo(LongStream.rangeClosed(5, 10).boxed().toList()));
+        assertThat(result.lastSequence(), equalTo(10L));
+        assertThat(result.dropped(), equalTo(0L));
+    }
+
+    @DisplayName("Overwritten events are reported as dropped and reading resumes from the oldest kept one")
+    @Test
+    public void overflowDroppedTest() {
+        EventRingBuffer buffer = new EventRingBuffer(100);
+        assertThat(buffer.getCapacity(), equalTo(128));
+
+        for (int i = 0; i < 300; i++) {
+            buffer.append(createEvent("event-" + i));
+        }
+
+        EventRingBuffer.ReadResult result = buffer.readAfter(10, 1000);
+
+        assertThat(result.dropped(), equalTo(300L - 128L - 10L));
+        assertThat(result.events().size(), equalTo(128));
+        assertThat(result.events().get(0).getSequence(), equalTo(300L - 128L + 1));
+        assertThat(buffer.snapshot().size(), equalTo(128));
+    }
+
+    @DisplayName("Concurrent appends get unique contiguous sequences")
+    @Test
+    public void concurrentAppendTest() throws Exception {
+        EventRingBuffer buffer = new EventRingBuffer(1 << 14);
+        int writers = 8;
+        int eventsPerWriter = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int i = 0; i < writers; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < eventsPerWriter; j++) {
+                    buffer.append(createEvent("event"));
+                }
+                done.countDown();
+            });
+        }
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        List<Long> sequences = new ArrayList<>();
+        long cursor = 0;
+        EventRingBuffer.ReadResult result;
+        do {
+            result = buffer.readAfter(cursor, 500);
+            result.events().forEach(event -> sequences.add(event.getSequence()));
+            cursor = result.lastSequence();
+        } while (!result.events().isEmpty());
+
+        assertThat(sequences, equalTo(LongStream.rangeClosed(1, (long) writers * eventsPerWriter).boxed().toList()));
+    }
+
+    private static Event createEvent(String id) {
+        return Event.builder()
+                .id(id)
+                .time(System.currentTimeMillis())
+                .objectType(ObjectType.GENERIC_MESSAGE)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.exportimport;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.User;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.ActionLog;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.EntityType;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.actionlog.LogOperation;
+import org.qubership.integration.platform.runtime.catalog.model.exportimport.ActionsLogExportFormat;
+import org.qubership.integration.platform.runtime.catalog.service.exportimport.ActionsLogExportService.ActionLogRow;
+import org.qubership.integration.platform.runtime.catalog.testutils.DatabaseTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class ActionsLogExportServiceTest extends DatabaseTest {
+
+    private static final int ACTIONS_COUNT = ActionsLogExportService.PAGE_SIZE * 2 + 17;
+    private static final long START_TIME = 1_700_000_000_000L;
+    private static final Timestamp FROM = new Timestamp(START_TIME);
+    private static final Timestamp TO = new Timestamp(START_TIME + 1_000L * ACTIONS_COUNT);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ActionsLogExportService service;
+    private List<ActionLogRow> actions;
+
+    @BeforeEach
+    public void initialize() {
+        service = new ActionsLogExportService(entityManager);
+        actions = transactionTemplate.execute(status -> {
+            entityManager.createQuery("DELETE FROM " + ActionLog.class.getName()).executeUpdate();
+
+            List<ActionLogRow> rows = new ArrayList<>();
+            for (int i = 0; i < ACTIONS_COUNT; i++) {
+                // several actions share the same time to check the keyset order on id
+                ActionLog action = createAction(new Timestamp(START_TIME + 1_000L * (i / 3)), "user-" + (i % 2), i);
+                rows.add(toRow(action));
+            }
+            // out of the exported range
+            createAction(new Timestamp(START_TIME - 1), "user-0", -1);
+            createAction(new Timestamp(TO.getTime() + 1), "user-0", ACTIONS_COUNT);
+            return rows;
+        });
+        actions.sort(Comparator.comparing(ActionLogRow::actionTime).thenComparing(ActionLogRow::id));
+    }
+
+    @DisplayName("Actions in the time range are read page by page in time and id order with user names")
+    @Test
+    public void forEachPageTest() {
+        List<ActionLogRow> read = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> service.forEachPage(FROM, TO, page -> {
+            read.addAll(page);
+            pageSizes.add(page.size());
+        }));
+
+        assertThat(read, equalTo(actions));
+        assertThat(pageSizes, equalTo(List.of(ActionsLogExportService.PAGE_SIZE, ActionsLogExportService.PAGE_SIZE, 17)));
+    }
+
+    @DisplayName("CSV export writes a header and a row per action")
+    @Test
+    public void csvExportTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                service.export(FROM, TO, ActionsLogExportFormat.CSV, outputStream);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+        ActionLogRow first = actions.get(0);
+        assertThat(lines.length, equalTo(ACTIONS_COUNT + 1));
+        assertThat(lines[0], equalTo("Action Time,Initiator,Operation,Entity Id,Entity Type,Entity Name,Parent Id,Parent Name,Request Id"));
+        assertThat(lines[1].substring(lines[1].indexOf(',') + 1), equalTo(String.join(",",
+                first.username(), "CREATE", first.entityId(), "CHAIN", first.entityName(), "", "", "request")));
+    }
+
+    @DisplayName("Excel export produces a workbook archive")
+    @Test
+    public void excelExportTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transactionTemplate.executeWithoutResult(status -> service.exportAsExcelDocument(FROM, TO, outputStream));
+
+        byte[] document = outputStream.toByteArray();
+        assertThat(new String(document, 0, 2, StandardCharsets.US_ASCII), equalTo("PK"));
+    }
+
+    @DisplayName("CSV values with separators, quotes and line breaks are quoted, formulas are escaped")
+    @Test
+    public void escapeCsvTest() {
+        assertThat(ActionsLogExportService.escapeCsv(null), equalTo(""));
+        assertThat(ActionsLogExportService.escapeCsv("plain"), equalTo("plain"));
+        assertThat(ActionsLogExportService.escapeCsv("a,b"), equalTo("\"a,b\""));
+        assertThat(ActionsLogExportService.escapeCsv("say \"hi\""), equalTo("\"say \"\"hi\"\"\""));
+        assertThat(ActionsLogExportService.escapeCsv("line\nbreak"), equalTo("\"line\nbreak\""));
+        assertThat(ActionsLogExportService.escapeCsv("=1+2"), equalTo("'=1+2"));
+        assertThat(ActionsLogExportService.escapeCsv("+1"), equalTo("'+1"));
+        assertThat(ActionsLogExportService.escapeCsv("-1"), equalTo("'-1"));
+        assertThat(ActionsLogExportService.escapeCsv("@SUM(A1)"), equalTo("'@SUM(A1)"));
+        assertThat(ActionsLogExportService.escapeCsv("=HYPERLINK(\"x\",\"y\")"), equalTo("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\""));
+    }
+
+    private ActionLog createAction(Timestamp actionTime, String username, int index) {
+        ActionLog action = ActionLog.builder()
+                .actionTime(actionTime)
+                .user(User.builder().id(username).username(username).build())
+                .operation(LogOperation.CREATE)
+                .entityId("entity-" + index)
+                .entityType(EntityType.CHAIN)
+                .entityName("name " + index)
+                .requestId("request")
+                .build();
+        entityManager.persist(action);
+        return action;
+    }
+
+    private static ActionLogRow toRow(ActionLog action) {
+        return new ActionLogRow(action.getId(), action.getActionTime(), action.getUser().getUsername(),
+                action.getOperation(), action.getEntityId(), action.getEntityType(), action.getEntityName(),
+                action.getParentId(), action.getParentName(), action.getRequestId());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.exportimport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class ChainImportPipelineTest {
+
+    private static final int LOOK_AHEAD = 4;
+
+    private ExecutorService executor;
+    private ChainImportPipeline pipeline;
+
+    @BeforeEach
+    public void initialize() {
+        executor = Executors.newFixedThreadPool(4);
+        pipeline = new ChainImportPipeline(executor, LOOK_AHEAD);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Parsed chains are written in directory order on the calling thread")
+    @Test
+    public void writesInOrderTest() {
+        List<File> directories = createDirectories(100);
+        List<String> written = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        AtomicInteger foreignWrites = new AtomicInteger();
+
+        pipeline.run(directories, dir -> {
+            Thread.sleep((long) (Math.random() * 3));
+            return dir.getName().toUpperCase();
+        }, (dir, parsed) -> {
+            if (Thread.currentThread() != caller) {
+                foreignWrites.incrementAndGet();
+            }
+            try {
+                written.add(parsed.call());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThat(written, equalTo(directories.stream().map(dir -> dir.getName().toUpperCase()).toList()));
+        assertThat(foreignWrites.get(), equalTo(0));
+    }
+
+    @DisplayName("Parse stage does not run further ahead than the configured window")
+    @Test
+    public void boundedLookAheadTest() {
+        List<File> directories = createDirectories(50);
+        AtomicInteger startedCount = new AtomicInteger();
+        AtomicInteger consumedCount = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<String> written = new ArrayList<>();
+
+        pipeline.run(directories, dir -> {
+            int inFlight = startedCount.incrementAndGet() - consumedCount.get();
+            maxInFlight.accumulateAndGet(inFlight, Math::max);
+            return dir.getName();
+        }, (dir, parsed) -> {
+            try {
+                written.add(parsed.call());
+                // slow writer, so the parse stage would run ahead if it was not bounded
+                Thread.sleep(1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            consumedCount.incrementAndGet();
+        });
+
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(LOOK_AHEAD));
+        assertThat(written, equalTo(directories.stream().map(File::getName).toList()));
+    }
+
+    @DisplayName("Parse failure is rethrown to the writer of the failed directory only")
+    @Test
+    public void parseFailureTest() {
+        List<File> directories = createDirectories(10);
+        List<String> results = new ArrayList<>();
+
+        pipeline.run(directories, dir -> {
+            if (dir.getName().equals("chain-3")) {
+                throw new IllegalStateException("Broken chain file");
+            }
+            return dir.getName();
+        }, (dir, parsed) -> {
+            try {
+                results.add(parsed.call());
+            } catch (Exception e) {
+                results.add("error: " + e.getMessage());
+            }
+        });
+
+        assertThat(results.size(), equalTo(directories.size()));
+        assertThat(results.get(3), equalTo("error: Broken chain file"));
+        assertThat(results.get(4), equalTo("chain-4"));
+    }
+
+    private static List<File> createDirectories(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new File("chain-" + i))
+                .toList();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.exportimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.chain.Chain;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.model.exportimport.chain.ChainExternalEntity;
+import org.qubership.integration.platform.runtime.catalog.model.exportimport.chain.ChainExternalMapperEntity;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.exception.exceptions.ChainExportException;
+import org.qubership.integration.platform.runtime.catalog.service.ChainService;
+import org.qubership.integration.platform.runtime.catalog.service.exportimport.mapper.chain.ChainExternalEntityMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ExportServiceTest {
+
+    private static final int CHAINS_COUNT = 1500;
+    private static final String CHAIN_YAML = "x".repeat(64 * 1024);
+
+    private ChainService chainService;
+    private ActionsLogService actionsLogService;
+    private ExportService exportService;
+    private AtomicInteger loadedChains;
+    private AtomicInteger writtenChains;
+    private int maxChainsInMemory;
+    private SortedSet<String> storedChainIds;
+    private Runnable afterPageLoaded;
+    private List<String> exportedChainIds;
+
+    @BeforeEach
+    public void initialize() throws Exception {
+        chainService = mock(ChainService.class);
+        actionsLogService = mock(ActionsLogService.class);
+        loadedChains = new AtomicInteger();
+        writtenChains = new AtomicInteger();
+        maxChainsInMemory = 0;
+
+        storedChainIds = new TreeSet<>();
+        for (int i = 0; i < CHAINS_COUNT; i++) {
+            storedChainIds.add(String.format("chain-%04d", i));
+        }
+        afterPageLoaded = () -> {};
+        when(chainService.findAllIds()).thenAnswer(invocation -> new ArrayList<>(storedChainIds));
+        when(chainService.findAllById(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            List<Chain> chains = ids.stream()
+                    .filter(storedChainIds::contains)
+                    .map(ExportServiceTest::createChain)
+                    .toList();
+            loadedChains.addAndGet(chains.size());
+            maxChainsInMemory = Math.max(maxChainsInMemory, loadedChains.get() - writtenChains.get());
+            afterPageLoaded.run();
+            return chains;
+        });
+
+        ChainExternalEntityMapper chainExternalEntityMapper = mock(ChainExternalEntityMapper.class);
+        exportedChainIds = new ArrayList<>();
+        when(chainExternalEntityMapper.toExternalEntity(any(Chain.class))).thenAnswer(invocation -> {
+            exportedChainIds.add(invocation.<Chain>getArgument(0).getId());
+            return ChainExternalMapperEntity.builder()
+                    .chainExternalEntity(mock(ChainExternalEntity.class))
+                    .build();
+        });
+
+        YAMLMapper yamlMapper = mock(YAMLMapper.class);
+        when(yamlMapper.writeValueAsString(any())).thenAnswer(invocation -> {
+            writtenChains.incrementAndGet();
+            return CHAIN_YAML;
+        });
+
+        exportService = new ExportService(
+                yamlMapper,
+                new ObjectMapper(),
+                chainService,
+                actionsLogService,
+                chainExternalEntityMapper,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @DisplayName("Large export keeps a single page of chains in memory")
+    @Test
+    public void boundedMemoryExportTest() {
+        CountingOutputStream outputStream = new CountingOutputStream();
+
+        exportService.exportAllChains(outputStream);
+
+        assertThat(writtenChains.get(), equalTo(CHAINS_COUNT));
+        assertThat(maxChainsInMemory, lessThanOrEqualTo(ExportService.EXPORT_PAGE_SIZE));
+        assertThat(outputStream.count, greaterThan(0L));
+        verify(actionsLogService, times(CHAINS_COUNT)).logAction(any());
+    }
+
+    @DisplayName("Export is not logged if the archive is not written completely")
+    @Test
+    public void failedExportNotLoggedTest() {
+        OutputStream brokenStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThrows(ChainExportException.class, () -> exportService.exportAllChains(brokenStream));
+        verify(actionsLogService, never()).logAction(any());
+    }
+
+    @DisplayName("Chains created or deleted during export neither shift pages nor break the archive")
+    @Test
+    public void concurrentModificationExportTest() {
+        String deleted = String.format("chain-%04d", ExportService.EXPORT_PAGE_SIZE * 2);
+        List<String> expected = new ArrayList<>(storedChainIds);
+        expected.remove(deleted);
+        AtomicInteger loadedPages = new AtomicInteger();
+        afterPageLoaded = () -> {
+            if (loadedPages.incrementAndGet() == 1) {
+                storedChainIds.remove(deleted);
+                // sorted before all not yet exported chains, offset paging would export the last chain of the page twice
+                storedChainIds.add("chain-0000a");
+            }
+        };
+
+        exportService.exportAllChains(new CountingOutputStream());
+
+        assertThat(exportedChainIds, equalTo(expected));
+        verify(actionsLogService, times(expected.size())).logAction(any());
+    }
+
+    private static Chain createChain(String id) {
+        Chain chain = new Chain();
+        chain.setId(id);
+        chain.setName(id);
+        chain.setDeployments(new ArrayList<>());
+        return chain;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
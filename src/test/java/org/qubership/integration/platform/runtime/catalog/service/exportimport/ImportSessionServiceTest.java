@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.exportimport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.entity.ImportSession;
+import org.qubership.integration.platform.runtime.catalog.persistence.configs.repository.ImportSessionRepository;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ImportSessionServiceTest {
+
+    private static final String IMPORT_ID = "import-id";
+
+    private ImportSessionRepository importSessionRepository;
+    private ImportSessionService importSessionService;
+
+    @BeforeEach
+    public void initialize() {
+        importSessionRepository = mock(ImportSessionRepository.class);
+        when(importSessionRepository.updateCompletion(anyString(), anyInt())).thenReturn(1);
+        importSessionService = new ImportSessionService(300, 60_000, importSessionRepository);
+    }
+
+    @DisplayName("Progress ticks within the flush interval are written once per phase")
+    @Test
+    public void progressIsThrottledTest() {
+        importSessionService.setImportProgressPercentage(IMPORT_ID, 0);
+        for (int i = 0; i < 1000; i++) {
+            importSessionService.calculateImportStatus(IMPORT_ID, 1000, i,
+                    ImportSessionService.SERVICE_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.CHAIN_IMPORT_PERCENTAGE_THRESHOLD);
+        }
+        for (int i = 0; i < 1000; i++) {
+            importSessionService.calculateImportStatus(IMPORT_ID, 1000, i,
+                    ImportSessionService.CHAIN_IMPORT_PERCENTAGE_THRESHOLD, ImportSessionService.SNAPSHOT_BUILD_PERCENTAGE_THRESHOLD);
+        }
+
+        verify(importSessionRepository, times(3)).updateCompletion(eq(IMPORT_ID), anyInt());
+        verify(importSessionRepository, never()).findById(anyString());
+    }
+
+    @DisplayName("Running import is read from the database with completion from memory")
+    @Test
+    public void runningImportCompletionFromMemoryTest() {
+        ImportSession persisted = new ImportSession();
+        persisted.setId(IMPORT_ID);
+        persisted.setCompletion(0);
+        when(importSessionRepository.findById(IMPORT_ID)).thenReturn(Optional.of(persisted));
+
+        importSessionService.setImportProgressPercentage(IMPORT_ID, 0);
+        importSessionService.calculateImportStatus(IMPORT_ID, 10, 5, 0, 100);
+
+        ImportSession importSession = importSessionService.getImportSession(IMPORT_ID);
+
+        assertThat(importSession, sameInstance(persisted));
+        assertThat(importSession.getCompletion(), equalTo(50));
+    }
+
+    @DisplayName("Running import is never reported as done")
+    @Test
+    public void runningImportNotDoneTest() {
+        importSessionService.calculateImportStatus(IMPORT_ID, 0, 0, ImportSessionService.SNAPSHOT_BUILD_PERCENTAGE_THRESHOLD, 100);
+
+        assertThat(importSessionService.getImportSession(IMPORT_ID).isDone(), equalTo(false));
+    }
+
+    @DisplayName("Finished import is read from the database")
+    @Test
+    public void finishedImportFromDatabaseTest() {
+        ImportSession finished = new ImportSession();
+        finished.setId(IMPORT_ID);
+        finished.setCompletion(100);
+        when(importSessionRepository.findById(IMPORT_ID)).thenReturn(Optional.of(finished));
+
+        importSessionService.setImportProgressPercentage(IMPORT_ID, 0);
+        importSessionService.saveImportSession(finished);
+
+        assertThat(importSessionService.getImportSession(IMPORT_ID).isDone(), equalTo(true));
+        verify(importSessionRepository).save(finished);
+    }
+
+    @DisplayName("Session is created when progress is written for the first time")
+    @Test
+    public void sessionCreatedOnFirstFlushTest() {
+        when(importSessionRepository.updateCompletion(anyString(), anyInt())).thenReturn(0);
+
+        importSessionService.setImportProgressPercentage(IMPORT_ID, 0);
+
+        verify(importSessionRepository).save(argThat(session -> IMPORT_ID.equals(session.getId())));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.service.exportimport;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.IntegrationSystem;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.SpecificationGroup;
+import org.qubership.integration.platform.catalog.persistence.configs.entity.system.SystemModel;
+import org.qubership.integration.platform.catalog.service.ActionsLogService;
+import org.qubership.integration.platform.runtime.catalog.model.exportimport.system.ImportSystemResult;
+import org.qubership.integration.platform.runtime.catalog.rest.v1.dto.system.imports.ImportSystemStatus;
+import org.qubership.integration.platform.runtime.catalog.service.EnvironmentService;
+import org.qubership.integration.platform.runtime.catalog.service.SystemModelService;
+import org.qubership.integration.platform.runtime.catalog.service.SystemService;
+import org.qubership.integration.platform.runtime.catalog.service.exportimport.deserializer.ServiceDeserializer;
+import org.qubership.integration.platform.runtime.catalog.service.exportimport.instructions.ImportInstructionsService;
+import org.qubership.integration.platform.runtime.catalog.service.exportimport.serializer.ServiceSerializer;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+public class SystemExportImportServiceTest {
+
+    private static final String SHARED_SPECIFICATION_ID = "specification-id";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private SystemService systemService;
+    private SystemModelService systemModelService;
+    private ServiceDeserializer serviceDeserializer;
+    private SystemExportImportService service;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void initialize() {
+        systemService = mock(SystemService.class);
+        systemModelService = mock(SystemModelService.class);
+        serviceDeserializer = mock(ServiceDeserializer.class);
+        service = spy(new SystemExportImportService(
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                systemService,
+                mock(EnvironmentService.class),
+                systemModelService,
+                mock(YAMLMapper.class),
+                mock(ActionsLogService.class),
+                mock(AuditingHandler.class),
+                mock(ServiceSerializer.class),
+                serviceDeserializer,
+                mock(ImportSessionService.class),
+                mock(ImportInstructionsService.class),
+                mock(ExecutorService.class)));
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Services sharing a specification id are saved one at a time, compiled concurrently")
+    @Test
+    public void sharedSpecificationImportTest() throws Exception {
+        File firstFile = mockServiceFile("first-service");
+        File secondFile = mockServiceFile("second-service");
+
+        CountDownLatch compiled = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            compiled.countDown();
+            return null;
+        }).when(systemModelService).patchModelWithCompiledLibrary(any());
+
+        AtomicInteger saving = new AtomicInteger();
+        AtomicInteger maxSaving = new AtomicInteger();
+        AtomicBoolean compiledBeforeFirstSave = new AtomicBoolean();
+        AtomicInteger saved = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxSaving.accumulateAndGet(saving.incrementAndGet(), Math::max);
+            if (saved.get() == 0) {
+                // the other import can only compile here if compilation doesn't wait for the lock
+                compiledBeforeFirstSave.set(compiled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            Thread.sleep(50);
+            saved.incrementAndGet();
+            saving.decrementAndGet();
+            return null;
+        }).when(systemService).create(any(), anyBoolean());
+
+        List<Future<ImportSystemResult>> results = executor.invokeAll(List.of(
+                () -> service.importOneSystemInTransaction(firstFile, null, null, null),
+                () -> service.importOneSystemInTransaction(secondFile, null, null, null)));
+
+        for (Future<ImportSystemResult> result : results) {
+            assertThat(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getStatus(), equalTo(ImportSystemStatus.CREATED));
+        }
+        assertThat(maxSaving.get(), equalTo(1));
+        assertThat(compiledBeforeFirstSave.get(), equalTo(true));
+        verify(systemModelService, times(2)).patchModelWithCompiledLibrary(any());
+    }
+
+    private File mockServiceFile(String systemId) throws Exception {
+        File file = new File(systemId, systemId + ".yaml");
+        ObjectNode node = JsonNodeFactory.instance.objectNode()
+                .put("id", systemId)
+                .put("name", systemId);
+        doReturn(node).when(service).getFileNode(file);
+
+        SystemModel specification = new SystemModel();
+        specification.setId(SHARED_SPECIFICATION_ID);
+        specification.setName("1.0.0");
+        SpecificationGroup specificationGroup = new SpecificationGroup();
+        specificationGroup.setId(systemId + "-group");
+        specificationGroup.setName("group");
+        specificationGroup.addSystemModel(specification);
+        IntegrationSystem system = new IntegrationSystem();
+        system.setId(systemId);
+        system.setName(systemId);
+        system.addSpecificationGroup(specificationGroup);
+        when(serviceDeserializer.deserializeSystem(eq(node), any())).thenReturn(system);
+        return file;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.testutils;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.qubership.integration.platform.runtime.catalog.testutils.configuration.DatabaseTestConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests running against a real PostgreSQL database with the application migrations applied.
+ * The container is shared by all test classes and stopped with the JVM. Tests are skipped if Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringJUnitConfig(DatabaseTestConfig.class)
+public abstract class DatabaseTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("test.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("test.datasource.username", POSTGRES::getUsername);
+        registry.add("test.datasource.password", POSTGRES::getPassword);
+    }
+
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
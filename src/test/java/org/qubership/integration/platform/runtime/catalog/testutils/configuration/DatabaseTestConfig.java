@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.runtime.catalog.testutils.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Properties;
+import javax.sql.DataSource;
+
+/**
+ * Persistence layer on top of the database started by
+ * {@link org.qubership.integration.platform.runtime.catalog.testutils.DatabaseTest}.
+ * Mirrors the production persistence configuration: the same migrations, entity packages
+ * and Hibernate properties, with statistics enabled.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(
+        basePackages = "org.qubership.integration.platform.runtime.catalog.persistence.configs.repository",
+        transactionManagerRef = "configsTransactionManager"
+)
+public class DatabaseTestConfig {
+
+    private static final String SCHEMA = "catalog";
+
+    @Bean("configsDataSource")
+    public DataSource configsDataSource(@Value("${test.datasource.url}") String url,
+                                        @Value("${test.datasource.username}") String username,
+                                        @Value("${test.datasource.password}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setSchema(SCHEMA);
+        return dataSource;
+    }
+
+    @Bean
+    public Flyway flyway(DataSource configsDataSource) {
+        Flyway flyway = Flyway.configure()
+                .dataSource(configsDataSource)
+                .schemas(SCHEMA)
+                .defaultSchema(SCHEMA)
+                .createSchemas(true)
+                .locations("classpath:db/migration/postgresql/configs")
+                .load();
+        flyway.migrate();
+        return flyway;
+    }
+
+    @Bean
+    @DependsOn("flyway")
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource configsDataSource) {
+        LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
+        em.setDataSource(configsDataSource);
+        em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        em.setPackagesToScan(
+                "org.qubership.integration.platform.catalog.persistence.configs.entity",
+                "org.qubership.integration.platform.runtime.catalog.persistence.configs.entity");
+        em.setPersistenceProvider(new HibernatePersistenceProvider());
+
+        Properties properties = new Properties();
+        properties.put("hibernate.physical_naming_strategy",
+                "io.hypersistence.utils.hibernate.naming.CamelCaseToSnakeCaseNamingStrategy");
+        properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.put("hibernate.default_schema", SCHEMA);
+        properties.put("hibernate.jdbc.time_zone", "UTC");
+        properties.put("hibernate.jdbc.batch_size", "100");
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.generate_statistics", "true");
+        em.setJpaProperties(properties);
+        return em;
+    }
+
+    @Bean("configsTransactionManager")
+    public PlatformTransactionManager configsTransactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager configsTransactionManager) {
+        return new TransactionTemplate(configsTransactionManager);
+    }
+}